@@ -0,0 +1,62 @@
+package com.softwareverde.benchmark.logging;
+
+import com.softwareverde.logging.Log;
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.log.AnnotatedLog;
+import com.softwareverde.logging.log.AsyncLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the caller-side latency distribution of writing to an AnnotatedLog directly versus through an AsyncLog.
+ *  Once the AsyncLog's buffer is full, events are dropped, so the measured latency is that of the enqueue (or drop) only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncLogBenchmark {
+    protected static final String MESSAGE = "Benchmark message.";
+
+    @Param({ "BUSY_SPIN", "PARK" })
+    public String waitStrategy;
+
+    protected Log _annotatedLog;
+    protected AsyncLog _asyncLog;
+
+    @Setup
+    public void setUp() {
+        final NullWriter nullWriter = new NullWriter();
+        _annotatedLog = new AnnotatedLog(nullWriter, nullWriter) { };
+        _asyncLog = new AsyncLog(new AnnotatedLog(nullWriter, nullWriter) { }, AsyncLog.DEFAULT_CAPACITY, AsyncLog.WaitStrategy.valueOf(this.waitStrategy));
+    }
+
+    @TearDown
+    public void tearDown() {
+        _asyncLog.close();
+    }
+
+    @Benchmark
+    public void annotatedLogWrite() {
+        _annotatedLog.write(AsyncLogBenchmark.class, LogLevel.INFO, MESSAGE, null);
+    }
+
+    @Benchmark
+    public void asyncLogWrite() {
+        _asyncLog.write(AsyncLogBenchmark.class, LogLevel.INFO, MESSAGE, null);
+    }
+}
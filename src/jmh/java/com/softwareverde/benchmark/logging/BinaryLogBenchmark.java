@@ -0,0 +1,95 @@
+package com.softwareverde.benchmark.logging;
+
+import com.softwareverde.logging.Log;
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.log.AnnotatedLog;
+import com.softwareverde.logging.log.BinaryLog;
+import com.softwareverde.logging.log.ChannelWriter;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encoding TRACE statements as AnnotatedLog text (UTF-8 via a buffered ChannelWriter) against BinaryLog records; both are written to a NullChannel.
+ *  The "bytes" counter reports the encoded size of the statements written during each iteration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryLogBenchmark {
+    protected static final String MESSAGE = "Entering state 12.";
+    protected static final String MESSAGE_TEMPLATE = "Processed block {} ({} transactions).";
+    protected static final Object[] MESSAGE_ARGUMENTS = new Object[]{ 650000, 2048 };
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedByteCount {
+        public long bytes;
+    }
+
+    protected NullChannel _textChannel;
+    protected ChannelWriter _channelWriter;
+    protected Log _annotatedLog;
+
+    protected NullChannel _binaryChannel;
+    protected Log _binaryLog;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        _textChannel = new NullChannel();
+        _channelWriter = new ChannelWriter(_textChannel, BinaryLog.DEFAULT_BUFFER_SIZE, false);
+        _annotatedLog = new AnnotatedLog(_channelWriter, _channelWriter) { };
+
+        _binaryChannel = new NullChannel();
+        _binaryLog = new BinaryLog(_binaryChannel);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        _annotatedLog.flush();
+        _binaryLog.flush();
+    }
+
+    @Benchmark
+    public void annotatedLogWrite(final EncodedByteCount encodedByteCount) {
+        final long writtenByteCount = _textChannel.getWrittenByteCount();
+        _annotatedLog.write(BinaryLogBenchmark.class, LogLevel.TRACE, MESSAGE, null);
+        encodedByteCount.bytes += (_textChannel.getWrittenByteCount() - writtenByteCount);
+    }
+
+    @Benchmark
+    public void binaryLogWrite(final EncodedByteCount encodedByteCount) {
+        final long writtenByteCount = _binaryChannel.getWrittenByteCount();
+        _binaryLog.write(BinaryLogBenchmark.class, LogLevel.TRACE, MESSAGE, null);
+        encodedByteCount.bytes += (_binaryChannel.getWrittenByteCount() - writtenByteCount);
+    }
+
+    @Benchmark
+    public void annotatedLogWriteParameterized(final EncodedByteCount encodedByteCount) {
+        final long writtenByteCount = _textChannel.getWrittenByteCount();
+        _annotatedLog.write(BinaryLogBenchmark.class, LogLevel.TRACE, MESSAGE_TEMPLATE, MESSAGE_ARGUMENTS, null);
+        encodedByteCount.bytes += (_textChannel.getWrittenByteCount() - writtenByteCount);
+    }
+
+    @Benchmark
+    public void binaryLogWriteParameterized(final EncodedByteCount encodedByteCount) {
+        final long writtenByteCount = _binaryChannel.getWrittenByteCount();
+        _binaryLog.write(BinaryLogBenchmark.class, LogLevel.TRACE, MESSAGE_TEMPLATE, MESSAGE_ARGUMENTS, null);
+        encodedByteCount.bytes += (_binaryChannel.getWrittenByteCount() - writtenByteCount);
+    }
+}
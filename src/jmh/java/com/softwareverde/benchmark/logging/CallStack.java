@@ -0,0 +1,18 @@
+package com.softwareverde.benchmark.logging;
+
+import java.util.function.Supplier;
+
+/**
+ * Invokes a Supplier beneath a configurable number of (non-logging) stack frames, simulating a deep application stack.
+ */
+public class CallStack {
+    public static <T> T callAtDepth(final int depth, final Supplier<T> supplier) {
+        if (depth <= 0) {
+            return supplier.get();
+        }
+
+        return CallStack.callAtDepth((depth - 1), supplier);
+    }
+
+    protected CallStack() { }
+}
@@ -0,0 +1,77 @@
+package com.softwareverde.benchmark.logging; // Needs to be outside of the com.softwareverde.logging package to trigger the proper stack trace...
+
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.Logger;
+import com.softwareverde.logging.LoggerInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a disabled DEBUG statement (the log level is INFO) with conditional buffering disabled (0) or enabled, and a "request"
+ *  of ten disabled DEBUG statements whose buffered events are then either discarded or flushed (by a WARN) to a NullLog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConditionalBufferingBenchmark {
+    protected static final String MESSAGE_TEMPLATE = "Benchmark message {}.";
+    protected static final Integer MESSAGE_ARGUMENT = 1024;
+
+    @Param({ "0", "256" })
+    public int maxBufferedEventCount;
+
+    protected LoggerInstance _loggerInstance;
+
+    @Setup
+    public void setUp() {
+        Logger.clearLogLevels();
+        Logger.setLog(new NullLog());
+        Logger.setLogLevel(LogLevel.INFO);
+        Logger.enableConditionalBuffering(this.maxBufferedEventCount);
+        _loggerInstance = Logger.getInstance(ConditionalBufferingBenchmark.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Logger.disableConditionalBuffering();
+        Logger.setLogLevel(Logger.DEFAULT_LOG_LEVEL);
+        Logger.setLogFactory(Logger.DEFAULT_LOG_FACTORY);
+        Logger.clearLogLevels();
+    }
+
+    @Benchmark
+    public void instanceDebugParameterized() {
+        _loggerInstance.debug(MESSAGE_TEMPLATE, MESSAGE_ARGUMENT);
+    }
+
+    @Benchmark
+    public void discardedRequest() {
+        for (int i = 0; i < 10; ++i) {
+            _loggerInstance.debug(MESSAGE_TEMPLATE, MESSAGE_ARGUMENT);
+        }
+        Logger.discardBufferedEvents();
+    }
+
+    @Benchmark
+    public void failedRequest() {
+        for (int i = 0; i < 10; ++i) {
+            _loggerInstance.debug(MESSAGE_TEMPLATE, MESSAGE_ARGUMENT);
+        }
+        _loggerInstance.warn("Request failed.");
+    }
+}
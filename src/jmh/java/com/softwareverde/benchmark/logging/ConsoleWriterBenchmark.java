@@ -0,0 +1,98 @@
+package com.softwareverde.benchmark.logging;
+
+import com.softwareverde.logging.log.AbstractLog;
+import com.softwareverde.logging.log.ChannelWriter;
+import com.softwareverde.logging.log.SystemLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of writing a line through each console Writer, with /dev/null standing in for standard out.
+ *  The PrintWriter/PrintStream stacks mirror BufferedSystemWriter and SystemLog::wrapSystemStream respectively.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsoleWriterBenchmark {
+    protected static final String NULL_DEVICE = "/dev/null";
+
+    @Param({ "ascii", "utf8" })
+    public String charset;
+
+    protected String _line;
+    protected StringBuilder _lineBuffer;
+
+    protected FileOutputStream _printStreamOutputStream;
+    protected FileOutputStream _printWriterOutputStream;
+    protected FileOutputStream _channelOutputStream;
+    protected AbstractLog.Writer _printStreamWriter;
+    protected PrintWriter _printWriter;
+    protected AbstractLog.Writer _channelWriter;
+    protected AbstractLog.Writer _bufferedChannelWriter;
+
+    @Setup
+    public void setUp() throws IOException {
+        final String message = ("utf8".equals(this.charset) ? "Benchmark message: caf\u00E9 \u65E5\u672C\u8A9E." : "Benchmark message.");
+        _line = ("[2020-09-13 12:26:40.123] [com.softwareverde.benchmark.logging.ConsoleWriterBenchmark] " + message + System.lineSeparator());
+        _lineBuffer = new StringBuilder(_line);
+
+        _printStreamOutputStream = new FileOutputStream(NULL_DEVICE);
+        _printStreamWriter = SystemLog.wrapSystemStream(new PrintStream(_printStreamOutputStream, true, "UTF-8"));
+
+        _printWriterOutputStream = new FileOutputStream(NULL_DEVICE);
+        _printWriter = new PrintWriter(new BufferedWriter(new OutputStreamWriter(_printWriterOutputStream, StandardCharsets.UTF_8), 512));
+
+        _channelOutputStream = new FileOutputStream(NULL_DEVICE);
+        _channelWriter = new ChannelWriter(_channelOutputStream.getChannel());
+        _bufferedChannelWriter = new ChannelWriter(_channelOutputStream.getChannel(), ChannelWriter.DEFAULT_BUFFER_SIZE, false);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        _printStreamOutputStream.close();
+        _printWriterOutputStream.close();
+        _channelOutputStream.close();
+    }
+
+    @Benchmark
+    public void printStreamWrite() {
+        _printStreamWriter.write(_line);
+    }
+
+    @Benchmark
+    public void bufferedPrintWriterWrite() {
+        _printWriter.write(_line);
+    }
+
+    @Benchmark
+    public void channelWriterWrite() {
+        _channelWriter.write(_lineBuffer);
+    }
+
+    @Benchmark
+    public void bufferedChannelWriterWrite() {
+        _bufferedChannelWriter.write(_lineBuffer);
+    }
+}
@@ -0,0 +1,106 @@
+package com.softwareverde.benchmark.logging;
+
+import com.softwareverde.logging.log.AbstractLog;
+import com.softwareverde.logging.log.ChannelWriter;
+import com.softwareverde.logging.log.MappedRingWriter;
+import com.softwareverde.logging.log.RollingFileWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of writing lines to a file via the RollingFileWriter, compared to the console Writer stacks pointed at a file.
+ *  The PrintWriter stack mirrors BufferedSystemWriter; the ChannelWriter is buffered (i.e. not auto-flushed) and writes synchronously.
+ *  The MappedRingWriter copies each line into a memory-mapped ring without a syscall.
+ *  Each iteration writes to new files within a temporary directory, which is deleted after the iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileWriterBenchmark {
+    protected static final long MAX_FILE_BYTE_COUNT = (64L * 1024L * 1024L);
+
+    protected StringBuilder _lineBuffer;
+    protected String _line;
+
+    protected File _directory;
+    protected FileOutputStream _printWriterOutputStream;
+    protected PrintWriter _printWriter;
+    protected FileOutputStream _channelOutputStream;
+    protected AbstractLog.Writer _channelWriter;
+    protected RollingFileWriter _rollingFileWriter;
+    protected MappedRingWriter _mappedRingWriter;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        _line = ("[2020-09-13 12:26:40.123] [com.softwareverde.benchmark.logging.FileWriterBenchmark] Benchmark message." + System.lineSeparator());
+        _lineBuffer = new StringBuilder(_line);
+
+        _directory = Files.createTempDirectory("FileWriterBenchmark").toFile();
+
+        _printWriterOutputStream = new FileOutputStream(new File(_directory, "printWriter.log"));
+        _printWriter = new PrintWriter(new BufferedWriter(new OutputStreamWriter(_printWriterOutputStream, StandardCharsets.UTF_8), 512));
+
+        _channelOutputStream = new FileOutputStream(new File(_directory, "channelWriter.log"));
+        _channelWriter = new ChannelWriter(_channelOutputStream.getChannel(), ChannelWriter.DEFAULT_BUFFER_SIZE, false);
+
+        _rollingFileWriter = new RollingFileWriter(new File(_directory, "rollingFileWriter.log"), MAX_FILE_BYTE_COUNT, 0L);
+        _mappedRingWriter = new MappedRingWriter(new File(_directory, "mappedRingWriter.ring"));
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        _printWriter.close();
+        _channelWriter.flush();
+        _channelOutputStream.close();
+        _rollingFileWriter.close();
+        _mappedRingWriter.close();
+
+        for (final File file : _directory.listFiles()) {
+            file.delete();
+        }
+        _directory.delete();
+    }
+
+    @Benchmark
+    public void printWriterWrite() {
+        _printWriter.write(_line);
+    }
+
+    @Benchmark
+    public void channelWriterWrite() {
+        _channelWriter.write(_lineBuffer);
+    }
+
+    @Benchmark
+    public void rollingFileWriterWrite() {
+        _rollingFileWriter.write(_lineBuffer);
+    }
+
+    @Benchmark
+    public void mappedRingWriterWrite() {
+        _mappedRingWriter.write(_lineBuffer);
+    }
+}
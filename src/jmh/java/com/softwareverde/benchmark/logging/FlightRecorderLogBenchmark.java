@@ -0,0 +1,92 @@
+package com.softwareverde.benchmark.logging;
+
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.Logger;
+import com.softwareverde.logging.LoggerInstance;
+import com.softwareverde.logging.log.FlightRecorderLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures the cost of recording a disabled DEBUG statement into a FlightRecorderLog's ring, via the Logger with the recorder set as its
+ *  filtered-event Log, and of writing an event via the decorator itself (which also writes the event to a NullLog).
+ *  The statements are logged via a LoggerInstance, so that resolving the calling class does not dominate the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlightRecorderLogBenchmark {
+    protected static final String MESSAGE_TEMPLATE = "Processed block {} ({} transactions).";
+    protected static final Integer BLOCK_HEIGHT = 650000;
+    protected static final Integer TRANSACTION_COUNT = 2048;
+    protected static final Object[] MESSAGE_ARGUMENTS = new Object[]{ BLOCK_HEIGHT, TRANSACTION_COUNT };
+    protected static final Object MESSAGE = new Object() {
+        @Override
+        public String toString() {
+            return "Processed block.";
+        }
+    };
+    protected static final Supplier<String> MESSAGE_SUPPLIER = new Supplier<String>() {
+        @Override
+        public String get() {
+            return "Processed block.";
+        }
+    };
+
+    protected FlightRecorderLog _flightRecorderLog;
+    protected LoggerInstance _loggerInstance;
+
+    @Setup
+    public void setUp() {
+        _flightRecorderLog = new FlightRecorderLog(new NullLog());
+
+        Logger.clearLogLevels();
+        Logger.setLog(new NullLog());
+        Logger.setLogLevel(LogLevel.INFO);
+        Logger.setFilteredEventLog(_flightRecorderLog.getRecorder());
+        _loggerInstance = Logger.getInstance(FlightRecorderLogBenchmark.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Logger.setFilteredEventLog(null);
+        Logger.setLogLevel(Logger.DEFAULT_LOG_LEVEL);
+        Logger.setLogFactory(Logger.DEFAULT_LOG_FACTORY);
+        Logger.clearLogLevels();
+    }
+
+    @Benchmark
+    public void recordFilteredTemplate() {
+        _loggerInstance.debug(MESSAGE_TEMPLATE, BLOCK_HEIGHT, TRANSACTION_COUNT);
+    }
+
+    @Benchmark
+    public void recordFilteredObject() {
+        _loggerInstance.debug(MESSAGE);
+    }
+
+    @Benchmark
+    public void recordFilteredSupplier() {
+        _loggerInstance.debugLazy(MESSAGE_SUPPLIER);
+    }
+
+    @Benchmark
+    public void writeEvent() {
+        _flightRecorderLog.write(FlightRecorderLogBenchmark.class, LogLevel.INFO, MESSAGE_TEMPLATE, MESSAGE_ARGUMENTS, null);
+    }
+}
@@ -0,0 +1,83 @@
+package com.softwareverde.benchmark.logging; // Needs to be outside of the com.softwareverde.logging package to trigger the proper stack trace...
+
+import com.softwareverde.logging.HeavyHitterTracker;
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.Logger;
+import com.softwareverde.logging.LoggerInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of a HeavyHitterTracker on an enabled INFO statement (written to a NullLog),
+ *  and the cost of HeavyHitterTracker::add for a source that is already a candidate and for sources that are not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeavyHitterTrackerBenchmark {
+    protected static final String MESSAGE_TEMPLATE = "Benchmark message {}.";
+    protected static final Integer MESSAGE_ARGUMENT = 1024;
+    protected static final Class<?>[] INFREQUENT_CLASSES = new Class<?>[]{ Boolean.class, Byte.class, Character.class, Short.class, Integer.class, Long.class, Float.class, Double.class };
+
+    @Param({ "false", "true" })
+    public boolean isTrackerEnabled;
+
+    protected LoggerInstance _loggerInstance;
+    protected HeavyHitterTracker _heavyHitterTracker;
+    protected int _infrequentClassIndex = 0;
+
+    @Setup
+    public void setUp() {
+        Logger.clearLogLevels();
+        Logger.setLog(new NullLog());
+        Logger.setLogLevel(LogLevel.INFO);
+        _heavyHitterTracker = new HeavyHitterTracker(1, HeavyHitterTracker.DEFAULT_SUMMARY_INTERVAL_MS);
+        Logger.setHeavyHitterTracker(this.isTrackerEnabled ? _heavyHitterTracker : null);
+        _loggerInstance = Logger.getInstance(HeavyHitterTrackerBenchmark.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Logger.setHeavyHitterTracker(null);
+        Logger.setLogLevel(Logger.DEFAULT_LOG_LEVEL);
+        Logger.setLogFactory(Logger.DEFAULT_LOG_FACTORY);
+        Logger.clearLogLevels();
+    }
+
+    @Benchmark
+    public void instanceInfoParameterized() {
+        _loggerInstance.info(MESSAGE_TEMPLATE, MESSAGE_ARGUMENT);
+    }
+
+    /**
+     * Adds the same source repeatedly, which becomes (and remains) a candidate.
+     */
+    @Benchmark
+    public void addFrequentSource() {
+        _heavyHitterTracker.add(HeavyHitterTrackerBenchmark.class, LogLevel.INFO);
+    }
+
+    /**
+     * Cycles through more sources than the tracker has candidates, so that candidates are replaced.
+     */
+    @Benchmark
+    public void addRotatingSources() {
+        _infrequentClassIndex = ((_infrequentClassIndex + 1) & (INFREQUENT_CLASSES.length - 1));
+        _heavyHitterTracker.add(INFREQUENT_CLASSES[_infrequentClassIndex], LogLevel.INFO);
+    }
+}
@@ -0,0 +1,87 @@
+package com.softwareverde.benchmark.logging;
+
+import com.softwareverde.logging.Log;
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.log.AnnotatedLog;
+import com.softwareverde.logging.log.Layout;
+import com.softwareverde.logging.log.LayoutLog;
+import com.softwareverde.logging.log.SystemLog;
+import com.softwareverde.logging.log.TimestampFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the cost of formatting a line within the Log implementations; the lines are written to a NullWriter.
+ *  The Log instances are shared, so multi-threaded runs also measure contention on the Log's monitor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogBenchmark {
+    protected static final String MESSAGE = "Benchmark message.";
+    protected static final String MESSAGE_TEMPLATE = "Benchmark message {}.";
+    protected static final Object[] MESSAGE_ARGUMENTS = new Object[]{ 1024 };
+
+    protected NullWriter _nullWriter;
+    protected Log _annotatedLog;
+    protected AnnotatedLog _annotatedLogPerMillisecond;
+    protected Log _systemLog;
+    protected Log _layoutLog;
+
+    @Setup
+    public void setUp() {
+        _nullWriter = new NullWriter();
+        _annotatedLog = new AnnotatedLog(_nullWriter, _nullWriter) { };
+
+        final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+        _annotatedLogPerMillisecond = new AnnotatedLog(_nullWriter, _nullWriter) { };
+        _annotatedLogPerMillisecond.setTimestampFormatter(new TimestampFormatter(Layout.DEFAULT_TIMESTAMP_PATTERN, TimeZone.getDefault(), clock::incrementAndGet));
+
+        _systemLog = new SystemLog(_nullWriter, _nullWriter) { };
+        _layoutLog = new LayoutLog(Layout.fromPattern("%d %level [%thread] %class - %message%n"), _nullWriter, _nullWriter);
+    }
+
+    @Benchmark
+    public void annotatedLogWrite() {
+        _annotatedLog.write(LogBenchmark.class, LogLevel.INFO, MESSAGE, null);
+    }
+
+    /**
+     * Each line is written at a new millisecond; when run with "-prof gc", the allocation rate should remain below 1 B/op
+     *  (i.e. only the TimestampFormatter's per-second prefix, which is rendered once per 1000 lines).
+     */
+    @Benchmark
+    public void annotatedLogWritePerMillisecond() {
+        _annotatedLogPerMillisecond.write(LogBenchmark.class, LogLevel.INFO, MESSAGE, null);
+    }
+
+    @Benchmark
+    public void systemLogWrite() {
+        _systemLog.write(LogBenchmark.class, LogLevel.INFO, MESSAGE, null);
+    }
+
+    @Benchmark
+    public void layoutLogWrite() {
+        _layoutLog.write(LogBenchmark.class, LogLevel.INFO, MESSAGE, null);
+    }
+
+    @Benchmark
+    public void annotatedLogWriteParameterized() {
+        _annotatedLog.write(LogBenchmark.class, LogLevel.INFO, MESSAGE_TEMPLATE, MESSAGE_ARGUMENTS, null);
+    }
+}
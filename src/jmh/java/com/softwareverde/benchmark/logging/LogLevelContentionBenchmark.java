@@ -0,0 +1,59 @@
+package com.softwareverde.benchmark.logging;
+
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the shared level-resolution path while every thread reads the same package-level tree.
+ *  Throughput (ops/us, summed across threads) should scale with the thread count, since readers share no writable state.
+ *  Run via the jmhThreads1/4/16 tasks to compare thread counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogLevelContentionBenchmark {
+    protected static final String MESSAGE = "Benchmark message.";
+
+    @Setup
+    public void setUp() {
+        Logger.clearLogLevels();
+        Logger.setLog(new NullLog());
+        Logger.setLogLevel(LogLevel.WARN);
+        Logger.setLogLevel("com.softwareverde.benchmark", LogLevel.INFO);
+        Logger.setLogLevel("com.softwareverde.logging", LogLevel.ERROR);
+        Logger.setLogLevel("org.openjdk.jmh", LogLevel.ERROR);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Logger.setLogLevel(Logger.DEFAULT_LOG_LEVEL);
+        Logger.setLogFactory(Logger.DEFAULT_LOG_FACTORY);
+        Logger.clearLogLevels();
+    }
+
+    @Benchmark
+    public LogLevel getLogLevel() {
+        return Logger.getLogLevel(LogLevelContentionBenchmark.class);
+    }
+
+    @Benchmark
+    public void disabledDebug() {
+        Logger.debug(LogLevelContentionBenchmark.class, MESSAGE);
+    }
+}
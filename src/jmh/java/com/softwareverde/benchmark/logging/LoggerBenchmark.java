@@ -0,0 +1,85 @@
+package com.softwareverde.benchmark.logging; // Needs to be outside of the com.softwareverde.logging package to trigger the proper stack trace...
+
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.Logger;
+import com.softwareverde.logging.LoggerInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Logger's DEBUG paths with the log level either enabling (DEBUG) or disabling (INFO) the statement.
+ *  Events are written to a NullLog so that only the cost of the Logger is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerBenchmark {
+    protected static final String MESSAGE = "Benchmark message.";
+    protected static final String MESSAGE_TEMPLATE = "Benchmark message {}.";
+    protected static final Integer MESSAGE_ARGUMENT = 1024;
+
+    @Param({ "DEBUG", "INFO" })
+    public String logLevel;
+
+    protected LoggerInstance _loggerInstance;
+
+    @Setup
+    public void setUp() {
+        Logger.clearLogLevels();
+        Logger.setLog(new NullLog());
+        Logger.setLogLevel(LogLevel.fromString(this.logLevel));
+        _loggerInstance = Logger.getInstance(LoggerBenchmark.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Logger.setLogLevel(Logger.DEFAULT_LOG_LEVEL);
+        Logger.setLogFactory(Logger.DEFAULT_LOG_FACTORY);
+        Logger.clearLogLevels();
+    }
+
+    @Benchmark
+    public void staticDebug() {
+        Logger.debug(MESSAGE);
+    }
+
+    @Benchmark
+    public void staticDebugWithClass() {
+        Logger.debug(LoggerBenchmark.class, MESSAGE);
+    }
+
+    @Benchmark
+    public void instanceDebug() {
+        _loggerInstance.debug(MESSAGE);
+    }
+
+    @Benchmark
+    public void instanceDebugParameterized() {
+        _loggerInstance.debug(MESSAGE_TEMPLATE, MESSAGE_ARGUMENT);
+    }
+
+    @Benchmark
+    public boolean staticIsDebugEnabled() {
+        return Logger.isDebugEnabled();
+    }
+
+    @Benchmark
+    public boolean instanceIsDebugEnabled() {
+        return _loggerInstance.isDebugEnabled();
+    }
+}
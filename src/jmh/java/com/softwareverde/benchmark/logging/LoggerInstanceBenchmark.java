@@ -0,0 +1,80 @@
+package com.softwareverde.benchmark.logging;
+
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.Logger;
+import com.softwareverde.logging.LoggerInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a disabled DEBUG statement in a hot loop.
+ *  The "classLogLevel" benchmark uses the per-class cached LogLevel (Logger::debug(Class, Object)), which is what LoggerInstance used previously;
+ *  the LoggerInstance benchmarks use the instance's cached ClassLogLevel (validated against the call-site generation),
+ *  both from a constant (static final) and from a non-constant (field) instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerInstanceBenchmark {
+    protected static final int LOOP_COUNT = 1024;
+    protected static final String MESSAGE = "Benchmark message.";
+
+    protected static final LoggerInstance STATIC_LOGGER = Logger.getInstance(LoggerInstanceBenchmark.class);
+
+    protected LoggerInstance _logger;
+
+    @Setup
+    public void setUp() {
+        Logger.clearLogLevels();
+        Logger.setLog(new NullLog());
+        Logger.setLogLevel(LogLevel.INFO);
+        _logger = new LoggerInstance(new NullLog(), LoggerInstanceBenchmark.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Logger.setLogLevel(Logger.DEFAULT_LOG_LEVEL);
+        Logger.setLogFactory(Logger.DEFAULT_LOG_FACTORY);
+        Logger.clearLogLevels();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOP_COUNT)
+    public void classLogLevelDisabledDebug() {
+        for (int i = 0; i < LOOP_COUNT; ++i) {
+            Logger.debug(LoggerInstanceBenchmark.class, MESSAGE);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOP_COUNT)
+    public void staticLoggerInstanceDisabledDebug() {
+        for (int i = 0; i < LOOP_COUNT; ++i) {
+            STATIC_LOGGER.debug(MESSAGE);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOP_COUNT)
+    public void loggerInstanceDisabledDebug() {
+        final LoggerInstance logger = _logger;
+        for (int i = 0; i < LOOP_COUNT; ++i) {
+            logger.debug(MESSAGE);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.softwareverde.benchmark.logging; // Needs to be outside of the com.softwareverde.logging package to trigger the proper stack trace...
+
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.Logger;
+import com.softwareverde.logging.LoggerInstance;
+import com.softwareverde.logging.LoggingMetrics;
+import com.softwareverde.logging.log.AnnotatedLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of LoggingMetrics on an enabled INFO statement (written by an AnnotatedLog to a NullWriter)
+ *  and on a disabled DEBUG statement, with the metrics either disabled or enabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingMetricsBenchmark {
+    protected static final String MESSAGE_TEMPLATE = "Benchmark message {}.";
+    protected static final Integer MESSAGE_ARGUMENT = 1024;
+
+    @Param({ "false", "true" })
+    public boolean isMetricsEnabled;
+
+    protected LoggerInstance _loggerInstance;
+
+    @Setup
+    public void setUp() {
+        final NullWriter nullWriter = new NullWriter();
+        Logger.clearLogLevels();
+        Logger.setLog(new AnnotatedLog(nullWriter, nullWriter) { });
+        Logger.setLogLevel(LogLevel.INFO);
+        LoggingMetrics.getInstance().setEnabled(this.isMetricsEnabled);
+        _loggerInstance = Logger.getInstance(LoggingMetricsBenchmark.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        LoggingMetrics.getInstance().setEnabled(false);
+        Logger.setLogLevel(Logger.DEFAULT_LOG_LEVEL);
+        Logger.setLogFactory(Logger.DEFAULT_LOG_FACTORY);
+        Logger.clearLogLevels();
+    }
+
+    @Benchmark
+    public void instanceInfoParameterized() {
+        _loggerInstance.info(MESSAGE_TEMPLATE, MESSAGE_ARGUMENT);
+    }
+
+    @Benchmark
+    public void instanceDebugParameterized() {
+        _loggerInstance.debug(MESSAGE_TEMPLATE, MESSAGE_ARGUMENT);
+    }
+}
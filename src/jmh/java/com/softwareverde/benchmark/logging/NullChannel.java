@@ -0,0 +1,46 @@
+package com.softwareverde.benchmark.logging;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+
+/**
+ * Discards all bytes written to it, so that benchmarks measure the cost of encoding a log statement rather than the cost of the disk.
+ *  The written byte count is retained, both to defeat dead-code elimination and to compare the size of each encoding.
+ */
+public class NullChannel implements GatheringByteChannel {
+    protected long _writtenByteCount = 0L;
+
+    @Override
+    public int write(final ByteBuffer byteBuffer) {
+        final int byteCount = byteBuffer.remaining();
+        byteBuffer.position(byteBuffer.limit());
+        _writtenByteCount += byteCount;
+        return byteCount;
+    }
+
+    @Override
+    public long write(final ByteBuffer[] byteBuffers, final int offset, final int length) {
+        long byteCount = 0L;
+        for (int i = offset; i < (offset + length); ++i) {
+            byteCount += this.write(byteBuffers[i]);
+        }
+        return byteCount;
+    }
+
+    @Override
+    public long write(final ByteBuffer[] byteBuffers) {
+        return this.write(byteBuffers, 0, byteBuffers.length);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return true;
+    }
+
+    @Override
+    public void close() { }
+
+    public long getWrittenByteCount() {
+        return _writtenByteCount;
+    }
+}
@@ -0,0 +1,16 @@
+package com.softwareverde.benchmark.logging;
+
+import com.softwareverde.logging.Log;
+import com.softwareverde.logging.LogLevel;
+
+/**
+ * Discards all events, so that benchmarks measure only the cost of the Logger itself.
+ */
+public class NullLog implements Log {
+    protected volatile Object _lastMessage;
+
+    @Override
+    public void write(final Class<?> callingClass, final LogLevel logLevel, final String nullableMessage, final Throwable nullableException) {
+        _lastMessage = nullableMessage;
+    }
+}
@@ -0,0 +1,30 @@
+package com.softwareverde.benchmark.logging;
+
+import com.softwareverde.logging.log.AbstractLog;
+
+/**
+ * Discards all output, so that benchmarks measure the cost of producing a log line rather than the cost of the console.
+ *  The written length is retained so that the JIT cannot eliminate the formatting that produced the string.
+ */
+public class NullWriter implements AbstractLog.Writer {
+    protected long _writtenCharacterCount = 0L;
+
+    @Override
+    public void write(final String string) {
+        _writtenCharacterCount += string.length();
+    }
+
+    @Override
+    public void write(final CharSequence charSequence) {
+        _writtenCharacterCount += charSequence.length();
+    }
+
+    @Override
+    public void write(final Throwable exception) {
+        _writtenCharacterCount += 1L;
+    }
+
+    public long getWrittenCharacterCount() {
+        return _writtenCharacterCount;
+    }
+}
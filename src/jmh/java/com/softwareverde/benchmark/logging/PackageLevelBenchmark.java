@@ -0,0 +1,70 @@
+package com.softwareverde.benchmark.logging;
+
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.PackageLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures PackageLevel::getLogLevel against a tree with siblingCount packages at each of depth levels.
+ *  The "hit" lookup resolves the deepest configured package; the "miss" lookup diverges from the tree halfway down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackageLevelBenchmark {
+    @Param({ "4", "16" })
+    public int depth;
+
+    @Param({ "8" })
+    public int siblingCount;
+
+    protected PackageLevel _rootPackage;
+    protected String _hitPackageName;
+    protected String _missPackageName;
+
+    protected static String _getPackageName(final int depth, final int siblingIndex) {
+        final StringBuilder stringBuilder = new StringBuilder("com");
+        for (int i = 1; i < depth; ++i) {
+            stringBuilder.append(".package");
+            stringBuilder.append(siblingIndex);
+        }
+        return stringBuilder.toString();
+    }
+
+    @Setup
+    public void setUp() {
+        _rootPackage = PackageLevel.newRootPackage();
+        for (int i = 0; i < this.siblingCount; ++i) {
+            final String packageName = _getPackageName(this.depth, i);
+            _rootPackage.mergeInPackage(PackageLevel.fromString(packageName, LogLevel.DEBUG));
+        }
+
+        _hitPackageName = (_getPackageName(this.depth, (this.siblingCount - 1)) + ".ClassName");
+        _missPackageName = (_getPackageName((this.depth / 2), (this.siblingCount - 1)) + ".unconfigured.ClassName");
+    }
+
+    @Benchmark
+    public LogLevel getLogLevelHit() {
+        return _rootPackage.getLogLevel(_hitPackageName);
+    }
+
+    @Benchmark
+    public LogLevel getLogLevelMiss() {
+        return _rootPackage.getLogLevel(_missPackageName);
+    }
+}
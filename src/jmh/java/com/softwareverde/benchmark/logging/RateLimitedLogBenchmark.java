@@ -0,0 +1,60 @@
+package com.softwareverde.benchmark.logging;
+
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.RateLimit;
+import com.softwareverde.logging.RateLimiter;
+import com.softwareverde.logging.log.RateLimitedLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of a RateLimitedLog per statement: for a site that is over its budget (i.e. suppressed), and for a site without a RateLimit.
+ *  The wrapped Log discards its events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitedLogBenchmark {
+    protected static final Object[] MESSAGE_ARGUMENTS = new Object[]{ 650000, 2048 };
+
+    protected NullLog _nullLog;
+    protected RateLimitedLog _rateLimitedLog;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final RateLimiter rateLimiter = new RateLimiter();
+        rateLimiter.setRateLimit(RateLimitedLogBenchmark.class, LogLevel.INFO, new RateLimit(10D));
+
+        _nullLog = new NullLog();
+        _rateLimitedLog = new RateLimitedLog(_nullLog, rateLimiter);
+    }
+
+    @Benchmark
+    public void unlimitedWrite() {
+        _nullLog.write(RateLimitedLogBenchmark.class, LogLevel.INFO, "Processed block {} ({} transactions).", MESSAGE_ARGUMENTS, null);
+    }
+
+    @Benchmark
+    public void suppressedWrite() {
+        _rateLimitedLog.write(RateLimitedLogBenchmark.class, LogLevel.INFO, "Processed block {} ({} transactions).", MESSAGE_ARGUMENTS, null);
+    }
+
+    @Benchmark
+    public void unlimitedSiteWrite() {
+        _rateLimitedLog.write(RateLimitedLogBenchmark.class, LogLevel.WARN, "Processed block {} ({} transactions).", MESSAGE_ARGUMENTS, null);
+    }
+}
@@ -0,0 +1,76 @@
+package com.softwareverde.benchmark.logging;
+
+import com.softwareverde.logging.Log;
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.log.AnnotatedLog;
+import com.softwareverde.logging.log.ChannelWriter;
+import com.softwareverde.logging.log.Layout;
+import com.softwareverde.logging.log.LayoutLog;
+import com.softwareverde.logging.log.StripedLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput (ops/us, summed across threads) of 64 threads writing parameterized INFO statements
+ *  to an AnnotatedLog or a LayoutLog, whose monitor every thread contends on, versus a StripedLog, whose threads encode into their own buffers.
+ *  Each renders identical lines and writes them (buffered) to a NullChannel; the LayoutLog and StripedLog render via the same Layout.
+ *  Run via the jmhThreads64 task (or without a "-t" argument); the jmhThreads1/4/16 tasks override the thread count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(64)
+@Fork(1)
+public class StripedLogBenchmark {
+    protected static final String MESSAGE_TEMPLATE = "Benchmark message {}.";
+    protected static final Integer MESSAGE_ARGUMENT = 1024;
+
+    protected Log _annotatedLog;
+    protected Log _layoutLog;
+    protected StripedLog _stripedLog;
+
+    @Setup
+    public void setUp() {
+        final ChannelWriter channelWriter = new ChannelWriter(new NullChannel(), StripedLog.DEFAULT_BUFFER_SIZE, false);
+        _annotatedLog = new AnnotatedLog(channelWriter, channelWriter) { };
+
+        final ChannelWriter layoutChannelWriter = new ChannelWriter(new NullChannel(), StripedLog.DEFAULT_BUFFER_SIZE, false);
+        _layoutLog = new LayoutLog(Layout.newAnnotatedLayout(), layoutChannelWriter, layoutChannelWriter);
+
+        _stripedLog = new StripedLog(Layout.newAnnotatedLayout(), new NullChannel());
+    }
+
+    @TearDown
+    public void tearDown() {
+        _stripedLog.close();
+    }
+
+    @Benchmark
+    public void annotatedLogWrite() {
+        _annotatedLog.write(StripedLogBenchmark.class, LogLevel.INFO, MESSAGE_TEMPLATE, new Object[]{ MESSAGE_ARGUMENT }, null);
+    }
+
+    @Benchmark
+    public void layoutLogWrite() {
+        _layoutLog.write(StripedLogBenchmark.class, LogLevel.INFO, MESSAGE_TEMPLATE, new Object[]{ MESSAGE_ARGUMENT }, null);
+    }
+
+    @Benchmark
+    public void stripedLogWrite() {
+        _stripedLog.write(StripedLogBenchmark.class, LogLevel.INFO, MESSAGE_TEMPLATE, new Object[]{ MESSAGE_ARGUMENT }, null);
+    }
+}
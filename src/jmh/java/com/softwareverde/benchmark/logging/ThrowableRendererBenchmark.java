@@ -0,0 +1,88 @@
+package com.softwareverde.benchmark.logging;
+
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.log.AnnotatedLog;
+import com.softwareverde.logging.log.ChannelWriter;
+import com.softwareverde.logging.log.DeduplicatingThrowableRenderer;
+import com.softwareverde.logging.log.FilteredStackTraceRenderer;
+import com.softwareverde.logging.log.StackTraceRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures logging the same exception at WARN repeatedly, as when a dependency fails.
+ *  The exception (and its cause) is thrown beneath stackDepth application frames; each Log writes through a buffered ChannelWriter to a NullChannel.
+ *  The Writer prints the stack trace (the default), the StackTraceRenderer renders it from cached frames, the FilteredStackTraceRenderer renders
+ *  at most its default number of frames, and the DeduplicatingThrowableRenderer references the first occurrence.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThrowableRendererBenchmark {
+    @Param({ "50", "200" })
+    public int stackDepth;
+
+    protected Exception _exception;
+
+    protected AnnotatedLog _printStackTraceLog;
+    protected AnnotatedLog _stackTraceRendererLog;
+    protected AnnotatedLog _filteredStackTraceRendererLog;
+    protected AnnotatedLog _deduplicatingRendererLog;
+
+    protected static AnnotatedLog newLog() {
+        final ChannelWriter channelWriter = new ChannelWriter(new NullChannel(), ChannelWriter.DEFAULT_BUFFER_SIZE, false);
+        return new AnnotatedLog(channelWriter, channelWriter) { };
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        _exception = CallStack.callAtDepth(this.stackDepth, () -> new IOException("Connection refused.", new IllegalStateException("Not connected.")));
+
+        _printStackTraceLog = ThrowableRendererBenchmark.newLog();
+
+        _stackTraceRendererLog = ThrowableRendererBenchmark.newLog();
+        _stackTraceRendererLog.setThrowableRenderer(new StackTraceRenderer());
+
+        _filteredStackTraceRendererLog = ThrowableRendererBenchmark.newLog();
+        _filteredStackTraceRendererLog.setThrowableRenderer(new FilteredStackTraceRenderer());
+
+        _deduplicatingRendererLog = ThrowableRendererBenchmark.newLog();
+        _deduplicatingRendererLog.setThrowableRenderer(new DeduplicatingThrowableRenderer());
+    }
+
+    @Benchmark
+    public void printStackTraceWrite() {
+        _printStackTraceLog.write(ThrowableRendererBenchmark.class, LogLevel.WARN, "Request failed.", _exception);
+    }
+
+    @Benchmark
+    public void stackTraceRendererWrite() {
+        _stackTraceRendererLog.write(ThrowableRendererBenchmark.class, LogLevel.WARN, "Request failed.", _exception);
+    }
+
+    @Benchmark
+    public void filteredStackTraceRendererWrite() {
+        _filteredStackTraceRendererLog.write(ThrowableRendererBenchmark.class, LogLevel.WARN, "Request failed.", _exception);
+    }
+
+    @Benchmark
+    public void deduplicatingRendererWrite() {
+        _deduplicatingRendererLog.write(ThrowableRendererBenchmark.class, LogLevel.WARN, "Request failed.", _exception);
+    }
+}
@@ -0,0 +1,54 @@
+package com.softwareverde.logging; // Within the logging package in order to access the package-private StackTraceManagers.
+
+import com.softwareverde.benchmark.logging.CallStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the SecurityManager and StackWalker caller-resolution engines beneath stacks of increasing depth.
+ *  The calling class (CallStack) is always two frames away, so the StackWalker cost should be independent of stackDepth.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StackTraceManagerBenchmark {
+    @Param({ "10", "50", "200" })
+    public int stackDepth;
+
+    protected Supplier<Class<?>> _securityManagerSupplier;
+    protected Supplier<Class<?>> _stackWalkerSupplier;
+
+    @Setup
+    public void setUp() {
+        final StackTraceManager securityManagerStackTraceManager = new SecurityManagerStackTraceManager();
+        _securityManagerSupplier = securityManagerStackTraceManager::getCallingClass;
+
+        final StackTraceManager stackWalkerStackTraceManager = (StackWalkerStackTraceManager.isSupported() ? new StackWalkerStackTraceManager() : securityManagerStackTraceManager);
+        _stackWalkerSupplier = stackWalkerStackTraceManager::getCallingClass;
+    }
+
+    @Benchmark
+    public Class<?> securityManagerGetCallingClass() {
+        return CallStack.callAtDepth(this.stackDepth, _securityManagerSupplier);
+    }
+
+    @Benchmark
+    public Class<?> stackWalkerGetCallingClass() {
+        return CallStack.callAtDepth(this.stackDepth, _stackWalkerSupplier);
+    }
+}
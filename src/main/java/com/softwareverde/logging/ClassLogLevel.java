@@ -0,0 +1,101 @@
+package com.softwareverde.logging;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The effective LogLevel of a class, as resolved by the Logger for a particular generation of its configuration.
+ *  The effective sampling rates of the class's LogLevels are resolved alongside it; events at a sampled LogLevel are written with probability samplingRate.
+ *  Whether any hook receives disabled events (i.e. metrics, the filtered-event Log, or conditional buffering) is also resolved alongside it,
+ *  so that a disabled statement does not read each hook's configuration.
+ *  Instances are immutable; once the Logger's generation changes, the instance is stale and must be re-resolved.
+ */
+class ClassLogLevel {
+    protected static final double SAMPLING_RANGE = 2147483648D; // 2^31, the range of a non-negative random int.
+
+    /**
+     * Returns the marker prepended to the message of a sampled event, i.e. "[sampled 1%]".
+     */
+    public static String getSamplingMarker(final double samplingRate) {
+        return ("[sampled " + BigDecimal.valueOf(samplingRate).movePointRight(2).stripTrailingZeros().toPlainString() + "%]");
+    }
+
+    /**
+     * Returns the minimum LogLevel::value that is loggable with the provided LogLevel threshold.
+     *  OFF is mapped to Integer.MAX_VALUE so that nothing (including events logged at OFF) passes the threshold.
+     */
+    public static int getThresholdValue(final LogLevel logLevel) {
+        if (logLevel == LogLevel.OFF) { return Integer.MAX_VALUE; }
+        return logLevel.value;
+    }
+
+    public final int generation;
+    public final LogLevel logLevel;
+    public final int thresholdValue;
+    public final boolean hasFilteredEventHooks; // If false, disabled events are discarded without invoking Logger::onFilteredEvent (et al.).
+
+    /**
+     * Indexed by LogLevel::ordinal; null if none of the class's LogLevels are sampled.
+     *  A sampled LogLevel has a marker and a threshold, which a random non-negative int must be less than for the event to be written.
+     */
+    protected final String[] _samplingMarkers;
+    protected final int[] _samplingThresholds;
+
+    public ClassLogLevel(final int generation, final LogLevel logLevel) {
+        this(generation, logLevel, null, false);
+    }
+
+    /**
+     * @param nullableSamplingRates The sampling rate of each LogLevel, indexed by LogLevel::ordinal; a null (or a rate of at least 1) is not sampled.
+     * @param hasFilteredEventHooks True if disabled events must be passed to the Logger's filtered-event hooks.
+     */
+    public ClassLogLevel(final int generation, final LogLevel logLevel, final Double[] nullableSamplingRates, final boolean hasFilteredEventHooks) {
+        this.generation = generation;
+        this.logLevel = logLevel;
+        this.thresholdValue = ClassLogLevel.getThresholdValue(logLevel);
+        this.hasFilteredEventHooks = hasFilteredEventHooks;
+
+        String[] samplingMarkers = null;
+        int[] samplingThresholds = null;
+        if (nullableSamplingRates != null) {
+            for (int i = 0; i < nullableSamplingRates.length; ++i) {
+                final Double samplingRate = nullableSamplingRates[i];
+                if ( (samplingRate == null) || (samplingRate >= 1D) ) { continue; }
+
+                if (samplingMarkers == null) {
+                    samplingMarkers = new String[nullableSamplingRates.length];
+                    samplingThresholds = new int[nullableSamplingRates.length];
+                }
+
+                final double boundedSamplingRate = Math.max(0D, samplingRate);
+                samplingMarkers[i] = ClassLogLevel.getSamplingMarker(boundedSamplingRate);
+                samplingThresholds[i] = (int) (boundedSamplingRate * SAMPLING_RANGE);
+            }
+        }
+        _samplingMarkers = samplingMarkers;
+        _samplingThresholds = samplingThresholds;
+    }
+
+    /**
+     * Returns true if an event logged at eventLogLevel should be written.
+     *  Since LogLevel.OFF has a value of zero, events logged at OFF are never loggable.
+     */
+    public boolean isLoggable(final LogLevel eventLogLevel) {
+        return (eventLogLevel.value >= this.thresholdValue);
+    }
+
+    /**
+     * Returns the marker of events logged at eventLogLevel if the LogLevel is sampled, or null if every event is written.
+     */
+    public String getSamplingMarker(final LogLevel eventLogLevel) {
+        if (_samplingMarkers == null) { return null; }
+        return _samplingMarkers[eventLogLevel.ordinal()];
+    }
+
+    /**
+     * Returns true if an event logged at the sampled eventLogLevel should be written, using the calling thread's random number generator.
+     */
+    public boolean isSampled(final LogLevel eventLogLevel) {
+        return ((ThreadLocalRandom.current().nextInt() >>> 1) < _samplingThresholds[eventLogLevel.ordinal()]);
+    }
+}
@@ -0,0 +1,183 @@
+package com.softwareverde.logging;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * A bounded ring of the unformatted TRACE/DEBUG events of a single thread, retained so that they may be written if the thread later logs a WARN or ERROR.
+ *  Events are stored as references within parallel arrays (their message, template arguments, exception, etc.), so recording an event does not allocate;
+ *  the message is only formatted (and a message Supplier only invoked) once the buffer is flushed.
+ *  Once full, each new event overwrites the oldest event.  Instances are not thread-safe; each is confined to its thread by the Logger.
+ */
+class ConditionalEventBuffer {
+    protected static final byte STRING_MESSAGE = 0;
+    protected static final byte OBJECT_MESSAGE = 1;
+    protected static final byte SUPPLIER_MESSAGE = 2;
+    protected static final byte TEMPLATE_MESSAGE = 3;
+
+    protected final int _generation;
+    protected final int _capacity;
+    protected final Log[] _logs; // A null Log is resolved via the LogFactory when the event is flushed.
+    protected final LogLevel[] _logLevels;
+    protected final Class<?>[] _callingClasses;
+    protected final byte[] _messageTypes;
+    protected final Object[] _messages;
+    protected final Object[][] _messageArguments;
+    protected final Throwable[] _exceptions;
+
+    protected int _nextIndex = 0;
+    protected int _eventCount = 0;
+    protected long _overwrittenEventCount = 0L;
+    protected boolean _isFlushing = false;
+
+    protected void _add(final Log nullableLog, final LogLevel logLevel, final Class<?> callingClass, final byte messageType, final Object nullableMessage, final Object[] nullableMessageArguments, final Throwable nullableException) {
+        if (_isFlushing) { return; } // Events logged by a Log while it is being flushed to are not buffered.
+
+        final int index = _nextIndex;
+        _logs[index] = nullableLog;
+        _logLevels[index] = logLevel;
+        _callingClasses[index] = callingClass;
+        _messageTypes[index] = messageType;
+        _messages[index] = nullableMessage;
+        _messageArguments[index] = nullableMessageArguments;
+        _exceptions[index] = nullableException;
+
+        _nextIndex = ((index + 1) == _capacity ? 0 : (index + 1));
+        if (_eventCount < _capacity) {
+            _eventCount += 1;
+        }
+        else {
+            _overwrittenEventCount += 1L;
+        }
+    }
+
+    protected void _write(final int index, final LogFactory logFactory) {
+        final Class<?> callingClass = _callingClasses[index];
+        final Log log = (_logs[index] != null ? _logs[index] : logFactory.newLog(callingClass));
+        if (log == null) { return; }
+
+        final LogLevel logLevel = _logLevels[index];
+        final Object nullableMessage = _messages[index];
+        switch (_messageTypes[index]) {
+            case TEMPLATE_MESSAGE: {
+                final Object[] messageArguments = _messageArguments[index];
+                log.write(callingClass, logLevel, (String) nullableMessage, messageArguments, MessageFormatter.getThrowable(messageArguments));
+            } break;
+
+            case SUPPLIER_MESSAGE: {
+                log.write(callingClass, logLevel, Logger.stringify((Supplier<?>) nullableMessage), _exceptions[index]);
+            } break;
+
+            case OBJECT_MESSAGE: {
+                log.write(callingClass, logLevel, Logger.stringify(nullableMessage), _exceptions[index]);
+            } break;
+
+            default: {
+                log.write(callingClass, logLevel, (String) nullableMessage, _exceptions[index]);
+            }
+        }
+    }
+
+    /**
+     * @param generation The Logger's conditional buffering configuration that the buffer was created for.
+     */
+    public ConditionalEventBuffer(final int generation, final int capacity) {
+        _generation = generation;
+        _capacity = capacity;
+        _logs = new Log[capacity];
+        _logLevels = new LogLevel[capacity];
+        _callingClasses = new Class<?>[capacity];
+        _messageTypes = new byte[capacity];
+        _messages = new Object[capacity];
+        _messageArguments = new Object[capacity][];
+        _exceptions = new Throwable[capacity];
+    }
+
+    public int getGeneration() {
+        return _generation;
+    }
+
+    public int getCapacity() {
+        return _capacity;
+    }
+
+    public int getEventCount() {
+        return _eventCount;
+    }
+
+    /**
+     * Returns the number of events that were overwritten (i.e. discarded) because the buffer was full.
+     */
+    public long getOverwrittenEventCount() {
+        return _overwrittenEventCount;
+    }
+
+    public void addMessage(final Log nullableLog, final LogLevel logLevel, final Class<?> callingClass, final String nullableMessage, final Throwable nullableException) {
+        _add(nullableLog, logLevel, callingClass, STRING_MESSAGE, nullableMessage, null, nullableException);
+    }
+
+    /**
+     * Buffers the message Object, which is converted to a String (i.e. Object::toString) once it is flushed.
+     */
+    public void addObject(final Log nullableLog, final LogLevel logLevel, final Class<?> callingClass, final Object nullableMessage, final Throwable nullableException) {
+        _add(nullableLog, logLevel, callingClass, OBJECT_MESSAGE, nullableMessage, null, nullableException);
+    }
+
+    /**
+     * Buffers the message Supplier, which is only invoked once it is flushed.
+     */
+    public void addSupplier(final Log nullableLog, final LogLevel logLevel, final Class<?> callingClass, final Supplier<?> nullableMessageSupplier, final Throwable nullableException) {
+        _add(nullableLog, logLevel, callingClass, SUPPLIER_MESSAGE, nullableMessageSupplier, null, nullableException);
+    }
+
+    public void addTemplate(final Log nullableLog, final LogLevel logLevel, final Class<?> callingClass, final String messageTemplate, final Object[] messageArguments) {
+        _add(nullableLog, logLevel, callingClass, TEMPLATE_MESSAGE, messageTemplate, messageArguments, null);
+    }
+
+    /**
+     * Writes the buffered events, oldest first, and clears the buffer.
+     *  Events buffered with a null Log are written to the Log provided by the logFactory for their calling class.
+     */
+    public void flush(final LogFactory logFactory) {
+        if ( (_eventCount == 0) || _isFlushing ) { return; }
+
+        _isFlushing = true;
+        try {
+            final int firstIndex = ((_nextIndex - _eventCount + _capacity) % _capacity);
+            for (int i = 0; i < _eventCount; ++i) {
+                _write(((firstIndex + i) % _capacity), logFactory);
+            }
+        }
+        finally {
+            _isFlushing = false;
+            this.clear();
+        }
+    }
+
+    /**
+     * Discards the buffered events.  References to the events' messages and arguments are released so that they may be garbage collected.
+     */
+    public void clear() {
+        if (_eventCount == 0) { return; }
+
+        if (_eventCount == _capacity) {
+            Arrays.fill(_messages, null);
+            Arrays.fill(_messageArguments, null);
+            Arrays.fill(_exceptions, null);
+            Arrays.fill(_logs, null);
+        }
+        else {
+            final int firstIndex = ((_nextIndex - _eventCount + _capacity) % _capacity);
+            for (int i = 0; i < _eventCount; ++i) {
+                final int index = ((firstIndex + i) % _capacity);
+                _messages[index] = null;
+                _messageArguments[index] = null;
+                _exceptions[index] = null;
+                _logs[index] = null;
+            }
+        }
+
+        _nextIndex = 0;
+        _eventCount = 0;
+    }
+}
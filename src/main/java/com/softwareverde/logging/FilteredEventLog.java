@@ -0,0 +1,38 @@
+package com.softwareverde.logging;
+
+import java.util.function.Supplier;
+
+/**
+ * A Log that receives the events disabled by their class's LogLevel (see Logger::setFilteredEventLog) in their unformatted form,
+ *  so that an implementation which retains references (i.e. FlightRecorderLog's recorder) may receive an event without allocating.
+ *  The default implementations format the event and write it via Log::write.
+ */
+public interface FilteredEventLog extends Log {
+    /**
+     * Writes the message Object; the default implementation converts it to a String (i.e. Object::toString).
+     */
+    default void writeObject(final Class<?> callingClass, final LogLevel logLevel, final Object nullableMessage, final Throwable nullableException) {
+        this.write(callingClass, logLevel, Logger.stringify(nullableMessage), nullableException);
+    }
+
+    /**
+     * Writes the message provided by the Supplier.  The default implementation discards the event, since the Supplier would otherwise be invoked for a disabled event.
+     */
+    default void writeSupplier(final Class<?> callingClass, final LogLevel logLevel, final Supplier<?> nullableMessageSupplier, final Throwable nullableException) { }
+
+    /**
+     * Writes a parameterized message with a single argument, which may be the event's Throwable.
+     */
+    default void writeTemplate(final Class<?> callingClass, final LogLevel logLevel, final String messageTemplate, final Object argument) {
+        final Object[] messageArguments = new Object[]{ argument };
+        this.write(callingClass, logLevel, messageTemplate, messageArguments, MessageFormatter.getThrowable(messageArguments));
+    }
+
+    /**
+     * Writes a parameterized message with two arguments, the last of which may be the event's Throwable.
+     */
+    default void writeTemplate(final Class<?> callingClass, final LogLevel logLevel, final String messageTemplate, final Object argument0, final Object argument1) {
+        final Object[] messageArguments = new Object[]{ argument0, argument1 };
+        this.write(callingClass, logLevel, messageTemplate, messageArguments, MessageFormatter.getThrowable(messageArguments));
+    }
+}
@@ -0,0 +1,354 @@
+package com.softwareverde.logging;
+
+import com.softwareverde.logging.log.Layout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks the sources (i.e. calling class and LogLevel) that write the most events, in constant memory and without locks.
+ *  Each event increments a Count-Min sketch, whose (over-)estimate of the source's count is then offered to a small table of candidates,
+ *  in the manner of Space-Saving: a source whose estimate exceeds the smallest candidate's count replaces that candidate.
+ *  The sketch and the candidate table are updated with atomic operations only; a source's own candidate is found via a cached slot hint,
+ *  so the candidate table is only scanned when a source's estimate exceeds the current minimum.
+ *  Counts are per interval: once the summary interval elapses, a summary of the top sources is logged (at INFO, by HeavyHitterTracker)
+ *  and the counts are reset.  Whether the interval has elapsed is only checked by a random 1/SUMMARY_CHECK_RATE of the events.
+ *  Install via Logger::setHeavyHitterTracker.
+ */
+public class HeavyHitterTracker {
+    public static final int DEFAULT_TOP_SOURCE_COUNT = 10;
+    public static final Long DEFAULT_SUMMARY_INTERVAL_MS = 60000L;
+
+    protected static final int SKETCH_DEPTH = 4;
+    protected static final int SKETCH_WIDTH = 2048; // Must be a power of two.
+    protected static final int CANDIDATE_COUNT_MULTIPLIER = 4; // Candidates retained per reported source, which reduces Space-Saving's error for the top sources.
+    protected static final int SUMMARY_CHECK_RATE = 256; // Must be a power of two.
+    protected static final int LOG_LEVEL_COUNT = LogLevel.values().length;
+
+    /**
+     * A source of events; one instance exists per class and LogLevel, so sources are compared by identity.
+     */
+    public static class Source {
+        public final Class<?> callingClass;
+        public final LogLevel logLevel;
+        protected final int _hash;
+        protected volatile int _candidateIndexHint = 0;
+
+        protected Source(final Class<?> callingClass, final LogLevel logLevel) {
+            this.callingClass = callingClass;
+            this.logLevel = logLevel;
+            _hash = HeavyHitterTracker.mix((System.identityHashCode(callingClass) * LOG_LEVEL_COUNT) + logLevel.ordinal());
+        }
+
+        @Override
+        public String toString() {
+            return (Layout.getClassName(this.callingClass) + " " + this.logLevel);
+        }
+    }
+
+    /**
+     * A source and its estimated number of events within the current interval.
+     */
+    public static class HeavyHitter {
+        public final Source source;
+        public final long estimatedEventCount;
+
+        public HeavyHitter(final Source source, final long estimatedEventCount) {
+            this.source = source;
+            this.estimatedEventCount = estimatedEventCount;
+        }
+
+        @Override
+        public String toString() {
+            return (this.source + "=" + this.estimatedEventCount);
+        }
+    }
+
+    protected static class Candidate {
+        public final Source source;
+        public final AtomicLong estimatedEventCount;
+
+        public Candidate(final Source source, final long estimatedEventCount) {
+            this.source = source;
+            this.estimatedEventCount = new AtomicLong(estimatedEventCount);
+        }
+    }
+
+    protected static final Comparator<HeavyHitter> DESCENDING_EVENT_COUNT = new Comparator<HeavyHitter>() {
+        @Override
+        public int compare(final HeavyHitter heavyHitter0, final HeavyHitter heavyHitter1) {
+            return Long.compare(heavyHitter1.estimatedEventCount, heavyHitter0.estimatedEventCount);
+        }
+    };
+
+    /**
+     * The finalizer of MurmurHash3, so that consecutive inputs are spread across the sketch.
+     */
+    protected static int mix(final int value) {
+        int hash = value;
+        hash ^= (hash >>> 16);
+        hash *= 0x85EBCA6B;
+        hash ^= (hash >>> 13);
+        hash *= 0xC2B2AE35;
+        hash ^= (hash >>> 16);
+        return hash;
+    }
+
+    protected final int _topSourceCount;
+    protected final long _summaryIntervalNanos;
+    protected final LongSupplier _nanoClock;
+
+    protected final ClassValue<Source[]> _sources = new ClassValue<Source[]>() {
+        @Override
+        protected Source[] computeValue(final Class<?> clazz) {
+            final Source[] sources = new Source[LOG_LEVEL_COUNT];
+            for (final LogLevel logLevel : LogLevel.values()) {
+                sources[logLevel.ordinal()] = new Source(clazz, logLevel);
+            }
+            return sources;
+        }
+    };
+
+    /**
+     * Row i of the sketch occupies [i * SKETCH_WIDTH, (i + 1) * SKETCH_WIDTH).
+     */
+    protected final AtomicLongArray _sketch = new AtomicLongArray(SKETCH_DEPTH * SKETCH_WIDTH);
+    protected final AtomicReferenceArray<Candidate> _candidates;
+    protected volatile long _minimumCandidateEventCount = 0L; // A lower bound of the smallest candidate's count once the table is full; 0 while it has empty slots.
+    protected final LongAdder _eventCount = new LongAdder();
+    protected final AtomicLong _nextSummaryNanos;
+
+    /**
+     * Increments the source's counters within the sketch, and returns its estimated count (the minimum of its counters).
+     *  Each row is indexed by a combination of two halves of the source's hash (see Kirsch and Mitzenmacher).
+     */
+    protected long _incrementSketch(final Source source) {
+        final int hash0 = source._hash;
+        final int hash1 = (HeavyHitterTracker.mix(hash0) | 1);
+
+        long estimatedEventCount = Long.MAX_VALUE;
+        for (int i = 0; i < SKETCH_DEPTH; ++i) {
+            final int column = ((hash0 + (i * hash1)) & (SKETCH_WIDTH - 1));
+            final long count = _sketch.incrementAndGet((i * SKETCH_WIDTH) + column);
+            estimatedEventCount = Math.min(estimatedEventCount, count);
+        }
+        return estimatedEventCount;
+    }
+
+    /**
+     * Replaces the candidate with the smallest count (or an empty slot) with the source, if the source's estimate still exceeds it,
+     *  and then updates the minimum candidate count.  Concurrent replacements are resolved via compareAndSet; the loser's update is dropped.
+     */
+    protected void _offerCandidate(final Source source, final long estimatedEventCount) {
+        int minimumIndex = -1;
+        Candidate minimumCandidate = null;
+        long minimumEventCount = Long.MAX_VALUE;
+        for (int i = 0; i < _candidates.length(); ++i) {
+            final Candidate candidate = _candidates.get(i);
+            if (candidate == null) {
+                minimumIndex = i;
+                minimumCandidate = null;
+                minimumEventCount = 0L;
+                break;
+            }
+
+            if (candidate.source == source) { // Another thread added the source concurrently.
+                source._candidateIndexHint = i;
+                HeavyHitterTracker.updateCount(candidate, estimatedEventCount);
+                return;
+            }
+
+            final long eventCount = candidate.estimatedEventCount.get();
+            if (eventCount < minimumEventCount) {
+                minimumIndex = i;
+                minimumCandidate = candidate;
+                minimumEventCount = eventCount;
+            }
+        }
+
+        if (estimatedEventCount <= minimumEventCount) {
+            _minimumCandidateEventCount = minimumEventCount;
+            return;
+        }
+
+        if (_candidates.compareAndSet(minimumIndex, minimumCandidate, new Candidate(source, estimatedEventCount))) {
+            source._candidateIndexHint = minimumIndex;
+        }
+
+        _updateMinimumCandidateEventCount();
+    }
+
+    protected static void updateCount(final Candidate candidate, final long estimatedEventCount) {
+        while (true) {
+            final long eventCount = candidate.estimatedEventCount.get();
+            if (estimatedEventCount <= eventCount) { return; }
+            if (candidate.estimatedEventCount.compareAndSet(eventCount, estimatedEventCount)) { return; }
+        }
+    }
+
+    protected void _updateMinimumCandidateEventCount() {
+        long minimumEventCount = Long.MAX_VALUE;
+        for (int i = 0; i < _candidates.length(); ++i) {
+            final Candidate candidate = _candidates.get(i);
+            if (candidate == null) {
+                minimumEventCount = 0L;
+                break;
+            }
+            minimumEventCount = Math.min(minimumEventCount, candidate.estimatedEventCount.get());
+        }
+        _minimumCandidateEventCount = minimumEventCount;
+    }
+
+    protected void _writeSummaryIfDue() {
+        final long nowNanos = _nanoClock.getAsLong();
+        final long nextSummaryNanos = _nextSummaryNanos.get();
+        if ((nowNanos - nextSummaryNanos) < 0L) { return; }
+        if (! _nextSummaryNanos.compareAndSet(nextSummaryNanos, (nowNanos + _summaryIntervalNanos))) { return; }
+
+        final String summary = this.getSummary();
+        this.reset();
+        Logger.log(LogLevel.INFO, HeavyHitterTracker.class, summary, null);
+    }
+
+    public HeavyHitterTracker() {
+        this(DEFAULT_TOP_SOURCE_COUNT, DEFAULT_SUMMARY_INTERVAL_MS);
+    }
+
+    /**
+     * @param topSourceCount The number of sources reported.
+     * @param summaryIntervalMs The duration of each interval, after which the top sources are logged and the counts are reset.
+     */
+    public HeavyHitterTracker(final int topSourceCount, final Long summaryIntervalMs) {
+        this(topSourceCount, summaryIntervalMs, System::nanoTime);
+    }
+
+    public HeavyHitterTracker(final int topSourceCount, final Long summaryIntervalMs, final LongSupplier nanoClock) {
+        _topSourceCount = Math.max(1, topSourceCount);
+        _summaryIntervalNanos = TimeUnit.MILLISECONDS.toNanos(summaryIntervalMs);
+        _nanoClock = nanoClock;
+        _candidates = new AtomicReferenceArray<Candidate>(_topSourceCount * CANDIDATE_COUNT_MULTIPLIER);
+        _nextSummaryNanos = new AtomicLong(nanoClock.getAsLong() + _summaryIntervalNanos);
+    }
+
+    /**
+     * Counts an event written by the callingClass at the LogLevel.
+     */
+    public void add(final Class<?> callingClass, final LogLevel logLevel) {
+        final Source source = _sources.get(callingClass)[logLevel.ordinal()];
+        _eventCount.increment();
+
+        final long estimatedEventCount = _incrementSketch(source);
+
+        final Candidate candidate = _candidates.get(source._candidateIndexHint);
+        if ( (candidate != null) && (candidate.source == source) ) {
+            HeavyHitterTracker.updateCount(candidate, estimatedEventCount);
+        }
+        else if (estimatedEventCount > _minimumCandidateEventCount) {
+            _offerCandidate(source, estimatedEventCount);
+        }
+
+        if ((ThreadLocalRandom.current().nextInt() & (SUMMARY_CHECK_RATE - 1)) == 0) {
+            _writeSummaryIfDue();
+        }
+    }
+
+    /**
+     * Returns the sources with the most events within the current interval, most frequent first.
+     *  Counts are estimates, and never underestimate a source's count (but may overestimate it).
+     */
+    public List<HeavyHitter> getTopSources() {
+        final ArrayList<HeavyHitter> heavyHitters = new ArrayList<HeavyHitter>();
+        for (int i = 0; i < _candidates.length(); ++i) {
+            final Candidate candidate = _candidates.get(i);
+            if (candidate == null) { continue; }
+            heavyHitters.add(new HeavyHitter(candidate.source, candidate.estimatedEventCount.get()));
+        }
+
+        Collections.sort(heavyHitters, DESCENDING_EVENT_COUNT);
+        return new ArrayList<HeavyHitter>(heavyHitters.subList(0, Math.min(_topSourceCount, heavyHitters.size())));
+    }
+
+    /**
+     * Returns the estimated number of events written by the callingClass at the LogLevel within the current interval.
+     */
+    public long getEstimatedEventCount(final Class<?> callingClass, final LogLevel logLevel) {
+        final Source source = _sources.get(callingClass)[logLevel.ordinal()];
+        final int hash0 = source._hash;
+        final int hash1 = (HeavyHitterTracker.mix(hash0) | 1);
+
+        long estimatedEventCount = Long.MAX_VALUE;
+        for (int i = 0; i < SKETCH_DEPTH; ++i) {
+            final int column = ((hash0 + (i * hash1)) & (SKETCH_WIDTH - 1));
+            estimatedEventCount = Math.min(estimatedEventCount, _sketch.get((i * SKETCH_WIDTH) + column));
+        }
+        return estimatedEventCount;
+    }
+
+    /**
+     * Returns the number of events counted within the current interval.
+     */
+    public long getEventCount() {
+        return _eventCount.sum();
+    }
+
+    /**
+     * Returns the summary of the current interval, i.e. "Top log sources: 81% of 12000 events; com.example.Worker DEBUG=9000 (75%), com.example.Server INFO=720 (6%)."
+     */
+    public String getSummary() {
+        final long eventCount = _eventCount.sum();
+        final List<HeavyHitter> heavyHitters = this.getTopSources();
+
+        long topSourcesEventCount = 0L;
+        final StringBuilder sourcesStringBuilder = new StringBuilder();
+        for (final HeavyHitter heavyHitter : heavyHitters) {
+            topSourcesEventCount += heavyHitter.estimatedEventCount;
+            if (sourcesStringBuilder.length() > 0) {
+                sourcesStringBuilder.append(", ");
+            }
+            sourcesStringBuilder.append(heavyHitter);
+            sourcesStringBuilder.append(" (");
+            sourcesStringBuilder.append(HeavyHitterTracker.toPercent(heavyHitter.estimatedEventCount, eventCount));
+            sourcesStringBuilder.append("%)");
+        }
+
+        final StringBuilder stringBuilder = new StringBuilder("Top log sources: ");
+        stringBuilder.append(HeavyHitterTracker.toPercent(topSourcesEventCount, eventCount));
+        stringBuilder.append("% of ");
+        stringBuilder.append(eventCount);
+        stringBuilder.append(" events");
+        if (sourcesStringBuilder.length() > 0) {
+            stringBuilder.append("; ");
+            stringBuilder.append(sourcesStringBuilder);
+        }
+        stringBuilder.append(".");
+        return stringBuilder.toString();
+    }
+
+    protected static long toPercent(final long count, final long totalCount) {
+        if (totalCount <= 0L) { return 0L; }
+        return Math.min(100L, ((count * 100L) / totalCount));
+    }
+
+    /**
+     * Resets the counts, beginning a new interval.  Events counted concurrently with the reset may be partially retained.
+     */
+    public void reset() {
+        for (int i = 0; i < _sketch.length(); ++i) {
+            _sketch.set(i, 0L);
+        }
+        for (int i = 0; i < _candidates.length(); ++i) {
+            _candidates.set(i, null);
+        }
+        _minimumCandidateEventCount = 0L;
+        _eventCount.reset();
+    }
+}
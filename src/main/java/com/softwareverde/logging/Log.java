@@ -2,6 +2,17 @@ package com.softwareverde.logging;
 
 public interface Log {
     void write(Class<?> callingClass, LogLevel logLevel, String nullableMessage, Throwable nullableException);
+
+    /**
+     * Writes a parameterized message; the "{}" placeholders of messageTemplate are substituted with messageArguments (see MessageFormatter).
+     *  messageArguments may still contain the trailing Throwable, which has been extracted as nullableException.
+     *  Implementations that assemble their output within a buffer should override this function in order to format the message directly into that buffer.
+     */
+    default void write(final Class<?> callingClass, final LogLevel logLevel, final String messageTemplate, final Object[] messageArguments, final Throwable nullableException) {
+        final String message = MessageFormatter.format(messageTemplate, messageArguments);
+        this.write(callingClass, logLevel, message, nullableException);
+    }
+
     default void flush() { }
     default void close() { }
 }
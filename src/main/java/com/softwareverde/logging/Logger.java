@@ -4,7 +4,12 @@ import com.softwareverde.logging.log.AnnotatedLog;
 import com.softwareverde.logging.log.SystemLog;
 import com.softwareverde.util.Package;
 
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MutableCallSite;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 public class Logger {
     protected static final String NULL = "null";
@@ -17,8 +22,8 @@ public class Logger {
         }
     };
 
-    protected static LogLevel LOG_LEVEL = DEFAULT_LOG_LEVEL;
-    protected static LogFactory LOG_FACTORY = DEFAULT_LOG_FACTORY;
+    protected static volatile LogLevel LOG_LEVEL = DEFAULT_LOG_LEVEL;
+    protected static volatile LogFactory LOG_FACTORY = DEFAULT_LOG_FACTORY;
 
     /**
      * <p>Sets the log factory by providing a Log object that should always be used, regardless of the class context.</p>
@@ -79,74 +84,427 @@ public class Logger {
         return (object == null ? NULL : object.toString());
     }
 
-    protected static final ReentrantReadWriteLock.ReadLock _readLock;
-    protected static final ReentrantReadWriteLock.WriteLock _writeLock;
-    static {
-        final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock(false);
-        _readLock = readWriteLock.readLock();
-        _writeLock = readWriteLock.writeLock();
+    protected static String stringify(final Supplier<?> messageSupplier) {
+        if (messageSupplier == null) { return NULL; }
+        return Logger.stringify(messageSupplier.get());
     }
 
-    protected static final PackageLevel _rootPackage = PackageLevel.newRootPackage();
-    protected static final StackTraceManager _stackTraceManager = new StackTraceManager();
+    /**
+     * The package-level tree is copy-on-write: once published to _rootPackage, a tree is never modified.
+     *  Readers therefore only perform a volatile read of _rootPackage; writers copy the current tree,
+     *  modify the copy, and publish it while holding LOG_LEVEL_MUTEX (which only serializes writers).
+     */
+    protected static final Object LOG_LEVEL_MUTEX = new Object();
+    protected static volatile PackageLevel _rootPackage = PackageLevel.newRootPackage();
+
+    /**
+     * The effective LogLevel of each class is cached, and is invalidated by incrementing LOG_LEVEL_GENERATION.
+     *  Writers increment the generation after publishing their change; readers read the generation before the configuration.
+     *  Therefore a resolution that raced with a change is cached under the previous generation, and is resolved again on its next use.
+     */
+    protected static volatile int LOG_LEVEL_GENERATION = 0;
+    protected static final ClassValue<AtomicReference<ClassLogLevel>> CLASS_LOG_LEVELS = new ClassValue<AtomicReference<ClassLogLevel>>() {
+        @Override
+        protected AtomicReference<ClassLogLevel> computeValue(final Class<?> clazz) {
+            return new AtomicReference<ClassLogLevel>(null);
+        }
+    };
+
+    /**
+     * Mirrors LOG_LEVEL_GENERATION as the target of a MutableCallSite (i.e. a constant MethodHandle).
+     *  Since LOG_LEVEL_GENERATION_INVOKER is static final, the JIT may fold the generation into its callers as a constant,
+     *  and deoptimizes those callers when the target changes.  Unlike reading LOG_LEVEL_GENERATION, invoking it is not a volatile read,
+     *  so the checks made by LoggerInstance may be hoisted out of loops.
+     */
+    protected static final MutableCallSite LOG_LEVEL_GENERATION_CALL_SITE = new MutableCallSite(MethodHandles.constant(int.class, 0));
+    protected static final MethodHandle LOG_LEVEL_GENERATION_INVOKER = LOG_LEVEL_GENERATION_CALL_SITE.dynamicInvoker();
+
+    protected static final StackTraceManager _stackTraceManager = StackTraceManager.newInstance();
+
+    /**
+     * Set once a sampling rate has been configured, so that statements only resolve their sampling rate if sampling is in use.
+     *  Set (while holding LOG_LEVEL_MUTEX) before the sampling rate is published.
+     */
+    protected static volatile boolean IS_SAMPLING_CONFIGURED = false;
+    protected static final LongAdder SAMPLED_EVENT_COUNT = new LongAdder();
+    protected static final LongAdder UNSAMPLED_EVENT_COUNT = new LongAdder();
+
+    protected static final String SAMPLING_MARKER_SEPARATOR = " ";
+
+    /**
+     * The capacity of each thread's ConditionalEventBuffer, or 0 if conditional buffering is disabled.
+     *  Writers set the capacity before incrementing CONDITIONAL_BUFFER_GENERATION; a thread replaces its buffer once the buffer's generation is stale.
+     */
+    protected static final Object CONDITIONAL_BUFFER_MUTEX = new Object();
+    protected static volatile int CONDITIONAL_BUFFER_CAPACITY = 0;
+    protected static volatile int CONDITIONAL_BUFFER_GENERATION = 0;
+    protected static final ThreadLocal<ConditionalEventBuffer> CONDITIONAL_EVENT_BUFFERS = new ThreadLocal<ConditionalEventBuffer>();
+
+    /**
+     * Receives the events that are disabled by their class's LogLevel (i.e. a FlightRecorderLog's recorder), or null.
+     */
+    protected static volatile FilteredEventLog FILTERED_EVENT_LOG = null;
+
+    /**
+     * Counts the sources of the events that are written, or null.
+     */
+    protected static volatile HeavyHitterTracker HEAVY_HITTER_TRACKER = null;
+
+    /**
+     * Invalidates all cached LogLevels.  Must be invoked while holding LOG_LEVEL_MUTEX, after the change has been published.
+     */
+    protected static void _onLogLevelsChanged() {
+        final int generation = (LOG_LEVEL_GENERATION + 1);
+        LOG_LEVEL_GENERATION = generation;
+
+        LOG_LEVEL_GENERATION_CALL_SITE.setTarget(MethodHandles.constant(int.class, generation));
+        MutableCallSite.syncAll(new MutableCallSite[]{ LOG_LEVEL_GENERATION_CALL_SITE });
+    }
+
+    /**
+     * Invalidates all cached LogLevels after a filtered-event hook (i.e. metrics, the filtered-event Log, or conditional buffering) is enabled or disabled,
+     *  so that ClassLogLevel::hasFilteredEventHooks is resolved again.  Must be invoked after the change has been published.
+     */
+    protected static void onFilteredEventHooksChanged() {
+        synchronized (LOG_LEVEL_MUTEX) {
+            Logger._onLogLevelsChanged();
+        }
+    }
+
+    /**
+     * Returns true if any hook receives the events that are disabled by their class's LogLevel.
+     */
+    protected static boolean hasFilteredEventHooks() {
+        return (LoggingMetrics.IS_ENABLED || (FILTERED_EVENT_LOG != null) || (CONDITIONAL_BUFFER_CAPACITY != 0));
+    }
+
+    /**
+     * Returns the effective LogLevel of the callingClass, resolving (and caching) it if the cached value is stale.
+     */
+    protected static ClassLogLevel getClassLogLevel(final Class<?> callingClass) {
+        final AtomicReference<ClassLogLevel> cachedClassLogLevel = CLASS_LOG_LEVELS.get(callingClass);
+        final int generation = LOG_LEVEL_GENERATION;
+
+        final ClassLogLevel classLogLevel = cachedClassLogLevel.get();
+        if ( (classLogLevel != null) && (classLogLevel.generation == generation) ) {
+            return classLogLevel;
+        }
+
+        final PackageLevel rootPackage = _rootPackage;
+        final String className = Package.getClassName(callingClass);
+        final LogLevel nullableClassLogLevel = rootPackage.getLogLevel(className);
+        final LogLevel logLevel = (nullableClassLogLevel == null ? LOG_LEVEL : nullableClassLogLevel);
+
+        Double[] nullableSamplingRates = null;
+        if (IS_SAMPLING_CONFIGURED) {
+            for (final LogLevel eventLogLevel : LogLevel.values()) {
+                final Double samplingRate = rootPackage.getSamplingRate(className, eventLogLevel);
+                if (samplingRate == null) { continue; }
+
+                if (nullableSamplingRates == null) {
+                    nullableSamplingRates = new Double[LogLevel.values().length];
+                }
+                nullableSamplingRates[eventLogLevel.ordinal()] = samplingRate;
+            }
+        }
+
+        final ClassLogLevel newClassLogLevel = new ClassLogLevel(generation, logLevel, nullableSamplingRates, Logger.hasFilteredEventHooks());
+        cachedClassLogLevel.set(newClassLogLevel);
+        return newClassLogLevel;
+    }
 
     protected static void log(final LogLevel eventLogLevel, final Class<?> callingClass, final String nullableMessage, final Throwable nullableException) {
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(eventLogLevel)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredEvent(null, eventLogLevel, callingClass, nullableMessage, nullableException);
+            }
+            return;
+        }
+
         final Log log = LOG_FACTORY.newLog(callingClass);
-        Logger.log(log, eventLogLevel, callingClass, nullableMessage, nullableException);
+        Logger.write(log, eventLogLevel, callingClass, nullableMessage, nullableException);
     }
 
     protected static void log(final Log log, final LogLevel eventLogLevel, final Class<?> callingClass, final String nullableMessage, final Throwable nullableException) {
         if (log == null) { return; }
 
-        final LogLevel classLogLevel;
-        _readLock.lock();
-        try {
-            final LogLevel nullableClassLogLevel = _rootPackage.getLogLevel(Package.getClassName(callingClass));
-            classLogLevel = (nullableClassLogLevel == null ? LOG_LEVEL : nullableClassLogLevel);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(eventLogLevel)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredEvent(log, eventLogLevel, callingClass, nullableMessage, nullableException);
+            }
+            return;
         }
-        finally {
-            _readLock.unlock();
+
+        Logger.write(log, eventLogLevel, callingClass, nullableMessage, nullableException);
+    }
+
+    /**
+     * Returns the calling thread's ConditionalEventBuffer if the (disabled) event should be buffered, otherwise null.
+     *  Only TRACE and DEBUG events are buffered, and only while conditional buffering is enabled.
+     */
+    protected static ConditionalEventBuffer getConditionalEventBuffer(final LogLevel eventLogLevel) {
+        if (CONDITIONAL_BUFFER_CAPACITY == 0) { return null; }
+        if ( (eventLogLevel != LogLevel.TRACE) && (eventLogLevel != LogLevel.DEBUG) ) { return null; }
+
+        final int generation = CONDITIONAL_BUFFER_GENERATION;
+        final ConditionalEventBuffer conditionalEventBuffer = CONDITIONAL_EVENT_BUFFERS.get();
+        if ( (conditionalEventBuffer != null) && (conditionalEventBuffer.getGeneration() == generation) ) {
+            return conditionalEventBuffer;
         }
 
-        if ( (eventLogLevel == LogLevel.OFF) || (classLogLevel == LogLevel.OFF) ) { return; }
-        if (eventLogLevel.value < classLogLevel.value) { return; }
+        final int capacity = CONDITIONAL_BUFFER_CAPACITY; // Read after the generation, so that it is at least as recent.
+        if (capacity == 0) { return null; }
 
-        log.write(callingClass, eventLogLevel, nullableMessage, nullableException);
+        final ConditionalEventBuffer newConditionalEventBuffer = new ConditionalEventBuffer(generation, capacity);
+        CONDITIONAL_EVENT_BUFFERS.set(newConditionalEventBuffer);
+        return newConditionalEventBuffer;
     }
 
-    protected static Class<?> getCallingClass() {
-        return _stackTraceManager.getCallingClass();
+    /**
+     * Handles an event that was disabled by its class's LogLevel: the event is written to the filtered-event Log, if one is set,
+     *  and is buffered within the calling thread's ConditionalEventBuffer, if it should be buffered.
+     *  A null Log is resolved via the LogFactory once the buffered event is flushed.
+     */
+    protected static void onFilteredEvent(final Log nullableLog, final LogLevel eventLogLevel, final Class<?> callingClass, final String nullableMessage, final Throwable nullableException) {
+        if (LoggingMetrics.IS_ENABLED) {
+            LoggingMetrics.INSTANCE.onEventFiltered(eventLogLevel);
+        }
+
+        final FilteredEventLog filteredEventLog = FILTERED_EVENT_LOG;
+        if (filteredEventLog != null) {
+            filteredEventLog.write(callingClass, eventLogLevel, nullableMessage, nullableException);
+        }
+
+        final ConditionalEventBuffer conditionalEventBuffer = Logger.getConditionalEventBuffer(eventLogLevel);
+        if (conditionalEventBuffer == null) { return; }
+
+        conditionalEventBuffer.addMessage(nullableLog, eventLogLevel, callingClass, nullableMessage, nullableException);
     }
 
-    public static LogLevel getLogLevel() {
-        final Class<?> callingClass = _stackTraceManager.getCallingClass();
+    protected static void onFilteredObject(final Log nullableLog, final LogLevel eventLogLevel, final Class<?> callingClass, final Object message, final Throwable nullableException) {
+        if (LoggingMetrics.IS_ENABLED) {
+            LoggingMetrics.INSTANCE.onEventFiltered(eventLogLevel);
+        }
 
-        _readLock.lock();
-        try {
-            return _rootPackage.getLogLevel(Package.getClassName(callingClass));
+        final FilteredEventLog filteredEventLog = FILTERED_EVENT_LOG;
+        if (filteredEventLog != null) {
+            filteredEventLog.writeObject(callingClass, eventLogLevel, message, nullableException);
+        }
+
+        final ConditionalEventBuffer conditionalEventBuffer = Logger.getConditionalEventBuffer(eventLogLevel);
+        if (conditionalEventBuffer == null) { return; }
+
+        conditionalEventBuffer.addObject(nullableLog, eventLogLevel, callingClass, message, nullableException);
+    }
+
+    /**
+     * Handles a disabled event logged via a message Supplier.  The Supplier is not invoked; it is passed to the filtered-event Log and the ConditionalEventBuffer as-is.
+     */
+    protected static void onFilteredSupplier(final Log nullableLog, final LogLevel eventLogLevel, final Class<?> callingClass, final Supplier<?> messageSupplier, final Throwable nullableException) {
+        if (LoggingMetrics.IS_ENABLED) {
+            LoggingMetrics.INSTANCE.onEventFiltered(eventLogLevel);
         }
-        finally {
-            _readLock.unlock();
+
+        final FilteredEventLog filteredEventLog = FILTERED_EVENT_LOG;
+        if (filteredEventLog != null) {
+            filteredEventLog.writeSupplier(callingClass, eventLogLevel, messageSupplier, nullableException);
         }
+
+        final ConditionalEventBuffer conditionalEventBuffer = Logger.getConditionalEventBuffer(eventLogLevel);
+        if (conditionalEventBuffer == null) { return; }
+
+        conditionalEventBuffer.addSupplier(nullableLog, eventLogLevel, callingClass, messageSupplier, nullableException);
     }
 
-    public static LogLevel getLogLevel(final Class<?> callingClass) {
-        _readLock.lock();
-        try {
-            return _rootPackage.getLogLevel(Package.getClassName(callingClass));
+    /**
+     * Handles a disabled parameterized event with a single argument; the arguments array is only allocated if the event is buffered.
+     */
+    protected static void onFilteredTemplate(final Log nullableLog, final LogLevel eventLogLevel, final Class<?> callingClass, final String messageTemplate, final Object argument) {
+        if (LoggingMetrics.IS_ENABLED) {
+            LoggingMetrics.INSTANCE.onEventFiltered(eventLogLevel);
         }
-        finally {
-            _readLock.unlock();
+
+        final FilteredEventLog filteredEventLog = FILTERED_EVENT_LOG;
+        if (filteredEventLog != null) {
+            filteredEventLog.writeTemplate(callingClass, eventLogLevel, messageTemplate, argument);
         }
+
+        final ConditionalEventBuffer conditionalEventBuffer = Logger.getConditionalEventBuffer(eventLogLevel);
+        if (conditionalEventBuffer == null) { return; }
+
+        conditionalEventBuffer.addTemplate(nullableLog, eventLogLevel, callingClass, messageTemplate, new Object[]{ argument });
     }
 
-    protected static boolean isLogLevelEnabled(final LogLevel loggingThreshold, final Class<?> callingClass) {
-        LogLevel classLogLevel = Logger.getLogLevel(callingClass);
-        if (classLogLevel == null) {
-            classLogLevel = LOG_LEVEL;
+    /**
+     * Handles a disabled parameterized event with two arguments; the arguments array is only allocated if the event is buffered.
+     */
+    protected static void onFilteredTemplate(final Log nullableLog, final LogLevel eventLogLevel, final Class<?> callingClass, final String messageTemplate, final Object argument0, final Object argument1) {
+        if (LoggingMetrics.IS_ENABLED) {
+            LoggingMetrics.INSTANCE.onEventFiltered(eventLogLevel);
+        }
+
+        final FilteredEventLog filteredEventLog = FILTERED_EVENT_LOG;
+        if (filteredEventLog != null) {
+            filteredEventLog.writeTemplate(callingClass, eventLogLevel, messageTemplate, argument0, argument1);
         }
-        // using opposite order, since we're testing the passed-in threshold against the class's log level
-        return loggingThreshold.isLoggableWithThreshold(classLogLevel);
+
+        final ConditionalEventBuffer conditionalEventBuffer = Logger.getConditionalEventBuffer(eventLogLevel);
+        if (conditionalEventBuffer == null) { return; }
+
+        conditionalEventBuffer.addTemplate(nullableLog, eventLogLevel, callingClass, messageTemplate, new Object[]{ argument0, argument1 });
+    }
+
+    protected static void onFilteredTemplate(final Log nullableLog, final LogLevel eventLogLevel, final Class<?> callingClass, final String messageTemplate, final Object[] messageArguments) {
+        if (LoggingMetrics.IS_ENABLED) {
+            LoggingMetrics.INSTANCE.onEventFiltered(eventLogLevel);
+        }
+
+        final FilteredEventLog filteredEventLog = FILTERED_EVENT_LOG;
+        if (filteredEventLog != null) {
+            filteredEventLog.write(callingClass, eventLogLevel, messageTemplate, messageArguments, MessageFormatter.getThrowable(messageArguments));
+        }
+
+        final ConditionalEventBuffer conditionalEventBuffer = Logger.getConditionalEventBuffer(eventLogLevel);
+        if (conditionalEventBuffer == null) { return; }
+
+        conditionalEventBuffer.addTemplate(nullableLog, eventLogLevel, callingClass, messageTemplate, messageArguments);
+    }
+
+    /**
+     * Flushes the calling thread's buffered events before a WARN or ERROR event is written, if conditional buffering is enabled.
+     */
+    protected static void onEventWritten(final LogLevel eventLogLevel) {
+        if (CONDITIONAL_BUFFER_CAPACITY == 0) { return; }
+        if (eventLogLevel.value < LogLevel.WARN.value) { return; }
+
+        Logger.flushBufferedEvents();
+    }
+
+    /**
+     * Returns the sampling marker of the event if its LogLevel is sampled for the callingClass and the event was sampled,
+     *  an empty String if the event was not sampled (and should not be written), or null if the LogLevel is not sampled.
+     */
+    protected static String sample(final LogLevel eventLogLevel, final Class<?> callingClass) {
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        final String nullableSamplingMarker = classLogLevel.getSamplingMarker(eventLogLevel);
+        if (nullableSamplingMarker == null) { return null; }
+
+        if (! classLogLevel.isSampled(eventLogLevel)) {
+            UNSAMPLED_EVENT_COUNT.increment();
+            return "";
+        }
+
+        SAMPLED_EVENT_COUNT.increment();
+        return nullableSamplingMarker;
+    }
+
+    protected static String markSampled(final String samplingMarker, final String nullableMessage) {
+        if (nullableMessage == null) { return samplingMarker; }
+        return (samplingMarker + SAMPLING_MARKER_SEPARATOR + nullableMessage);
+    }
+
+    /**
+     * Writes the event to the Log provided by the LogFactory, without checking the LogLevel; the caller is responsible for having checked it.
+     */
+    protected static void write(final LogLevel eventLogLevel, final Class<?> callingClass, final String nullableMessage, final Throwable nullableException) {
+        final Log log = LOG_FACTORY.newLog(callingClass);
+        Logger.write(log, eventLogLevel, callingClass, nullableMessage, nullableException);
+    }
+
+    /**
+     * Writes the parameterized event to the Log provided by the LogFactory, without checking the LogLevel.
+     *  A trailing Throwable within messageArguments is written as the event's exception.
+     */
+    protected static void writeTemplate(final LogLevel eventLogLevel, final Class<?> callingClass, final String messageTemplate, final Object[] messageArguments) {
+        final Log log = LOG_FACTORY.newLog(callingClass);
+        Logger.writeTemplate(log, eventLogLevel, callingClass, messageTemplate, messageArguments);
+    }
+
+    /**
+     * Writes the parameterized event to the provided Log without checking the LogLevel; the caller is responsible for having checked it.
+     *  Formatting is deferred to the Log, so that it may be formatted directly into the Log's buffer.
+     */
+    protected static void writeTemplate(final Log log, final LogLevel eventLogLevel, final Class<?> callingClass, final String messageTemplate, final Object[] messageArguments) {
+        if (log == null) { return; }
+
+        String template = messageTemplate;
+        if (IS_SAMPLING_CONFIGURED) {
+            final String nullableSamplingMarker = Logger.sample(eventLogLevel, callingClass);
+            if (nullableSamplingMarker != null) {
+                if (nullableSamplingMarker.isEmpty()) { return; }
+                template = Logger.markSampled(nullableSamplingMarker, messageTemplate);
+            }
+        }
+
+        Logger.onEventWritten(eventLogLevel); // Unsampled events are not written, so they do not flush the buffered events.
+
+        final HeavyHitterTracker heavyHitterTracker = HEAVY_HITTER_TRACKER;
+        if (heavyHitterTracker != null) {
+            heavyHitterTracker.add(callingClass, eventLogLevel);
+        }
+
+        final Throwable nullableException = MessageFormatter.getThrowable(messageArguments);
+        if (LoggingMetrics.IS_ENABLED) {
+            final long startNanos = System.nanoTime();
+            log.write(callingClass, eventLogLevel, template, messageArguments, nullableException);
+            LoggingMetrics.INSTANCE.onEventWritten(callingClass, eventLogLevel, (System.nanoTime() - startNanos));
+            return;
+        }
+
+        log.write(callingClass, eventLogLevel, template, messageArguments, nullableException);
+    }
+
+    /**
+     * Writes the event to the provided Log without checking the LogLevel; the caller is responsible for having checked it.
+     */
+    protected static void write(final Log log, final LogLevel eventLogLevel, final Class<?> callingClass, final String nullableMessage, final Throwable nullableException) {
+        if (log == null) { return; }
+
+        String message = nullableMessage;
+        if (IS_SAMPLING_CONFIGURED) {
+            final String nullableSamplingMarker = Logger.sample(eventLogLevel, callingClass);
+            if (nullableSamplingMarker != null) {
+                if (nullableSamplingMarker.isEmpty()) { return; }
+                message = Logger.markSampled(nullableSamplingMarker, nullableMessage);
+            }
+        }
+
+        Logger.onEventWritten(eventLogLevel); // Unsampled events are not written, so they do not flush the buffered events.
+
+        final HeavyHitterTracker heavyHitterTracker = HEAVY_HITTER_TRACKER;
+        if (heavyHitterTracker != null) {
+            heavyHitterTracker.add(callingClass, eventLogLevel);
+        }
+
+        if (LoggingMetrics.IS_ENABLED) {
+            final long startNanos = System.nanoTime();
+            log.write(callingClass, eventLogLevel, message, nullableException);
+            LoggingMetrics.INSTANCE.onEventWritten(callingClass, eventLogLevel, (System.nanoTime() - startNanos));
+            return;
+        }
+
+        log.write(callingClass, eventLogLevel, message, nullableException);
+    }
+
+    protected static Class<?> getCallingClass() {
+        return _stackTraceManager.getCallingClass();
+    }
+
+    public static LogLevel getLogLevel() {
+        final Class<?> callingClass = _stackTraceManager.getCallingClass();
+        return Logger.getLogLevel(callingClass);
+    }
+
+    public static LogLevel getLogLevel(final Class<?> callingClass) {
+        final PackageLevel rootPackage = _rootPackage;
+        return rootPackage.getLogLevel(Package.getClassName(callingClass));
+    }
+
+    protected static boolean isLogLevelEnabled(final LogLevel loggingThreshold, final Class<?> callingClass) {
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        return classLogLevel.isLoggable(loggingThreshold);
     }
 
     public static boolean isTraceEnabled() {
@@ -179,40 +537,198 @@ public class Logger {
      * @param logLevel
      */
     public static void setLogLevel(final LogLevel logLevel) {
-        LOG_LEVEL = logLevel;
+        synchronized (LOG_LEVEL_MUTEX) {
+            LOG_LEVEL = logLevel;
+            Logger._onLogLevelsChanged();
+        }
     }
 
     public static void setLogLevel(final Class<?> clazz, final LogLevel level) {
         final PackageLevel packageLogLevel = PackageLevel.fromClass(clazz, level);
 
-        _writeLock.lock();
-        try {
-            _rootPackage.mergeInPackage(packageLogLevel);
-        }
-        finally {
-            _writeLock.unlock();
+        synchronized (LOG_LEVEL_MUTEX) {
+            final PackageLevel rootPackage = _rootPackage.copy();
+            rootPackage.mergeInPackage(packageLogLevel);
+            _rootPackage = rootPackage;
+            Logger._onLogLevelsChanged();
         }
     }
 
     public static void setLogLevel(final String packageName, final LogLevel level) {
         final PackageLevel packageLogLevel = PackageLevel.fromString(packageName, level);
 
-        _writeLock.lock();
-        try {
-            _rootPackage.mergeInPackage(packageLogLevel);
+        synchronized (LOG_LEVEL_MUTEX) {
+            final PackageLevel rootPackage = _rootPackage.copy();
+            rootPackage.mergeInPackage(packageLogLevel);
+            _rootPackage = rootPackage;
+            Logger._onLogLevelsChanged();
         }
-        finally {
-            _writeLock.unlock();
+    }
+
+    /**
+     * Sets the LogLevel of the package, and samples the events logged at exactly that LogLevel: only the fraction samplingRate of them are written.
+     *  i.e. Logger.setLogLevel("com.example.db", LogLevel.DEBUG, 0.01D) writes 1% of the package's DEBUG events, and all of its INFO (and above) events.
+     *  Sampled events are written with a marker (i.e. "[sampled 1%]") preceding their message.
+     */
+    public static void setLogLevel(final String packageName, final LogLevel level, final Double samplingRate) {
+        final PackageLevel packageLogLevel = PackageLevel.fromString(packageName, level);
+        packageLogLevel.setSamplingRate(level, samplingRate);
+        Logger._mergeInPackageLevel(packageLogLevel, (samplingRate != null));
+    }
+
+    public static void setLogLevel(final Class<?> clazz, final LogLevel level, final Double samplingRate) {
+        Logger.setLogLevel(Package.getClassName(clazz), level, samplingRate);
+    }
+
+    /**
+     * Sets the fraction (within [0, 1]) of the package's events logged at eventLogLevel that are written, without changing its LogLevel.
+     *  A null samplingRate removes the package's sampling rate for eventLogLevel, so that it is inherited from its ancestors.
+     *  The sampling rate is applied after the LogLevel check, so unsampled events are never written to the Log.
+     */
+    public static void setSamplingRate(final String packageName, final LogLevel eventLogLevel, final Double samplingRate) {
+        final PackageLevel packageLogLevel = PackageLevel.fromString(packageName, null);
+        packageLogLevel.setSamplingRate(eventLogLevel, samplingRate);
+        Logger._mergeInPackageLevel(packageLogLevel, (samplingRate != null));
+    }
+
+    protected static void _mergeInPackageLevel(final PackageLevel packageLogLevel, final boolean isSamplingConfigured) {
+        synchronized (LOG_LEVEL_MUTEX) {
+            if (isSamplingConfigured) {
+                IS_SAMPLING_CONFIGURED = true;
+            }
+
+            final PackageLevel rootPackage = _rootPackage.copy();
+            rootPackage.mergeInPackage(packageLogLevel);
+            _rootPackage = rootPackage;
+            Logger._onLogLevelsChanged();
         }
     }
 
-    public static void clearLogLevels() {
-        _writeLock.lock();
-        try {
-            _rootPackage.clear();
+    /**
+     * Returns the number of events written because they were sampled.
+     */
+    public static long getSampledEventCount() {
+        return SAMPLED_EVENT_COUNT.sum();
+    }
+
+    /**
+     * Returns the number of events dropped because they were not sampled.
+     */
+    public static long getUnsampledEventCount() {
+        return UNSAMPLED_EVENT_COUNT.sum();
+    }
+
+    /**
+     * Sets the Log that receives the events which are disabled by their class's LogLevel, rather than those events being discarded; null removes it.
+     *  i.e. Logger.setFilteredEventLog(flightRecorderLog.getRecorder()) records every event, regardless of the LogLevel.
+     *  A FilteredEventLog receives the events unformatted (including their message Suppliers, which are not invoked), so that it may record them without allocating;
+     *  any other Log is wrapped, and receives formatted events, except for those logged via a message Supplier.
+     *  The filtered-event Log is written to by the logging thread, so it should be inexpensive.
+     */
+    public static void setFilteredEventLog(final Log nullableLog) {
+        FILTERED_EVENT_LOG = Logger.toFilteredEventLog(nullableLog);
+        Logger.onFilteredEventHooksChanged();
+    }
+
+    protected static FilteredEventLog toFilteredEventLog(final Log nullableLog) {
+        if ( (nullableLog == null) || (nullableLog instanceof FilteredEventLog) ) {
+            return (FilteredEventLog) nullableLog;
         }
-        finally {
-            _writeLock.unlock();
+
+        return new FilteredEventLog() {
+            @Override
+            public void write(final Class<?> callingClass, final LogLevel logLevel, final String nullableMessage, final Throwable nullableException) {
+                nullableLog.write(callingClass, logLevel, nullableMessage, nullableException);
+            }
+
+            @Override
+            public void write(final Class<?> callingClass, final LogLevel logLevel, final String messageTemplate, final Object[] messageArguments, final Throwable nullableException) {
+                nullableLog.write(callingClass, logLevel, messageTemplate, messageArguments, nullableException);
+            }
+
+            @Override
+            public void flush() {
+                nullableLog.flush();
+            }
+
+            @Override
+            public void close() {
+                nullableLog.close();
+            }
+        };
+    }
+
+    /**
+     * Returns the filtered-event Log; a Log that is not a FilteredEventLog is returned wrapped.
+     */
+    public static FilteredEventLog getFilteredEventLog() {
+        return FILTERED_EVENT_LOG;
+    }
+
+    /**
+     * Sets the HeavyHitterTracker that counts the calling class and LogLevel of each written event (after sampling); null disables tracking.
+     *  The tracker periodically logs a summary of the most frequent sources, i.e. to identify which class is responsible for a surge of logging.
+     */
+    public static void setHeavyHitterTracker(final HeavyHitterTracker nullableHeavyHitterTracker) {
+        HEAVY_HITTER_TRACKER = nullableHeavyHitterTracker;
+    }
+
+    public static HeavyHitterTracker getHeavyHitterTracker() {
+        return HEAVY_HITTER_TRACKER;
+    }
+
+    /**
+     * Enables conditional buffering: TRACE and DEBUG events that are disabled by their class's LogLevel are retained, unformatted,
+     *  within a ring of the most recent maxBufferedEventCount events of their thread.  When the thread writes a WARN or ERROR event,
+     *  its buffered events are first written, in order, to their Logs; otherwise they are overwritten, or discarded via Logger::discardBufferedEvents.
+     *  i.e. a request handler may invoke Logger::flushBufferedEvents when the request fails, and Logger::discardBufferedEvents once it completes.
+     *  Buffered events are formatted when they are flushed, so their arguments should not be mutated afterwards.
+     */
+    public static void enableConditionalBuffering(final int maxBufferedEventCount) {
+        synchronized (CONDITIONAL_BUFFER_MUTEX) {
+            CONDITIONAL_BUFFER_CAPACITY = Math.max(0, maxBufferedEventCount);
+            CONDITIONAL_BUFFER_GENERATION += 1;
+        }
+        Logger.onFilteredEventHooksChanged();
+    }
+
+    /**
+     * Disables conditional buffering.  Events that have already been buffered are not written.
+     */
+    public static void disableConditionalBuffering() {
+        Logger.enableConditionalBuffering(0);
+    }
+
+    /**
+     * Writes the calling thread's buffered events, in order, and clears its buffer.
+     */
+    public static void flushBufferedEvents() {
+        final ConditionalEventBuffer conditionalEventBuffer = CONDITIONAL_EVENT_BUFFERS.get();
+        if (conditionalEventBuffer == null) { return; }
+
+        if (conditionalEventBuffer.getGeneration() != CONDITIONAL_BUFFER_GENERATION) {
+            CONDITIONAL_EVENT_BUFFERS.remove();
+            return;
+        }
+
+        conditionalEventBuffer.flush(LOG_FACTORY);
+    }
+
+    /**
+     * Discards the calling thread's buffered events.
+     */
+    public static void discardBufferedEvents() {
+        final ConditionalEventBuffer conditionalEventBuffer = CONDITIONAL_EVENT_BUFFERS.get();
+        if (conditionalEventBuffer == null) { return; }
+
+        conditionalEventBuffer.clear();
+    }
+
+    public static void clearLogLevels() {
+        synchronized (LOG_LEVEL_MUTEX) {
+            _rootPackage = PackageLevel.newRootPackage();
+            IS_SAMPLING_CONFIGURED = false;
+            Logger._onLogLevelsChanged();
         }
     }
 
@@ -242,7 +758,14 @@ public class Logger {
 
     public static void log(final LogLevel logLevel, final Object message) {
         final Class<?> callingClass = Logger.getCallingClass();
-        Logger.log(logLevel, callingClass, Logger.stringify(message), null);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(logLevel)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, logLevel, callingClass, message, null);
+            }
+            return;
+        }
+        Logger.write(logLevel, callingClass, Logger.stringify(message), null);
     }
 
     public static void log(final LogLevel logLevel, final Throwable exception) {
@@ -252,14 +775,58 @@ public class Logger {
 
     public static void log(final LogLevel logLevel, final String message, final Throwable exception) {
         final Class<?> callingClass = Logger.getCallingClass();
-        Logger.log(logLevel, callingClass, Logger.stringify(message), exception);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(logLevel)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, logLevel, callingClass, message, exception);
+            }
+            return;
+        }
+        Logger.write(logLevel, callingClass, Logger.stringify(message), exception);
+    }
+
+    /**
+     * Logs the message provided by messageSupplier.  The Supplier is only invoked if the LogLevel is enabled for the calling class, or once the event is flushed from the conditional buffer (see Logger::enableConditionalBuffering).
+     */
+    public static void logLazy(final LogLevel logLevel, final Supplier<?> messageSupplier, final Throwable exception) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(logLevel)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredSupplier(null, logLevel, callingClass, messageSupplier, exception);
+            }
+            return;
+        }
+        Logger.write(logLevel, callingClass, Logger.stringify(messageSupplier), exception);
     }
 
     // TRACE
 
     public static void trace(final Object message) {
         final Class<?> callingClass = Logger.getCallingClass();
-        Logger.log(LogLevel.TRACE, callingClass, Logger.stringify(message), null);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.TRACE)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.TRACE, callingClass, message, null);
+            }
+            return;
+        }
+        Logger.write(LogLevel.TRACE, callingClass, Logger.stringify(message), null);
+    }
+
+    /**
+     * Logs the message provided by messageSupplier.  The Supplier is only invoked if TRACE is enabled for the calling class, or once the event is flushed from the conditional buffer (see Logger::enableConditionalBuffering).
+     */
+    public static void traceLazy(final Supplier<?> messageSupplier) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.TRACE)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredSupplier(null, LogLevel.TRACE, callingClass, messageSupplier, null);
+            }
+            return;
+        }
+        Logger.write(LogLevel.TRACE, callingClass, Logger.stringify(messageSupplier), null);
     }
 
     public static void trace(final Throwable exception) {
@@ -269,11 +836,25 @@ public class Logger {
 
     public static void trace(final Object message, final Throwable exception) {
         final Class<?> callingClass = Logger.getCallingClass();
-        Logger.log(LogLevel.TRACE, callingClass, Logger.stringify(message), exception);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.TRACE)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.TRACE, callingClass, message, exception);
+            }
+            return;
+        }
+        Logger.write(LogLevel.TRACE, callingClass, Logger.stringify(message), exception);
     }
 
     public static void trace(final Class<?> callingClass, final Object message) {
-        Logger.log(LogLevel.TRACE, callingClass, Logger.stringify(message), null);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.TRACE)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.TRACE, callingClass, message, null);
+            }
+            return;
+        }
+        Logger.write(LogLevel.TRACE, callingClass, Logger.stringify(message), null);
     }
 
     public static void trace(final Class<?> callingClass, final Throwable exception) {
@@ -281,14 +862,91 @@ public class Logger {
     }
 
     public static void trace(final Class<?> callingClass, final Object message, final Throwable exception) {
-        Logger.log(LogLevel.TRACE, callingClass, Logger.stringify(message), exception);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.TRACE)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.TRACE, callingClass, message, exception);
+            }
+            return;
+        }
+        Logger.write(LogLevel.TRACE, callingClass, Logger.stringify(message), exception);
+    }
+
+    public static void trace(final String message, final Throwable exception) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.TRACE)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.TRACE, callingClass, message, exception);
+            }
+            return;
+        }
+        Logger.write(LogLevel.TRACE, callingClass, Logger.stringify(message), exception);
+    }
+
+    public static void trace(final String messageTemplate, final Object argument) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.TRACE)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(null, LogLevel.TRACE, callingClass, messageTemplate, argument);
+            }
+            return;
+        }
+        Logger.writeTemplate(LogLevel.TRACE, callingClass, messageTemplate, new Object[]{ argument });
+    }
+
+    public static void trace(final String messageTemplate, final Object argument0, final Object argument1) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.TRACE)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(null, LogLevel.TRACE, callingClass, messageTemplate, argument0, argument1);
+            }
+            return;
+        }
+        Logger.writeTemplate(LogLevel.TRACE, callingClass, messageTemplate, new Object[]{ argument0, argument1 });
+    }
+
+    public static void trace(final String messageTemplate, final Object... arguments) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.TRACE)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(null, LogLevel.TRACE, callingClass, messageTemplate, arguments);
+            }
+            return;
+        }
+        Logger.writeTemplate(LogLevel.TRACE, callingClass, messageTemplate, arguments);
     }
 
     // DEBUG
 
     public static void debug(final Object message) {
         final Class<?> callingClass = Logger.getCallingClass();
-        Logger.log(LogLevel.DEBUG, callingClass, Logger.stringify(message), null);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.DEBUG)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.DEBUG, callingClass, message, null);
+            }
+            return;
+        }
+        Logger.write(LogLevel.DEBUG, callingClass, Logger.stringify(message), null);
+    }
+
+    /**
+     * Logs the message provided by messageSupplier.  The Supplier is only invoked if DEBUG is enabled for the calling class, or once the event is flushed from the conditional buffer (see Logger::enableConditionalBuffering).
+     */
+    public static void debugLazy(final Supplier<?> messageSupplier) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.DEBUG)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredSupplier(null, LogLevel.DEBUG, callingClass, messageSupplier, null);
+            }
+            return;
+        }
+        Logger.write(LogLevel.DEBUG, callingClass, Logger.stringify(messageSupplier), null);
     }
 
     public static void debug(final Throwable exception) {
@@ -298,11 +956,25 @@ public class Logger {
 
     public static void debug(final Object message, final Throwable exception) {
         final Class<?> callingClass = Logger.getCallingClass();
-        Logger.log(LogLevel.DEBUG, callingClass, Logger.stringify(message), exception);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.DEBUG)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.DEBUG, callingClass, message, exception);
+            }
+            return;
+        }
+        Logger.write(LogLevel.DEBUG, callingClass, Logger.stringify(message), exception);
     }
 
     public static void debug(final Class<?> callingClass, final Object message) {
-        Logger.log(LogLevel.DEBUG, callingClass, Logger.stringify(message), null);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.DEBUG)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.DEBUG, callingClass, message, null);
+            }
+            return;
+        }
+        Logger.write(LogLevel.DEBUG, callingClass, Logger.stringify(message), null);
     }
 
     public static void debug(final Class<?> callingClass, final Throwable exception) {
@@ -310,14 +982,76 @@ public class Logger {
     }
 
     public static void debug(final Class<?> callingClass, final Object message, final Throwable exception) {
-        Logger.log(LogLevel.DEBUG, callingClass, Logger.stringify(message), exception);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.DEBUG)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.DEBUG, callingClass, message, exception);
+            }
+            return;
+        }
+        Logger.write(LogLevel.DEBUG, callingClass, Logger.stringify(message), exception);
+    }
+
+    public static void debug(final String message, final Throwable exception) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.DEBUG)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.DEBUG, callingClass, message, exception);
+            }
+            return;
+        }
+        Logger.write(LogLevel.DEBUG, callingClass, Logger.stringify(message), exception);
+    }
+
+    public static void debug(final String messageTemplate, final Object argument) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.DEBUG)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(null, LogLevel.DEBUG, callingClass, messageTemplate, argument);
+            }
+            return;
+        }
+        Logger.writeTemplate(LogLevel.DEBUG, callingClass, messageTemplate, new Object[]{ argument });
+    }
+
+    public static void debug(final String messageTemplate, final Object argument0, final Object argument1) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.DEBUG)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(null, LogLevel.DEBUG, callingClass, messageTemplate, argument0, argument1);
+            }
+            return;
+        }
+        Logger.writeTemplate(LogLevel.DEBUG, callingClass, messageTemplate, new Object[]{ argument0, argument1 });
+    }
+
+    public static void debug(final String messageTemplate, final Object... arguments) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.DEBUG)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(null, LogLevel.DEBUG, callingClass, messageTemplate, arguments);
+            }
+            return;
+        }
+        Logger.writeTemplate(LogLevel.DEBUG, callingClass, messageTemplate, arguments);
     }
 
     // INFO
 
     public static void info(final Object message) {
         final Class<?> callingClass = Logger.getCallingClass();
-        Logger.log(LogLevel.INFO, callingClass, Logger.stringify(message), null);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.INFO)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.INFO, callingClass, message, null);
+            }
+            return;
+        }
+        Logger.write(LogLevel.INFO, callingClass, Logger.stringify(message), null);
     }
 
     public static void info(final Throwable exception) {
@@ -327,11 +1061,25 @@ public class Logger {
 
     public static void info(final Object message, final Throwable exception) {
         final Class<?> callingClass = Logger.getCallingClass();
-        Logger.log(LogLevel.INFO, callingClass, Logger.stringify(message), exception);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.INFO)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.INFO, callingClass, message, exception);
+            }
+            return;
+        }
+        Logger.write(LogLevel.INFO, callingClass, Logger.stringify(message), exception);
     }
 
     public static void info(final Class<?> callingClass, final Object message) {
-        Logger.log(LogLevel.INFO, callingClass, Logger.stringify(message), null);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.INFO)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.INFO, callingClass, message, null);
+            }
+            return;
+        }
+        Logger.write(LogLevel.INFO, callingClass, Logger.stringify(message), null);
     }
 
     public static void info(final Class<?> callingClass, final Throwable exception) {
@@ -339,14 +1087,76 @@ public class Logger {
     }
 
     public static void info(final Class<?> callingClass, final Object message, final Throwable exception) {
-        Logger.log(LogLevel.INFO, callingClass, Logger.stringify(message), exception);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.INFO)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.INFO, callingClass, message, exception);
+            }
+            return;
+        }
+        Logger.write(LogLevel.INFO, callingClass, Logger.stringify(message), exception);
+    }
+
+    public static void info(final String message, final Throwable exception) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.INFO)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.INFO, callingClass, message, exception);
+            }
+            return;
+        }
+        Logger.write(LogLevel.INFO, callingClass, Logger.stringify(message), exception);
+    }
+
+    public static void info(final String messageTemplate, final Object argument) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.INFO)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(null, LogLevel.INFO, callingClass, messageTemplate, argument);
+            }
+            return;
+        }
+        Logger.writeTemplate(LogLevel.INFO, callingClass, messageTemplate, new Object[]{ argument });
+    }
+
+    public static void info(final String messageTemplate, final Object argument0, final Object argument1) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.INFO)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(null, LogLevel.INFO, callingClass, messageTemplate, argument0, argument1);
+            }
+            return;
+        }
+        Logger.writeTemplate(LogLevel.INFO, callingClass, messageTemplate, new Object[]{ argument0, argument1 });
+    }
+
+    public static void info(final String messageTemplate, final Object... arguments) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.INFO)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(null, LogLevel.INFO, callingClass, messageTemplate, arguments);
+            }
+            return;
+        }
+        Logger.writeTemplate(LogLevel.INFO, callingClass, messageTemplate, arguments);
     }
 
     // WARN
 
     public static void warn(final Object message) {
         final Class<?> callingClass = Logger.getCallingClass();
-        Logger.log(LogLevel.WARN, callingClass, Logger.stringify(message), null);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.WARN)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.WARN, callingClass, message, null);
+            }
+            return;
+        }
+        Logger.write(LogLevel.WARN, callingClass, Logger.stringify(message), null);
     }
 
     public static void warn(final Throwable exception) {
@@ -356,11 +1166,25 @@ public class Logger {
 
     public static void warn(final Object message, final Throwable exception) {
         final Class<?> callingClass = Logger.getCallingClass();
-        Logger.log(LogLevel.WARN, callingClass, Logger.stringify(message), exception);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.WARN)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.WARN, callingClass, message, exception);
+            }
+            return;
+        }
+        Logger.write(LogLevel.WARN, callingClass, Logger.stringify(message), exception);
     }
 
     public static void warn(final Class<?> callingClass, final Object message) {
-        Logger.log(LogLevel.WARN, callingClass, Logger.stringify(message), null);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.WARN)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.WARN, callingClass, message, null);
+            }
+            return;
+        }
+        Logger.write(LogLevel.WARN, callingClass, Logger.stringify(message), null);
     }
 
     public static void warn(final Class<?> callingClass, final Throwable exception) {
@@ -368,14 +1192,76 @@ public class Logger {
     }
 
     public static void warn(final Class<?> callingClass, final Object message, final Throwable exception) {
-        Logger.log(LogLevel.WARN, callingClass, Logger.stringify(message), exception);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.WARN)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.WARN, callingClass, message, exception);
+            }
+            return;
+        }
+        Logger.write(LogLevel.WARN, callingClass, Logger.stringify(message), exception);
+    }
+
+    public static void warn(final String message, final Throwable exception) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.WARN)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.WARN, callingClass, message, exception);
+            }
+            return;
+        }
+        Logger.write(LogLevel.WARN, callingClass, Logger.stringify(message), exception);
+    }
+
+    public static void warn(final String messageTemplate, final Object argument) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.WARN)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(null, LogLevel.WARN, callingClass, messageTemplate, argument);
+            }
+            return;
+        }
+        Logger.writeTemplate(LogLevel.WARN, callingClass, messageTemplate, new Object[]{ argument });
+    }
+
+    public static void warn(final String messageTemplate, final Object argument0, final Object argument1) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.WARN)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(null, LogLevel.WARN, callingClass, messageTemplate, argument0, argument1);
+            }
+            return;
+        }
+        Logger.writeTemplate(LogLevel.WARN, callingClass, messageTemplate, new Object[]{ argument0, argument1 });
+    }
+
+    public static void warn(final String messageTemplate, final Object... arguments) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.WARN)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(null, LogLevel.WARN, callingClass, messageTemplate, arguments);
+            }
+            return;
+        }
+        Logger.writeTemplate(LogLevel.WARN, callingClass, messageTemplate, arguments);
     }
 
     // ERROR
 
     public static void error(final Object message) {
         final Class<?> callingClass = Logger.getCallingClass();
-        Logger.log(LogLevel.ERROR, callingClass, Logger.stringify(message), null);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.ERROR)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.ERROR, callingClass, message, null);
+            }
+            return;
+        }
+        Logger.write(LogLevel.ERROR, callingClass, Logger.stringify(message), null);
     }
 
     public static void error(final Throwable exception) {
@@ -385,11 +1271,25 @@ public class Logger {
 
     public static void error(final Object message, final Throwable exception) {
         final Class<?> callingClass = Logger.getCallingClass();
-        Logger.log(LogLevel.ERROR, callingClass, Logger.stringify(message), exception);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.ERROR)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.ERROR, callingClass, message, exception);
+            }
+            return;
+        }
+        Logger.write(LogLevel.ERROR, callingClass, Logger.stringify(message), exception);
     }
 
     public static void error(final Class<?> callingClass, final Object message) {
-        Logger.log(LogLevel.ERROR, callingClass, Logger.stringify(message), null);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.ERROR)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.ERROR, callingClass, message, null);
+            }
+            return;
+        }
+        Logger.write(LogLevel.ERROR, callingClass, Logger.stringify(message), null);
     }
 
     public static void error(final Class<?> callingClass, final Throwable exception) {
@@ -397,7 +1297,62 @@ public class Logger {
     }
 
     public static void error(final Class<?> callingClass, final Object message, final Throwable exception) {
-        Logger.log(LogLevel.ERROR, callingClass, Logger.stringify(message), exception);
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.ERROR)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.ERROR, callingClass, message, exception);
+            }
+            return;
+        }
+        Logger.write(LogLevel.ERROR, callingClass, Logger.stringify(message), exception);
+    }
+
+    public static void error(final String message, final Throwable exception) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.ERROR)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(null, LogLevel.ERROR, callingClass, message, exception);
+            }
+            return;
+        }
+        Logger.write(LogLevel.ERROR, callingClass, Logger.stringify(message), exception);
+    }
+
+    public static void error(final String messageTemplate, final Object argument) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.ERROR)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(null, LogLevel.ERROR, callingClass, messageTemplate, argument);
+            }
+            return;
+        }
+        Logger.writeTemplate(LogLevel.ERROR, callingClass, messageTemplate, new Object[]{ argument });
+    }
+
+    public static void error(final String messageTemplate, final Object argument0, final Object argument1) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.ERROR)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(null, LogLevel.ERROR, callingClass, messageTemplate, argument0, argument1);
+            }
+            return;
+        }
+        Logger.writeTemplate(LogLevel.ERROR, callingClass, messageTemplate, new Object[]{ argument0, argument1 });
+    }
+
+    public static void error(final String messageTemplate, final Object... arguments) {
+        final Class<?> callingClass = Logger.getCallingClass();
+        final ClassLogLevel classLogLevel = Logger.getClassLogLevel(callingClass);
+        if (! classLogLevel.isLoggable(LogLevel.ERROR)) {
+            if (classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(null, LogLevel.ERROR, callingClass, messageTemplate, arguments);
+            }
+            return;
+        }
+        Logger.writeTemplate(LogLevel.ERROR, callingClass, messageTemplate, arguments);
     }
 
     protected Logger() { }
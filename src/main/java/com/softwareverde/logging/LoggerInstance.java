@@ -1,103 +1,483 @@
 package com.softwareverde.logging;
 
+import java.util.function.Supplier;
+
 public class LoggerInstance {
     protected final Log _log;
     protected final Class<?> _class;
 
+    /**
+     * The effective LogLevel of _class, as of ClassLogLevel::generation.
+     *  The field is intentionally not volatile: the generation is compared against Logger's LOG_LEVEL_GENERATION_INVOKER,
+     *  which the JIT treats as a constant until the LogLevels change.  Therefore, while the configuration is unchanged,
+     *  a disabled statement is reduced to plain loads and a comparison (which may be hoisted out of a loop, or folded entirely);
+     *  the Logger's filtered-event hooks are only invoked if ClassLogLevel::hasFilteredEventHooks is set, so that a disabled statement
+     *  does not read the configuration of metrics, the filtered-event Log, or conditional buffering.
+     *  ClassLogLevel is immutable, so a racing thread observes either a complete previous or a complete current value.
+     */
+    protected ClassLogLevel _classLogLevel;
+
+    protected static int getLogLevelGeneration() {
+        try {
+            return (int) Logger.LOG_LEVEL_GENERATION_INVOKER.invokeExact();
+        }
+        catch (final Throwable exception) {
+            return Logger.LOG_LEVEL_GENERATION;
+        }
+    }
+
+    protected boolean _isLogLevelEnabled(final LogLevel logLevel) {
+        ClassLogLevel classLogLevel = _classLogLevel;
+        if ( (classLogLevel == null) || (classLogLevel.generation != LoggerInstance.getLogLevelGeneration()) ) {
+            classLogLevel = Logger.getClassLogLevel(_class);
+            _classLogLevel = classLogLevel;
+        }
+
+        return classLogLevel.isLoggable(logLevel);
+    }
+
     public LoggerInstance(final Log log, final Class<?> clazz) {
         _log = log;
         _class = clazz;
+        _classLogLevel = null;
     }
 
     public boolean isTraceEnabled() {
-        return Logger.isLogLevelEnabled(LogLevel.TRACE, _class);
+        return _isLogLevelEnabled(LogLevel.TRACE);
     }
 
     public boolean isDebugEnabled() {
-        return Logger.isLogLevelEnabled(LogLevel.DEBUG, _class);
+        return _isLogLevelEnabled(LogLevel.DEBUG);
     }
 
     public boolean isInfoEnabled() {
-        return Logger.isLogLevelEnabled(LogLevel.INFO, _class);
+        return _isLogLevelEnabled(LogLevel.INFO);
     }
 
     public boolean isWarnEnabled() {
-        return Logger.isLogLevelEnabled(LogLevel.WARN, _class);
+        return _isLogLevelEnabled(LogLevel.WARN);
     }
 
     public boolean isErrorEnabled() {
-        return Logger.isLogLevelEnabled(LogLevel.ERROR, _class);
+        return _isLogLevelEnabled(LogLevel.ERROR);
     }
 
     public void log(final LogLevel logLevel, final Object message) {
-        Logger.log(_log, logLevel, _class, Logger.stringify(message), null);
+        if (! _isLogLevelEnabled(logLevel)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(_log, logLevel, _class, message, null);
+            }
+            return;
+        }
+        Logger.write(_log, logLevel, _class, Logger.stringify(message), null);
     }
 
     public void log(final LogLevel logLevel, final Throwable exception) {
-        Logger.log(_log, logLevel, _class, null, exception);
+        if (! _isLogLevelEnabled(logLevel)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredEvent(_log, logLevel, _class, null, exception);
+            }
+            return;
+        }
+        Logger.write(_log, logLevel, _class, null, exception);
     }
 
     public void log(final LogLevel logLevel, final String message, final Throwable exception) {
-        Logger.log(_log, logLevel, _class, Logger.stringify(message), exception);
+        if (! _isLogLevelEnabled(logLevel)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(_log, logLevel, _class, message, exception);
+            }
+            return;
+        }
+        Logger.write(_log, logLevel, _class, Logger.stringify(message), exception);
+    }
+
+    /**
+     * Logs the message provided by messageSupplier.  The Supplier is only invoked if the LogLevel is enabled, or once the event is flushed from the conditional buffer (see Logger::enableConditionalBuffering).
+     */
+    public void logLazy(final LogLevel logLevel, final Supplier<?> messageSupplier, final Throwable exception) {
+        if (! _isLogLevelEnabled(logLevel)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredSupplier(_log, logLevel, _class, messageSupplier, exception);
+            }
+            return;
+        }
+        Logger.write(_log, logLevel, _class, Logger.stringify(messageSupplier), exception);
     }
 
     public void trace(final Object message) {
-        Logger.log(_log, LogLevel.TRACE, _class, Logger.stringify(message), null);
+        if (! _isLogLevelEnabled(LogLevel.TRACE)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(_log, LogLevel.TRACE, _class, message, null);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.TRACE, _class, Logger.stringify(message), null);
+    }
+
+    /**
+     * Logs the message provided by messageSupplier.  The Supplier is only invoked if TRACE is enabled, or once the event is flushed from the conditional buffer (see Logger::enableConditionalBuffering).
+     */
+    public void traceLazy(final Supplier<?> messageSupplier) {
+        if (! _isLogLevelEnabled(LogLevel.TRACE)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredSupplier(_log, LogLevel.TRACE, _class, messageSupplier, null);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.TRACE, _class, Logger.stringify(messageSupplier), null);
     }
 
     public void trace(final Throwable exception) {
-        Logger.log(_log, LogLevel.TRACE, _class, null, exception);
+        if (! _isLogLevelEnabled(LogLevel.TRACE)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredEvent(_log, LogLevel.TRACE, _class, null, exception);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.TRACE, _class, null, exception);
     }
 
     public void trace(final Object message, final Throwable exception) {
-        Logger.log(_log, LogLevel.TRACE, _class, Logger.stringify(message), exception);
+        if (! _isLogLevelEnabled(LogLevel.TRACE)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(_log, LogLevel.TRACE, _class, message, exception);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.TRACE, _class, Logger.stringify(message), exception);
+    }
+
+    public void trace(final String message, final Throwable exception) {
+        if (! _isLogLevelEnabled(LogLevel.TRACE)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(_log, LogLevel.TRACE, _class, message, exception);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.TRACE, _class, Logger.stringify(message), exception);
+    }
+
+    public void trace(final String messageTemplate, final Object argument) {
+        if (! _isLogLevelEnabled(LogLevel.TRACE)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(_log, LogLevel.TRACE, _class, messageTemplate, argument);
+            }
+            return;
+        }
+        Logger.writeTemplate(_log, LogLevel.TRACE, _class, messageTemplate, new Object[]{ argument });
+    }
+
+    public void trace(final String messageTemplate, final Object argument0, final Object argument1) {
+        if (! _isLogLevelEnabled(LogLevel.TRACE)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(_log, LogLevel.TRACE, _class, messageTemplate, argument0, argument1);
+            }
+            return;
+        }
+        Logger.writeTemplate(_log, LogLevel.TRACE, _class, messageTemplate, new Object[]{ argument0, argument1 });
+    }
+
+    public void trace(final String messageTemplate, final Object... arguments) {
+        if (! _isLogLevelEnabled(LogLevel.TRACE)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(_log, LogLevel.TRACE, _class, messageTemplate, arguments);
+            }
+            return;
+        }
+        Logger.writeTemplate(_log, LogLevel.TRACE, _class, messageTemplate, arguments);
     }
 
     public void debug(final Object message) {
-        Logger.log(_log, LogLevel.DEBUG, _class, Logger.stringify(message), null);
+        if (! _isLogLevelEnabled(LogLevel.DEBUG)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(_log, LogLevel.DEBUG, _class, message, null);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.DEBUG, _class, Logger.stringify(message), null);
+    }
+
+    /**
+     * Logs the message provided by messageSupplier.  The Supplier is only invoked if DEBUG is enabled, or once the event is flushed from the conditional buffer (see Logger::enableConditionalBuffering).
+     */
+    public void debugLazy(final Supplier<?> messageSupplier) {
+        if (! _isLogLevelEnabled(LogLevel.DEBUG)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredSupplier(_log, LogLevel.DEBUG, _class, messageSupplier, null);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.DEBUG, _class, Logger.stringify(messageSupplier), null);
     }
 
     public void debug(final Throwable exception) {
-        Logger.log(_log, LogLevel.DEBUG, _class, null, exception);
+        if (! _isLogLevelEnabled(LogLevel.DEBUG)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredEvent(_log, LogLevel.DEBUG, _class, null, exception);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.DEBUG, _class, null, exception);
     }
 
     public void debug(final Object message, final Throwable exception) {
-        Logger.log(_log, LogLevel.DEBUG, _class, Logger.stringify(message), exception);
+        if (! _isLogLevelEnabled(LogLevel.DEBUG)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(_log, LogLevel.DEBUG, _class, message, exception);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.DEBUG, _class, Logger.stringify(message), exception);
+    }
+
+    public void debug(final String message, final Throwable exception) {
+        if (! _isLogLevelEnabled(LogLevel.DEBUG)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(_log, LogLevel.DEBUG, _class, message, exception);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.DEBUG, _class, Logger.stringify(message), exception);
+    }
+
+    public void debug(final String messageTemplate, final Object argument) {
+        if (! _isLogLevelEnabled(LogLevel.DEBUG)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(_log, LogLevel.DEBUG, _class, messageTemplate, argument);
+            }
+            return;
+        }
+        Logger.writeTemplate(_log, LogLevel.DEBUG, _class, messageTemplate, new Object[]{ argument });
+    }
+
+    public void debug(final String messageTemplate, final Object argument0, final Object argument1) {
+        if (! _isLogLevelEnabled(LogLevel.DEBUG)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(_log, LogLevel.DEBUG, _class, messageTemplate, argument0, argument1);
+            }
+            return;
+        }
+        Logger.writeTemplate(_log, LogLevel.DEBUG, _class, messageTemplate, new Object[]{ argument0, argument1 });
+    }
+
+    public void debug(final String messageTemplate, final Object... arguments) {
+        if (! _isLogLevelEnabled(LogLevel.DEBUG)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(_log, LogLevel.DEBUG, _class, messageTemplate, arguments);
+            }
+            return;
+        }
+        Logger.writeTemplate(_log, LogLevel.DEBUG, _class, messageTemplate, arguments);
     }
 
     public void info(final Object message) {
-        Logger.log(_log, LogLevel.INFO, _class, Logger.stringify(message), null);
+        if (! _isLogLevelEnabled(LogLevel.INFO)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(_log, LogLevel.INFO, _class, message, null);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.INFO, _class, Logger.stringify(message), null);
     }
 
     public void info(final Throwable exception) {
-        Logger.log(_log, LogLevel.INFO, _class, null, exception);
+        if (! _isLogLevelEnabled(LogLevel.INFO)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredEvent(_log, LogLevel.INFO, _class, null, exception);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.INFO, _class, null, exception);
     }
 
     public void info(final Object message, final Throwable exception) {
-        Logger.log(_log, LogLevel.INFO, _class, Logger.stringify(message), exception);
+        if (! _isLogLevelEnabled(LogLevel.INFO)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(_log, LogLevel.INFO, _class, message, exception);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.INFO, _class, Logger.stringify(message), exception);
+    }
+
+    public void info(final String message, final Throwable exception) {
+        if (! _isLogLevelEnabled(LogLevel.INFO)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(_log, LogLevel.INFO, _class, message, exception);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.INFO, _class, Logger.stringify(message), exception);
+    }
+
+    public void info(final String messageTemplate, final Object argument) {
+        if (! _isLogLevelEnabled(LogLevel.INFO)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(_log, LogLevel.INFO, _class, messageTemplate, argument);
+            }
+            return;
+        }
+        Logger.writeTemplate(_log, LogLevel.INFO, _class, messageTemplate, new Object[]{ argument });
+    }
+
+    public void info(final String messageTemplate, final Object argument0, final Object argument1) {
+        if (! _isLogLevelEnabled(LogLevel.INFO)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(_log, LogLevel.INFO, _class, messageTemplate, argument0, argument1);
+            }
+            return;
+        }
+        Logger.writeTemplate(_log, LogLevel.INFO, _class, messageTemplate, new Object[]{ argument0, argument1 });
+    }
+
+    public void info(final String messageTemplate, final Object... arguments) {
+        if (! _isLogLevelEnabled(LogLevel.INFO)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(_log, LogLevel.INFO, _class, messageTemplate, arguments);
+            }
+            return;
+        }
+        Logger.writeTemplate(_log, LogLevel.INFO, _class, messageTemplate, arguments);
     }
 
     public void warn(final Object message) {
-        Logger.log(_log, LogLevel.WARN, _class, Logger.stringify(message), null);
+        if (! _isLogLevelEnabled(LogLevel.WARN)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(_log, LogLevel.WARN, _class, message, null);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.WARN, _class, Logger.stringify(message), null);
     }
 
     public void warn(final Throwable exception) {
-        Logger.log(_log, LogLevel.WARN, _class, null, exception);
+        if (! _isLogLevelEnabled(LogLevel.WARN)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredEvent(_log, LogLevel.WARN, _class, null, exception);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.WARN, _class, null, exception);
     }
 
     public void warn(final Object message, final Throwable exception) {
-        Logger.log(_log, LogLevel.WARN, _class, Logger.stringify(message), exception);
+        if (! _isLogLevelEnabled(LogLevel.WARN)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(_log, LogLevel.WARN, _class, message, exception);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.WARN, _class, Logger.stringify(message), exception);
+    }
+
+    public void warn(final String message, final Throwable exception) {
+        if (! _isLogLevelEnabled(LogLevel.WARN)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(_log, LogLevel.WARN, _class, message, exception);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.WARN, _class, Logger.stringify(message), exception);
+    }
+
+    public void warn(final String messageTemplate, final Object argument) {
+        if (! _isLogLevelEnabled(LogLevel.WARN)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(_log, LogLevel.WARN, _class, messageTemplate, argument);
+            }
+            return;
+        }
+        Logger.writeTemplate(_log, LogLevel.WARN, _class, messageTemplate, new Object[]{ argument });
+    }
+
+    public void warn(final String messageTemplate, final Object argument0, final Object argument1) {
+        if (! _isLogLevelEnabled(LogLevel.WARN)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(_log, LogLevel.WARN, _class, messageTemplate, argument0, argument1);
+            }
+            return;
+        }
+        Logger.writeTemplate(_log, LogLevel.WARN, _class, messageTemplate, new Object[]{ argument0, argument1 });
+    }
+
+    public void warn(final String messageTemplate, final Object... arguments) {
+        if (! _isLogLevelEnabled(LogLevel.WARN)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(_log, LogLevel.WARN, _class, messageTemplate, arguments);
+            }
+            return;
+        }
+        Logger.writeTemplate(_log, LogLevel.WARN, _class, messageTemplate, arguments);
     }
 
     public void error(final Object message) {
-        Logger.log(_log, LogLevel.ERROR, _class, Logger.stringify(message), null);
+        if (! _isLogLevelEnabled(LogLevel.ERROR)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(_log, LogLevel.ERROR, _class, message, null);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.ERROR, _class, Logger.stringify(message), null);
     }
 
     public void error(final Throwable exception) {
-        Logger.log(_log, LogLevel.ERROR, _class, null, exception);
+        if (! _isLogLevelEnabled(LogLevel.ERROR)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredEvent(_log, LogLevel.ERROR, _class, null, exception);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.ERROR, _class, null, exception);
     }
 
     public void error(final Object message, final Throwable exception) {
-        Logger.log(_log, LogLevel.ERROR, _class, Logger.stringify(message), exception);
+        if (! _isLogLevelEnabled(LogLevel.ERROR)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(_log, LogLevel.ERROR, _class, message, exception);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.ERROR, _class, Logger.stringify(message), exception);
+    }
+
+    public void error(final String message, final Throwable exception) {
+        if (! _isLogLevelEnabled(LogLevel.ERROR)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredObject(_log, LogLevel.ERROR, _class, message, exception);
+            }
+            return;
+        }
+        Logger.write(_log, LogLevel.ERROR, _class, Logger.stringify(message), exception);
+    }
+
+    public void error(final String messageTemplate, final Object argument) {
+        if (! _isLogLevelEnabled(LogLevel.ERROR)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(_log, LogLevel.ERROR, _class, messageTemplate, argument);
+            }
+            return;
+        }
+        Logger.writeTemplate(_log, LogLevel.ERROR, _class, messageTemplate, new Object[]{ argument });
+    }
+
+    public void error(final String messageTemplate, final Object argument0, final Object argument1) {
+        if (! _isLogLevelEnabled(LogLevel.ERROR)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(_log, LogLevel.ERROR, _class, messageTemplate, argument0, argument1);
+            }
+            return;
+        }
+        Logger.writeTemplate(_log, LogLevel.ERROR, _class, messageTemplate, new Object[]{ argument0, argument1 });
+    }
+
+    public void error(final String messageTemplate, final Object... arguments) {
+        if (! _isLogLevelEnabled(LogLevel.ERROR)) {
+            if (_classLogLevel.hasFilteredEventHooks) {
+                Logger.onFilteredTemplate(_log, LogLevel.ERROR, _class, messageTemplate, arguments);
+            }
+            return;
+        }
+        Logger.writeTemplate(_log, LogLevel.ERROR, _class, messageTemplate, arguments);
     }
 }
@@ -0,0 +1,372 @@
+package com.softwareverde.logging;
+
+import com.softwareverde.util.Package;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Instruments the cost of logging: events written per LogLevel and per top-level package, events filtered by their LogLevel,
+ *  the latency of Log::write (as measured by the Logger), and, per sink (i.e. each AbstractLog class), the characters written,
+ *  the flushes, and the time spent waiting to acquire the Log's monitor.  Queues (i.e. AsyncLog) may also publish their depth.
+ *  Every counter is a LongAdder, so that concurrent logging threads do not contend on a shared counter.
+ *  Metrics are disabled by default; while disabled, each instrumented site only performs a volatile read of LoggingMetrics::isEnabled.
+ *  The metrics are published as a platform MBean via LoggingMetrics::registerMBean.
+ */
+public class LoggingMetrics implements LoggingMetricsMXBean {
+    public static final String OBJECT_NAME = "com.softwareverde.logging:type=LoggingMetrics";
+    public static final int DEFAULT_PACKAGE_DEPTH = 2;
+
+    protected static final int LOG_LEVEL_COUNT = LogLevel.values().length;
+    protected static final int LATENCY_BUCKET_COUNT = 32; // The last bucket, [2^31, ...) nanoseconds, counts writes of ~2 seconds and longer.
+
+    protected static final LoggingMetrics INSTANCE = new LoggingMetrics();
+    protected static volatile boolean IS_ENABLED = false;
+
+    /**
+     * The metrics of a sink; instances are shared by every Log of the same name.
+     */
+    public static class Sink {
+        protected final LongAdder _charactersWritten = new LongAdder();
+        protected final LongAdder _flushCount = new LongAdder();
+        protected final LongAdder _monitorWaitNanos = new LongAdder();
+
+        public void onCharactersWritten(final int characterCount) {
+            _charactersWritten.add(characterCount);
+        }
+
+        public void onFlush() {
+            _flushCount.increment();
+        }
+
+        public void onMonitorAcquired(final long waitNanos) {
+            _monitorWaitNanos.add(waitNanos);
+        }
+
+        public void reset() {
+            _charactersWritten.reset();
+            _flushCount.reset();
+            _monitorWaitNanos.reset();
+        }
+    }
+
+    /**
+     * The depth of a queue whose owner (i.e. an AsyncLog) is only weakly referenced, so that publishing the depth does not retain an unclosed Log.
+     */
+    protected static class WeakQueueDepth<T> implements LongSupplier {
+        protected final WeakReference<T> _owner;
+        protected final ToLongFunction<T> _queueDepth;
+
+        public WeakQueueDepth(final T owner, final ToLongFunction<T> queueDepth) {
+            _owner = new WeakReference<T>(owner);
+            _queueDepth = queueDepth;
+        }
+
+        public boolean isCleared() {
+            return (_owner.get() == null);
+        }
+
+        @Override
+        public long getAsLong() {
+            final T owner = _owner.get();
+            if (owner == null) { return 0L; }
+
+            return _queueDepth.applyAsLong(owner);
+        }
+    }
+
+    public static LoggingMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isMetricsEnabled() {
+        return IS_ENABLED;
+    }
+
+    /**
+     * Returns the name of the first packageDepth segments of the class's package, i.e. "com.example" for "com.example.db.Connection".
+     */
+    public static String getTopLevelPackageName(final Class<?> clazz, final int packageDepth) {
+        final String className = Package.getClassName(clazz);
+        int endIndex = -1;
+        for (int i = 0; i < packageDepth; ++i) {
+            final int separatorIndex = className.indexOf('.', (endIndex + 1));
+            if (separatorIndex < 0) { break; }
+            endIndex = separatorIndex;
+        }
+        return (endIndex < 0 ? className : className.substring(0, endIndex));
+    }
+
+    protected static int getLatencyBucketIndex(final long nanos) {
+        final int bucketIndex = (63 - Long.numberOfLeadingZeros(Math.max(1L, nanos)));
+        return Math.min(bucketIndex, (LATENCY_BUCKET_COUNT - 1));
+    }
+
+    protected static Map<String, Long> toLogLevelMap(final LongAdder[] longAdders) {
+        final TreeMap<String, Long> counts = new TreeMap<String, Long>();
+        for (final LogLevel logLevel : LogLevel.values()) {
+            final long count = longAdders[logLevel.ordinal()].sum();
+            if (count > 0L) {
+                counts.put(logLevel.name(), count);
+            }
+        }
+        return counts;
+    }
+
+    protected static LongAdder[] newLongAdders(final int count) {
+        final LongAdder[] longAdders = new LongAdder[count];
+        for (int i = 0; i < count; ++i) {
+            longAdders[i] = new LongAdder();
+        }
+        return longAdders;
+    }
+
+    protected final LongAdder[] _eventCounts = LoggingMetrics.newLongAdders(LOG_LEVEL_COUNT);
+    protected final LongAdder[] _filteredEventCounts = LoggingMetrics.newLongAdders(LOG_LEVEL_COUNT);
+    protected final LongAdder[] _writeLatencyHistogram = LoggingMetrics.newLongAdders(LATENCY_BUCKET_COUNT);
+    protected final LongAdder _writeNanos = new LongAdder();
+
+    protected final ConcurrentHashMap<String, LongAdder> _packageEventCounts = new ConcurrentHashMap<String, LongAdder>();
+    protected final ClassValue<LongAdder> _classPackageEventCounts = new ClassValue<LongAdder>() {
+        @Override
+        protected LongAdder computeValue(final Class<?> clazz) {
+            final String packageName = LoggingMetrics.getTopLevelPackageName(clazz, DEFAULT_PACKAGE_DEPTH);
+            return _packageEventCounts.computeIfAbsent(packageName, (final String newPackageName) -> new LongAdder());
+        }
+    };
+
+    protected final ConcurrentHashMap<String, Sink> _sinks = new ConcurrentHashMap<String, Sink>();
+    protected final ConcurrentHashMap<String, LongSupplier> _queueDepths = new ConcurrentHashMap<String, LongSupplier>();
+
+    protected LoggingMetrics() { }
+
+    /**
+     * Registers the metrics as a platform MBean (see LoggingMetrics.OBJECT_NAME), if not already registered.
+     */
+    public void registerMBean() {
+        try {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (! mBeanServer.isRegistered(objectName)) {
+                mBeanServer.registerMBean(this, objectName);
+            }
+        }
+        catch (final Exception exception) {
+            Logger.printLoggingError(LogLevel.ERROR, LoggingMetrics.class, "Unable to register logging metrics MBean.", exception);
+        }
+    }
+
+    public void unregisterMBean() {
+        try {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        }
+        catch (final Exception exception) {
+            Logger.printLoggingError(LogLevel.ERROR, LoggingMetrics.class, "Unable to unregister logging metrics MBean.", exception);
+        }
+    }
+
+    /**
+     * Returns the metrics of the named sink, creating them if necessary.
+     */
+    public Sink getSink(final String sinkName) {
+        final Sink sink = _sinks.get(sinkName);
+        if (sink != null) { return sink; }
+
+        return _sinks.computeIfAbsent(sinkName, (final String newSinkName) -> new Sink());
+    }
+
+    /**
+     * Publishes the depth of the named queue; a null queueDepth removes it.
+     */
+    public void setQueueDepth(final String queueName, final LongSupplier queueDepth) {
+        if (queueDepth == null) {
+            _queueDepths.remove(queueName);
+            return;
+        }
+
+        _queueDepths.put(queueName, queueDepth);
+    }
+
+    /**
+     * Publishes the depth of the named queue, as measured from its owner, until the owner is garbage-collected or the depth is removed.
+     *  The owner is only weakly referenced, so queueDepth should not capture it (i.e. AsyncLog::getQueueDepth rather than this::getQueueDepth).
+     */
+    public <T> void setQueueDepth(final String queueName, final T owner, final ToLongFunction<T> queueDepth) {
+        _queueDepths.put(queueName, new WeakQueueDepth<T>(owner, queueDepth));
+    }
+
+    /**
+     * Records an event written to a Log, and the duration of its Log::write.
+     */
+    public void onEventWritten(final Class<?> callingClass, final LogLevel logLevel, final long writeNanos) {
+        _eventCounts[logLevel.ordinal()].increment();
+        _classPackageEventCounts.get(callingClass).increment();
+        _writeNanos.add(writeNanos);
+        _writeLatencyHistogram[LoggingMetrics.getLatencyBucketIndex(writeNanos)].increment();
+    }
+
+    /**
+     * Records an event that was not written because it was disabled by its LogLevel.
+     */
+    public void onEventFiltered(final LogLevel logLevel) {
+        _filteredEventCounts[logLevel.ordinal()].increment();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return IS_ENABLED;
+    }
+
+    @Override
+    public void setEnabled(final boolean isEnabled) {
+        IS_ENABLED = isEnabled;
+        Logger.onFilteredEventHooksChanged(); // Disabled events are only counted once their ClassLogLevel is resolved again.
+    }
+
+    @Override
+    public Map<String, Long> getEventCountsByLogLevel() {
+        return LoggingMetrics.toLogLevelMap(_eventCounts);
+    }
+
+    @Override
+    public Map<String, Long> getEventCountsByPackage() {
+        final TreeMap<String, Long> counts = new TreeMap<String, Long>();
+        for (final Map.Entry<String, LongAdder> entry : _packageEventCounts.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().sum());
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getFilteredEventCountsByLogLevel() {
+        return LoggingMetrics.toLogLevelMap(_filteredEventCounts);
+    }
+
+    @Override
+    public Map<String, Long> getCharactersWrittenBySink() {
+        final TreeMap<String, Long> counts = new TreeMap<String, Long>();
+        for (final Map.Entry<String, Sink> entry : _sinks.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue()._charactersWritten.sum());
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getFlushCountsBySink() {
+        final TreeMap<String, Long> counts = new TreeMap<String, Long>();
+        for (final Map.Entry<String, Sink> entry : _sinks.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue()._flushCount.sum());
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getMonitorWaitNanosBySink() {
+        final TreeMap<String, Long> counts = new TreeMap<String, Long>();
+        for (final Map.Entry<String, Sink> entry : _sinks.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue()._monitorWaitNanos.sum());
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getQueueDepths() {
+        final TreeMap<String, Long> queueDepths = new TreeMap<String, Long>();
+        for (final Map.Entry<String, LongSupplier> entry : _queueDepths.entrySet()) {
+            final LongSupplier queueDepth = entry.getValue();
+            if ( (queueDepth instanceof WeakQueueDepth) && ((WeakQueueDepth<?>) queueDepth).isCleared() ) {
+                _queueDepths.remove(entry.getKey(), queueDepth); // The owner was collected without being closed.
+                continue;
+            }
+
+            queueDepths.put(entry.getKey(), queueDepth.getAsLong());
+        }
+        return queueDepths;
+    }
+
+    @Override
+    public long getWriteCount() {
+        long writeCount = 0L;
+        for (final LongAdder longAdder : _writeLatencyHistogram) {
+            writeCount += longAdder.sum();
+        }
+        return writeCount;
+    }
+
+    @Override
+    public long getWriteNanos() {
+        return _writeNanos.sum();
+    }
+
+    @Override
+    public long[] getWriteLatencyHistogram() {
+        final long[] histogram = new long[LATENCY_BUCKET_COUNT];
+        for (int i = 0; i < LATENCY_BUCKET_COUNT; ++i) {
+            histogram[i] = _writeLatencyHistogram[i].sum();
+        }
+        return histogram;
+    }
+
+    /**
+     * Returns the upper bound of the histogram bucket that contains the percentile (within [0, 1]) of the write latencies, or 0 if there were no writes.
+     */
+    public long getWriteLatencyNanos(final double percentile) {
+        final long[] histogram = this.getWriteLatencyHistogram();
+        long writeCount = 0L;
+        for (final long count : histogram) {
+            writeCount += count;
+        }
+        if (writeCount == 0L) { return 0L; }
+
+        final long targetCount = Math.max(1L, (long) Math.ceil(writeCount * percentile));
+        long cumulativeCount = 0L;
+        for (int i = 0; i < LATENCY_BUCKET_COUNT; ++i) {
+            cumulativeCount += histogram[i];
+            if (cumulativeCount >= targetCount) {
+                return (1L << (i + 1));
+            }
+        }
+        return (1L << LATENCY_BUCKET_COUNT);
+    }
+
+    @Override
+    public long getWriteLatencyP50Nanos() {
+        return this.getWriteLatencyNanos(0.5D);
+    }
+
+    @Override
+    public long getWriteLatencyP99Nanos() {
+        return this.getWriteLatencyNanos(0.99D);
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < LOG_LEVEL_COUNT; ++i) {
+            _eventCounts[i].reset();
+            _filteredEventCounts[i].reset();
+        }
+        for (final LongAdder longAdder : _writeLatencyHistogram) {
+            longAdder.reset();
+        }
+        _writeNanos.reset();
+
+        for (final LongAdder longAdder : _packageEventCounts.values()) {
+            longAdder.reset();
+        }
+        for (final Sink sink : _sinks.values()) {
+            sink.reset();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.softwareverde.logging;
+
+import java.util.Map;
+
+/**
+ * The management interface of LoggingMetrics, published as the platform MBean "com.softwareverde.logging:type=LoggingMetrics".
+ *  Counts are cumulative since the metrics were enabled (or last reset); maps are keyed by LogLevel, package, or sink name.
+ */
+public interface LoggingMetricsMXBean {
+    boolean isEnabled();
+    void setEnabled(boolean isEnabled);
+
+    Map<String, Long> getEventCountsByLogLevel();
+    Map<String, Long> getEventCountsByPackage();
+    Map<String, Long> getFilteredEventCountsByLogLevel();
+
+    Map<String, Long> getCharactersWrittenBySink();
+    Map<String, Long> getFlushCountsBySink();
+    Map<String, Long> getMonitorWaitNanosBySink();
+    Map<String, Long> getQueueDepths();
+
+    long getWriteCount();
+    long getWriteNanos();
+
+    /**
+     * Bucket i counts the calls to Log::write that took within [2^i, 2^(i+1)) nanoseconds; the last bucket also counts all longer calls.
+     */
+    long[] getWriteLatencyHistogram();
+    long getWriteLatencyP50Nanos();
+    long getWriteLatencyP99Nanos();
+
+    void reset();
+}
@@ -0,0 +1,86 @@
+package com.softwareverde.logging;
+
+import java.util.Arrays;
+
+/**
+ * Formats parameterized messages, substituting each "{}" placeholder of the template with the next argument.
+ *  If the last argument is a Throwable, then it is not substituted; it is instead logged as the event's exception.
+ *  Placeholders without a corresponding argument are written as-is, and surplus arguments are ignored.
+ */
+public class MessageFormatter {
+    public static final String PLACEHOLDER = "{}";
+
+    /**
+     * Returns the trailing Throwable of the arguments, or null if the last argument is not a Throwable.
+     */
+    public static Throwable getThrowable(final Object[] arguments) {
+        if ( (arguments == null) || (arguments.length == 0) ) { return null; }
+
+        final Object lastArgument = arguments[arguments.length - 1];
+        return ((lastArgument instanceof Throwable) ? (Throwable) lastArgument : null);
+    }
+
+    /**
+     * Returns the number of arguments that may be substituted into the template, i.e. excluding the trailing Throwable.
+     */
+    public static int getArgumentCount(final Object[] arguments) {
+        if (arguments == null) { return 0; }
+
+        final Throwable throwable = MessageFormatter.getThrowable(arguments);
+        return (throwable != null ? (arguments.length - 1) : arguments.length);
+    }
+
+    protected static void appendArgument(final StringBuilder stringBuilder, final Object argument) {
+        if (argument == null) {
+            stringBuilder.append(Logger.NULL);
+        }
+        else if (! argument.getClass().isArray()) {
+            stringBuilder.append(argument);
+        }
+        else if (argument instanceof Object[]) { stringBuilder.append(Arrays.deepToString((Object[]) argument)); }
+        else if (argument instanceof byte[]) { stringBuilder.append(Arrays.toString((byte[]) argument)); }
+        else if (argument instanceof short[]) { stringBuilder.append(Arrays.toString((short[]) argument)); }
+        else if (argument instanceof int[]) { stringBuilder.append(Arrays.toString((int[]) argument)); }
+        else if (argument instanceof long[]) { stringBuilder.append(Arrays.toString((long[]) argument)); }
+        else if (argument instanceof float[]) { stringBuilder.append(Arrays.toString((float[]) argument)); }
+        else if (argument instanceof double[]) { stringBuilder.append(Arrays.toString((double[]) argument)); }
+        else if (argument instanceof char[]) { stringBuilder.append(Arrays.toString((char[]) argument)); }
+        else if (argument instanceof boolean[]) { stringBuilder.append(Arrays.toString((boolean[]) argument)); }
+        else {
+            stringBuilder.append(argument);
+        }
+    }
+
+    /**
+     * Appends the formatted message to the provided StringBuilder.
+     *  The message is formatted in place; no intermediate String is created for the message.
+     */
+    public static void appendFormattedMessage(final StringBuilder stringBuilder, final String messageTemplate, final Object[] arguments) {
+        if (messageTemplate == null) {
+            stringBuilder.append(Logger.NULL);
+            return;
+        }
+
+        final int argumentCount = MessageFormatter.getArgumentCount(arguments);
+
+        int templateIndex = 0;
+        for (int argumentIndex = 0; argumentIndex < argumentCount; ++argumentIndex) {
+            final int placeholderIndex = messageTemplate.indexOf(PLACEHOLDER, templateIndex);
+            if (placeholderIndex < 0) { break; }
+
+            stringBuilder.append(messageTemplate, templateIndex, placeholderIndex);
+            MessageFormatter.appendArgument(stringBuilder, arguments[argumentIndex]);
+            templateIndex = (placeholderIndex + PLACEHOLDER.length());
+        }
+
+        stringBuilder.append(messageTemplate, templateIndex, messageTemplate.length());
+    }
+
+    public static String format(final String messageTemplate, final Object[] arguments) {
+        final StringBuilder stringBuilder = new StringBuilder();
+        MessageFormatter.appendFormattedMessage(stringBuilder, messageTemplate, arguments);
+        return stringBuilder.toString();
+    }
+
+    protected MessageFormatter() { }
+}
@@ -30,7 +30,16 @@ public class PackageLevel extends MutablePackage {
         return ((PackageLevel) pkg).getLogLevel();
     }
 
+    protected static final int LOG_LEVEL_COUNT = LogLevel.values().length;
+
+    protected static Double getSamplingRateOrNull(final Package pkg, final LogLevel eventLogLevel) {
+        if (! (pkg instanceof PackageLevel)) { return null; }
+        return ((PackageLevel) pkg).getSamplingRate(eventLogLevel);
+    }
+
     protected LogLevel _logLevel;
+    protected Double[] _samplingRates = null; // Indexed by LogLevel::ordinal; null if no sampling rate is set on this package.
+    protected int _assignedSamplingRateMask = 0; // The LogLevels (by ordinal) whose sampling rate was set (or removed) on this instance; merged into the package it is attached to, and not copied.
 
     protected PackageLevel() {
         _logLevel = null;
@@ -46,6 +55,22 @@ public class PackageLevel extends MutablePackage {
         _logLevel = (parent != null ? parent.getLogLevel() : null);
     }
 
+    @Override
+    protected MutablePackage _newInstance(final MutablePackage parent) {
+        final PackageLevel packageLevel = new PackageLevel(parent, _name);
+        packageLevel._logLevel = _logLevel;
+        packageLevel._samplingRates = (_samplingRates != null ? _samplingRates.clone() : null);
+        return packageLevel;
+    }
+
+    /**
+     * Returns a deep copy of this package and its descendants.
+     *  The copy is detached from this package's parent, and modifications to the copy do not affect the original.
+     */
+    public PackageLevel copy() {
+        return (PackageLevel) _copy(null);
+    }
+
     public void setLogLevel(final LogLevel logLevel) {
         _logLevel = logLevel;
     }
@@ -54,10 +79,38 @@ public class PackageLevel extends MutablePackage {
         return _logLevel;
     }
 
+    /**
+     * Sets the fraction (within [0, 1]) of the events logged at eventLogLevel that are written, for classes within this package.
+     *  A null samplingRate removes the package's sampling rate, so that it is inherited from its ancestors.
+     */
+    public void setSamplingRate(final LogLevel eventLogLevel, final Double samplingRate) {
+        _assignedSamplingRateMask |= (1 << eventLogLevel.ordinal());
+        _setSamplingRate(eventLogLevel, samplingRate);
+    }
+
+    protected void _setSamplingRate(final LogLevel eventLogLevel, final Double samplingRate) {
+        if (_samplingRates == null) {
+            if (samplingRate == null) { return; }
+            _samplingRates = new Double[LOG_LEVEL_COUNT];
+        }
+
+        _samplingRates[eventLogLevel.ordinal()] = samplingRate;
+    }
+
+    /**
+     * Returns the sampling rate set on this package for events logged at eventLogLevel, or null if it is not set.
+     */
+    public Double getSamplingRate(final LogLevel eventLogLevel) {
+        if (_samplingRates == null) { return null; }
+        return _samplingRates[eventLogLevel.ordinal()];
+    }
+
     @Override
     public void clear() {
         super.clear();
         _logLevel = null;
+        _samplingRates = null;
+        _assignedSamplingRateMask = 0;
     }
 
     /**
@@ -67,39 +120,98 @@ public class PackageLevel extends MutablePackage {
      */
     public LogLevel getLogLevel(final String relativePackageName) {
         LogLevel logLevel = null;
-        Package pkg = this;
 
         // Check descendants for a LogLevel...
-        for (final String segmentName : relativePackageName.split("\\.")) {
-            pkg = pkg.getChild(segmentName);
-            if (pkg == null) { break; }
-
-            final LogLevel newLogLevel = PackageLevel.getLogLevelOrNull(pkg);
+        //  The segments are visited in place (rather than via String::split) so that the lookup does not allocate.
+        PackageLevel pkg = this;
+        int segmentStartIndex = 0;
+        while (segmentStartIndex <= relativePackageName.length()) {
+            final int separatorIndex = relativePackageName.indexOf('.', segmentStartIndex);
+            final int segmentEndIndex = (separatorIndex < 0 ? relativePackageName.length() : separatorIndex);
+
+            final MutablePackage childPackage = pkg._getDirectChild(relativePackageName, segmentStartIndex, segmentEndIndex);
+            if (! (childPackage instanceof PackageLevel)) { break; }
+            pkg = (PackageLevel) childPackage;
+
+            final LogLevel newLogLevel = pkg.getLogLevel();
             if (newLogLevel != null) {
                 logLevel = newLogLevel;
             }
+
+            segmentStartIndex = (segmentEndIndex + 1);
         }
 
         if (logLevel == null) {
             // Check ancestors for a LogLevel...
-            pkg = this;
-            while ( (pkg.hasParent()) && (logLevel == null) ) {
-                final LogLevel newLogLevel = PackageLevel.getLogLevelOrNull(pkg);
-                if (newLogLevel != null) {
-                    logLevel = newLogLevel;
-                }
+            Package ancestor = this;
+            while ( (ancestor != null) && (logLevel == null) ) {
+                logLevel = PackageLevel.getLogLevelOrNull(ancestor);
+                ancestor = ancestor.getParent();
             }
         }
 
         return logLevel;
     }
 
+    /**
+     * Returns the sampling rate of events logged at eventLogLevel for the specified package name, relative to (i.e. a descendant of) this node.
+     *  Sampling rates are resolved in the same manner as LogLevels: the closest sampling rate is returned, including an ancestor of this node.
+     *  If no sampling rate is set for eventLogLevel, then null is returned (i.e. every event is written).
+     */
+    public Double getSamplingRate(final String relativePackageName, final LogLevel eventLogLevel) {
+        Double samplingRate = null;
+
+        PackageLevel pkg = this;
+        int segmentStartIndex = 0;
+        while (segmentStartIndex <= relativePackageName.length()) {
+            final int separatorIndex = relativePackageName.indexOf('.', segmentStartIndex);
+            final int segmentEndIndex = (separatorIndex < 0 ? relativePackageName.length() : separatorIndex);
+
+            final MutablePackage childPackage = pkg._getDirectChild(relativePackageName, segmentStartIndex, segmentEndIndex);
+            if (! (childPackage instanceof PackageLevel)) { break; }
+            pkg = (PackageLevel) childPackage;
+
+            final Double newSamplingRate = pkg.getSamplingRate(eventLogLevel);
+            if (newSamplingRate != null) {
+                samplingRate = newSamplingRate;
+            }
+
+            segmentStartIndex = (segmentEndIndex + 1);
+        }
+
+        if (samplingRate == null) {
+            Package ancestor = this;
+            while ( (ancestor != null) && (samplingRate == null) ) {
+                samplingRate = PackageLevel.getSamplingRateOrNull(ancestor, eventLogLevel);
+                ancestor = ancestor.getParent();
+            }
+        }
+
+        return samplingRate;
+    }
+
+    /**
+     * Copies the sampling rates that were set on this package onto the provided package, including removals (i.e. null sampling rates).
+     */
+    protected void _copySamplingRatesTo(final PackageLevel packageLevel) {
+        if (_assignedSamplingRateMask == 0) { return; }
+
+        for (final LogLevel logLevel : LogLevel.values()) {
+            if ((_assignedSamplingRateMask & (1 << logLevel.ordinal())) == 0) { continue; }
+            packageLevel._setSamplingRate(logLevel, this.getSamplingRate(logLevel));
+        }
+    }
+
     @Override
     protected void _attachTo(final MutablePackage anchorPackage) {
-        if ( (_logLevel != null) && (anchorPackage.hasChild(_name)) ) {
+        if ( ((_logLevel != null) || (_assignedSamplingRateMask != 0)) && (anchorPackage.hasChild(_name)) ) {
             final Package anchorPackageChild = anchorPackage.getChild(_name);
             if (anchorPackageChild instanceof PackageLevel) {
-                ((PackageLevel) anchorPackageChild).setLogLevel(_logLevel);
+                final PackageLevel anchorPackageLevel = (PackageLevel) anchorPackageChild;
+                if (_logLevel != null) {
+                    anchorPackageLevel.setLogLevel(_logLevel);
+                }
+                _copySamplingRatesTo(anchorPackageLevel);
             }
         }
 
@@ -119,6 +231,7 @@ public class PackageLevel extends MutablePackage {
                 final LogLevel logLevel = pkgRootPackageLevel.getLogLevel();
                 thisRootPackageLevel.setLogLevel(logLevel);
             }
+            pkgRootPackageLevel._copySamplingRatesTo(thisRootPackageLevel);
         }
 
         super.mergeInPackage(pkg);
@@ -0,0 +1,167 @@
+package com.softwareverde.logging;
+
+import com.softwareverde.util.MutablePackage;
+import com.softwareverde.util.Package;
+
+/**
+ * A package hierarchy of RateLimits, resolved in the same manner as PackageLevel: the RateLimit of a class is the RateLimit
+ *  of its closest package (or ancestor) that has one set.  Each package may set a RateLimit per LogLevel; each LogLevel is resolved independently.
+ */
+public class PackageRateLimit extends MutablePackage {
+    protected static final int LOG_LEVEL_COUNT = LogLevel.values().length;
+
+    public static PackageRateLimit newRootPackage() {
+        return new PackageRateLimit(null, null);
+    }
+
+    /**
+     * Returns the leaf of a new package hierarchy for packageName, whose RateLimit is set for the LogLevel (or for every LogLevel if nullableLogLevel is null).
+     */
+    public static PackageRateLimit fromString(final String packageName, final LogLevel nullableLogLevel, final RateLimit rateLimit) {
+        PackageRateLimit rootPackage = new PackageRateLimit();
+        for (final String segmentName : packageName.split("\\.")) {
+            final PackageRateLimit newPackage = new PackageRateLimit(rootPackage, segmentName);
+            newPackage._attachTo(rootPackage);
+            rootPackage = newPackage;
+        }
+
+        rootPackage.setRateLimit(nullableLogLevel, rateLimit); // Only set the RateLimit for the last segment.
+        return rootPackage;
+    }
+
+    protected static RateLimit getRateLimitOrNull(final Package pkg, final LogLevel logLevel) {
+        if (! (pkg instanceof PackageRateLimit)) { return null; }
+        return ((PackageRateLimit) pkg).getRateLimit(logLevel);
+    }
+
+    protected final RateLimit[] _rateLimits = new RateLimit[LOG_LEVEL_COUNT];
+    protected int _assignedRateLimitMask = 0; // The LogLevels (by ordinal) whose RateLimit was set (or removed) on this instance; merged into the package it is attached to, and not copied.
+
+    protected PackageRateLimit() { }
+
+    protected PackageRateLimit(final MutablePackage parent, final String name) {
+        super(parent, name);
+    }
+
+    @Override
+    protected MutablePackage _newInstance(final MutablePackage parent) {
+        final PackageRateLimit packageRateLimit = new PackageRateLimit(parent, _name);
+        System.arraycopy(_rateLimits, 0, packageRateLimit._rateLimits, 0, LOG_LEVEL_COUNT);
+        return packageRateLimit;
+    }
+
+    /**
+     * Returns a deep copy of this package and its descendants.
+     *  The copy is detached from this package's parent, and modifications to the copy do not affect the original.
+     */
+    public PackageRateLimit copy() {
+        return (PackageRateLimit) _copy(null);
+    }
+
+    /**
+     * Sets the RateLimit of this package for the LogLevel, or for every LogLevel if nullableLogLevel is null.
+     *  A null rateLimit removes the package's RateLimit, so that it is inherited from its ancestors.
+     */
+    public void setRateLimit(final LogLevel nullableLogLevel, final RateLimit rateLimit) {
+        if (nullableLogLevel == null) {
+            for (int i = 0; i < LOG_LEVEL_COUNT; ++i) {
+                _rateLimits[i] = rateLimit;
+            }
+            _assignedRateLimitMask = ((1 << LOG_LEVEL_COUNT) - 1);
+            return;
+        }
+
+        _rateLimits[nullableLogLevel.ordinal()] = rateLimit;
+        _assignedRateLimitMask |= (1 << nullableLogLevel.ordinal());
+    }
+
+    /**
+     * Returns the RateLimit set on this package for the LogLevel, or null if it is not set.
+     */
+    public RateLimit getRateLimit(final LogLevel logLevel) {
+        return _rateLimits[logLevel.ordinal()];
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        for (int i = 0; i < LOG_LEVEL_COUNT; ++i) {
+            _rateLimits[i] = null;
+        }
+        _assignedRateLimitMask = 0;
+    }
+
+    /**
+     * Returns the RateLimit of the LogLevel for the specified package name, relative to (i.e. a descendant of) this node.
+     *  If the end node does not have a RateLimit set, then the closest RateLimit is returned, including an ancestor of this node.
+     *  If no RateLimits are set, then null is returned.
+     */
+    public RateLimit getRateLimit(final String relativePackageName, final LogLevel logLevel) {
+        RateLimit rateLimit = null;
+
+        // Check descendants for a RateLimit...
+        PackageRateLimit pkg = this;
+        int segmentStartIndex = 0;
+        while (segmentStartIndex <= relativePackageName.length()) {
+            final int separatorIndex = relativePackageName.indexOf('.', segmentStartIndex);
+            final int segmentEndIndex = (separatorIndex < 0 ? relativePackageName.length() : separatorIndex);
+
+            final MutablePackage childPackage = pkg._getDirectChild(relativePackageName, segmentStartIndex, segmentEndIndex);
+            if (! (childPackage instanceof PackageRateLimit)) { break; }
+            pkg = (PackageRateLimit) childPackage;
+
+            final RateLimit newRateLimit = pkg.getRateLimit(logLevel);
+            if (newRateLimit != null) {
+                rateLimit = newRateLimit;
+            }
+
+            segmentStartIndex = (segmentEndIndex + 1);
+        }
+
+        if (rateLimit == null) {
+            // Check ancestors for a RateLimit...
+            Package ancestor = this;
+            while ( (ancestor != null) && (rateLimit == null) ) {
+                rateLimit = PackageRateLimit.getRateLimitOrNull(ancestor, logLevel);
+                ancestor = ancestor.getParent();
+            }
+        }
+
+        return rateLimit;
+    }
+
+    /**
+     * Copies the RateLimits that were set on this package onto the package it is merged into, including removals (i.e. null RateLimits).
+     */
+    protected void _copyRateLimitsTo(final PackageRateLimit packageRateLimit) {
+        for (int i = 0; i < LOG_LEVEL_COUNT; ++i) {
+            if ((_assignedRateLimitMask & (1 << i)) != 0) {
+                packageRateLimit._rateLimits[i] = _rateLimits[i];
+            }
+        }
+    }
+
+    @Override
+    protected void _attachTo(final MutablePackage anchorPackage) {
+        if (anchorPackage.hasChild(_name)) {
+            final Package anchorPackageChild = anchorPackage.getChild(_name);
+            if (anchorPackageChild instanceof PackageRateLimit) {
+                _copyRateLimitsTo((PackageRateLimit) anchorPackageChild);
+            }
+        }
+
+        super._attachTo(anchorPackage);
+    }
+
+    @Override
+    public void mergeInPackage(final MutablePackage pkg) {
+        final Package thisRoot = _getRoot();
+        final Package pkgRoot = pkg.getRoot();
+
+        if ( (thisRoot instanceof PackageRateLimit) && (pkgRoot instanceof PackageRateLimit) ) {
+            ((PackageRateLimit) pkgRoot)._copyRateLimitsTo((PackageRateLimit) thisRoot);
+        }
+
+        super.mergeInPackage(pkg);
+    }
+}
@@ -0,0 +1,40 @@
+package com.softwareverde.logging;
+
+/**
+ * The rate at which the log statements of a call site are written: a burst of up to burstCount statements, replenished at eventsPerSecond.
+ *  Instances are immutable.
+ */
+public class RateLimit {
+    /**
+     * Disables rate limiting; may be set on a package to override the RateLimit of its ancestor.
+     */
+    public static final RateLimit UNLIMITED = new RateLimit(Double.POSITIVE_INFINITY, Integer.MAX_VALUE);
+
+    public final double eventsPerSecond;
+    public final int burstCount;
+
+    /**
+     * Constructs a RateLimit whose burst is one second of events.
+     */
+    public RateLimit(final double eventsPerSecond) {
+        this(eventsPerSecond, (int) Math.max(1D, Math.min(Integer.MAX_VALUE, Math.ceil(eventsPerSecond))));
+    }
+
+    /**
+     * @param eventsPerSecond The sustained rate; a rate of zero suppresses every statement.
+     * @param burstCount The number of statements that may be written at once after the site has been idle.
+     */
+    public RateLimit(final double eventsPerSecond, final int burstCount) {
+        this.eventsPerSecond = Math.max(0D, eventsPerSecond);
+        this.burstCount = Math.max(1, burstCount);
+    }
+
+    public boolean isUnlimited() {
+        return (this.eventsPerSecond == Double.POSITIVE_INFINITY);
+    }
+
+    @Override
+    public String toString() {
+        return (this.eventsPerSecond + "/s (burst " + this.burstCount + ")");
+    }
+}
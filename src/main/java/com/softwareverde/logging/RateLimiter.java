@@ -0,0 +1,277 @@
+package com.softwareverde.logging;
+
+import com.softwareverde.util.Package;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the rate of log statements per call site, where a site is the calling class (as resolved by the Logger) or an explicit key.
+ *  Each site has a token bucket per LogLevel, whose RateLimit is resolved from the package of the calling class via a PackageRateLimit hierarchy.
+ *  Sites without a RateLimit are not limited.
+ *  The buckets are implemented as a generic cell rate algorithm: each bucket is a single AtomicLong (the theoretical arrival time of the next event),
+ *  so checking a site is lock-free: a volatile read of the configuration generation, and a compare-and-set when the event is allowed.
+ *  Suppressed events are counted per site until they are drained (i.e. by a RateLimitedLog's periodic summary), and in total per LogLevel.
+ *  A bucket is retained for every site that has logged, so explicit keys should identify call sites rather than values.
+ */
+public class RateLimiter {
+    protected static final int LOG_LEVEL_COUNT = LogLevel.values().length;
+    protected static final long NANOS_PER_SECOND = 1000000000L;
+    protected static final long MAX_INTERVAL_NANOS = (Long.MAX_VALUE / 4L);
+
+    public interface SuppressedEventVisitor {
+        void visit(Object key, Class<?> callingClass, LogLevel logLevel, long suppressedEventCount);
+    }
+
+    /**
+     * The RateLimit of a bucket as of a generation of the RateLimiter's configuration.  Instances are immutable.
+     */
+    protected static class ResolvedRateLimit {
+        public final int generation;
+        public final boolean isUnlimited;
+        public final long emissionIntervalNanos;
+        public final long burstToleranceNanos;
+
+        public ResolvedRateLimit(final int generation, final RateLimit nullableRateLimit) {
+            this.generation = generation;
+            this.isUnlimited = ( (nullableRateLimit == null) || nullableRateLimit.isUnlimited() );
+            if (this.isUnlimited) {
+                this.emissionIntervalNanos = 0L;
+                this.burstToleranceNanos = 0L;
+            }
+            else if (nullableRateLimit.eventsPerSecond == 0D) { // Every event is suppressed.
+                this.emissionIntervalNanos = MAX_INTERVAL_NANOS;
+                this.burstToleranceNanos = Long.MIN_VALUE;
+            }
+            else {
+                final double emissionIntervalNanos = (NANOS_PER_SECOND / nullableRateLimit.eventsPerSecond);
+                this.emissionIntervalNanos = (long) Math.min(MAX_INTERVAL_NANOS, emissionIntervalNanos);
+                this.burstToleranceNanos = (long) Math.min(MAX_INTERVAL_NANOS, (emissionIntervalNanos * (nullableRateLimit.burstCount - 1)));
+            }
+        }
+    }
+
+    protected static class Bucket {
+        public final Object key;
+        public final Class<?> callingClass;
+        public final LogLevel logLevel;
+
+        public volatile ResolvedRateLimit resolvedRateLimit = null;
+        public final AtomicLong theoreticalArrivalNanos;
+        public final AtomicLong suppressedEventCount = new AtomicLong(0L); // Since the bucket was last drained.
+
+        public Bucket(final Object key, final Class<?> callingClass, final LogLevel logLevel, final long nowNanos) {
+            this.key = key;
+            this.callingClass = callingClass;
+            this.logLevel = logLevel;
+            this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+        }
+
+        /**
+         * Consumes a token if one is available.  The bucket is full once the theoretical arrival time is no later than now.
+         */
+        public boolean tryAcquire(final ResolvedRateLimit resolvedRateLimit, final long nowNanos) {
+            while (true) {
+                final long theoreticalArrivalNanos = this.theoreticalArrivalNanos.get();
+                if ((theoreticalArrivalNanos - nowNanos) > resolvedRateLimit.burstToleranceNanos) {
+                    return false;
+                }
+
+                final long nextTheoreticalArrivalNanos = (Math.max(theoreticalArrivalNanos, nowNanos) + resolvedRateLimit.emissionIntervalNanos);
+                if (this.theoreticalArrivalNanos.compareAndSet(theoreticalArrivalNanos, nextTheoreticalArrivalNanos)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    protected static AtomicReferenceArray<Bucket> newBucketArray() {
+        return new AtomicReferenceArray<Bucket>(LOG_LEVEL_COUNT);
+    }
+
+    protected final LongSupplier _nanoClock;
+
+    /**
+     * The RateLimit hierarchy is copy-on-write; see Logger's package-level tree.
+     *  Changes increment _generation after publishing the new hierarchy, and buckets re-resolve their RateLimit once their generation is stale.
+     */
+    protected final Object _configurationMutex = new Object();
+    protected volatile PackageRateLimit _rootPackage = PackageRateLimit.newRootPackage();
+    protected volatile int _generation = 0;
+
+    protected final ClassValue<AtomicReferenceArray<Bucket>> _classBuckets = new ClassValue<AtomicReferenceArray<Bucket>>() {
+        @Override
+        protected AtomicReferenceArray<Bucket> computeValue(final Class<?> clazz) {
+            return RateLimiter.newBucketArray();
+        }
+    };
+    protected final ConcurrentHashMap<Object, AtomicReferenceArray<Bucket>> _keyBuckets = new ConcurrentHashMap<Object, AtomicReferenceArray<Bucket>>();
+    protected final ConcurrentLinkedQueue<Bucket> _buckets = new ConcurrentLinkedQueue<Bucket>();
+
+    protected final LongAdder[] _suppressedEventCounts = new LongAdder[LOG_LEVEL_COUNT];
+
+    protected AtomicReferenceArray<Bucket> _getBuckets(final Object key) {
+        if (key instanceof Class) {
+            return _classBuckets.get((Class<?>) key);
+        }
+
+        final AtomicReferenceArray<Bucket> buckets = _keyBuckets.get(key);
+        if (buckets != null) { return buckets; }
+
+        return _keyBuckets.computeIfAbsent(key, (final Object newKey) -> RateLimiter.newBucketArray());
+    }
+
+    protected Bucket _getBucket(final Object key, final Class<?> callingClass, final LogLevel logLevel, final long nowNanos) {
+        final AtomicReferenceArray<Bucket> buckets = _getBuckets(key);
+        final int index = logLevel.ordinal();
+
+        final Bucket bucket = buckets.get(index);
+        if (bucket != null) { return bucket; }
+
+        final Bucket newBucket = new Bucket(key, callingClass, logLevel, nowNanos);
+        if (buckets.compareAndSet(index, null, newBucket)) {
+            _buckets.add(newBucket);
+            return newBucket;
+        }
+
+        return buckets.get(index);
+    }
+
+    protected ResolvedRateLimit _getResolvedRateLimit(final Bucket bucket) {
+        final int generation = _generation;
+
+        final ResolvedRateLimit resolvedRateLimit = bucket.resolvedRateLimit;
+        if ( (resolvedRateLimit != null) && (resolvedRateLimit.generation == generation) ) {
+            return resolvedRateLimit;
+        }
+
+        final RateLimit nullableRateLimit = _rootPackage.getRateLimit(Package.getClassName(bucket.callingClass), bucket.logLevel);
+        final ResolvedRateLimit newResolvedRateLimit = new ResolvedRateLimit(generation, nullableRateLimit);
+        bucket.resolvedRateLimit = newResolvedRateLimit;
+        return newResolvedRateLimit;
+    }
+
+    protected void _setRateLimit(final PackageRateLimit packageRateLimit) {
+        synchronized (_configurationMutex) {
+            final PackageRateLimit rootPackage = _rootPackage.copy();
+            rootPackage.mergeInPackage(packageRateLimit);
+            _rootPackage = rootPackage;
+            _generation += 1;
+        }
+    }
+
+    public RateLimiter() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock The monotonic time, in nanoseconds, used to replenish the buckets (i.e. System::nanoTime).
+     */
+    public RateLimiter(final LongSupplier nanoClock) {
+        _nanoClock = nanoClock;
+        for (int i = 0; i < LOG_LEVEL_COUNT; ++i) {
+            _suppressedEventCounts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Sets the default RateLimit for the LogLevel (or for every LogLevel if nullableLogLevel is null); a null rateLimit removes it.
+     */
+    public void setRateLimit(final LogLevel nullableLogLevel, final RateLimit rateLimit) {
+        synchronized (_configurationMutex) {
+            final PackageRateLimit rootPackage = _rootPackage.copy();
+            rootPackage.setRateLimit(nullableLogLevel, rateLimit);
+            _rootPackage = rootPackage;
+            _generation += 1;
+        }
+    }
+
+    public void setRateLimit(final String packageName, final LogLevel nullableLogLevel, final RateLimit rateLimit) {
+        _setRateLimit(PackageRateLimit.fromString(packageName, nullableLogLevel, rateLimit));
+    }
+
+    public void setRateLimit(final Class<?> clazz, final LogLevel nullableLogLevel, final RateLimit rateLimit) {
+        _setRateLimit(PackageRateLimit.fromString(Package.getClassName(clazz), nullableLogLevel, rateLimit));
+    }
+
+    public void clearRateLimits() {
+        synchronized (_configurationMutex) {
+            _rootPackage = PackageRateLimit.newRootPackage();
+            _generation += 1;
+        }
+    }
+
+    /**
+     * Returns the RateLimit of the class for the LogLevel, or null if the class is not limited.
+     */
+    public RateLimit getRateLimit(final Class<?> clazz, final LogLevel logLevel) {
+        return _rootPackage.getRateLimit(Package.getClassName(clazz), logLevel);
+    }
+
+    public LongSupplier getNanoClock() {
+        return _nanoClock;
+    }
+
+    /**
+     * Returns true if an event from the callingClass may be written; otherwise the event is counted as suppressed.
+     */
+    public boolean tryAcquire(final Class<?> callingClass, final LogLevel logLevel) {
+        return this.tryAcquire(callingClass, callingClass, logLevel, _nanoClock.getAsLong());
+    }
+
+    /**
+     * Returns true if an event of the site identified by the key may be written; otherwise the event is counted as suppressed.
+     *  The RateLimit of the site is resolved from the callingClass of its first event.
+     */
+    public boolean tryAcquire(final Object key, final Class<?> callingClass, final LogLevel logLevel) {
+        return this.tryAcquire(key, callingClass, logLevel, _nanoClock.getAsLong());
+    }
+
+    public boolean tryAcquire(final Object key, final Class<?> callingClass, final LogLevel logLevel, final long nowNanos) {
+        final Bucket bucket = _getBucket(key, callingClass, logLevel, nowNanos);
+        final ResolvedRateLimit resolvedRateLimit = _getResolvedRateLimit(bucket);
+        if (resolvedRateLimit.isUnlimited) { return true; }
+
+        if (bucket.tryAcquire(resolvedRateLimit, nowNanos)) { return true; }
+
+        bucket.suppressedEventCount.incrementAndGet();
+        _suppressedEventCounts[logLevel.ordinal()].increment();
+        return false;
+    }
+
+    /**
+     * Visits each site that has suppressed events since it was last drained, and resets its count.
+     */
+    public void drainSuppressedEvents(final SuppressedEventVisitor suppressedEventVisitor) {
+        for (final Bucket bucket : _buckets) {
+            if (bucket.suppressedEventCount.get() == 0L) { continue; }
+
+            final long suppressedEventCount = bucket.suppressedEventCount.getAndSet(0L);
+            if (suppressedEventCount > 0L) {
+                suppressedEventVisitor.visit(bucket.key, bucket.callingClass, bucket.logLevel, suppressedEventCount);
+            }
+        }
+    }
+
+    /**
+     * Returns the total number of events suppressed at the LogLevel.
+     */
+    public long getSuppressedEventCount(final LogLevel logLevel) {
+        return _suppressedEventCounts[logLevel.ordinal()].sum();
+    }
+
+    /**
+     * Returns the total number of events suppressed.
+     */
+    public long getSuppressedEventCount() {
+        long suppressedEventCount = 0L;
+        for (final LongAdder longAdder : _suppressedEventCounts) {
+            suppressedEventCount += longAdder.sum();
+        }
+        return suppressedEventCount;
+    }
+}
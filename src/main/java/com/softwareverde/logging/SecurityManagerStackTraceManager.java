@@ -0,0 +1,89 @@
+package com.softwareverde.logging;
+
+/**
+ * Identifies the calling class via SecurityManager::getClassContext, which captures the entire stack on every invocation.
+ *  This implementation is the fallback for runtimes that do not provide StackWalker (i.e. Java 8).
+ */
+class SecurityManagerStackTraceManager extends StackTraceManager {
+    /**
+     * Exposes the protected SecurityManager::getClassContext.
+     *  The returned context begins with ClassContext itself, followed by the invoker of ClassContext::getCallingClasses.
+     */
+    protected static class ClassContext extends java.lang.SecurityManager {
+        public Class<?>[] getCallingClasses() {
+            return super.getClassContext();
+        }
+    }
+
+    protected final ClassContext _classContext = new ClassContext();
+
+    protected Class<?>[] _getCallingClasses() {
+        { // Default case...
+            final Class<?>[] callingClasses = _classContext.getCallingClasses();
+            if (callingClasses != null) { return callingClasses; }
+        }
+
+        final Exception exception = new Exception();
+        final StackTraceElement[] stackTraceElements = exception.getStackTrace();
+        final Class<?>[] callingClasses = new Class<?>[stackTraceElements.length];
+
+        for (int i = 0; i < stackTraceElements.length; ++i) {
+            final StackTraceElement stackTraceElement = stackTraceElements[i];
+            final String className = stackTraceElement.getClassName();
+            try {
+                final Class<?> clazz = Class.forName(className);
+                callingClasses[i] = clazz;
+            }
+            catch (final Exception classNotFoundException) {
+                _printError("Class not found: " + className, null);
+                callingClasses[i] = null;
+            }
+        }
+
+        return callingClasses;
+    }
+
+    @Override
+    public Class<?> getCallingClass() {
+        try {
+            final Class<?>[] callingClasses = _getCallingClasses();
+
+            for (int i = 0; i < callingClasses.length; ++i) {
+                final Class<?> callingClass = callingClasses[i];
+                if (callingClass != null) {
+                    if (! StackTraceManager.isLoggingClass(callingClass)) {
+                        return callingClass;
+                    }
+                }
+            }
+
+            final Class<?> topLevelClass = callingClasses[callingClasses.length - 1];
+            if (topLevelClass != null) {
+                return topLevelClass;
+            }
+            return Logger.class;
+        }
+        catch (final Exception exception) {
+            _printError("Unable to determine calling class", exception);
+            return Logger.class;
+        }
+    }
+
+    @Override
+    public Integer getCallingDepth() {
+        final Class<?>[] callingClasses = _classContext.getCallingClasses();
+        // callingClasses[0] is ClassContext, callingClasses[1] is this function, and callingClasses[2] is its invoker.
+        if (callingClasses.length < 3) { return 0; }
+
+        for (int i = 2; i < callingClasses.length; ++i) {
+            final Class<?> callingClass = callingClasses[i];
+            if (callingClass != null) {
+                if (! StackTraceManager.isLoggingClass(callingClass)) {
+                    return (i - 2);
+                }
+            }
+        }
+
+        return (callingClasses.length - 3);
+    }
+}
@@ -1,87 +1,45 @@
 package com.softwareverde.logging;
 
-import com.softwareverde.util.Package;
-
-class StackTraceManager extends java.lang.SecurityManager {
+/**
+ * Identifies the class that invoked the Logger.
+ *  On Java 9+ the StackWalker API is used, which only inspects as many frames as it needs to;
+ *  on Java 8 the (now deprecated) SecurityManager class context is used instead.
+ */
+abstract class StackTraceManager {
     public static final String LOGGING_PACKAGE_NAME = "com.softwareverde.logging";
 
-    protected Class<?>[] _getCallingClasses() {
-        { // Default case...
-            final Class<?>[] callingClasses = super.getClassContext();
-            if (callingClasses != null) { return callingClasses; }
+    /**
+     * Returns the fastest StackTraceManager available within the current runtime.
+     */
+    public static StackTraceManager newInstance() {
+        if (StackWalkerStackTraceManager.isSupported()) {
+            return new StackWalkerStackTraceManager();
         }
 
-        final Exception exception = new Exception();
-        final StackTraceElement[] stackTraceElements = exception.getStackTrace();
-        final Class<?>[] callingClasses = new Class<?>[stackTraceElements.length];
+        return new SecurityManagerStackTraceManager();
+    }
 
-        for (int i = 0; i < stackTraceElements.length; ++i) {
-            final StackTraceElement stackTraceElement = stackTraceElements[i];
-            final String className = stackTraceElement.getClassName();
-            try {
-                final Class<?> clazz = Class.forName(className);
-                callingClasses[i] = clazz;
-            }
-            catch (final Exception classNotFoundException) {
-                _printError("Class not found: " + className, null);
-                callingClasses[i] = null;
-            }
-        }
+    /**
+     * Returns true if the provided class is a member of the com.softwareverde.logging package (or any of its subpackages).
+     *  Class::getName is used instead of Package::getClassName since the two only differ after the "$" symbol, and the former does not allocate.
+     */
+    protected static boolean isLoggingClass(final Class<?> clazz) {
+        final String className = clazz.getName();
+        return className.startsWith(LOGGING_PACKAGE_NAME);
+    }
 
-        return callingClasses;
+    protected void _printError(final String message, final Throwable throwable) {
+        Logger.printLoggingError(LogLevel.ERROR, this.getClass(), message, throwable);
     }
 
     /**
      * Returns the first non-com.softwareverde.logging class invocation or, if such a class could not be identified, Logger.class.
      */
-    public final Class<?> getCallingClass() {
-        try {
-            final Class<?>[] callingClasses = _getCallingClasses();
-
-            for (int i = 0; i < callingClasses.length; ++i) {
-                final Class<?> callingClass = callingClasses[i];
-                if (callingClass != null) {
-                    final String packageName = Package.getClassName(callingClass);
-                    if (! packageName.startsWith(LOGGING_PACKAGE_NAME)) {
-                        return callingClass;
-                    }
-                }
-            }
-
-            final Class<?> topLevelClass = callingClasses[callingClasses.length - 1];
-            if (topLevelClass != null) {
-                return callingClasses[callingClasses.length - 1];
-            }
-            return Logger.class;
-        }
-        catch (final Exception exception) {
-            _printError("Unable to determine calling class", exception);
-            return Logger.class;
-        }
-    }
+    public abstract Class<?> getCallingClass();
 
     /**
      * Returns the call-depth of the first non-com.softwareverde.logging class invocation.
      *  The returned depth is from the perspective of the invoker of this function, not from within this function.
      */
-    public final Integer getCallingDepth() {
-        final Class<?>[] callingClasses = super.getClassContext();
-        if (callingClasses.length < 2) { return 0; }
-
-        for (int i = 1; i < callingClasses.length; ++i) {
-            final Class<?> callingClass = callingClasses[i];
-            if (callingClass != null) {
-                final String packageName = Package.getClassName(callingClass);
-                if (!packageName.startsWith(LOGGING_PACKAGE_NAME)) {
-                    return (i - 1);
-                }
-            }
-        }
-
-        return (callingClasses.length - 2);
-    }
-
-    private void _printError(final String message, final Throwable throwable) {
-        Logger.printLoggingError(LogLevel.ERROR, this.getClass(), message, throwable);
-    }
+    public abstract Integer getCallingDepth();
 }
@@ -0,0 +1,138 @@
+package com.softwareverde.logging;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Identifies the calling class via java.lang.StackWalker (Java 9+) with RETAIN_CLASS_REFERENCE.
+ *  Frames are walked lazily and the walk stops at the first class outside of com.softwareverde.logging,
+ *  so the cost is proportional to the number of logging frames rather than to the depth of the stack.
+ *  StackWalker is resolved reflectively (once) so that the library continues to compile and run on Java 8.
+ */
+class StackWalkerStackTraceManager extends StackTraceManager {
+    /**
+     * The number of frames the StackWalker retrieves in its first batch.
+     *  The Logger's own frames rarely exceed this depth, so the caller is usually found without fetching a second batch.
+     */
+    protected static final int ESTIMATED_STACK_DEPTH = 8;
+
+    protected static final MethodHandle WALK; // (Function)Object, bound to the StackWalker instance.
+    protected static final MethodHandle GET_DECLARING_CLASS; // (Object)Class, i.e. StackWalker.StackFrame::getDeclaringClass.
+    static {
+        MethodHandle walk = null;
+        MethodHandle getDeclaringClass = null;
+        try {
+            final Class<?> stackWalkerClass = Class.forName("java.lang.StackWalker");
+            final Class<?> optionClass = Class.forName("java.lang.StackWalker$Option");
+            final Class<?> stackFrameClass = Class.forName("java.lang.StackWalker$StackFrame");
+
+            final Object retainClassReferenceOption = optionClass.getField("RETAIN_CLASS_REFERENCE").get(null);
+            final Method getInstanceMethod = stackWalkerClass.getMethod("getInstance", java.util.Set.class, int.class);
+            final Object stackWalker = getInstanceMethod.invoke(null, Collections.singleton(retainClassReferenceOption), ESTIMATED_STACK_DEPTH);
+
+            final MethodHandles.Lookup lookup = MethodHandles.lookup(); // StackWalker::walk is caller-sensitive, so publicLookup may not be used.
+            walk = lookup.findVirtual(stackWalkerClass, "walk", MethodType.methodType(Object.class, Function.class)).bindTo(stackWalker);
+            getDeclaringClass = lookup.findVirtual(stackFrameClass, "getDeclaringClass", MethodType.methodType(Class.class)).asType(MethodType.methodType(Class.class, Object.class));
+        }
+        catch (final Exception exception) {
+            // StackWalker is unavailable (i.e. Java 8); StackTraceManager::newInstance will fall back to the SecurityManager implementation.
+            walk = null;
+            getDeclaringClass = null;
+        }
+
+        WALK = walk;
+        GET_DECLARING_CLASS = getDeclaringClass;
+    }
+
+    public static boolean isSupported() {
+        return (WALK != null);
+    }
+
+    protected static Class<?> getDeclaringClass(final Object stackFrame) {
+        try {
+            return (Class<?>) GET_DECLARING_CLASS.invokeExact(stackFrame);
+        }
+        catch (final Throwable exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the first non-logging class of the walked frames, or the outermost class if every frame is a logging class.
+     */
+    protected static class CallingClassFunction implements Function<Stream<Object>, Class<?>> {
+        @Override
+        public Class<?> apply(final Stream<Object> stackFrames) {
+            Class<?> outermostClass = null;
+
+            final Iterator<Object> iterator = stackFrames.iterator();
+            while (iterator.hasNext()) {
+                final Class<?> clazz = StackWalkerStackTraceManager.getDeclaringClass(iterator.next());
+                if (clazz == null) { continue; }
+
+                if (! StackTraceManager.isLoggingClass(clazz)) {
+                    return clazz;
+                }
+                outermostClass = clazz;
+            }
+
+            return outermostClass;
+        }
+    }
+
+    /**
+     * Returns the number of frames preceding the first non-logging class, excluding the first frame (the invoker of StackWalker::walk).
+     */
+    protected static class CallingDepthFunction implements Function<Stream<Object>, Integer> {
+        @Override
+        public Integer apply(final Stream<Object> stackFrames) {
+            int depth = -1;
+
+            final Iterator<Object> iterator = stackFrames.iterator();
+            while (iterator.hasNext()) {
+                final Class<?> clazz = StackWalkerStackTraceManager.getDeclaringClass(iterator.next());
+                if ( (depth >= 0) && (clazz != null) && (! StackTraceManager.isLoggingClass(clazz)) ) {
+                    return depth;
+                }
+                depth += 1;
+            }
+
+            return Math.max(0, (depth - 1));
+        }
+    }
+
+    protected static final Function<Stream<Object>, Class<?>> CALLING_CLASS_FUNCTION = new CallingClassFunction();
+    protected static final Function<Stream<Object>, Integer> CALLING_DEPTH_FUNCTION = new CallingDepthFunction();
+
+    protected StackWalkerStackTraceManager() { }
+
+    @Override
+    public Class<?> getCallingClass() {
+        try {
+            final Class<?> callingClass = (Class<?>) (Object) WALK.invokeExact((Function) CALLING_CLASS_FUNCTION);
+            return (callingClass != null ? callingClass : Logger.class);
+        }
+        catch (final Throwable exception) {
+            _printError("Unable to determine calling class", exception);
+            return Logger.class;
+        }
+    }
+
+    @Override
+    public Integer getCallingDepth() {
+        try {
+            // The first walked frame is this function, so the depth is relative to this function's invoker.
+            return (Integer) (Object) WALK.invokeExact((Function) CALLING_DEPTH_FUNCTION);
+        }
+        catch (final Throwable exception) {
+            _printError("Unable to determine calling depth", exception);
+            return 0;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.softwareverde.logging.log;
 
 import com.softwareverde.logging.Log;
 import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.LoggingMetrics;
+import com.softwareverde.logging.MessageFormatter;
 
 /**
  * Log statements are written to System.out/System.err.
@@ -12,60 +14,210 @@ public abstract class AbstractLog implements Log {
         void write(String string);
         void write(Throwable exception);
         default void flush() { }
+
+        /**
+         * Writes the characters of the (reused) line buffer.  The characters must be consumed before returning.
+         *  Writers that can copy the characters directly should override this method to avoid creating a String per line.
+         */
+        default void write(final CharSequence charSequence) {
+            this.write(charSequence.toString());
+        }
     }
 
+    /**
+     * The largest capacity retained by _stringBuilder between lines; a larger buffer is discarded after use.
+     */
+    protected static final int MAX_RETAINED_BUFFER_CAPACITY = (64 * 1024);
+
     protected final Writer _outWriter;
     protected final Writer _errWriter;
     protected String _lineSeparator = System.lineSeparator();
 
+    /**
+     * The buffer each line is assembled within; it is reused for every line, and is guarded by this instance's monitor.
+     */
+    protected StringBuilder _stringBuilder = new StringBuilder();
+
+    protected ThrowableRenderer _throwableRenderer = null; // Guarded by this instance's monitor.
+
+    /**
+     * The LoggingMetrics of this Log's class; initialized upon first use (racily, since LoggingMetrics::getSink is idempotent).
+     */
+    protected LoggingMetrics.Sink _sinkMetrics = null;
+
+    protected LoggingMetrics.Sink _getSinkMetrics() {
+        LoggingMetrics.Sink sinkMetrics = _sinkMetrics;
+        if (sinkMetrics == null) {
+            sinkMetrics = LoggingMetrics.getInstance().getSink(this.getClass().getName());
+            _sinkMetrics = sinkMetrics;
+        }
+        return sinkMetrics;
+    }
+
+    /**
+     * Writes the characters to the Writer, counting them if LoggingMetrics are enabled.
+     *  Exceptions written via Writer::write(Throwable) are not counted, since their length is not known.
+     */
+    protected void _write(final Writer writer, final CharSequence charSequence) {
+        writer.write(charSequence);
+        if (LoggingMetrics.isMetricsEnabled()) {
+            _getSinkMetrics().onCharactersWritten(charSequence.length());
+        }
+    }
+
+    protected void _write(final Writer writer, final String string) {
+        writer.write(string);
+        if (LoggingMetrics.isMetricsEnabled()) {
+            _getSinkMetrics().onCharactersWritten(string.length());
+        }
+    }
+
+    /**
+     * Returns the (emptied) reusable line buffer.  Must only be invoked while holding this instance's monitor.
+     */
+    protected StringBuilder _getStringBuilder() {
+        if (_stringBuilder.capacity() > MAX_RETAINED_BUFFER_CAPACITY) {
+            _stringBuilder = new StringBuilder();
+        }
+
+        _stringBuilder.setLength(0);
+        return _stringBuilder;
+    }
+
     protected void _flush() {
         _outWriter.flush();
         _errWriter.flush();
     }
 
     protected void _writeMessage(final Class<?> callingClass, final LogLevel logLevel, final String message, final Writer writer) {
-        writer.write(message + _lineSeparator);
+        _write(writer, (message + _lineSeparator));
     }
 
-    protected void _writeException(final Class<?> callingClass, final LogLevel logLevel, final Throwable exception, final Writer writer) {
-        writer.write(exception);
+    protected void _writeMessage(final Class<?> callingClass, final LogLevel logLevel, final String messageTemplate, final Object[] messageArguments, final Writer writer) {
+        final StringBuilder stringBuilder = _getStringBuilder();
+        MessageFormatter.appendFormattedMessage(stringBuilder, messageTemplate, messageArguments);
+        stringBuilder.append(_lineSeparator);
+
+        _write(writer, stringBuilder);
     }
 
-    protected AbstractLog(final Writer outWriter, final Writer errWriter) {
-        _outWriter = outWriter;
-        _errWriter = errWriter;
+    /**
+     * Writes the exception via the ThrowableRenderer, if one is set; otherwise the Writer prints the exception's stack trace.
+     */
+    protected void _writeException(final Class<?> callingClass, final LogLevel logLevel, final Throwable exception, final Writer writer) {
+        if (_throwableRenderer == null) {
+            writer.write(exception);
+            return;
+        }
+
+        final StringBuilder stringBuilder = _getStringBuilder();
+        _throwableRenderer.append(stringBuilder, exception, _lineSeparator);
+        _write(writer, stringBuilder);
     }
 
-    @Override
-    public synchronized void write(final Class<?> callingClass, final LogLevel logLevel, final String message, final Throwable exception) {
+    protected Writer _getWriter(final LogLevel logLevel) {
         switch (logLevel) {
-            case OFF: { } break;
-
             case TRACE:
             case DEBUG:
             case INFO: {
-                if (message != null) {
-                    _writeMessage(callingClass, logLevel, message, _outWriter);
-                }
-                if (exception != null) {
-                    _writeException(callingClass, logLevel, exception, _outWriter);
-                }
-            } break;
+                return _outWriter;
+            }
 
             case WARN:
             case ERROR: {
-                if (message != null) {
-                    _writeMessage(callingClass, logLevel, message, _errWriter);
-                }
-                if (exception != null) {
-                    _writeException(callingClass, logLevel, exception, _errWriter);
-                }
-            } break;
+                return _errWriter;
+            }
+
+            default: {
+                return null;
+            }
+        }
+    }
+
+    protected AbstractLog(final Writer outWriter, final Writer errWriter) {
+        _outWriter = outWriter;
+        _errWriter = errWriter;
+    }
+
+    /**
+     * Must be invoked while holding this instance's monitor.
+     */
+    protected void _writeEvent(final Class<?> callingClass, final LogLevel logLevel, final String message, final Throwable exception) {
+        final Writer writer = _getWriter(logLevel);
+        if (writer == null) { return; }
+
+        if (message != null) {
+            _writeMessage(callingClass, logLevel, message, writer);
+        }
+        if (exception != null) {
+            _writeException(callingClass, logLevel, exception, writer);
+        }
+    }
+
+    /**
+     * Must be invoked while holding this instance's monitor.
+     */
+    protected void _writeEvent(final Class<?> callingClass, final LogLevel logLevel, final String messageTemplate, final Object[] messageArguments, final Throwable exception) {
+        final Writer writer = _getWriter(logLevel);
+        if (writer == null) { return; }
+
+        _writeMessage(callingClass, logLevel, messageTemplate, messageArguments, writer);
+        if (exception != null) {
+            _writeException(callingClass, logLevel, exception, writer);
+        }
+    }
+
+    /**
+     * Writes the event while holding this instance's monitor.  If LoggingMetrics are enabled, the time spent waiting to acquire the monitor is recorded.
+     */
+    @Override
+    public void write(final Class<?> callingClass, final LogLevel logLevel, final String message, final Throwable exception) {
+        if (! LoggingMetrics.isMetricsEnabled()) {
+            synchronized (this) {
+                _writeEvent(callingClass, logLevel, message, exception);
+            }
+            return;
+        }
+
+        final long startNanos = System.nanoTime();
+        synchronized (this) {
+            _getSinkMetrics().onMonitorAcquired(System.nanoTime() - startNanos);
+            _writeEvent(callingClass, logLevel, message, exception);
         }
     }
 
+    @Override
+    public void write(final Class<?> callingClass, final LogLevel logLevel, final String messageTemplate, final Object[] messageArguments, final Throwable exception) {
+        if (! LoggingMetrics.isMetricsEnabled()) {
+            synchronized (this) {
+                _writeEvent(callingClass, logLevel, messageTemplate, messageArguments, exception);
+            }
+            return;
+        }
+
+        final long startNanos = System.nanoTime();
+        synchronized (this) {
+            _getSinkMetrics().onMonitorAcquired(System.nanoTime() - startNanos);
+            _writeEvent(callingClass, logLevel, messageTemplate, messageArguments, exception);
+        }
+    }
+
+    /**
+     * Sets the renderer of the Throwables of log statements (i.e. a DeduplicatingThrowableRenderer), or null to have the Writers print their stack traces.
+     */
+    public synchronized void setThrowableRenderer(final ThrowableRenderer throwableRenderer) {
+        _throwableRenderer = throwableRenderer;
+    }
+
+    public synchronized ThrowableRenderer getThrowableRenderer() {
+        return _throwableRenderer;
+    }
+
     @Override
     public void flush() {
+        if (LoggingMetrics.isMetricsEnabled()) {
+            _getSinkMetrics().onFlush();
+        }
         _flush();
     }
 
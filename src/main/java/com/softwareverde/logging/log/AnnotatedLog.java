@@ -1,12 +1,8 @@
 package com.softwareverde.logging.log;
 
 import com.softwareverde.logging.LogLevel;
-import com.softwareverde.util.Package;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-
-public class AnnotatedLog extends AbstractLog {
+public class AnnotatedLog extends LayoutLog {
     protected static final Object INSTANCE_MUTEX = new Object();
     protected static volatile AnnotatedLog INSTANCE = null;
     public static AnnotatedLog getInstance() {
@@ -40,68 +36,108 @@ public class AnnotatedLog extends AbstractLog {
         return BUFFERED_INSTANCE;
     }
 
-    protected static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss.SSS";
+    protected static volatile AnnotatedLog CHANNEL_INSTANCE = null;
+
+    /**
+     * Returns an instance that writes directly to the standard out/err file descriptors via a ChannelWriter.
+     */
+    public static AnnotatedLog getChannelInstance() {
+        if (CHANNEL_INSTANCE == null) {
+            synchronized (INSTANCE_MUTEX) {
+                if (CHANNEL_INSTANCE == null) {
+                    CHANNEL_INSTANCE = new AnnotatedLog(
+                        new ChannelWriter(BufferedSystemWriter.Type.SYSTEM_OUT),
+                        new ChannelWriter(BufferedSystemWriter.Type.SYSTEM_ERR)
+                    );
+                }
+            }
+        }
+
+        return CHANNEL_INSTANCE;
+    }
+
+    protected static final String DATE_FORMAT = Layout.DEFAULT_TIMESTAMP_PATTERN;
     protected static final String EMPTY_STRING = "";
     protected static final String SEPARATOR = " ";
     protected static final String SEGMENT_LEFT = "[";
     protected static final String SEGMENT_RIGHT = "]";
 
+    /**
+     * Returns true if the clazz, or any of its superclasses below AnnotatedLog, declares AnnotatedLog::_getTimestampAnnotation.
+     *  If the declared methods cannot be inspected, the method is assumed to be overridden.
+     */
+    protected static boolean isTimestampAnnotationOverridden(final Class<?> clazz) {
+        Class<?> declaringClass = clazz;
+        while ( (declaringClass != null) && (declaringClass != AnnotatedLog.class) ) {
+            try {
+                declaringClass.getDeclaredMethod("_getTimestampAnnotation");
+                return true;
+            }
+            catch (final NoSuchMethodException exception) { }
+            catch (final SecurityException exception) {
+                return true;
+            }
+
+            declaringClass = declaringClass.getSuperclass();
+        }
+
+        return false;
+    }
+
+    protected final boolean _isTimestampAnnotationOverridden;
+    protected TimestampFormatter _timestampFormatter = new TimestampFormatter(DATE_FORMAT);
+
     protected String _getLogLevelAnnotation(final LogLevel logLevel) {
         return EMPTY_STRING;
     }
 
     protected String _getTimestampAnnotation() {
-        final SimpleDateFormat simpleDateFormat = new SimpleDateFormat(DATE_FORMAT);
-        final Date currentTime = new Date();
-        return simpleDateFormat.format(currentTime);
+        return _timestampFormatter.format();
     }
 
     protected String _getClassAnnotation(final Class<?> callingClass) {
-        return Package.getClassName(callingClass);
+        return Layout.getClassName(callingClass);
     }
 
-    @Override
-    protected void _writeMessage(final Class<?> callingClass, final LogLevel logLevel, final String message, final Writer writer) {
-        final String timestampAnnotation = _getTimestampAnnotation();
-        final String logLevelAnnotation = _getLogLevelAnnotation(logLevel);
-        final String classAnnotation = _getClassAnnotation(callingClass);
-
-        final StringBuilder stringBuilder = new StringBuilder();
-
-        String separator = EMPTY_STRING;
-        if (! timestampAnnotation.isEmpty()) {
-            stringBuilder.append(separator);
-            stringBuilder.append(SEGMENT_LEFT);
-            stringBuilder.append(timestampAnnotation);
-            stringBuilder.append(SEGMENT_RIGHT);
-            separator = SEPARATOR;
-        }
-
-        if (! logLevelAnnotation.isEmpty()) {
-            stringBuilder.append(separator);
-            stringBuilder.append(SEGMENT_LEFT);
-            stringBuilder.append(logLevelAnnotation);
-            stringBuilder.append(SEGMENT_RIGHT);
-            separator = SEPARATOR;
-        }
-
-        if (! classAnnotation.isEmpty()) {
-            stringBuilder.append(separator);
-            stringBuilder.append(SEGMENT_LEFT);
-            stringBuilder.append(classAnnotation);
-            stringBuilder.append(SEGMENT_RIGHT);
-            separator = SEPARATOR;
+    /**
+     * Returns the Layout of the AnnotatedLog: "[timestamp] [logLevel] [class] message", where empty annotations (and their separators) are omitted.
+     *  Each annotation is rendered by its (overridable) AnnotatedLog method.  Unless _getTimestampAnnotation is overridden,
+     *  the timestamp is appended directly by the TimestampFormatter, so that a new millisecond does not allocate a String.
+     */
+    protected Layout _newAnnotatedLayout() {
+        final Layout.Segment timestampSegment;
+        if (_isTimestampAnnotationOverridden) {
+            timestampSegment = new Layout.Segment() {
+                @Override
+                public void append(final StringBuilder stringBuilder, final int lineStartIndex, final Class<?> callingClass, final LogLevel logLevel, final String message, final Object[] nullableMessageArguments) {
+                    stringBuilder.append(_getTimestampAnnotation());
+                }
+            };
         }
-
-        if (! message.isEmpty()) {
-            stringBuilder.append(separator);
-            stringBuilder.append(message);
-            separator = SEPARATOR;
+        else {
+            timestampSegment = new Layout.Segment() {
+                @Override
+                public void append(final StringBuilder stringBuilder, final int lineStartIndex, final Class<?> callingClass, final LogLevel logLevel, final String message, final Object[] nullableMessageArguments) {
+                    _timestampFormatter.appendTimestamp(stringBuilder);
+                }
+            };
         }
 
-        stringBuilder.append(_lineSeparator);
-
-        writer.write(stringBuilder.toString());
+        return Layout.newAnnotatedLayout(
+            timestampSegment,
+            new Layout.Segment() {
+                @Override
+                public void append(final StringBuilder stringBuilder, final int lineStartIndex, final Class<?> callingClass, final LogLevel logLevel, final String message, final Object[] nullableMessageArguments) {
+                    stringBuilder.append(_getLogLevelAnnotation(logLevel));
+                }
+            },
+            new Layout.Segment() {
+                @Override
+                public void append(final StringBuilder stringBuilder, final int lineStartIndex, final Class<?> callingClass, final LogLevel logLevel, final String message, final Object[] nullableMessageArguments) {
+                    stringBuilder.append(_getClassAnnotation(callingClass));
+                }
+            }
+        );
     }
 
     @Override
@@ -109,12 +145,47 @@ public class AnnotatedLog extends AbstractLog {
         super._writeException(callingClass, logLevel, exception, writer);
     }
 
+    @Override
+    protected void _writeLine(final Class<?> callingClass, final LogLevel logLevel, final String message, final Object[] nullableMessageArguments, final Writer writer) {
+        if (_layout == null) { // The default Layout is created upon first use, rather than by the constructor, since it is overridable...
+            _layout = _newAnnotatedLayout();
+        }
+
+        super._writeLine(callingClass, logLevel, message, nullableMessageArguments, writer);
+    }
+
+    /**
+     * Constructs an AnnotatedLog whose Layout is created by AnnotatedLog::_newAnnotatedLayout upon the first line written,
+     *  unless one is provided via LayoutLog::setLayout.
+     */
     protected AnnotatedLog(final Writer outWriter, final Writer errWriter) {
         super(outWriter, errWriter);
+        _isTimestampAnnotationOverridden = AnnotatedLog.isTimestampAnnotationOverridden(this.getClass());
+    }
+
+    @Override
+    public synchronized Layout getLayout() {
+        if (_layout == null) {
+            _layout = _newAnnotatedLayout();
+        }
+
+        return _layout;
+    }
+
+    /**
+     * Sets the formatter used to render the timestamp annotation, which determines its pattern, time zone, and clock.
+     *  The default formatter renders the system time in the default time zone as "yyyy-MM-dd HH:mm:ss.SSS".
+     */
+    public synchronized void setTimestampFormatter(final TimestampFormatter timestampFormatter) {
+        _timestampFormatter = timestampFormatter;
+    }
+
+    public synchronized TimestampFormatter getTimestampFormatter() {
+        return _timestampFormatter;
     }
 
     @Override
-    public synchronized void write(final Class<?> callingClass, final LogLevel logLevel, final String nullableMessage, final Throwable nullableException) {
+    protected void _writeEvent(final Class<?> callingClass, final LogLevel logLevel, final String nullableMessage, final Throwable nullableException) {
 
         final String message;
         final Throwable exception;
@@ -127,6 +198,6 @@ public class AnnotatedLog extends AbstractLog {
             exception = nullableException;
         }
 
-        super.write(callingClass, logLevel, message, exception);
+        super._writeEvent(callingClass, logLevel, message, exception);
     }
 }
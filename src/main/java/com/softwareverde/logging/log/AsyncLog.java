@@ -0,0 +1,529 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.Log;
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.Logger;
+import com.softwareverde.logging.LoggingMetrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decorates a Log so that events are written by a dedicated consumer thread instead of by the logging thread.
+ *  Events are placed into a preallocated, bounded, lock-free ring buffer (a Vyukov-style sequenced array queue); producers only claim a slot
+ *  and copy the event's references into it.  What happens when the buffer is full is determined by the AsyncLog's BackpressurePolicy;
+ *  by default the event is dropped (and counted) rather than waiting on the sink, so the latency of the logging thread is bounded regardless of how slow the wrapped Log is.
+ *  Dropped events are periodically summarized by a WARN line written to the wrapped Log.
+ *  Parameterized messages are formatted on the logging thread (via Log's default implementation), since their arguments may be mutable.
+ *  AsyncLog::flush and AsyncLog::close drain the buffer before flushing/closing the wrapped Log.
+ */
+public class AsyncLog implements Log {
+    public enum WaitStrategy {
+        /**
+         * The consumer spins while the buffer is empty.  Lowest latency, but occupies a core.
+         */
+        BUSY_SPIN,
+
+        /**
+         * The consumer yields while the buffer is empty.
+         */
+        YIELD,
+
+        /**
+         * The consumer parks while the buffer is empty, and is unparked by the next producer.  Producers only pay for the unpark when the consumer is idle.
+         */
+        PARK
+    }
+
+    public enum BackpressurePolicy {
+        /**
+         * The logging thread waits until the consumer frees a slot.  No events are lost, but the logging thread's latency is bound to the sink's.
+         */
+        BLOCK,
+
+        /**
+         * The event being written is dropped.
+         */
+        DROP_NEWEST,
+
+        /**
+         * The oldest buffered event is dropped to make room for the event being written.
+         */
+        DROP_OLDEST,
+
+        /**
+         * Events below the drop-threshold LogLevel are dropped; events at or above the threshold wait for a free slot (as with BLOCK),
+         *  so that they are never lost.
+         */
+        DROP_BELOW_THRESHOLD
+    }
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final WaitStrategy DEFAULT_WAIT_STRATEGY = WaitStrategy.PARK;
+    public static final BackpressurePolicy DEFAULT_BACKPRESSURE_POLICY = BackpressurePolicy.DROP_NEWEST;
+    public static final LogLevel DEFAULT_DROP_THRESHOLD = LogLevel.WARN;
+    public static final Long DEFAULT_DROPPED_EVENT_SUMMARY_INTERVAL_MS = 10000L;
+
+    /**
+     * The maximum duration the consumer parks for, which bounds the delay of a missed signal.
+     */
+    protected static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10L);
+
+    /**
+     * The number of times a blocked producer retries before it begins to park.
+     */
+    protected static final int BLOCKED_SPIN_COUNT = 64;
+
+    protected static class Event {
+        public Class<?> callingClass;
+        public LogLevel logLevel;
+        public String message;
+        public Throwable exception;
+
+        public void clear() {
+            this.callingClass = null;
+            this.logLevel = null;
+            this.message = null;
+            this.exception = null;
+        }
+    }
+
+    protected static int toPowerOfTwo(final int capacity) {
+        if (capacity <= 1) { return 2; }
+        final int highestOneBit = Integer.highestOneBit(capacity);
+        return (highestOneBit == capacity ? capacity : (highestOneBit << 1));
+    }
+
+    protected final Log _log;
+    protected final WaitStrategy _waitStrategy;
+    protected final BackpressurePolicy _backpressurePolicy;
+    protected final LogLevel _dropThreshold;
+
+    /**
+     * Slot i is writable by the producer claiming position p when _sequences[i] == p, and readable by the consumer of position p when _sequences[i] == (p + 1).
+     */
+    protected final Event[] _events;
+    protected final AtomicLongArray _sequences;
+    protected final int _mask;
+
+    protected final AtomicLong _enqueuePosition = new AtomicLong(0L);
+    protected final AtomicLong _dequeuePosition = new AtomicLong(0L);
+    protected final AtomicLong _processedEventCount = new AtomicLong(0L); // The number of dequeued events that have been written (or dropped); awaited by AsyncLog::flush.
+    protected final AtomicLong _droppedEventCount = new AtomicLong(0L);
+    protected final AtomicLongArray _droppedEventCountsByLogLevel = new AtomicLongArray(LogLevel.values().length);
+
+    protected volatile long _droppedEventSummaryIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_DROPPED_EVENT_SUMMARY_INTERVAL_MS);
+    protected long _reportedDroppedEventCount = 0L; // Only accessed while holding the _consumerMutex.
+    protected final long[] _reportedDroppedEventCountsByLogLevel = new long[LogLevel.values().length]; // Only accessed while holding the _consumerMutex.
+    protected long _lastDroppedEventSummaryNanos = System.nanoTime(); // Only accessed by the consumer.
+
+    protected final String _queueName = ("AsyncLog@" + Integer.toHexString(System.identityHashCode(this))); // The name of the queue's depth within the LoggingMetrics.
+    protected final Object _consumerMutex = new Object(); // Guards the dropped-event summary; held per summary, never while draining the buffer.
+    protected final Thread _consumerThread;
+    protected volatile boolean _isConsumerParked = false;
+    protected volatile boolean _isClosed = false;
+
+    protected boolean _tryEnqueue(final Class<?> callingClass, final LogLevel logLevel, final String message, final Throwable exception) {
+        long position = _enqueuePosition.get();
+        while (true) {
+            final int index = (int) (position & _mask);
+            final long sequence = _sequences.get(index);
+            final long difference = (sequence - position);
+
+            if (difference == 0L) {
+                if (_enqueuePosition.compareAndSet(position, (position + 1L))) {
+                    final Event event = _events[index];
+                    event.callingClass = callingClass;
+                    event.logLevel = logLevel;
+                    event.message = message;
+                    event.exception = exception;
+
+                    _sequences.set(index, (position + 1L)); // Publishes the event; a full (volatile) write so that the subsequent read of _isConsumerParked is not reordered before it.
+                    return true;
+                }
+
+                position = _enqueuePosition.get();
+            }
+            else if (difference < 0L) { // The buffer is full...
+                return false;
+            }
+            else { // Another producer claimed the position...
+                position = _enqueuePosition.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest event from the buffer and, if shouldWrite is set, writes it to the wrapped Log; otherwise the event is counted as dropped.
+     *  Returns false if the buffer was empty.
+     */
+    protected boolean _dequeue(final boolean shouldWrite) {
+        long position = _dequeuePosition.get();
+        while (true) {
+            final int index = (int) (position & _mask);
+            final long sequence = _sequences.get(index);
+            final long difference = (sequence - (position + 1L));
+
+            if (difference == 0L) {
+                if (_dequeuePosition.compareAndSet(position, (position + 1L))) {
+                    final Event event = _events[index];
+                    final Class<?> callingClass = event.callingClass;
+                    final LogLevel logLevel = event.logLevel;
+                    final String message = event.message;
+                    final Throwable exception = event.exception;
+                    event.clear();
+
+                    _sequences.lazySet(index, (position + _mask + 1L)); // Releases the slot for the producer of the next lap.
+
+                    if (shouldWrite) {
+                        _writeEvent(callingClass, logLevel, message, exception);
+                    }
+                    else {
+                        _onEventDropped(logLevel);
+                    }
+                    _processedEventCount.incrementAndGet();
+                    return true;
+                }
+
+                position = _dequeuePosition.get();
+            }
+            else if (difference < 0L) { // The buffer is empty...
+                return false;
+            }
+            else {
+                position = _dequeuePosition.get();
+            }
+        }
+    }
+
+    protected void _writeEvent(final Class<?> callingClass, final LogLevel logLevel, final String message, final Throwable exception) {
+        try {
+            _log.write(callingClass, logLevel, message, exception);
+        }
+        catch (final Exception writeException) {
+            Logger.printLoggingError(LogLevel.ERROR, AsyncLog.class, "Unable to write log event.", writeException);
+        }
+    }
+
+    protected void _onEventDropped(final LogLevel logLevel) {
+        _droppedEventCount.incrementAndGet();
+        if (logLevel != null) {
+            _droppedEventCountsByLogLevel.incrementAndGet(logLevel.ordinal());
+        }
+    }
+
+    /**
+     * Enqueues the event, waiting for the consumer to free a slot if necessary.
+     *  Returns false if the event could not be enqueued because the AsyncLog was closed while waiting.
+     */
+    protected boolean _enqueueBlocking(final Class<?> callingClass, final LogLevel logLevel, final String message, final Throwable exception) {
+        int attemptCount = 0;
+        while (! _tryEnqueue(callingClass, logLevel, message, exception)) {
+            if (_isClosed) { return false; }
+
+            LockSupport.unpark(_consumerThread);
+            if (attemptCount < BLOCKED_SPIN_COUNT) {
+                attemptCount += 1;
+                Thread.yield();
+            }
+            else {
+                LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(50L));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Enqueues the event by dropping buffered events until a slot is available.
+     */
+    protected void _enqueueDroppingOldest(final Class<?> callingClass, final LogLevel logLevel, final String message, final Throwable exception) {
+        while (! _tryEnqueue(callingClass, logLevel, message, exception)) {
+            if (! _dequeue(false)) { // The oldest slot was claimed but not yet published by another producer...
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Applies the BackpressurePolicy to an event that did not fit into the buffer.
+     *  Returns true if the event was eventually enqueued.
+     */
+    protected boolean _onBufferFull(final Class<?> callingClass, final LogLevel logLevel, final String message, final Throwable exception) {
+        final BackpressurePolicy backpressurePolicy;
+        if (Thread.currentThread() == _consumerThread) { // The wrapped Log logged from within a write; waiting on the consumer would deadlock.
+            backpressurePolicy = BackpressurePolicy.DROP_NEWEST;
+        }
+        else if (_backpressurePolicy == BackpressurePolicy.DROP_BELOW_THRESHOLD) {
+            final boolean isBelowThreshold = ( (logLevel == null) || (logLevel.value < _dropThreshold.value) );
+            backpressurePolicy = (isBelowThreshold ? BackpressurePolicy.DROP_NEWEST : BackpressurePolicy.BLOCK);
+        }
+        else {
+            backpressurePolicy = _backpressurePolicy;
+        }
+
+        switch (backpressurePolicy) {
+            case BLOCK: {
+                if (_enqueueBlocking(callingClass, logLevel, message, exception)) {
+                    return true;
+                }
+
+                _writeEvent(callingClass, logLevel, message, exception); // The AsyncLog was closed while waiting, so the event is written synchronously.
+                return false;
+            }
+
+            case DROP_OLDEST: {
+                _enqueueDroppingOldest(callingClass, logLevel, message, exception);
+                return true;
+            }
+
+            default: {
+                _onEventDropped(logLevel);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Writes a summary of the events dropped since the previous summary, if any.
+     *  Must be invoked while holding the _consumerMutex.
+     */
+    protected void _writeDroppedEventSummary() {
+        final long droppedEventCount = _droppedEventCount.get();
+        if (droppedEventCount == _reportedDroppedEventCount) { return; }
+
+        final StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append(droppedEventCount - _reportedDroppedEventCount);
+        stringBuilder.append(" events dropped (");
+        String separator = "";
+        for (final LogLevel logLevel : LogLevel.values()) {
+            final int index = logLevel.ordinal();
+            final long count = _droppedEventCountsByLogLevel.get(index);
+            final long newCount = (count - _reportedDroppedEventCountsByLogLevel[index]);
+            _reportedDroppedEventCountsByLogLevel[index] = count;
+            if (newCount == 0L) { continue; }
+
+            stringBuilder.append(separator);
+            stringBuilder.append(logLevel);
+            stringBuilder.append(": ");
+            stringBuilder.append(newCount);
+            separator = ", ";
+        }
+        stringBuilder.append(").");
+        _reportedDroppedEventCount = droppedEventCount;
+
+        _writeEvent(AsyncLog.class, LogLevel.WARN, stringBuilder.toString(), null);
+    }
+
+    protected void _checkDroppedEventSummary() {
+        final long intervalNanos = _droppedEventSummaryIntervalNanos;
+        if (intervalNanos <= 0L) { return; }
+
+        final long now = System.nanoTime();
+        if ((now - _lastDroppedEventSummaryNanos) < intervalNanos) { return; }
+        _lastDroppedEventSummaryNanos = now;
+
+        synchronized (_consumerMutex) {
+            _writeDroppedEventSummary();
+        }
+    }
+
+    protected void _signalConsumer() {
+        if (_isConsumerParked) {
+            LockSupport.unpark(_consumerThread);
+        }
+    }
+
+    protected boolean _isEmpty() {
+        return (_dequeuePosition.get() >= _enqueuePosition.get());
+    }
+
+    protected void _idle() {
+        switch (_waitStrategy) {
+            case BUSY_SPIN: { } break;
+
+            case YIELD: {
+                Thread.yield();
+            } break;
+
+            case PARK: {
+                _isConsumerParked = true;
+                if (_isEmpty() && (! _isClosed)) { // Re-check after publishing the flag, so that a concurrent producer's signal is not missed.
+                    LockSupport.parkNanos(this, MAX_PARK_NANOS);
+                }
+                _isConsumerParked = false;
+            } break;
+        }
+    }
+
+    protected void _runConsumer() {
+        while (true) {
+            boolean didWrite = false;
+            while (_dequeue(true)) {
+                didWrite = true;
+            }
+
+            _checkDroppedEventSummary();
+
+            if (! didWrite) {
+                if (_isClosed && _isEmpty()) { break; }
+                _idle();
+            }
+        }
+    }
+
+    public AsyncLog(final Log log) {
+        this(log, DEFAULT_CAPACITY, DEFAULT_WAIT_STRATEGY);
+    }
+
+    public AsyncLog(final Log log, final int capacity, final WaitStrategy waitStrategy) {
+        this(log, capacity, waitStrategy, DEFAULT_BACKPRESSURE_POLICY);
+    }
+
+    public AsyncLog(final Log log, final int capacity, final WaitStrategy waitStrategy, final BackpressurePolicy backpressurePolicy) {
+        this(log, capacity, waitStrategy, backpressurePolicy, DEFAULT_DROP_THRESHOLD);
+    }
+
+    /**
+     * @param capacity The number of events the buffer may hold; it is rounded up to the next power of two.
+     * @param dropThreshold The lowest LogLevel that is never dropped; only used by BackpressurePolicy.DROP_BELOW_THRESHOLD.
+     */
+    public AsyncLog(final Log log, final int capacity, final WaitStrategy waitStrategy, final BackpressurePolicy backpressurePolicy, final LogLevel dropThreshold) {
+        _log = log;
+        _waitStrategy = waitStrategy;
+        _backpressurePolicy = backpressurePolicy;
+        _dropThreshold = dropThreshold;
+
+        final int bufferSize = AsyncLog.toPowerOfTwo(capacity);
+        _mask = (bufferSize - 1);
+        _events = new Event[bufferSize];
+        _sequences = new AtomicLongArray(bufferSize);
+        for (int i = 0; i < bufferSize; ++i) {
+            _events[i] = new Event();
+            _sequences.set(i, i);
+        }
+
+        _consumerThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                _runConsumer();
+            }
+        });
+        _consumerThread.setName("AsyncLog");
+        _consumerThread.setDaemon(true);
+        _consumerThread.start();
+
+        LoggingMetrics.getInstance().setQueueDepth(_queueName, this, AsyncLog::getQueueDepth);
+    }
+
+    @Override
+    public void write(final Class<?> callingClass, final LogLevel logLevel, final String nullableMessage, final Throwable nullableException) {
+        if (_isClosed) { // The consumer may no longer be running, so the event is written synchronously...
+            _writeEvent(callingClass, logLevel, nullableMessage, nullableException);
+            return;
+        }
+
+        if (! _tryEnqueue(callingClass, logLevel, nullableMessage, nullableException)) {
+            if (! _onBufferFull(callingClass, logLevel, nullableMessage, nullableException)) {
+                return;
+            }
+        }
+
+        if (_isClosed) { // The AsyncLog was closed concurrently, possibly after its final drain, so the buffer is drained synchronously...
+            while (_dequeue(true)) { }
+            return;
+        }
+
+        _signalConsumer();
+    }
+
+    /**
+     * Sets the minimum duration between summaries of dropped events.
+     *  A summary is only written if events were dropped since the previous summary; a duration of zero (or null) disables the summaries.
+     */
+    public void setDroppedEventSummaryInterval(final Long intervalMs) {
+        _droppedEventSummaryIntervalNanos = (intervalMs != null ? TimeUnit.MILLISECONDS.toNanos(intervalMs) : 0L);
+    }
+
+    public BackpressurePolicy getBackpressurePolicy() {
+        return _backpressurePolicy;
+    }
+
+    /**
+     * Returns the number of events that were not written because the buffer was full.
+     */
+    public long getDroppedEventCount() {
+        return _droppedEventCount.get();
+    }
+
+    /**
+     * Returns the number of events of the provided LogLevel that were not written because the buffer was full.
+     */
+    public long getDroppedEventCount(final LogLevel logLevel) {
+        return _droppedEventCountsByLogLevel.get(logLevel.ordinal());
+    }
+
+    /**
+     * Returns the number of events currently waiting to be written.
+     */
+    public int getQueueDepth() {
+        final long queueDepth = (_enqueuePosition.get() - _dequeuePosition.get());
+        return (int) Math.max(0L, queueDepth);
+    }
+
+    public int getCapacity() {
+        return _events.length;
+    }
+
+    /**
+     * Blocks until every event enqueued before this call has been written, and then flushes the wrapped Log.
+     *  Only the events enqueued before the call are awaited, so the flush completes even while producers continue to enqueue.
+     */
+    @Override
+    public void flush() {
+        if (Thread.currentThread() != _consumerThread) {
+            final long targetCount = _enqueuePosition.get();
+            while ( (_processedEventCount.get() < targetCount) && _consumerThread.isAlive() ) {
+                LockSupport.unpark(_consumerThread);
+                LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(100L));
+            }
+
+            if (! _consumerThread.isAlive()) {
+                while (_dequeue(true)) { }
+            }
+        }
+
+        _log.flush();
+    }
+
+    /**
+     * Drains the buffer, stops the consumer thread, and closes the wrapped Log.
+     *  Events written after the AsyncLog is closed are written synchronously.
+     */
+    @Override
+    public void close() {
+        _isClosed = true;
+        LockSupport.unpark(_consumerThread);
+        LoggingMetrics.getInstance().setQueueDepth(_queueName, null);
+
+        if (Thread.currentThread() != _consumerThread) {
+            try {
+                _consumerThread.join();
+            }
+            catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        while (_dequeue(true)) { } // Writes any events enqueued concurrently with the close.
+
+        synchronized (_consumerMutex) {
+            if (_droppedEventSummaryIntervalNanos > 0L) {
+                _writeDroppedEventSummary();
+            }
+            _log.flush();
+            _log.close();
+        }
+    }
+}
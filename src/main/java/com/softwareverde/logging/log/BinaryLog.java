@@ -0,0 +1,264 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.Log;
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.Logger;
+import com.softwareverde.logging.MessageFormatter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.IdentityHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Writes log statements as compact binary records rather than text; see BinaryLogDecoder for rendering the records as AnnotatedLog's text.
+ *  Each record is a type byte followed by its fields, where integers are unsigned LEB128 varints and strings are a varint byteCount followed by UTF-8 bytes:
+ *      HEADER_RECORD:  int magic (big-endian), byte version.  Begins every segment written by a BinaryLog; resets the class dictionary and the timestamp.
+ *      CLASS_RECORD:   varint classId, string className.  Defines the classId of a class (see Layout::getClassName) before its first event.
+ *      EVENT_RECORD:   zigzag varint timestamp delta (ms since the previous event, or since the epoch for the segment's first event),
+ *                      byte flags (LogLevel::value, MESSAGE_FLAG, THROWABLE_FLAG), varint classId, [string message], [string stackTrace].
+ *  The class annotation and timestamp that AnnotatedLog renders for every line are therefore a few bytes per record.
+ *  Records are buffered and written to the channel when the buffer is full or when the log is flushed; a BinaryLog opened on a file appends a new segment.
+ */
+public class BinaryLog implements Log {
+    public static final int MAGIC = 0x534C4F42; // "SLOB"
+    public static final byte VERSION = 1;
+
+    public static final byte HEADER_RECORD = 0x01;
+    public static final byte CLASS_RECORD = 0x02;
+    public static final byte EVENT_RECORD = 0x03;
+
+    public static final int LOG_LEVEL_MASK = 0x0F;
+    public static final int MESSAGE_FLAG = 0x40;
+    public static final int THROWABLE_FLAG = 0x80;
+
+    public static final int DEFAULT_BUFFER_SIZE = (64 * 1024);
+
+    protected static final int MAX_VARINT_BYTE_COUNT = 10;
+
+    protected final WritableByteChannel _channel;
+    protected final ByteBuffer _byteBuffer;
+    protected final LongSupplier _clock;
+
+    protected final IdentityHashMap<Class<?>, Integer> _classIds = new IdentityHashMap<Class<?>, Integer>();
+    protected long _previousTimestamp = 0L;
+    protected boolean _isClosed = false;
+
+    protected StringBuilder _stringBuilder = new StringBuilder();
+    protected char[] _chars = new char[256];
+    protected byte[] _bytes = new byte[256 * Utf8Encoder.MAX_BYTES_PER_CHAR];
+    protected final StringWriter _exceptionStringWriter = new StringWriter();
+    protected final PrintWriter _exceptionPrintWriter = new PrintWriter(_exceptionStringWriter);
+
+    protected void _writeBuffer() {
+        _byteBuffer.flip();
+        try {
+            while (_byteBuffer.hasRemaining()) {
+                _channel.write(_byteBuffer);
+            }
+        }
+        catch (final IOException exception) {
+            Logger.printLoggingError(LogLevel.ERROR, BinaryLog.class, "Unable to write log buffer.", exception);
+        }
+        finally {
+            _byteBuffer.clear();
+        }
+    }
+
+    protected void _ensureRemaining(final int byteCount) {
+        if (_byteBuffer.remaining() < byteCount) {
+            _writeBuffer();
+        }
+    }
+
+    protected void _putByte(final int value) {
+        _ensureRemaining(1);
+        _byteBuffer.put((byte) value);
+    }
+
+    protected void _putVarLong(final long value) {
+        _ensureRemaining(MAX_VARINT_BYTE_COUNT);
+
+        long remainingValue = value;
+        while ((remainingValue & ~0x7FL) != 0L) {
+            _byteBuffer.put((byte) ((remainingValue & 0x7F) | 0x80));
+            remainingValue >>>= 7;
+        }
+        _byteBuffer.put((byte) remainingValue);
+    }
+
+    protected void _putBytes(final byte[] bytes, final int length) {
+        int offset = 0;
+        while (offset < length) {
+            if (! _byteBuffer.hasRemaining()) {
+                _writeBuffer();
+            }
+
+            final int byteCount = Math.min(_byteBuffer.remaining(), (length - offset));
+            _byteBuffer.put(bytes, offset, byteCount);
+            offset += byteCount;
+        }
+    }
+
+    /**
+     * Writes the characters as a varint byteCount followed by their UTF-8 bytes.
+     */
+    protected void _putString(final CharSequence charSequence) {
+        final int length = charSequence.length();
+        if (_chars.length < length) {
+            _chars = new char[length];
+            _bytes = new byte[length * Utf8Encoder.MAX_BYTES_PER_CHAR];
+        }
+
+        if (charSequence instanceof String) {
+            ((String) charSequence).getChars(0, length, _chars, 0);
+        }
+        else if (charSequence instanceof StringBuilder) {
+            ((StringBuilder) charSequence).getChars(0, length, _chars, 0);
+        }
+        else {
+            for (int i = 0; i < length; ++i) {
+                _chars[i] = charSequence.charAt(i);
+            }
+        }
+
+        final int byteCount = Utf8Encoder.encode(_chars, 0, length, _bytes, 0);
+        _putVarLong(byteCount);
+        _putBytes(_bytes, byteCount);
+
+        if (_chars.length > AbstractLog.MAX_RETAINED_BUFFER_CAPACITY) {
+            _chars = new char[256];
+            _bytes = new byte[256 * Utf8Encoder.MAX_BYTES_PER_CHAR];
+        }
+    }
+
+    protected void _writeHeader() {
+        _ensureRemaining(6);
+        _byteBuffer.put(HEADER_RECORD);
+        _byteBuffer.putInt(MAGIC);
+        _byteBuffer.put(VERSION);
+    }
+
+    /**
+     * Returns the classId of the callingClass, writing its CLASS_RECORD if this is its first event within the segment.
+     */
+    protected int _getClassId(final Class<?> callingClass) {
+        final Integer classId = _classIds.get(callingClass);
+        if (classId != null) { return classId; }
+
+        final int newClassId = _classIds.size();
+        _classIds.put(callingClass, newClassId);
+
+        _putByte(CLASS_RECORD);
+        _putVarLong(newClassId);
+        _putString(Layout.getClassName(callingClass));
+        return newClassId;
+    }
+
+    protected void _writeEvent(final Class<?> callingClass, final LogLevel logLevel, final CharSequence nullableMessage, final Throwable nullableException) {
+        if (_isClosed) { return; }
+
+        final int classId = _getClassId(callingClass);
+
+        final long timestamp = _clock.getAsLong();
+        final long timestampDelta = (timestamp - _previousTimestamp);
+        _previousTimestamp = timestamp;
+
+        int flags = (logLevel.value & LOG_LEVEL_MASK);
+        if (nullableMessage != null) { flags |= MESSAGE_FLAG; }
+        if (nullableException != null) { flags |= THROWABLE_FLAG; }
+
+        _putByte(EVENT_RECORD);
+        _putVarLong((timestampDelta << 1) ^ (timestampDelta >> 63)); // ZigZag, since the clock may move backwards.
+        _putByte(flags);
+        _putVarLong(classId);
+
+        if (nullableMessage != null) {
+            _putString(nullableMessage);
+        }
+
+        if (nullableException != null) {
+            final StringBuffer stringBuffer = _exceptionStringWriter.getBuffer();
+            nullableException.printStackTrace(_exceptionPrintWriter);
+            _exceptionPrintWriter.flush();
+            _putString(stringBuffer.toString());
+
+            stringBuffer.setLength(0);
+            if (stringBuffer.capacity() > AbstractLog.MAX_RETAINED_BUFFER_CAPACITY) {
+                stringBuffer.trimToSize();
+            }
+        }
+    }
+
+    public BinaryLog(final File file) throws IOException {
+        this(FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    public BinaryLog(final WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE, System::currentTimeMillis);
+    }
+
+    /**
+     * @param bufferSize The size, in bytes, of the buffer records are encoded into.
+     * @param clock The source of each record's timestamp, in milliseconds since the epoch (i.e. a CoarseClock).
+     */
+    public BinaryLog(final WritableByteChannel channel, final int bufferSize, final LongSupplier clock) {
+        _channel = channel;
+        _byteBuffer = ByteBuffer.allocateDirect(Math.max(bufferSize, 64));
+        _clock = clock;
+
+        _writeHeader();
+    }
+
+    @Override
+    public synchronized void write(final Class<?> callingClass, final LogLevel logLevel, final String nullableMessage, final Throwable nullableException) {
+        if ( (nullableMessage == null) && (nullableException == null) ) { return; }
+
+        _writeEvent(callingClass, logLevel, nullableMessage, nullableException);
+    }
+
+    /**
+     * Formats the message directly into a reused buffer before encoding it.
+     */
+    @Override
+    public synchronized void write(final Class<?> callingClass, final LogLevel logLevel, final String messageTemplate, final Object[] messageArguments, final Throwable nullableException) {
+        if (_stringBuilder.capacity() > AbstractLog.MAX_RETAINED_BUFFER_CAPACITY) {
+            _stringBuilder = new StringBuilder();
+        }
+        _stringBuilder.setLength(0);
+        MessageFormatter.appendFormattedMessage(_stringBuilder, messageTemplate, messageArguments);
+
+        _writeEvent(callingClass, logLevel, _stringBuilder, nullableException);
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (_byteBuffer.position() > 0) {
+            _writeBuffer();
+        }
+    }
+
+    /**
+     * Writes any buffered records and closes the channel.  Statements written after the BinaryLog is closed are discarded.
+     */
+    @Override
+    public synchronized void close() {
+        if (_isClosed) { return; }
+
+        this.flush();
+        _isClosed = true;
+
+        try {
+            _channel.close();
+        }
+        catch (final IOException exception) {
+            Logger.printLoggingError(LogLevel.ERROR, BinaryLog.class, "Unable to close log channel.", exception);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.LogLevel;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Renders the records written by a BinaryLog as the text AnnotatedLog would have written: "[yyyy-MM-dd HH:mm:ss.SSS] [ClassName] Message",
+ *  followed by the stack trace of the statement's Throwable, if any.
+ *  A truncated final record (i.e. if the writing process died mid-write) ends decoding without error.
+ *
+ *  Usage: java -cp java-logging.jar com.softwareverde.logging.log.BinaryLogDecoder <file>
+ */
+public class BinaryLogDecoder {
+    protected static final String EMPTY_STRING = "";
+
+    protected static long readVarLong(final DataInputStream inputStream) throws IOException {
+        long value = 0L;
+        int shift = 0;
+        while (true) {
+            final int b = inputStream.readUnsignedByte();
+            value |= ((long) (b & 0x7F) << shift);
+            if ((b & 0x80) == 0) { return value; }
+
+            shift += 7;
+            if (shift >= 64) {
+                throw new IOException("Invalid varint.");
+            }
+        }
+    }
+
+    protected final TimestampFormatter _timestampFormatter;
+    protected final String _lineSeparator;
+
+    protected final List<String> _classNames = new ArrayList<String>();
+    protected long _timestamp = 0L;
+    protected byte[] _bytes = new byte[256];
+    protected final StringBuilder _stringBuilder = new StringBuilder();
+
+    protected String _readString(final DataInputStream inputStream) throws IOException {
+        final long byteCount = BinaryLogDecoder.readVarLong(inputStream);
+        if ( (byteCount < 0L) || (byteCount > Integer.MAX_VALUE) ) {
+            throw new IOException("Invalid string length: " + byteCount);
+        }
+
+        if (_bytes.length < byteCount) {
+            _bytes = new byte[(int) byteCount];
+        }
+        inputStream.readFully(_bytes, 0, (int) byteCount);
+        return new String(_bytes, 0, (int) byteCount, StandardCharsets.UTF_8);
+    }
+
+    protected void _readHeader(final DataInputStream inputStream) throws IOException {
+        final int magic = inputStream.readInt();
+        final byte version = inputStream.readByte();
+        if ( (magic != BinaryLog.MAGIC) || (version != BinaryLog.VERSION) ) {
+            throw new IOException("Unsupported binary log segment: " + Integer.toHexString(magic) + " v" + version);
+        }
+
+        _classNames.clear();
+        _timestamp = 0L;
+    }
+
+    protected void _readClass(final DataInputStream inputStream) throws IOException {
+        final long classId = BinaryLogDecoder.readVarLong(inputStream);
+        final String className = _readString(inputStream);
+        if (classId != _classNames.size()) {
+            throw new IOException("Unexpected class id: " + classId);
+        }
+
+        _classNames.add(className);
+    }
+
+    /**
+     * Renders the line identically to AnnotatedLog: empty annotations are omitted, as is the separator preceding an empty message.
+     */
+    protected void _readEvent(final DataInputStream inputStream, final AbstractLog.Writer writer) throws IOException {
+        final long zigZagTimestampDelta = BinaryLogDecoder.readVarLong(inputStream);
+        _timestamp += ((zigZagTimestampDelta >>> 1) ^ -(zigZagTimestampDelta & 1L));
+
+        final int flags = inputStream.readUnsignedByte();
+        final long classId = BinaryLogDecoder.readVarLong(inputStream);
+        if ( (classId < 0L) || (classId >= _classNames.size()) ) {
+            throw new IOException("Undefined class id: " + classId);
+        }
+
+        final String className = _classNames.get((int) classId);
+        final String message = (((flags & BinaryLog.MESSAGE_FLAG) != 0) ? _readString(inputStream) : EMPTY_STRING);
+        final String nullableStackTrace = (((flags & BinaryLog.THROWABLE_FLAG) != 0) ? _readString(inputStream) : null);
+
+        _stringBuilder.setLength(0);
+        _stringBuilder.append(AnnotatedLog.SEGMENT_LEFT);
+        _timestampFormatter.appendTimestamp(_stringBuilder, _timestamp);
+        _stringBuilder.append(AnnotatedLog.SEGMENT_RIGHT);
+        if (! className.isEmpty()) {
+            _stringBuilder.append(AnnotatedLog.SEPARATOR);
+            _stringBuilder.append(AnnotatedLog.SEGMENT_LEFT);
+            _stringBuilder.append(className);
+            _stringBuilder.append(AnnotatedLog.SEGMENT_RIGHT);
+        }
+        if (! message.isEmpty()) {
+            _stringBuilder.append(AnnotatedLog.SEPARATOR);
+            _stringBuilder.append(message);
+        }
+        _stringBuilder.append(_lineSeparator);
+        writer.write(_stringBuilder);
+
+        if (nullableStackTrace != null) {
+            writer.write(nullableStackTrace);
+        }
+    }
+
+    public BinaryLogDecoder() {
+        this(new TimestampFormatter(Layout.DEFAULT_TIMESTAMP_PATTERN), System.lineSeparator());
+    }
+
+    /**
+     * @param timestampFormatter Renders each record's timestamp; its clock is not used.
+     */
+    public BinaryLogDecoder(final TimestampFormatter timestampFormatter, final String lineSeparator) {
+        _timestampFormatter = timestampFormatter;
+        _lineSeparator = lineSeparator;
+    }
+
+    /**
+     * Renders each record of the inputStream to the writer, and returns the number of statements rendered.
+     *  Throws an IOException if the stream is not a binary log or contains an invalid record.
+     */
+    public long decode(final InputStream inputStream, final AbstractLog.Writer writer) throws IOException {
+        final DataInputStream dataInputStream = new DataInputStream((inputStream instanceof BufferedInputStream) ? inputStream : new BufferedInputStream(inputStream));
+
+        long eventCount = 0L;
+        boolean hasHeader = false;
+        while (true) {
+            final int recordType = dataInputStream.read();
+            if (recordType < 0) { break; }
+
+            try {
+                if (recordType == BinaryLog.HEADER_RECORD) {
+                    _readHeader(dataInputStream);
+                    hasHeader = true;
+                    continue;
+                }
+
+                if (! hasHeader) {
+                    throw new IOException("Missing binary log header.");
+                }
+
+                if (recordType == BinaryLog.CLASS_RECORD) {
+                    _readClass(dataInputStream);
+                }
+                else if (recordType == BinaryLog.EVENT_RECORD) {
+                    _readEvent(dataInputStream, writer);
+                    eventCount += 1L;
+                }
+                else {
+                    throw new IOException("Unknown record type: " + recordType);
+                }
+            }
+            catch (final EOFException exception) { // The final record was truncated.
+                break;
+            }
+        }
+
+        writer.flush();
+        return eventCount;
+    }
+
+    public static void main(final String[] arguments) throws IOException {
+        if (arguments.length < 1) {
+            System.err.println("Usage: BinaryLogDecoder <file>");
+            System.exit(1);
+            return;
+        }
+
+        final ChannelWriter channelWriter = new ChannelWriter(ChannelWriter.openSystemChannel(BufferedSystemWriter.Type.SYSTEM_OUT), ChannelWriter.DEFAULT_BUFFER_SIZE, false);
+        try (final InputStream inputStream = new FileInputStream(new File(arguments[0]))) {
+            new BinaryLogDecoder().decode(inputStream, channelWriter);
+        }
+    }
+}
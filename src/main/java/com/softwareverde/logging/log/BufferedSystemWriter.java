@@ -24,8 +24,11 @@ public class BufferedSystemWriter implements AbstractLog.Writer {
         );
     }
 
+    protected static final int MAX_RETAINED_BUFFER_LENGTH = (64 * 1024);
+
     protected final Type _type;
     protected final PrintWriter _printWriter;
+    protected char[] _charBuffer = new char[512];
 
     public BufferedSystemWriter(final Type type) {
         _type = type;
@@ -37,6 +40,25 @@ public class BufferedSystemWriter implements AbstractLog.Writer {
         _printWriter.write(string);
     }
 
+    /**
+     * Copies the characters into a reused buffer rather than creating a String.
+     */
+    @Override
+    public synchronized void write(final CharSequence charSequence) {
+        final int length = charSequence.length();
+        if ( (! (charSequence instanceof StringBuilder)) || (length > MAX_RETAINED_BUFFER_LENGTH) ) {
+            _printWriter.write(charSequence.toString());
+            return;
+        }
+
+        if (_charBuffer.length < length) {
+            _charBuffer = new char[Math.max(length, (_charBuffer.length * 2))];
+        }
+
+        ((StringBuilder) charSequence).getChars(0, length, _charBuffer, 0);
+        _printWriter.write(_charBuffer, 0, length);
+    }
+
     @Override
     public void write(final Throwable exception) {
         exception.printStackTrace(_printWriter);
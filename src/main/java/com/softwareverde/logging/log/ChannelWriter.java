@@ -0,0 +1,191 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.Logger;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Encodes lines as UTF-8 into a reused direct ByteBuffer, which is written to a WritableByteChannel (i.e. a FileChannel on standard out/err).
+ *  Unlike BufferedSystemWriter, lines are not copied through a PrintWriter, BufferedWriter, OutputStreamWriter, and FileOutputStream;
+ *  the characters are encoded once (see Utf8Encoder) and the buffer is written to the channel without further copying.
+ *  If auto-flush is enabled (the default), the buffer is written to the channel after every line; otherwise it is written when full or when flushed.
+ *  ChannelWriter is thread-safe.
+ */
+public class ChannelWriter implements AbstractLog.Writer {
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * The number of chars encoded per chunk; chunks are encoded into _bytes before being copied into the direct buffer.
+     */
+    protected static final int CHUNK_CHAR_COUNT = 1024;
+
+    /**
+     * Returns a channel to the process's standard out or standard error, bypassing System.out/System.err.
+     */
+    public static WritableByteChannel openSystemChannel(final BufferedSystemWriter.Type type) {
+        final FileDescriptor fileDescriptor = ((type == BufferedSystemWriter.Type.SYSTEM_OUT) ? FileDescriptor.out : FileDescriptor.err);
+        return new FileOutputStream(fileDescriptor).getChannel();
+    }
+
+    /**
+     * Adapts the ChannelWriter to a java.io.Writer so that Throwables may be printed into the buffer.
+     */
+    protected class CharWriter extends java.io.Writer {
+        @Override
+        public void write(final char[] chars, final int offset, final int length) {
+            _encode(chars, offset, length);
+        }
+
+        @Override
+        public void write(final String string, final int offset, final int length) {
+            _encode(string, offset, length);
+        }
+
+        @Override
+        public void flush() { }
+
+        @Override
+        public void close() { }
+    }
+
+    protected final WritableByteChannel _channel;
+    protected ByteBuffer _byteBuffer; // Replaced by subclasses that swap buffers (see RollingFileWriter); guarded by this instance's monitor.
+    protected final boolean _isAutoFlushEnabled;
+
+    protected final char[] _chars = new char[CHUNK_CHAR_COUNT];
+    protected final byte[] _bytes = new byte[CHUNK_CHAR_COUNT * Utf8Encoder.MAX_BYTES_PER_CHAR];
+    protected PrintWriter _printWriter = null;
+
+    protected void _writeBuffer() {
+        _byteBuffer.flip();
+        try {
+            while (_byteBuffer.hasRemaining()) {
+                _channel.write(_byteBuffer);
+            }
+        }
+        catch (final IOException exception) {
+            Logger.printLoggingError(LogLevel.ERROR, ChannelWriter.class, "Unable to write log buffer.", exception);
+        }
+        finally {
+            _byteBuffer.clear();
+        }
+    }
+
+    protected void _putBytes(final byte[] bytes, final int length) {
+        int offset = 0;
+        while (offset < length) {
+            if (! _byteBuffer.hasRemaining()) {
+                _writeBuffer();
+            }
+
+            final int byteCount = Math.min(_byteBuffer.remaining(), (length - offset));
+            _byteBuffer.put(bytes, offset, byteCount);
+            offset += byteCount;
+        }
+    }
+
+    /**
+     * Encodes the chars into the buffer.  A surrogate pair split across separate calls is encoded as two replacement characters.
+     */
+    protected void _encode(final char[] chars, final int offset, final int length) {
+        int index = offset;
+        final int endIndex = (offset + length);
+        while (index < endIndex) {
+            final int chunkLength = Utf8Encoder.getEncodableLength(chars, index, Math.min(CHUNK_CHAR_COUNT, (endIndex - index)));
+            final int byteCount = Utf8Encoder.encode(chars, index, chunkLength, _bytes, 0);
+            _putBytes(_bytes, byteCount);
+            index += chunkLength;
+        }
+    }
+
+    protected void _encode(final CharSequence charSequence, final int offset, final int length) {
+        int index = offset;
+        final int endIndex = (offset + length);
+        while (index < endIndex) {
+            final int copyLength = Math.min(CHUNK_CHAR_COUNT, (endIndex - index));
+            if (charSequence instanceof String) {
+                ((String) charSequence).getChars(index, (index + copyLength), _chars, 0);
+            }
+            else if (charSequence instanceof StringBuilder) {
+                ((StringBuilder) charSequence).getChars(index, (index + copyLength), _chars, 0);
+            }
+            else {
+                for (int i = 0; i < copyLength; ++i) {
+                    _chars[i] = charSequence.charAt(index + i);
+                }
+            }
+
+            final int chunkLength = Utf8Encoder.getEncodableLength(_chars, 0, copyLength);
+            final int byteCount = Utf8Encoder.encode(_chars, 0, chunkLength, _bytes, 0);
+            _putBytes(_bytes, byteCount);
+            index += chunkLength;
+        }
+    }
+
+    protected void _onLineWritten() {
+        if (_isAutoFlushEnabled) {
+            _writeBuffer();
+        }
+    }
+
+    public ChannelWriter(final BufferedSystemWriter.Type type) {
+        this(ChannelWriter.openSystemChannel(type), DEFAULT_BUFFER_SIZE, true);
+    }
+
+    public ChannelWriter(final WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE, true);
+    }
+
+    /**
+     * @param bufferSize The size, in bytes, of the direct buffer lines are encoded into.
+     * @param isAutoFlushEnabled If true, the buffer is written to the channel after every line.
+     */
+    public ChannelWriter(final WritableByteChannel channel, final int bufferSize, final boolean isAutoFlushEnabled) {
+        this(channel, ByteBuffer.allocateDirect(Math.max(bufferSize, 16)), isAutoFlushEnabled);
+    }
+
+    /**
+     * Constructs a ChannelWriter encoding into the provided byteBuffer.
+     *  Subclasses that do not write to a single channel (i.e. RollingFileWriter) provide a null channel and override ChannelWriter::_writeBuffer.
+     */
+    protected ChannelWriter(final WritableByteChannel nullableChannel, final ByteBuffer byteBuffer, final boolean isAutoFlushEnabled) {
+        _channel = nullableChannel;
+        _byteBuffer = byteBuffer;
+        _isAutoFlushEnabled = isAutoFlushEnabled;
+    }
+
+    @Override
+    public synchronized void write(final String string) {
+        _encode(string, 0, string.length());
+        _onLineWritten();
+    }
+
+    @Override
+    public synchronized void write(final CharSequence charSequence) {
+        _encode(charSequence, 0, charSequence.length());
+        _onLineWritten();
+    }
+
+    @Override
+    public synchronized void write(final Throwable exception) {
+        if (_printWriter == null) {
+            _printWriter = new PrintWriter(new CharWriter());
+        }
+
+        exception.printStackTrace(_printWriter);
+        _onLineWritten();
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (_byteBuffer.position() > 0) {
+            _writeBuffer();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.softwareverde.logging.log;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Provides the current time (in milliseconds since the epoch) from a volatile field that is updated by a ticker thread.
+ *  Reading a CoarseClock is cheaper than System::currentTimeMillis, at the cost of the time being up to one tick stale.
+ *  The ticker thread is a daemon thread; CoarseClock::close stops it.
+ */
+public class CoarseClock implements LongSupplier, AutoCloseable {
+    public static final Long DEFAULT_TICK_INTERVAL_MS = 1L;
+
+    protected final Long _tickIntervalMs;
+    protected final Thread _tickerThread;
+    protected volatile long _currentTimeMs;
+    protected volatile boolean _isClosed = false;
+
+    protected void _runTicker() {
+        while (! _isClosed) {
+            _currentTimeMs = System.currentTimeMillis();
+
+            try {
+                Thread.sleep(_tickIntervalMs);
+            }
+            catch (final InterruptedException exception) {
+                break;
+            }
+        }
+    }
+
+    public CoarseClock() {
+        this(DEFAULT_TICK_INTERVAL_MS);
+    }
+
+    public CoarseClock(final Long tickIntervalMs) {
+        _tickIntervalMs = tickIntervalMs;
+        _currentTimeMs = System.currentTimeMillis();
+
+        _tickerThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                _runTicker();
+            }
+        });
+        _tickerThread.setName("CoarseClock");
+        _tickerThread.setDaemon(true);
+        _tickerThread.start();
+    }
+
+    @Override
+    public long getAsLong() {
+        return _currentTimeMs;
+    }
+
+    public Long getTickIntervalMs() {
+        return _tickIntervalMs;
+    }
+
+    @Override
+    public void close() {
+        _isClosed = true;
+        _tickerThread.interrupt();
+    }
+}
@@ -0,0 +1,145 @@
+package com.softwareverde.logging.log;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Renders the first occurrence of a stack trace within a window in full, and repeated occurrences as a single line referencing it.
+ *  Occurrences are identified by their fingerprint: a hash of the type and the frames of the Throwable and of each of its causes
+ *  (i.e. the message is excluded, so a failure that includes a varying value in its message is still de-duplicated).
+ *  The first occurrence is rendered by the delegate ThrowableRenderer and its first line is prefixed with its id:
+ *      "#7 java.io.IOException: Connection refused"
+ *  Repeated occurrences, until windowMs has elapsed since the first occurrence, are rendered as:
+ *      "java.io.IOException: Connection refused (same as #7, x12)"
+ *  where the count includes the first occurrence.  Once the window elapses, the next occurrence is rendered in full with a new id.
+ *  At most maxFingerprintCount fingerprints are retained; the least recently seen is forgotten first.
+ *  DeduplicatingThrowableRenderer is thread-safe.
+ */
+public class DeduplicatingThrowableRenderer implements ThrowableRenderer {
+    public static final long DEFAULT_WINDOW_MS = 60000L;
+    public static final int DEFAULT_MAX_FINGERPRINT_COUNT = 1024;
+
+    protected static final String ID_PREFIX = "#";
+    protected static final String ID_SUFFIX = " ";
+    protected static final String REFERENCE_PREFIX = " (same as #";
+    protected static final String REFERENCE_COUNT_PREFIX = ", x";
+    protected static final String REFERENCE_SUFFIX = ")";
+
+    protected static class Occurrence {
+        public final long id;
+        public final Class<?> throwableClass;
+        public final long windowStartTime;
+        public long count = 1L;
+
+        public Occurrence(final long id, final Class<?> throwableClass, final long windowStartTime) {
+            this.id = id;
+            this.throwableClass = throwableClass;
+            this.windowStartTime = windowStartTime;
+        }
+    }
+
+    /**
+     * Returns a hash of the type and frames of the exception and of its chain of causes.
+     */
+    protected static long getFingerprint(final Throwable exception) {
+        final IdentityHashMap<Throwable, Boolean> hashedThrowables = new IdentityHashMap<Throwable, Boolean>();
+
+        long fingerprint = 1125899906842597L;
+        Throwable throwable = exception;
+        while ( (throwable != null) && (hashedThrowables.put(throwable, Boolean.TRUE) == null) ) {
+            fingerprint = ((31L * fingerprint) + throwable.getClass().getName().hashCode());
+            for (final StackTraceElement stackTraceElement : throwable.getStackTrace()) {
+                fingerprint = ((31L * fingerprint) + stackTraceElement.hashCode());
+            }
+
+            throwable = throwable.getCause();
+        }
+
+        return fingerprint;
+    }
+
+    protected final ThrowableRenderer _throwableRenderer;
+    protected final long _windowMs;
+    protected final LongSupplier _clock;
+    protected final LinkedHashMap<Long, Occurrence> _occurrences; // Guarded by this instance's monitor.
+
+    protected long _nextId = 1L;
+    protected long _renderedCount = 0L;
+    protected long _referencedCount = 0L;
+
+    public DeduplicatingThrowableRenderer() {
+        this(new StackTraceRenderer(), DEFAULT_WINDOW_MS, DEFAULT_MAX_FINGERPRINT_COUNT, TimestampFormatter.SYSTEM_CLOCK);
+    }
+
+    public DeduplicatingThrowableRenderer(final long windowMs) {
+        this(new StackTraceRenderer(), windowMs, DEFAULT_MAX_FINGERPRINT_COUNT, TimestampFormatter.SYSTEM_CLOCK);
+    }
+
+    /**
+     * @param throwableRenderer Renders the first occurrence of each stack trace.
+     * @param windowMs The duration, after an occurrence is rendered in full, during which repeated occurrences are referenced.
+     * @param maxFingerprintCount The number of distinct stack traces tracked at once.
+     * @param clock The current time, in milliseconds since the epoch (i.e. a CoarseClock).
+     */
+    public DeduplicatingThrowableRenderer(final ThrowableRenderer throwableRenderer, final long windowMs, final int maxFingerprintCount, final LongSupplier clock) {
+        _throwableRenderer = throwableRenderer;
+        _windowMs = windowMs;
+        _clock = clock;
+        _occurrences = new LinkedHashMap<Long, Occurrence>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, Occurrence> eldestEntry) {
+                return (this.size() > maxFingerprintCount);
+            }
+        };
+    }
+
+    @Override
+    public void append(final StringBuilder stringBuilder, final Throwable exception, final String lineSeparator) {
+        final Long fingerprint = DeduplicatingThrowableRenderer.getFingerprint(exception);
+        final long now = _clock.getAsLong();
+
+        final long id;
+        synchronized (this) {
+            final Occurrence occurrence = _occurrences.get(fingerprint);
+            if ( (occurrence != null) && (occurrence.throwableClass == exception.getClass()) && ((now - occurrence.windowStartTime) < _windowMs) ) {
+                occurrence.count += 1L;
+                _referencedCount += 1L;
+
+                stringBuilder.append(exception);
+                stringBuilder.append(REFERENCE_PREFIX);
+                stringBuilder.append(occurrence.id);
+                stringBuilder.append(REFERENCE_COUNT_PREFIX);
+                stringBuilder.append(occurrence.count);
+                stringBuilder.append(REFERENCE_SUFFIX);
+                stringBuilder.append(lineSeparator);
+                return;
+            }
+
+            id = _nextId;
+            _nextId += 1L;
+            _renderedCount += 1L;
+            _occurrences.put(fingerprint, new Occurrence(id, exception.getClass(), now));
+        }
+
+        stringBuilder.append(ID_PREFIX);
+        stringBuilder.append(id);
+        stringBuilder.append(ID_SUFFIX);
+        _throwableRenderer.append(stringBuilder, exception, lineSeparator);
+    }
+
+    /**
+     * Returns the number of occurrences rendered in full.
+     */
+    public synchronized long getRenderedCount() {
+        return _renderedCount;
+    }
+
+    /**
+     * Returns the number of occurrences rendered as a reference to a previous occurrence.
+     */
+    public synchronized long getReferencedCount() {
+        return _referencedCount;
+    }
+}
@@ -0,0 +1,84 @@
+package com.softwareverde.logging.log;
+
+import java.io.File;
+
+/**
+ * An AnnotatedLog that writes every statement (regardless of LogLevel) to a single file via a RollingFileWriter.
+ *  A FileLog owns a background IO thread; when installed via Logger::setLogFactory, the factory should return a shared instance rather than a FileLog per class.
+ *  FileLog::close (i.e. via Logger::close) writes any buffered statements, closes the file, and waits for any rotated files to be compressed.
+ *  Other formats may be written to a file by constructing a LayoutLog with a RollingFileWriter.
+ */
+public class FileLog extends AnnotatedLog {
+    protected final RollingFileWriter _rollingFileWriter;
+    protected final RotatedFileCompressor _rotatedFileCompressor; // Nullable.
+
+    @Override
+    protected void _flush() {
+        _rollingFileWriter.flush(); // The out and err Writers are the same RollingFileWriter.
+    }
+
+    public FileLog(final File file) {
+        this(new RollingFileWriter(file));
+    }
+
+    /**
+     * @param maxFileByteCount The size, in bytes, beyond which the file is rotated; 0 disables size-based rotation.
+     * @param rotationIntervalMs The interval at which the file is rotated; 0 disables time-based rotation.
+     */
+    public FileLog(final File file, final long maxFileByteCount, final long rotationIntervalMs) {
+        this(new RollingFileWriter(file, maxFileByteCount, rotationIntervalMs));
+    }
+
+    public FileLog(final RollingFileWriter rollingFileWriter) {
+        this(rollingFileWriter, null);
+    }
+
+    /**
+     * Constructs a FileLog whose rotated files are compressed (and deleted per its retention limits) by the rotatedFileCompressor.
+     */
+    public FileLog(final RollingFileWriter rollingFileWriter, final RotatedFileCompressor rotatedFileCompressor) {
+        super(rollingFileWriter, rollingFileWriter);
+        _rollingFileWriter = rollingFileWriter;
+        _rotatedFileCompressor = rotatedFileCompressor;
+
+        if (rotatedFileCompressor != null) {
+            rollingFileWriter.setRotationListener(rotatedFileCompressor);
+        }
+    }
+
+    public RollingFileWriter getRollingFileWriter() {
+        return _rollingFileWriter;
+    }
+
+    public RotatedFileCompressor getRotatedFileCompressor() {
+        return _rotatedFileCompressor;
+    }
+
+    /**
+     * Returns the number of bytes written to the log's files since the FileLog was constructed.
+     */
+    public long getWrittenByteCount() {
+        return _rollingFileWriter.getWrittenByteCount();
+    }
+
+    /**
+     * Returns the number of bytes kept on disk: the current file plus the rotated files remaining after compression and retention.
+     *  Without a RotatedFileCompressor, no files are compressed or deleted, so every written byte is kept.
+     */
+    public long getRetainedByteCount() {
+        if (_rotatedFileCompressor == null) {
+            return _rollingFileWriter.getWrittenByteCount();
+        }
+
+        return (_rollingFileWriter.getFileByteCount() + _rotatedFileCompressor.getRetainedByteCount());
+    }
+
+    @Override
+    public void close() {
+        _rollingFileWriter.close();
+
+        if (_rotatedFileCompressor != null) {
+            _rotatedFileCompressor.close();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.softwareverde.logging.log;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Renders a Throwable in the format of Throwable::printStackTrace, but bounds the length of the trace:
+ *  - Consecutive frames within a folded package (e.g. reflection, method handles, or an RPC framework) are rendered as "\t... 12 frames omitted".
+ *  - At most maxFrameCount frames are rendered per Throwable; the remaining frames are rendered as "\t... 40 frames truncated".
+ *  - At most maxCauseDepth enclosing levels of causes are rendered; the remaining causes are rendered as "Caused by: ... 3 causes omitted".
+ *  A single frame within a folded package is rendered rather than folded, since folding it would not shorten the trace.
+ *  The trace is appended directly to the line buffer; see StackTraceRenderer.
+ */
+public class FilteredStackTraceRenderer extends StackTraceRenderer {
+    public static final int DEFAULT_MAX_FRAME_COUNT = 32;
+    public static final int DEFAULT_MAX_CAUSE_DEPTH = 5;
+    public static final String[] DEFAULT_FOLDED_PACKAGE_PREFIXES = new String[] {
+        "sun.reflect.",
+        "jdk.internal.reflect.",
+        "java.lang.reflect.",
+        "java.lang.invoke."
+    };
+
+    protected static final String OMITTED_PREFIX = "\t... ";
+    protected static final String OMITTED_FRAMES_SUFFIX = " frames omitted";
+    protected static final String TRUNCATED_FRAMES_SUFFIX = " frames truncated";
+    protected static final String OMITTED_CAUSES_PREFIX = "... ";
+    protected static final String OMITTED_CAUSES_SUFFIX = " causes omitted";
+
+    protected final int _maxFrameCount;
+    protected final int _maxCauseDepth;
+    protected final String[] _foldedPackagePrefixes;
+
+    protected boolean _isFolded(final StackTraceElement stackTraceElement) {
+        final String className = stackTraceElement.getClassName();
+        for (final String foldedPackagePrefix : _foldedPackagePrefixes) {
+            if (className.startsWith(foldedPackagePrefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected void _appendFrameCount(final StringBuilder stringBuilder, final String prefix, final int frameCount, final String suffix, final String lineSeparator) {
+        stringBuilder.append(prefix);
+        stringBuilder.append(OMITTED_PREFIX);
+        stringBuilder.append(frameCount);
+        stringBuilder.append(suffix);
+        stringBuilder.append(lineSeparator);
+    }
+
+    @Override
+    protected void _appendFrames(final StringBuilder stringBuilder, final String prefix, final StackTraceElement[] stackTrace, final int frameCount, final String lineSeparator) {
+        int renderedFrameCount = 0;
+        int i = 0;
+        while (i < frameCount) {
+            if (renderedFrameCount >= _maxFrameCount) {
+                _appendFrameCount(stringBuilder, prefix, (frameCount - i), TRUNCATED_FRAMES_SUFFIX, lineSeparator);
+                return;
+            }
+
+            if (_isFolded(stackTrace[i])) {
+                int foldedFrameEnd = (i + 1);
+                while ( (foldedFrameEnd < frameCount) && _isFolded(stackTrace[foldedFrameEnd]) ) {
+                    foldedFrameEnd += 1;
+                }
+
+                final int foldedFrameCount = (foldedFrameEnd - i);
+                if (foldedFrameCount > 1) {
+                    _appendFrameCount(stringBuilder, prefix, foldedFrameCount, OMITTED_FRAMES_SUFFIX, lineSeparator);
+                    i = foldedFrameEnd;
+                    continue;
+                }
+            }
+
+            _appendFrame(stringBuilder, prefix, stackTrace[i], lineSeparator);
+            renderedFrameCount += 1;
+            i += 1;
+        }
+    }
+
+    @Override
+    protected void _appendEnclosedThrowables(final StringBuilder stringBuilder, final Throwable exception, final StackTraceElement[] stackTrace, final String prefix, final int depth, final Set<Throwable> renderedThrowables, final String lineSeparator) {
+        if ( (depth < _maxCauseDepth) || (exception.getCause() == null) ) {
+            super._appendEnclosedThrowables(stringBuilder, exception, stackTrace, prefix, depth, renderedThrowables, lineSeparator);
+            return;
+        }
+
+        for (final Throwable suppressedException : exception.getSuppressed()) {
+            _appendEnclosedThrowable(stringBuilder, suppressedException, stackTrace, SUPPRESSED_CAPTION, (prefix + "\t"), (depth + 1), renderedThrowables, lineSeparator);
+        }
+
+        final Set<Throwable> omittedCauses = Collections.newSetFromMap(new IdentityHashMap<Throwable, Boolean>());
+        Throwable cause = exception.getCause();
+        while ( (cause != null) && (! renderedThrowables.contains(cause)) && omittedCauses.add(cause) ) {
+            cause = cause.getCause();
+        }
+        if (omittedCauses.isEmpty()) { return; } // The cause has already been rendered.
+
+        stringBuilder.append(prefix);
+        stringBuilder.append(CAUSE_CAPTION);
+        stringBuilder.append(OMITTED_CAUSES_PREFIX);
+        stringBuilder.append(omittedCauses.size());
+        stringBuilder.append(OMITTED_CAUSES_SUFFIX);
+        stringBuilder.append(lineSeparator);
+    }
+
+    public FilteredStackTraceRenderer() {
+        this(DEFAULT_MAX_FRAME_COUNT, DEFAULT_MAX_CAUSE_DEPTH, DEFAULT_FOLDED_PACKAGE_PREFIXES);
+    }
+
+    /**
+     * @param maxFrameCount The number of frames rendered per Throwable, excluding folded frames.
+     * @param maxCauseDepth The number of nested causes rendered; 0 renders only the logged Throwable (and its suppressed exceptions).
+     * @param foldedPackagePrefixes The prefixes of the class names whose frames are folded, i.e. "java.lang.invoke.".
+     */
+    public FilteredStackTraceRenderer(final int maxFrameCount, final int maxCauseDepth, final String... foldedPackagePrefixes) {
+        super(DEFAULT_MAX_CACHED_FRAME_COUNT);
+        _maxFrameCount = maxFrameCount;
+        _maxCauseDepth = maxCauseDepth;
+        _foldedPackagePrefixes = foldedPackagePrefixes.clone();
+    }
+}
@@ -0,0 +1,327 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.FilteredEventLog;
+import com.softwareverde.logging.Log;
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.Logger;
+import com.softwareverde.logging.MessageFormatter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Decorates a Log so that the most recent events, across all threads, are also recorded in memory, so that they may be written
+ *  to another Log (i.e. for a postmortem) via FlightRecorderLog::dump.  Events disabled by their LogLevel may be recorded too,
+ *  by setting FlightRecorderLog::getRecorder as the Logger's filtered-event Log (see Logger::setFilteredEventLog).
+ *  Events are recorded into a fixed-size, lock-free ring of preallocated slots; recording only copies the event's references
+ *  (its class, LogLevel, timestamp, message or template and arguments, and exception), so it does not allocate.
+ *  Messages are formatted when they are dumped: message Objects are converted to Strings, and message Suppliers are invoked, at that time,
+ *  and parameterized messages are rendered with their arguments' state at that time.
+ *  If a dump Log is set, each ERROR written to the FlightRecorderLog dumps the events recorded since the previous such dump.
+ */
+public class FlightRecorderLog implements Log {
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    protected static final long EMPTY = -1L;
+    protected static final long WRITING = Long.MIN_VALUE;
+    protected static final String RECORDED_TIMESTAMP_PREFIX = "[recorded ";
+    protected static final String RECORDED_TIMESTAMP_SUFFIX = "]";
+    protected static final String RECORDED_TIMESTAMP_SEPARATOR = " ";
+
+    protected static final byte STRING_MESSAGE = 0;
+    protected static final byte OBJECT_MESSAGE = 1;
+    protected static final byte SUPPLIER_MESSAGE = 2;
+    protected static final byte TEMPLATE_MESSAGE = 3;
+    protected static final byte SINGLE_ARGUMENT_TEMPLATE_MESSAGE = 4;
+    protected static final byte DOUBLE_ARGUMENT_TEMPLATE_MESSAGE = 5;
+
+    /**
+     * The arguments of templates with one or two arguments are recorded within argument0/argument1, rather than within an allocated array.
+     */
+    protected static class Event {
+        public Class<?> callingClass;
+        public LogLevel logLevel;
+        public long timestamp;
+        public byte messageType;
+        public Object message;
+        public Object[] messageArguments;
+        public Object argument0;
+        public Object argument1;
+        public Throwable exception;
+    }
+
+    protected static int toPowerOfTwo(final int capacity) {
+        if (capacity <= 1) { return 2; }
+        final int highestOneBit = Integer.highestOneBit(capacity);
+        return (highestOneBit == capacity ? capacity : (highestOneBit << 1));
+    }
+
+    protected final Log _log;
+    protected final LongSupplier _clock;
+    protected final TimestampFormatter _timestampFormatter;
+
+    /**
+     * Slot i contains the event recorded at position p when _sequences[i] == p.  A slot is WRITING while its event is being replaced.
+     */
+    protected final Event[] _events;
+    protected final AtomicLongArray _sequences;
+    protected final int _mask;
+
+    protected final AtomicLong _recordPosition = new AtomicLong(0L);
+    protected final AtomicLong _dumpedPosition = new AtomicLong(0L); // The end position of the previous dump triggered by an ERROR.
+
+    protected volatile Log _dumpLog = null;
+
+    protected final FilteredEventLog _recorder = new FilteredEventLog() {
+        @Override
+        public void write(final Class<?> callingClass, final LogLevel logLevel, final String nullableMessage, final Throwable nullableException) {
+            _record(callingClass, logLevel, STRING_MESSAGE, nullableMessage, null, null, null, nullableException);
+        }
+
+        @Override
+        public void write(final Class<?> callingClass, final LogLevel logLevel, final String messageTemplate, final Object[] messageArguments, final Throwable nullableException) {
+            _record(callingClass, logLevel, TEMPLATE_MESSAGE, messageTemplate, messageArguments, null, null, nullableException);
+        }
+
+        @Override
+        public void writeObject(final Class<?> callingClass, final LogLevel logLevel, final Object nullableMessage, final Throwable nullableException) {
+            _record(callingClass, logLevel, OBJECT_MESSAGE, nullableMessage, null, null, null, nullableException);
+        }
+
+        @Override
+        public void writeSupplier(final Class<?> callingClass, final LogLevel logLevel, final Supplier<?> nullableMessageSupplier, final Throwable nullableException) {
+            _record(callingClass, logLevel, SUPPLIER_MESSAGE, nullableMessageSupplier, null, null, null, nullableException);
+        }
+
+        @Override
+        public void writeTemplate(final Class<?> callingClass, final LogLevel logLevel, final String messageTemplate, final Object argument) {
+            _record(callingClass, logLevel, SINGLE_ARGUMENT_TEMPLATE_MESSAGE, messageTemplate, null, argument, null, null);
+        }
+
+        @Override
+        public void writeTemplate(final Class<?> callingClass, final LogLevel logLevel, final String messageTemplate, final Object argument0, final Object argument1) {
+            _record(callingClass, logLevel, DOUBLE_ARGUMENT_TEMPLATE_MESSAGE, messageTemplate, null, argument0, argument1, null);
+        }
+    };
+
+    /**
+     * Records the event.  Only if a slot is still being written by a writer a full lap behind (i.e. that was descheduled mid-write) is the event discarded.
+     */
+    protected void _record(final Class<?> callingClass, final LogLevel logLevel, final byte messageType, final Object nullableMessage, final Object[] nullableMessageArguments, final Object argument0, final Object argument1, final Throwable nullableException) {
+        final long position = _recordPosition.getAndIncrement();
+        final int index = (int) (position & _mask);
+
+        while (true) {
+            final long sequence = _sequences.get(index);
+            if ( (sequence == WRITING) || (sequence >= position) ) { return; }
+            if (_sequences.compareAndSet(index, sequence, WRITING)) { break; }
+        }
+
+        final Event event = _events[index];
+        event.callingClass = callingClass;
+        event.logLevel = logLevel;
+        event.timestamp = _clock.getAsLong();
+        event.messageType = messageType;
+        event.message = nullableMessage;
+        event.messageArguments = nullableMessageArguments;
+        event.argument0 = argument0;
+        event.argument1 = argument1;
+        event.exception = nullableException;
+
+        _sequences.lazySet(index, position);
+    }
+
+    /**
+     * Formats the recorded message (invoking its Supplier, if any) and writes the event to the log.
+     */
+    protected void _dumpEvent(final Log log, final Class<?> callingClass, final LogLevel logLevel, final long timestamp, final byte messageType, final Object nullableMessage, final Object[] nullableMessageArguments, final Object argument0, final Object argument1, final Throwable nullableException) {
+        switch (messageType) {
+            case OBJECT_MESSAGE: {
+                _dumpEvent(log, callingClass, logLevel, timestamp, String.valueOf(nullableMessage), null, nullableException);
+            } break;
+
+            case SUPPLIER_MESSAGE: {
+                final Supplier<?> messageSupplier = (Supplier<?>) nullableMessage;
+                _dumpEvent(log, callingClass, logLevel, timestamp, String.valueOf(messageSupplier != null ? messageSupplier.get() : null), null, nullableException);
+            } break;
+
+            case SINGLE_ARGUMENT_TEMPLATE_MESSAGE: {
+                final Object[] messageArguments = new Object[]{ argument0 };
+                _dumpEvent(log, callingClass, logLevel, timestamp, (String) nullableMessage, messageArguments, MessageFormatter.getThrowable(messageArguments));
+            } break;
+
+            case DOUBLE_ARGUMENT_TEMPLATE_MESSAGE: {
+                final Object[] messageArguments = new Object[]{ argument0, argument1 };
+                _dumpEvent(log, callingClass, logLevel, timestamp, (String) nullableMessage, messageArguments, MessageFormatter.getThrowable(messageArguments));
+            } break;
+
+            default: {
+                _dumpEvent(log, callingClass, logLevel, timestamp, (String) nullableMessage, nullableMessageArguments, nullableException);
+            }
+        }
+    }
+
+    protected void _dumpEvent(final Log log, final Class<?> callingClass, final LogLevel logLevel, final long timestamp, final String nullableMessage, final Object[] nullableMessageArguments, final Throwable nullableException) {
+        final String recordedTimestamp = (RECORDED_TIMESTAMP_PREFIX + _timestampFormatter.format(timestamp) + RECORDED_TIMESTAMP_SUFFIX);
+        if (nullableMessage == null) {
+            log.write(callingClass, logLevel, recordedTimestamp, nullableException);
+        }
+        else if (nullableMessageArguments != null) {
+            log.write(callingClass, logLevel, (recordedTimestamp + RECORDED_TIMESTAMP_SEPARATOR + nullableMessage), nullableMessageArguments, nullableException);
+        }
+        else {
+            log.write(callingClass, logLevel, (recordedTimestamp + RECORDED_TIMESTAMP_SEPARATOR + nullableMessage), nullableException);
+        }
+    }
+
+    /**
+     * Writes the events recorded from startPosition (or the oldest retained event, if later) up to endPosition, oldest first.
+     *  Each slot's event is copied, and then validated by a compare-and-set of its unchanged sequence; the CAS is a full barrier,
+     *  so an event that is replaced while it is being copied is detected, and skipped, rather than written torn.
+     */
+    protected int _dump(final Log log, final long startPosition, final long endPosition) {
+        int dumpedEventCount = 0;
+        for (long position = Math.max(startPosition, (endPosition - _events.length)); position < endPosition; ++position) {
+            final int index = (int) (position & _mask);
+            if (_sequences.get(index) != position) { continue; } // Overwritten, or still being written.
+
+            final Event event = _events[index];
+            final Class<?> callingClass = event.callingClass;
+            final LogLevel logLevel = event.logLevel;
+            final long timestamp = event.timestamp;
+            final byte messageType = event.messageType;
+            final Object message = event.message;
+            final Object[] messageArguments = event.messageArguments;
+            final Object argument0 = event.argument0;
+            final Object argument1 = event.argument1;
+            final Throwable exception = event.exception;
+
+            if (! _sequences.compareAndSet(index, position, position)) { continue; }
+
+            _dumpEvent(log, callingClass, logLevel, timestamp, messageType, message, messageArguments, argument0, argument1, exception);
+            dumpedEventCount += 1;
+        }
+        return dumpedEventCount;
+    }
+
+    protected void _dumpIfError(final LogLevel logLevel) {
+        if (logLevel != LogLevel.ERROR) { return; }
+
+        final Log dumpLog = _dumpLog;
+        if (dumpLog == null) { return; }
+
+        final long endPosition = _recordPosition.get();
+        final long startPosition = _dumpedPosition.getAndAccumulate(endPosition, Math::max);
+        if (startPosition >= endPosition) { return; }
+
+        try {
+            _dump(dumpLog, startPosition, endPosition);
+            dumpLog.flush();
+        }
+        catch (final Exception exception) {
+            Logger.printLoggingError(LogLevel.ERROR, FlightRecorderLog.class, "Unable to dump recorded events.", exception);
+        }
+    }
+
+    public FlightRecorderLog(final Log log) {
+        this(log, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity The number of events retained; rounded up to a power of two.
+     */
+    public FlightRecorderLog(final Log log, final int capacity) {
+        this(log, capacity, TimestampFormatter.SYSTEM_CLOCK);
+    }
+
+    /**
+     * @param clock The wall-clock time, in milliseconds, of recorded events (i.e. System::currentTimeMillis, or a CoarseClock).
+     */
+    public FlightRecorderLog(final Log log, final int capacity, final LongSupplier clock) {
+        final int bufferSize = FlightRecorderLog.toPowerOfTwo(capacity);
+
+        _log = log;
+        _clock = clock;
+        _timestampFormatter = new TimestampFormatter(Layout.DEFAULT_TIMESTAMP_PATTERN);
+        _events = new Event[bufferSize];
+        _sequences = new AtomicLongArray(bufferSize);
+        _mask = (bufferSize - 1);
+
+        for (int i = 0; i < bufferSize; ++i) {
+            _events[i] = new Event();
+            _sequences.set(i, EMPTY);
+        }
+    }
+
+    /**
+     * Returns a Log that records the events written to it without writing them to the wrapped Log; i.e. for Logger::setFilteredEventLog.
+     *  Events written via its FilteredEventLog methods (i.e. message Objects, message Suppliers, and templates with one or two arguments) are recorded unformatted.
+     */
+    public FilteredEventLog getRecorder() {
+        return _recorder;
+    }
+
+    /**
+     * Sets the Log that the recorded events are dumped to whenever an ERROR is written to this FlightRecorderLog; null disables dumping on ERROR.
+     *  The dump Log should not be this FlightRecorderLog (or a Log that writes to it).
+     */
+    public void setDumpLog(final Log nullableLog) {
+        _dumpLog = nullableLog;
+    }
+
+    public int getCapacity() {
+        return _events.length;
+    }
+
+    /**
+     * Returns the number of events recorded since the FlightRecorderLog was created, including those no longer retained.
+     */
+    public long getRecordedEventCount() {
+        return _recordPosition.get();
+    }
+
+    /**
+     * Records the event.  messageArguments is null for non-parameterized messages.
+     */
+    public void record(final Class<?> callingClass, final LogLevel logLevel, final String nullableMessage, final Object[] nullableMessageArguments, final Throwable nullableException) {
+        final byte messageType = (nullableMessageArguments != null ? TEMPLATE_MESSAGE : STRING_MESSAGE);
+        _record(callingClass, logLevel, messageType, nullableMessage, nullableMessageArguments, null, null, nullableException);
+    }
+
+    /**
+     * Writes the retained events to the target Log, oldest first, and returns the number of events written.
+     *  Each event's message is preceded by the time it was recorded, i.e. "[recorded 2026-01-01 00:00:00.000] ...".
+     *  Events may be recorded concurrently; events overwritten during the dump are skipped.
+     */
+    public int dump(final Log target) {
+        final int dumpedEventCount = _dump(target, 0L, _recordPosition.get());
+        target.flush();
+        return dumpedEventCount;
+    }
+
+    @Override
+    public void write(final Class<?> callingClass, final LogLevel logLevel, final String nullableMessage, final Throwable nullableException) {
+        this.record(callingClass, logLevel, nullableMessage, null, nullableException);
+        _log.write(callingClass, logLevel, nullableMessage, nullableException);
+        _dumpIfError(logLevel);
+    }
+
+    @Override
+    public void write(final Class<?> callingClass, final LogLevel logLevel, final String messageTemplate, final Object[] messageArguments, final Throwable nullableException) {
+        this.record(callingClass, logLevel, messageTemplate, messageArguments, nullableException);
+        _log.write(callingClass, logLevel, messageTemplate, messageArguments, nullableException);
+        _dumpIfError(logLevel);
+    }
+
+    @Override
+    public void flush() {
+        _log.flush();
+    }
+
+    @Override
+    public void close() {
+        _log.close();
+    }
+}
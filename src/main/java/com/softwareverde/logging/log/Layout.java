@@ -0,0 +1,301 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.MessageFormatter;
+import com.softwareverde.util.Package;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A Layout renders a log line as a precompiled sequence of Segments, each of which appends its portion of the line into a shared buffer.
+ *  Layouts are either assembled from Segments directly or parsed once from a pattern via Layout::fromPattern.
+ *  Layouts are immutable and thread-safe; the buffer is owned by the caller (i.e. the LayoutLog's reusable line buffer).
+ *
+ *  Pattern conversions:
+ *      %d, %d{pattern}     The timestamp, formatted via a TimestampFormatter (default: "yyyy-MM-dd HH:mm:ss.SSS").
+ *      %level, %p          The LogLevel's name.
+ *      %class, %c          The calling class's name (see Package::getClassName).
+ *      %thread, %t         The name of the thread writing the line.
+ *      %message, %m        The message, with any parameters formatted into it.
+ *      %n                  The system line separator.
+ *      %%                  A literal "%".
+ *  Any other text (including unrecognized conversions) is rendered literally.
+ */
+public class Layout {
+    public interface Segment {
+        /**
+         * Appends this segment's portion of the line to the stringBuilder.
+         *  lineStartIndex is the index within the stringBuilder at which the current line began.
+         *  If nullableMessageArguments is null, the message is rendered verbatim; otherwise it is a "{}" template for the arguments.
+         */
+        void append(StringBuilder stringBuilder, int lineStartIndex, Class<?> callingClass, LogLevel logLevel, String message, Object[] nullableMessageArguments);
+    }
+
+    public static final String DEFAULT_TIMESTAMP_PATTERN = "yyyy-MM-dd HH:mm:ss.SSS";
+    public static final String ANNOTATION_LEFT = "[";
+    public static final String ANNOTATION_RIGHT = "]";
+    public static final String SEPARATOR = " ";
+
+    protected static final ClassValue<String> CLASS_NAMES = new ClassValue<String>() {
+        @Override
+        protected String computeValue(final Class<?> clazz) {
+            return Package.getClassName(clazz);
+        }
+    };
+
+    /**
+     * Returns the (cached) result of Package::getClassName for the clazz.
+     */
+    public static String getClassName(final Class<?> clazz) {
+        return CLASS_NAMES.get(clazz);
+    }
+
+    public static Segment literal(final String text) {
+        return new Segment() {
+            @Override
+            public void append(final StringBuilder stringBuilder, final int lineStartIndex, final Class<?> callingClass, final LogLevel logLevel, final String message, final Object[] nullableMessageArguments) {
+                stringBuilder.append(text);
+            }
+        };
+    }
+
+    public static Segment timestamp(final TimestampFormatter timestampFormatter) {
+        return new Segment() {
+            @Override
+            public void append(final StringBuilder stringBuilder, final int lineStartIndex, final Class<?> callingClass, final LogLevel logLevel, final String message, final Object[] nullableMessageArguments) {
+                timestampFormatter.appendTimestamp(stringBuilder);
+            }
+        };
+    }
+
+    public static Segment logLevel() {
+        return new Segment() {
+            @Override
+            public void append(final StringBuilder stringBuilder, final int lineStartIndex, final Class<?> callingClass, final LogLevel logLevel, final String message, final Object[] nullableMessageArguments) {
+                stringBuilder.append(logLevel.name());
+            }
+        };
+    }
+
+    public static Segment className() {
+        return new Segment() {
+            @Override
+            public void append(final StringBuilder stringBuilder, final int lineStartIndex, final Class<?> callingClass, final LogLevel logLevel, final String message, final Object[] nullableMessageArguments) {
+                stringBuilder.append(Layout.getClassName(callingClass));
+            }
+        };
+    }
+
+    public static Segment threadName() {
+        return new Segment() {
+            @Override
+            public void append(final StringBuilder stringBuilder, final int lineStartIndex, final Class<?> callingClass, final LogLevel logLevel, final String message, final Object[] nullableMessageArguments) {
+                stringBuilder.append(Thread.currentThread().getName());
+            }
+        };
+    }
+
+    public static Segment message() {
+        return new Segment() {
+            @Override
+            public void append(final StringBuilder stringBuilder, final int lineStartIndex, final Class<?> callingClass, final LogLevel logLevel, final String message, final Object[] nullableMessageArguments) {
+                if (nullableMessageArguments == null) {
+                    stringBuilder.append(message);
+                }
+                else {
+                    MessageFormatter.appendFormattedMessage(stringBuilder, message, nullableMessageArguments);
+                }
+            }
+        };
+    }
+
+    public static Segment newLine() {
+        return Layout.literal(System.lineSeparator());
+    }
+
+    /**
+     * Renders the segment within brackets (i.e. "[segment]"), preceded by a separator unless it begins the line.
+     *  If the segment renders nothing, then neither the brackets nor the separator are rendered.
+     */
+    public static Segment annotation(final Segment segment) {
+        return Layout.optional(ANNOTATION_LEFT, segment, ANNOTATION_RIGHT);
+    }
+
+    /**
+     * Renders the segment preceded by a separator unless it begins the line.
+     *  If the segment renders nothing, then the separator is not rendered.
+     */
+    public static Segment separated(final Segment segment) {
+        return Layout.optional("", segment, "");
+    }
+
+    protected static Segment optional(final String prefix, final Segment segment, final String suffix) {
+        return new Segment() {
+            @Override
+            public void append(final StringBuilder stringBuilder, final int lineStartIndex, final Class<?> callingClass, final LogLevel logLevel, final String message, final Object[] nullableMessageArguments) {
+                final int startIndex = stringBuilder.length();
+                if (startIndex > lineStartIndex) {
+                    stringBuilder.append(SEPARATOR);
+                }
+                stringBuilder.append(prefix);
+
+                final int segmentStartIndex = stringBuilder.length();
+                segment.append(stringBuilder, lineStartIndex, callingClass, logLevel, message, nullableMessageArguments);
+                if (stringBuilder.length() == segmentStartIndex) { // The segment was empty...
+                    stringBuilder.setLength(startIndex);
+                    return;
+                }
+
+                stringBuilder.append(suffix);
+            }
+        };
+    }
+
+    protected static Segment parseConversion(final String conversion, final String nullableOption) {
+        switch (conversion) {
+            case "d":
+            case "date": {
+                final String timestampPattern = (nullableOption != null ? nullableOption : DEFAULT_TIMESTAMP_PATTERN);
+                return Layout.timestamp(new TimestampFormatter(timestampPattern));
+            }
+
+            case "p":
+            case "level": {
+                return Layout.logLevel();
+            }
+
+            case "c":
+            case "class": {
+                return Layout.className();
+            }
+
+            case "t":
+            case "thread": {
+                return Layout.threadName();
+            }
+
+            case "m":
+            case "message": {
+                return Layout.message();
+            }
+
+            case "n": {
+                return Layout.newLine();
+            }
+
+            default: {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Parses the pattern into a Layout; see Layout for the supported conversions.
+     */
+    public static Layout fromPattern(final String pattern) {
+        final List<Segment> segments = new ArrayList<Segment>();
+        final StringBuilder literalBuilder = new StringBuilder();
+
+        int index = 0;
+        while (index < pattern.length()) {
+            final char c = pattern.charAt(index);
+            if ( (c != '%') || ((index + 1) >= pattern.length()) ) {
+                literalBuilder.append(c);
+                index += 1;
+                continue;
+            }
+
+            if (pattern.charAt(index + 1) == '%') {
+                literalBuilder.append('%');
+                index += 2;
+                continue;
+            }
+
+            int conversionEndIndex = (index + 1);
+            while ( (conversionEndIndex < pattern.length()) && Character.isLetter(pattern.charAt(conversionEndIndex)) ) {
+                conversionEndIndex += 1;
+            }
+            final String conversion = pattern.substring(index + 1, conversionEndIndex);
+
+            String option = null;
+            int endIndex = conversionEndIndex;
+            if ( (conversionEndIndex < pattern.length()) && (pattern.charAt(conversionEndIndex) == '{') ) {
+                final int optionEndIndex = pattern.indexOf('}', conversionEndIndex);
+                if (optionEndIndex >= 0) {
+                    option = pattern.substring(conversionEndIndex + 1, optionEndIndex);
+                    endIndex = (optionEndIndex + 1);
+                }
+            }
+
+            final Segment segment = Layout.parseConversion(conversion, option);
+            if (segment == null) { // Unrecognized conversions are rendered literally...
+                literalBuilder.append(pattern, index, endIndex);
+                index = endIndex;
+                continue;
+            }
+
+            if (literalBuilder.length() > 0) {
+                segments.add(Layout.literal(literalBuilder.toString()));
+                literalBuilder.setLength(0);
+            }
+            segments.add(segment);
+            index = endIndex;
+        }
+
+        if (literalBuilder.length() > 0) {
+            segments.add(Layout.literal(literalBuilder.toString()));
+        }
+
+        return new Layout(segments.toArray(new Segment[0]));
+    }
+
+    /**
+     * Returns a Layout rendering lines identically to the default AnnotatedLog: "[yyyy-MM-dd HH:mm:ss.SSS] [ClassName] Message".
+     */
+    public static Layout newAnnotatedLayout() {
+        return new Layout(
+            Layout.annotation(Layout.timestamp(new TimestampFormatter(DEFAULT_TIMESTAMP_PATTERN))),
+            Layout.annotation(Layout.className()),
+            Layout.separated(Layout.message()),
+            Layout.newLine()
+        );
+    }
+
+    /**
+     * Returns a Layout rendering lines as "[timestamp] [logLevel] [class] message", with each annotation rendered by the provided Segment.
+     *  Empty annotations, and the separator preceding an empty message, are omitted.
+     */
+    public static Layout newAnnotatedLayout(final Segment timestampSegment, final Segment logLevelSegment, final Segment classSegment) {
+        return new Layout(
+            Layout.annotation(timestampSegment),
+            Layout.annotation(logLevelSegment),
+            Layout.annotation(classSegment),
+            Layout.separated(Layout.message()),
+            Layout.newLine()
+        );
+    }
+
+    protected final Segment[] _segments;
+
+    public Layout(final Segment... segments) {
+        _segments = segments.clone();
+    }
+
+    /**
+     * Appends the rendered line to the stringBuilder.
+     *  If nullableMessageArguments is null, the message is rendered verbatim; otherwise it is a "{}" template for the arguments.
+     */
+    public void append(final StringBuilder stringBuilder, final Class<?> callingClass, final LogLevel logLevel, final String message, final Object[] nullableMessageArguments) {
+        final int lineStartIndex = stringBuilder.length();
+        for (final Segment segment : _segments) {
+            segment.append(stringBuilder, lineStartIndex, callingClass, logLevel, message, nullableMessageArguments);
+        }
+    }
+
+    public String format(final Class<?> callingClass, final LogLevel logLevel, final String message, final Object[] nullableMessageArguments) {
+        final StringBuilder stringBuilder = new StringBuilder();
+        this.append(stringBuilder, callingClass, logLevel, message, nullableMessageArguments);
+        return stringBuilder.toString();
+    }
+}
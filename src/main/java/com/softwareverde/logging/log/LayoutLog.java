@@ -0,0 +1,49 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.LogLevel;
+
+/**
+ * Log statements are rendered by a Layout into a reused line buffer and written to the Writers.
+ *  WARN/ERROR are written to the _errWriter; other statements are written to _outWriter.
+ */
+public class LayoutLog extends AbstractLog {
+    protected static final Object[] NO_MESSAGE_ARGUMENTS = new Object[0];
+
+    protected Layout _layout; // Guarded by this instance's monitor.
+
+    protected void _writeLine(final Class<?> callingClass, final LogLevel logLevel, final String message, final Object[] nullableMessageArguments, final Writer writer) {
+        final StringBuilder stringBuilder = _getStringBuilder();
+        _layout.append(stringBuilder, callingClass, logLevel, message, nullableMessageArguments);
+        _write(writer, stringBuilder);
+    }
+
+    @Override
+    protected void _writeMessage(final Class<?> callingClass, final LogLevel logLevel, final String message, final Writer writer) {
+        _writeLine(callingClass, logLevel, message, null, writer);
+    }
+
+    @Override
+    protected void _writeMessage(final Class<?> callingClass, final LogLevel logLevel, final String messageTemplate, final Object[] messageArguments, final Writer writer) {
+        _writeLine(callingClass, logLevel, messageTemplate, (messageArguments != null ? messageArguments : NO_MESSAGE_ARGUMENTS), writer);
+    }
+
+    /**
+     * Constructs a LayoutLog whose Layout is provided via LayoutLog::setLayout.
+     */
+    protected LayoutLog(final Writer outWriter, final Writer errWriter) {
+        super(outWriter, errWriter);
+    }
+
+    public LayoutLog(final Layout layout, final Writer outWriter, final Writer errWriter) {
+        super(outWriter, errWriter);
+        _layout = layout;
+    }
+
+    public synchronized void setLayout(final Layout layout) {
+        _layout = layout;
+    }
+
+    public synchronized Layout getLayout() {
+        return _layout;
+    }
+}
@@ -0,0 +1,37 @@
+package com.softwareverde.logging.log;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * An AnnotatedLog that writes every statement (regardless of LogLevel) into a memory-mapped ring file via a MappedRingWriter.
+ *  The most recent statements survive a JVM crash, and may be read via MappedRingReader.
+ */
+public class MappedRingLog extends AnnotatedLog {
+    protected final MappedRingWriter _mappedRingWriter;
+
+    public MappedRingLog(final File file) throws IOException {
+        this(new MappedRingWriter(file));
+    }
+
+    /**
+     * @param capacity The size, in bytes, of the ring.
+     */
+    public MappedRingLog(final File file, final int capacity) throws IOException {
+        this(new MappedRingWriter(file, capacity));
+    }
+
+    public MappedRingLog(final MappedRingWriter mappedRingWriter) {
+        super(mappedRingWriter, mappedRingWriter);
+        _mappedRingWriter = mappedRingWriter;
+    }
+
+    public MappedRingWriter getMappedRingWriter() {
+        return _mappedRingWriter;
+    }
+
+    @Override
+    public void close() {
+        _mappedRingWriter.close();
+    }
+}
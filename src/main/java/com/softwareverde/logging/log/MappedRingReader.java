@@ -0,0 +1,111 @@
+package com.softwareverde.logging.log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the most recent records of a ring file written by a MappedRingWriter, i.e. after the writing JVM has crashed.
+ *  Records are read backwards from the cursor via their trailing byteCount, stopping at the oldest record not yet overwritten
+ *  (or at the first record whose leading and trailing byteCounts disagree), and are returned in the order they were written.
+ *
+ *  Usage: java -cp java-logging.jar com.softwareverde.logging.log.MappedRingReader <file> [recordCount]
+ */
+public class MappedRingReader {
+    public static final int DEFAULT_RECORD_COUNT = 100;
+
+    protected static int getInt(final ByteBuffer ringBuffer, final int capacity, final long cursor) {
+        int value = 0;
+        for (int i = 0; i < MappedRingWriter.LENGTH_BYTE_COUNT; ++i) {
+            value = ((value << 8) | (ringBuffer.get((int) ((cursor + i) % capacity)) & 0xFF));
+        }
+        return value;
+    }
+
+    protected static byte[] getBytes(final ByteBuffer ringBuffer, final int capacity, final long cursor, final int byteCount) {
+        final byte[] bytes = new byte[byteCount];
+        final int index = (int) (cursor % capacity);
+        final int firstByteCount = Math.min(byteCount, (capacity - index));
+
+        final ByteBuffer duplicateBuffer = ringBuffer.duplicate();
+        duplicateBuffer.position(index);
+        duplicateBuffer.get(bytes, 0, firstByteCount);
+        if (firstByteCount < byteCount) {
+            duplicateBuffer.position(0);
+            duplicateBuffer.get(bytes, firstByteCount, (byteCount - firstByteCount));
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns up to recordCount of the most recent records within the file, oldest first.
+     *  Throws an IOException if the file is not a ring file.
+     */
+    public static List<String> readLastRecords(final File file, final int recordCount) throws IOException {
+        try (final FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long fileByteCount = fileChannel.size();
+            if (fileByteCount < MappedRingWriter.HEADER_BYTE_COUNT) {
+                throw new IOException("Invalid ring file: " + file);
+            }
+
+            final ByteBuffer mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0L, fileByteCount);
+            final long capacity = mappedByteBuffer.getLong(MappedRingWriter.CAPACITY_OFFSET);
+            final boolean isValid = (
+                (mappedByteBuffer.getInt(MappedRingWriter.MAGIC_OFFSET) == MappedRingWriter.MAGIC) &&
+                (mappedByteBuffer.getInt(MappedRingWriter.VERSION_OFFSET) == MappedRingWriter.VERSION) &&
+                (capacity > 0L) && ((MappedRingWriter.HEADER_BYTE_COUNT + capacity) <= fileByteCount)
+            );
+            if (! isValid) {
+                throw new IOException("Invalid ring file: " + file);
+            }
+
+            mappedByteBuffer.position(MappedRingWriter.HEADER_BYTE_COUNT);
+            final ByteBuffer ringBuffer = mappedByteBuffer.slice();
+            final int ringCapacity = (int) capacity;
+
+            final long cursor = mappedByteBuffer.getLong(MappedRingWriter.CURSOR_OFFSET);
+            final long oldestCursor = Math.max(0L, (cursor - ringCapacity));
+
+            final List<String> records = new ArrayList<String>();
+            long recordEndCursor = cursor;
+            while ( (records.size() < recordCount) && ((recordEndCursor - (MappedRingWriter.LENGTH_BYTE_COUNT * 2)) >= oldestCursor) ) {
+                final int byteCount = MappedRingReader.getInt(ringBuffer, ringCapacity, (recordEndCursor - MappedRingWriter.LENGTH_BYTE_COUNT));
+                if ( (byteCount < 0) || (byteCount > ringCapacity) ) { break; }
+
+                final long recordCursor = (recordEndCursor - byteCount - (MappedRingWriter.LENGTH_BYTE_COUNT * 2));
+                if (recordCursor < oldestCursor) { break; } // The record has been (partially) overwritten.
+                if (MappedRingReader.getInt(ringBuffer, ringCapacity, recordCursor) != byteCount) { break; }
+
+                final byte[] bytes = MappedRingReader.getBytes(ringBuffer, ringCapacity, (recordCursor + MappedRingWriter.LENGTH_BYTE_COUNT), byteCount);
+                records.add(new String(bytes, StandardCharsets.UTF_8));
+                recordEndCursor = recordCursor;
+            }
+
+            Collections.reverse(records);
+            return records;
+        }
+    }
+
+    public static void main(final String[] arguments) throws IOException {
+        if (arguments.length < 1) {
+            System.err.println("Usage: MappedRingReader <file> [recordCount]");
+            System.exit(1);
+            return;
+        }
+
+        final File file = new File(arguments[0]);
+        final int recordCount = ((arguments.length > 1) ? Integer.parseInt(arguments[1]) : DEFAULT_RECORD_COUNT);
+        for (final String record : MappedRingReader.readLastRecords(file, recordCount)) {
+            System.out.print(record);
+        }
+        System.out.flush();
+    }
+
+    protected MappedRingReader() { }
+}
@@ -0,0 +1,249 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes each line as a record into a fixed-size ring within a memory-mapped file.
+ *  Since the file's pages belong to the OS, records written before the JVM dies (i.e. a crash or kill -9) remain in the file;
+ *  see MappedRingReader for reading the most recent records back.
+ *  Writing a record copies its UTF-8 bytes into the mapped memory and then advances the cursor within the header; no syscall is made per line.
+ *  Records persist across an OS crash or power loss only once written to disk, i.e. via MappedRingWriter::force or MappedRingWriter::close.
+ *
+ *  File layout (big-endian):
+ *      Header (HEADER_BYTE_COUNT bytes): int magic, int version, long capacity, long cursor.
+ *      Ring (capacity bytes): records of [int byteCount][byteCount bytes of UTF-8][int byteCount], wrapping at the end of the ring.
+ *  The cursor is the total number of bytes ever written to the ring; it is only advanced once a record is complete, so a partially written record is never read.
+ *  The trailing byteCount allows the ring to be read backwards from the cursor; the oldest records are overwritten once the ring is full.
+ *  An existing file with the same capacity is appended to, so records from before a restart are retained.
+ *  Records longer than MAX_RECORD_BYTE_COUNT (or half the capacity) are truncated.
+ */
+public class MappedRingWriter implements AbstractLog.Writer, AutoCloseable {
+    public static final int MAGIC = 0x534C4F47; // "SLOG"
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTE_COUNT = 64;
+    public static final int MAGIC_OFFSET = 0;
+    public static final int VERSION_OFFSET = 4;
+    public static final int CAPACITY_OFFSET = 8;
+    public static final int CURSOR_OFFSET = 16;
+    public static final int LENGTH_BYTE_COUNT = 4;
+
+    public static final int DEFAULT_CAPACITY = (8 * 1024 * 1024);
+    public static final int MIN_CAPACITY = 1024;
+    public static final int MAX_RECORD_BYTE_COUNT = (64 * 1024);
+
+    protected static final int CHUNK_CHAR_COUNT = 1024;
+
+    protected final File _file;
+    protected final int _capacity;
+    protected final int _maxRecordByteCount;
+    protected final FileChannel _fileChannel;
+    protected final MappedByteBuffer _mappedByteBuffer;
+    protected final ByteBuffer _ringBuffer;
+
+    protected final char[] _chars = new char[CHUNK_CHAR_COUNT];
+    protected final byte[] _bytes = new byte[CHUNK_CHAR_COUNT * Utf8Encoder.MAX_BYTES_PER_CHAR];
+    protected final StringWriter _exceptionStringWriter = new StringWriter();
+    protected final PrintWriter _exceptionPrintWriter = new PrintWriter(_exceptionStringWriter);
+
+    protected long _cursor;
+    protected long _recordCursor;
+    protected int _recordByteCount;
+    protected boolean _isClosed = false;
+
+    protected void _putByte(final long cursor, final byte value) {
+        _ringBuffer.put((int) (cursor % _capacity), value);
+    }
+
+    protected void _putInt(final long cursor, final int value) {
+        _putByte(cursor, (byte) (value >>> 24));
+        _putByte(cursor + 1L, (byte) (value >>> 16));
+        _putByte(cursor + 2L, (byte) (value >>> 8));
+        _putByte(cursor + 3L, (byte) value);
+    }
+
+    /**
+     * Copies the bytes into the ring at the cursor, wrapping at the end of the ring.
+     */
+    protected void _putBytes(final byte[] bytes, final int length) {
+        final int byteCount = Math.min(length, (_maxRecordByteCount - _recordByteCount));
+        if (byteCount <= 0) { return; }
+
+        final int index = (int) (_cursor % _capacity);
+        final int firstByteCount = Math.min(byteCount, (_capacity - index));
+        _ringBuffer.position(index);
+        _ringBuffer.put(bytes, 0, firstByteCount);
+        if (firstByteCount < byteCount) {
+            _ringBuffer.position(0);
+            _ringBuffer.put(bytes, firstByteCount, (byteCount - firstByteCount));
+        }
+
+        _cursor += byteCount;
+        _recordByteCount += byteCount;
+    }
+
+    protected void _beginRecord() {
+        _recordCursor = _cursor;
+        _recordByteCount = 0;
+        _cursor += LENGTH_BYTE_COUNT;
+    }
+
+    /**
+     * Writes the record's byteCount before and after it, then publishes the record by advancing the cursor within the header.
+     */
+    protected void _endRecord() {
+        _putInt(_recordCursor, _recordByteCount);
+        _putInt(_cursor, _recordByteCount);
+        _cursor += LENGTH_BYTE_COUNT;
+
+        _mappedByteBuffer.putLong(CURSOR_OFFSET, _cursor);
+    }
+
+    protected void _encode(final CharSequence charSequence) {
+        final int length = charSequence.length();
+        int index = 0;
+        while (index < length) {
+            final int copyLength = Math.min(CHUNK_CHAR_COUNT, (length - index));
+            if (charSequence instanceof String) {
+                ((String) charSequence).getChars(index, (index + copyLength), _chars, 0);
+            }
+            else if (charSequence instanceof StringBuilder) {
+                ((StringBuilder) charSequence).getChars(index, (index + copyLength), _chars, 0);
+            }
+            else {
+                for (int i = 0; i < copyLength; ++i) {
+                    _chars[i] = charSequence.charAt(index + i);
+                }
+            }
+
+            final int chunkLength = Utf8Encoder.getEncodableLength(_chars, 0, copyLength);
+            final int byteCount = Utf8Encoder.encode(_chars, 0, chunkLength, _bytes, 0);
+            _putBytes(_bytes, byteCount);
+            index += chunkLength;
+        }
+    }
+
+    public MappedRingWriter(final File file) throws IOException {
+        this(file, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity The size, in bytes, of the ring; the file is HEADER_BYTE_COUNT bytes larger.
+     */
+    public MappedRingWriter(final File file, final int capacity) throws IOException {
+        _file = file;
+        _capacity = Math.max(capacity, MIN_CAPACITY);
+        _maxRecordByteCount = Math.min(MAX_RECORD_BYTE_COUNT, ((_capacity / 2) - (LENGTH_BYTE_COUNT * 2)));
+
+        _fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            _mappedByteBuffer = _fileChannel.map(FileChannel.MapMode.READ_WRITE, 0L, (HEADER_BYTE_COUNT + (long) _capacity));
+        }
+        catch (final IOException exception) {
+            _fileChannel.close();
+            throw exception;
+        }
+
+        final boolean isExistingRing = ( (_mappedByteBuffer.getInt(MAGIC_OFFSET) == MAGIC) && (_mappedByteBuffer.getInt(VERSION_OFFSET) == VERSION) && (_mappedByteBuffer.getLong(CAPACITY_OFFSET) == _capacity) );
+        if (isExistingRing) {
+            _cursor = Math.max(0L, _mappedByteBuffer.getLong(CURSOR_OFFSET));
+        }
+        else {
+            _cursor = 0L;
+            _mappedByteBuffer.putLong(CURSOR_OFFSET, _cursor);
+            _mappedByteBuffer.putLong(CAPACITY_OFFSET, _capacity);
+            _mappedByteBuffer.putInt(VERSION_OFFSET, VERSION);
+            _mappedByteBuffer.putInt(MAGIC_OFFSET, MAGIC);
+        }
+
+        _mappedByteBuffer.position(HEADER_BYTE_COUNT);
+        _ringBuffer = _mappedByteBuffer.slice();
+    }
+
+    @Override
+    public synchronized void write(final String string) {
+        this.write((CharSequence) string);
+    }
+
+    @Override
+    public synchronized void write(final CharSequence charSequence) {
+        if (_isClosed) { return; }
+
+        _beginRecord();
+        _encode(charSequence);
+        _endRecord();
+    }
+
+    /**
+     * Writes the stack trace as a single record.
+     */
+    @Override
+    public synchronized void write(final Throwable exception) {
+        final StringBuffer stringBuffer = _exceptionStringWriter.getBuffer();
+        exception.printStackTrace(_exceptionPrintWriter);
+        _exceptionPrintWriter.flush();
+        this.write(stringBuffer.toString());
+
+        stringBuffer.setLength(0);
+        if (stringBuffer.capacity() > AbstractLog.MAX_RETAINED_BUFFER_CAPACITY) {
+            stringBuffer.trimToSize();
+        }
+    }
+
+    /**
+     * Records are visible within the file as soon as they are written, so flushing does nothing; see MappedRingWriter::force.
+     */
+    @Override
+    public void flush() { }
+
+    /**
+     * Writes the mapped pages to disk (i.e. msync), so that the records also survive an OS crash.
+     */
+    public synchronized void force() {
+        if (_isClosed) { return; }
+        _mappedByteBuffer.force();
+    }
+
+    public File getFile() {
+        return _file;
+    }
+
+    public int getCapacity() {
+        return _capacity;
+    }
+
+    /**
+     * Returns the total number of bytes written to the ring, including records written before the file was reopened.
+     */
+    public synchronized long getCursor() {
+        return _cursor;
+    }
+
+    /**
+     * Writes the mapped pages to disk and closes the file.  Records written after the writer is closed are discarded.
+     *  The mapping itself is released once the MappedRingWriter is garbage collected.
+     */
+    @Override
+    public synchronized void close() {
+        if (_isClosed) { return; }
+
+        _mappedByteBuffer.force();
+        _isClosed = true;
+
+        try {
+            _fileChannel.close();
+        }
+        catch (final IOException exception) {
+            Logger.printLoggingError(LogLevel.ERROR, MappedRingWriter.class, "Unable to close log file: " + _file, exception);
+        }
+    }
+}
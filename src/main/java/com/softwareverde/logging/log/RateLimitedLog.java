@@ -0,0 +1,118 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.Log;
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.Logger;
+import com.softwareverde.logging.RateLimiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Decorates a Log so that the statements of each call site are limited by a RateLimiter; statements over their site's budget are discarded
+ *  before they are formatted.  Sites are keyed by the calling class, or by an explicit key via RateLimitedLog::write(Object, ...).
+ *  Suppressed statements are periodically summarized to the wrapped Log, per site and LogLevel, as "Suppressed 120 messages from com.example.Worker.";
+ *  the summary is written at the LogLevel of the suppressed statements by the next statement written after the summary interval elapses,
+ *  and when the RateLimitedLog is flushed or closed.
+ */
+public class RateLimitedLog implements Log {
+    public static final Long DEFAULT_SUMMARY_INTERVAL_MS = 10000L;
+
+    protected final Log _log;
+    protected final RateLimiter _rateLimiter;
+    protected final LongSupplier _nanoClock;
+    protected final long _summaryIntervalNanos;
+    protected final AtomicLong _nextSummaryNanos;
+
+    protected final RateLimiter.SuppressedEventVisitor _summaryWriter = new RateLimiter.SuppressedEventVisitor() {
+        @Override
+        public void visit(final Object key, final Class<?> callingClass, final LogLevel logLevel, final long suppressedEventCount) {
+            final String siteName = ((key instanceof Class) ? Layout.getClassName((Class<?>) key) : String.valueOf(key));
+            final String message = ("Suppressed " + suppressedEventCount + " messages from " + siteName + ".");
+
+            try {
+                _log.write(callingClass, logLevel, message, null);
+            }
+            catch (final Exception exception) {
+                Logger.printLoggingError(LogLevel.ERROR, RateLimitedLog.class, "Unable to write suppressed message summary.", exception);
+            }
+        }
+    };
+
+    /**
+     * Writes the summaries if the interval has elapsed; only the thread that advances the deadline writes them.
+     */
+    protected void _writeSummariesIfDue(final long nowNanos) {
+        final long nextSummaryNanos = _nextSummaryNanos.get();
+        if ((nowNanos - nextSummaryNanos) < 0L) { return; }
+        if (! _nextSummaryNanos.compareAndSet(nextSummaryNanos, (nowNanos + _summaryIntervalNanos))) { return; }
+
+        _rateLimiter.drainSuppressedEvents(_summaryWriter);
+    }
+
+    public RateLimitedLog(final Log log, final RateLimiter rateLimiter) {
+        this(log, rateLimiter, DEFAULT_SUMMARY_INTERVAL_MS);
+    }
+
+    /**
+     * @param summaryIntervalMs The minimum duration between summaries of the suppressed statements.
+     */
+    public RateLimitedLog(final Log log, final RateLimiter rateLimiter, final Long summaryIntervalMs) {
+        _log = log;
+        _rateLimiter = rateLimiter;
+        _nanoClock = rateLimiter.getNanoClock();
+        _summaryIntervalNanos = TimeUnit.MILLISECONDS.toNanos(summaryIntervalMs);
+        _nextSummaryNanos = new AtomicLong(_nanoClock.getAsLong() + _summaryIntervalNanos);
+    }
+
+    public RateLimiter getRateLimiter() {
+        return _rateLimiter;
+    }
+
+    @Override
+    public void write(final Class<?> callingClass, final LogLevel logLevel, final String nullableMessage, final Throwable nullableException) {
+        this.write(callingClass, callingClass, logLevel, nullableMessage, nullableException);
+    }
+
+    @Override
+    public void write(final Class<?> callingClass, final LogLevel logLevel, final String messageTemplate, final Object[] messageArguments, final Throwable nullableException) {
+        final long nowNanos = _nanoClock.getAsLong();
+        _writeSummariesIfDue(nowNanos);
+        if (! _rateLimiter.tryAcquire(callingClass, callingClass, logLevel, nowNanos)) { return; }
+
+        _log.write(callingClass, logLevel, messageTemplate, messageArguments, nullableException);
+    }
+
+    /**
+     * Writes the statement if the site identified by the key is within its budget.
+     *  The key should identify a call site (i.e. a constant String), rather than a value.
+     */
+    public void write(final Object key, final Class<?> callingClass, final LogLevel logLevel, final String nullableMessage, final Throwable nullableException) {
+        final long nowNanos = _nanoClock.getAsLong();
+        _writeSummariesIfDue(nowNanos);
+        if (! _rateLimiter.tryAcquire(key, callingClass, logLevel, nowNanos)) { return; }
+
+        _log.write(callingClass, logLevel, nullableMessage, nullableException);
+    }
+
+    /**
+     * Writes the summaries of the statements suppressed since the previous summary, if any.
+     */
+    public void writeSummaries() {
+        _nextSummaryNanos.set(_nanoClock.getAsLong() + _summaryIntervalNanos);
+        _rateLimiter.drainSuppressedEvents(_summaryWriter);
+    }
+
+    @Override
+    public void flush() {
+        this.writeSummaries();
+        _log.flush();
+    }
+
+    @Override
+    public void close() {
+        this.writeSummaries();
+        _log.close();
+    }
+}
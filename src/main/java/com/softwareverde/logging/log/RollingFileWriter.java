@@ -0,0 +1,541 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Appends lines to a file through a FileChannel, rotating the file by size and/or by time.
+ *  Lines are encoded as UTF-8 (see ChannelWriter) into one of two large direct buffers.  When the active buffer is full, it is swapped
+ *  with the inactive buffer and handed to a background IO thread, which writes it to the file; a writer therefore only blocks if the
+ *  IO thread has not yet finished writing the previously handed-off buffer (i.e. for at most one buffer swap).
+ *  The IO thread also writes the active buffer once per flush interval, so that lines reach the file even if the log is idle.
+ *
+ *  Rotation is performed by the IO thread between buffers, so writers are not blocked while the file is renamed and reopened.
+ *  The file is closed, atomically renamed to "fileName.yyyyMMdd-HHmmss" (with a numeric suffix if that name is taken), and reopened at its original path.
+ *  Size-based rotation occurs before writing a buffer that would grow the file beyond the max file size.
+ *  Time-based rotation occurs at every multiple of the rotation interval in the default time zone (i.e. a one-day interval rotates at midnight).
+ *  A buffer is only handed off at a line boundary, so lines are not split across files unless a line exceeds a third of the buffer.
+ *
+ *  The IO thread is a daemon thread; RollingFileWriter::close (i.e. via Logger::close) writes any buffered lines and stops it.
+ *  Lines written after the writer is closed are discarded.
+ */
+public class RollingFileWriter extends ChannelWriter implements AutoCloseable {
+    public interface RotationListener {
+        /**
+         * Invoked by the IO thread after the file has been renamed to rotatedFile and a new file has been opened at its original path.
+         *  Implementations must not block; any work on the rotatedFile should be performed on another thread (see RotatedFileCompressor).
+         */
+        void onFileRotated(File file, File rotatedFile);
+    }
+
+    public static final int DEFAULT_BUFFER_SIZE = (256 * 1024);
+    public static final long DEFAULT_FLUSH_INTERVAL_MS = 1000L;
+
+    protected static final String ROTATED_FILE_DATE_FORMAT = "yyyyMMdd-HHmmss";
+    protected static final int MIN_BUFFER_SIZE = 1024;
+
+    /**
+     * Returns the first multiple of the rotationIntervalMs after nowMs, aligned to the default time zone.
+     */
+    protected static long getNextRotationTime(final long nowMs, final long rotationIntervalMs) {
+        final long timeZoneOffsetMs = TimeZone.getDefault().getOffset(nowMs);
+        final long localNowMs = (nowMs + timeZoneOffsetMs);
+        final long localRotationTimeMs = (((localNowMs / rotationIntervalMs) + 1L) * rotationIntervalMs);
+        return (localRotationTimeMs - timeZoneOffsetMs);
+    }
+
+    protected final File _file;
+    protected final Path _path;
+    protected final long _maxFileByteCount;
+    protected final long _rotationIntervalMs;
+    protected final long _flushIntervalMs;
+
+    /**
+     * Guards the active buffer (ChannelWriter::_byteBuffer).  Writers hold the lock while waiting for the inactive buffer,
+     *  so the IO thread only ever acquires it via ReentrantLock::tryLock.
+     */
+    protected final ReentrantLock _writeLock = new ReentrantLock();
+
+    protected final Object _swapMutex = new Object();
+    protected ByteBuffer _inactiveBuffer; // Guarded by _swapMutex.
+    protected boolean _isInactiveBufferPending = false; // Guarded by _swapMutex; true while the IO thread owns the inactive buffer.
+    protected long _handedOffBufferCount = 0L; // Guarded by _swapMutex.
+    protected long _writtenBufferCount = 0L; // Guarded by _swapMutex.
+    protected volatile boolean _isClosed = false;
+
+    protected final StringWriter _exceptionStringWriter = new StringWriter(); // Guarded by _writeLock.
+    protected final PrintWriter _exceptionPrintWriter = new PrintWriter(_exceptionStringWriter);
+
+    // The following are owned by the IO thread.
+    protected final SimpleDateFormat _rotatedFileDateFormat = new SimpleDateFormat(ROTATED_FILE_DATE_FORMAT);
+    protected FileChannel _fileChannel;
+    protected volatile long _fileByteCount = 0L;
+    protected volatile long _writtenByteCount = 0L;
+    protected long _nextFlushTimeMs;
+    protected long _nextRotationTimeMs;
+
+    protected volatile long _rotationCount = 0L;
+    protected volatile RotationListener _rotationListener = null;
+    protected final Thread _ioThread;
+
+    protected void _openFileChannel() {
+        try {
+            final Path parentPath = _path.toAbsolutePath().getParent();
+            if (parentPath != null) {
+                Files.createDirectories(parentPath);
+            }
+
+            _fileChannel = FileChannel.open(_path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            _fileByteCount = _fileChannel.size();
+        }
+        catch (final IOException exception) {
+            _fileChannel = null;
+            Logger.printLoggingError(LogLevel.ERROR, RollingFileWriter.class, "Unable to open log file: " + _path, exception);
+        }
+    }
+
+    protected void _closeFileChannel() {
+        if (_fileChannel == null) { return; }
+
+        try {
+            _fileChannel.close();
+        }
+        catch (final IOException exception) {
+            Logger.printLoggingError(LogLevel.ERROR, RollingFileWriter.class, "Unable to close log file: " + _path, exception);
+        }
+        finally {
+            _fileChannel = null;
+        }
+    }
+
+    /**
+     * Returns true if the rotatedFilePath, or a file derived from it (i.e. "rotatedFileName.gz"), exists.
+     */
+    protected static boolean isRotatedFilePathTaken(final Path rotatedFilePath) {
+        if (Files.exists(rotatedFilePath)) { return true; }
+
+        final File directory = rotatedFilePath.toAbsolutePath().getParent().toFile();
+        final String derivedFileNamePrefix = (rotatedFilePath.getFileName() + ".");
+        final String[] derivedFileNames = directory.list((final File file, final String fileName) -> fileName.startsWith(derivedFileNamePrefix));
+        return ( (derivedFileNames != null) && (derivedFileNames.length > 0) );
+    }
+
+    protected Path _getRotatedFilePath(final long nowMs) {
+        final String rotatedFileName = (_path.getFileName() + "." + _rotatedFileDateFormat.format(new Date(nowMs)));
+
+        Path rotatedFilePath = _path.resolveSibling(rotatedFileName);
+        int suffix = 1;
+        while (RollingFileWriter.isRotatedFilePathTaken(rotatedFilePath)) {
+            rotatedFilePath = _path.resolveSibling(rotatedFileName + "." + suffix);
+            suffix += 1;
+        }
+        return rotatedFilePath;
+    }
+
+    /**
+     * Closes the file, renames it, and reopens a new file at the original path.  Must only be invoked by the IO thread.
+     */
+    protected void _rotate() {
+        _closeFileChannel();
+
+        final Path rotatedFilePath = _getRotatedFilePath(System.currentTimeMillis());
+        boolean wasRotated = false;
+        try {
+            try {
+                Files.move(_path, rotatedFilePath, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (final AtomicMoveNotSupportedException exception) {
+                Files.move(_path, rotatedFilePath);
+            }
+            _rotationCount += 1L;
+            wasRotated = true;
+        }
+        catch (final IOException exception) {
+            Logger.printLoggingError(LogLevel.ERROR, RollingFileWriter.class, "Unable to rotate log file: " + _path, exception);
+        }
+
+        _openFileChannel();
+
+        final RotationListener rotationListener = _rotationListener;
+        if (wasRotated && (rotationListener != null)) {
+            try {
+                rotationListener.onFileRotated(_file, rotatedFilePath.toFile());
+            }
+            catch (final RuntimeException exception) {
+                Logger.printLoggingError(LogLevel.ERROR, RollingFileWriter.class, "Rotation listener failed for log file: " + rotatedFilePath, exception);
+            }
+        }
+    }
+
+    /**
+     * Writes the (handed-off) buffer to the file, rotating the file beforehand if it would exceed the max file size.  Must only be invoked by the IO thread.
+     */
+    protected void _writeToFile(final ByteBuffer byteBuffer) {
+        byteBuffer.flip();
+        try {
+            if (_fileChannel == null) { // Retries a previously failed open...
+                _openFileChannel();
+            }
+
+            if ( (_maxFileByteCount > 0L) && (_fileByteCount > 0L) && ((_fileByteCount + byteBuffer.remaining()) > _maxFileByteCount) ) {
+                _rotate();
+            }
+
+            if (_fileChannel == null) { return; }
+
+            while (byteBuffer.hasRemaining()) {
+                final int byteCount = _fileChannel.write(byteBuffer);
+                _fileByteCount += byteCount;
+                _writtenByteCount += byteCount;
+            }
+        }
+        catch (final IOException exception) {
+            Logger.printLoggingError(LogLevel.ERROR, RollingFileWriter.class, "Unable to write log file: " + _path, exception);
+        }
+        finally {
+            byteBuffer.clear();
+        }
+    }
+
+    /**
+     * Swaps the active and inactive buffers, handing the (previously active) buffer to the IO thread.
+     *  Must be invoked while holding both the _writeLock and the _swapMutex, and only if the inactive buffer is not pending.
+     */
+    protected void _swapBuffers() {
+        final ByteBuffer byteBuffer = _byteBuffer;
+        _byteBuffer = _inactiveBuffer;
+        _inactiveBuffer = byteBuffer;
+
+        _isInactiveBufferPending = true;
+        _handedOffBufferCount += 1L;
+        _swapMutex.notifyAll();
+    }
+
+    /**
+     * Hands the active buffer to the IO thread, waiting for the IO thread to finish writing the inactive buffer if necessary.
+     *  Must be invoked while holding the _writeLock.
+     */
+    @Override
+    protected void _writeBuffer() {
+        boolean wasInterrupted = false;
+        synchronized (_swapMutex) {
+            while (_isInactiveBufferPending && _ioThread.isAlive()) {
+                try {
+                    _swapMutex.wait();
+                }
+                catch (final InterruptedException exception) {
+                    wasInterrupted = true;
+                }
+            }
+
+            if (_isInactiveBufferPending || _isClosed) { // The IO thread has stopped, so the buffer cannot be written.
+                _byteBuffer.clear();
+            }
+            else {
+                _swapBuffers();
+            }
+        }
+
+        if (wasInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Hands the active buffer to the IO thread if it is not empty and if it may be done without waiting.  Must only be invoked by the IO thread.
+     */
+    protected void _tryHandOffActiveBuffer() {
+        if (! _writeLock.tryLock()) { return; } // A writer is active; the buffer is written at the next swap or flush interval.
+        try {
+            synchronized (_swapMutex) {
+                if ( (! _isInactiveBufferPending) && (_byteBuffer.position() > 0) ) {
+                    _swapBuffers();
+                }
+            }
+        }
+        finally {
+            _writeLock.unlock();
+        }
+    }
+
+    protected long _getNextWakeTime() {
+        if (_rotationIntervalMs <= 0L) { return _nextFlushTimeMs; }
+        return Math.min(_nextFlushTimeMs, _nextRotationTimeMs);
+    }
+
+    protected void _runIoThread() {
+        while (true) {
+            final boolean isClosed;
+            synchronized (_swapMutex) {
+                while ( (! _isInactiveBufferPending) && (! _isClosed) ) {
+                    final long waitMs = (_getNextWakeTime() - System.currentTimeMillis());
+                    if (waitMs <= 0L) { break; }
+
+                    try {
+                        _swapMutex.wait(waitMs);
+                    }
+                    catch (final InterruptedException exception) {
+                        break;
+                    }
+                }
+                isClosed = _isClosed;
+            }
+
+            final long nowMs = System.currentTimeMillis();
+            final boolean isRotationDue = ( (_rotationIntervalMs > 0L) && (nowMs >= _nextRotationTimeMs) );
+            if ( (nowMs >= _nextFlushTimeMs) || isRotationDue ) {
+                _tryHandOffActiveBuffer();
+                _nextFlushTimeMs = (nowMs + _flushIntervalMs);
+            }
+
+            final ByteBuffer pendingBuffer;
+            synchronized (_swapMutex) {
+                pendingBuffer = (_isInactiveBufferPending ? _inactiveBuffer : null);
+            }
+
+            if (pendingBuffer != null) {
+                _writeToFile(pendingBuffer);
+
+                synchronized (_swapMutex) {
+                    _isInactiveBufferPending = false;
+                    _writtenBufferCount += 1L;
+                    _swapMutex.notifyAll();
+                }
+            }
+
+            if (isRotationDue) {
+                if (_fileByteCount > 0L) {
+                    _rotate();
+                }
+                _nextRotationTimeMs = RollingFileWriter.getNextRotationTime(nowMs, _rotationIntervalMs);
+            }
+
+            if (isClosed && (pendingBuffer == null)) { break; }
+        }
+
+        _closeFileChannel();
+    }
+
+    public RollingFileWriter(final File file) {
+        this(file, 0L, 0L);
+    }
+
+    /**
+     * @param maxFileByteCount The size, in bytes, beyond which the file is rotated; 0 disables size-based rotation.
+     * @param rotationIntervalMs The interval at which the file is rotated; 0 disables time-based rotation.
+     */
+    public RollingFileWriter(final File file, final long maxFileByteCount, final long rotationIntervalMs) {
+        this(file, maxFileByteCount, rotationIntervalMs, DEFAULT_BUFFER_SIZE, DEFAULT_FLUSH_INTERVAL_MS);
+    }
+
+    /**
+     * @param maxFileByteCount The size, in bytes, beyond which the file is rotated; 0 disables size-based rotation.
+     * @param rotationIntervalMs The interval at which the file is rotated; 0 disables time-based rotation.
+     * @param bufferSize The size, in bytes, of each of the two buffers.
+     * @param flushIntervalMs The longest duration a line may remain buffered while the log is idle.
+     */
+    public RollingFileWriter(final File file, final long maxFileByteCount, final long rotationIntervalMs, final int bufferSize, final long flushIntervalMs) {
+        super(null, ByteBuffer.allocateDirect(Math.max(bufferSize, MIN_BUFFER_SIZE)), false);
+        _inactiveBuffer = ByteBuffer.allocateDirect(Math.max(bufferSize, MIN_BUFFER_SIZE));
+
+        _file = file;
+        _path = file.toPath();
+        _maxFileByteCount = Math.max(0L, maxFileByteCount);
+        _rotationIntervalMs = Math.max(0L, rotationIntervalMs);
+        _flushIntervalMs = Math.max(1L, flushIntervalMs);
+
+        final long nowMs = System.currentTimeMillis();
+        _nextFlushTimeMs = (nowMs + _flushIntervalMs);
+        _nextRotationTimeMs = ((_rotationIntervalMs > 0L) ? RollingFileWriter.getNextRotationTime(nowMs, _rotationIntervalMs) : Long.MAX_VALUE);
+        _openFileChannel();
+
+        _ioThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                _runIoThread();
+            }
+        });
+        _ioThread.setName("RollingFileWriter");
+        _ioThread.setDaemon(true);
+        _ioThread.start();
+    }
+
+    @Override
+    public void write(final String string) {
+        this.write((CharSequence) string);
+    }
+
+    @Override
+    public void write(final CharSequence charSequence) {
+        _writeLock.lock();
+        try {
+            if (_isClosed) { return; }
+
+            final int length = charSequence.length();
+            final long maxByteCount = (((long) length) * Utf8Encoder.MAX_BYTES_PER_CHAR);
+            if ( (_byteBuffer.position() > 0) && (_byteBuffer.remaining() < maxByteCount) ) { // Hands off the buffer at the line boundary...
+                _writeBuffer();
+            }
+
+            _encode(charSequence, 0, length);
+        }
+        finally {
+            _writeLock.unlock();
+        }
+    }
+
+    /**
+     * Renders the stack trace before encoding it so that it is handed off to the IO thread as a single line.
+     */
+    @Override
+    public void write(final Throwable exception) {
+        _writeLock.lock();
+        try {
+            final StringBuffer stringBuffer = _exceptionStringWriter.getBuffer();
+            exception.printStackTrace(_exceptionPrintWriter);
+            _exceptionPrintWriter.flush();
+            this.write(stringBuffer.toString());
+
+            stringBuffer.setLength(0);
+            if (stringBuffer.capacity() > AbstractLog.MAX_RETAINED_BUFFER_CAPACITY) {
+                stringBuffer.trimToSize();
+            }
+        }
+        finally {
+            _writeLock.unlock();
+        }
+    }
+
+    /**
+     * Hands the active buffer to the IO thread and waits until it has been written to the file.
+     */
+    @Override
+    public void flush() {
+        final long handedOffBufferCount;
+        _writeLock.lock();
+        try {
+            if (_byteBuffer.position() > 0) {
+                _writeBuffer();
+            }
+
+            synchronized (_swapMutex) {
+                handedOffBufferCount = _handedOffBufferCount;
+            }
+        }
+        finally {
+            _writeLock.unlock();
+        }
+
+        boolean wasInterrupted = false;
+        synchronized (_swapMutex) {
+            while ( (_writtenBufferCount < handedOffBufferCount) && _ioThread.isAlive() ) {
+                try {
+                    _swapMutex.wait();
+                }
+                catch (final InterruptedException exception) {
+                    wasInterrupted = true;
+                }
+            }
+        }
+
+        if (wasInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes any buffered lines, stops the IO thread, and closes the file.
+     */
+    @Override
+    public void close() {
+        _writeLock.lock();
+        try {
+            if (_isClosed) { return; }
+
+            if (_byteBuffer.position() > 0) {
+                _writeBuffer();
+            }
+
+            synchronized (_swapMutex) {
+                _isClosed = true;
+                _swapMutex.notifyAll();
+            }
+        }
+        finally {
+            _writeLock.unlock();
+        }
+
+        if (Thread.currentThread() != _ioThread) {
+            try {
+                _ioThread.join();
+            }
+            catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public File getFile() {
+        return _file;
+    }
+
+    public long getMaxFileByteCount() {
+        return _maxFileByteCount;
+    }
+
+    public long getRotationIntervalMs() {
+        return _rotationIntervalMs;
+    }
+
+    /**
+     * Sets the listener notified (by the IO thread) after each rotation, or null to remove it.
+     */
+    public void setRotationListener(final RotationListener rotationListener) {
+        _rotationListener = rotationListener;
+    }
+
+    public RotationListener getRotationListener() {
+        return _rotationListener;
+    }
+
+    /**
+     * Returns the number of bytes written to the current file, including any it contained when opened.
+     */
+    public long getFileByteCount() {
+        return _fileByteCount;
+    }
+
+    /**
+     * Returns the number of bytes written (across all files) since the RollingFileWriter was constructed.
+     */
+    public long getWrittenByteCount() {
+        return _writtenByteCount;
+    }
+
+    /**
+     * Returns the number of times the file has been rotated.
+     */
+    public long getRotationCount() {
+        return _rotationCount;
+    }
+
+    public boolean isClosed() {
+        return _isClosed;
+    }
+}
@@ -0,0 +1,337 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.Logger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses each file rotated by a RollingFileWriter, then deletes the oldest rotated files that exceed the retention limits.
+ *  Compression is performed on a pool of low-priority daemon threads, at most maxConcurrentJobCount of which run at once;
+ *  RotatedFileCompressor::onFileRotated only enqueues the job, so compression never runs on a logging thread (nor on the RollingFileWriter's IO thread).
+ *  Each file is compressed into a temporary file, which is atomically renamed to "rotatedFileName.gz" (or ".deflate") before the rotated file is deleted.
+ *
+ *  Retention applies to the rotated files ("fileName.*") alongside the file; the current file is never deleted.
+ *  Files pending compression are counted but kept, so the limits may be briefly exceeded while jobs are pending; any other uncompressed rotated files
+ *  (i.e. those that failed to compress, or were rotated after RotatedFileCompressor::close) are deleted like compressed files.
+ *  RotatedFileCompressor::close waits for all pending jobs to complete.
+ */
+public class RotatedFileCompressor implements RollingFileWriter.RotationListener, AutoCloseable {
+    public enum Format {
+        GZIP, DEFLATE
+    }
+
+    public static final Format DEFAULT_FORMAT = Format.GZIP;
+    public static final int DEFAULT_COMPRESSION_LEVEL = Deflater.DEFAULT_COMPRESSION;
+    public static final int DEFAULT_MAX_CONCURRENT_JOB_COUNT = 1;
+
+    protected static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+    protected static final int COPY_BUFFER_SIZE = (64 * 1024);
+    protected static final long IDLE_THREAD_TIMEOUT_MS = 30000L;
+
+    public static String getFileExtension(final Format format) {
+        switch (format) {
+            case GZIP: { return ".gz"; }
+            case DEFLATE: { return ".deflate"; }
+            default: { return ""; }
+        }
+    }
+
+    /**
+     * Returns the name of the rotated file without the extension of its compression format, if it has been compressed.
+     */
+    protected static String getRotatedFileName(final File rotatedFile) {
+        final String fileName = rotatedFile.getName();
+        for (final Format format : Format.values()) {
+            final String fileExtension = RotatedFileCompressor.getFileExtension(format);
+            if (fileName.endsWith(fileExtension)) {
+                return fileName.substring(0, (fileName.length() - fileExtension.length()));
+            }
+        }
+        return fileName;
+    }
+
+    protected final Format _format;
+    protected final int _compressionLevel;
+    protected final int _maxRetainedFileCount;
+    protected final long _maxRetainedByteCount;
+    protected final ThreadPoolExecutor _executorService;
+
+    protected final Set<File> _pendingFiles = Collections.newSetFromMap(new ConcurrentHashMap<File, Boolean>());
+    protected final AtomicLong _compressedFileCount = new AtomicLong(0L);
+    protected final AtomicLong _uncompressedByteCount = new AtomicLong(0L);
+    protected final AtomicLong _compressedByteCount = new AtomicLong(0L);
+    protected final AtomicLong _deletedFileCount = new AtomicLong(0L);
+    protected final AtomicLong _deletedByteCount = new AtomicLong(0L);
+    protected volatile int _retainedFileCount = 0;
+    protected volatile long _retainedByteCount = 0L;
+
+    protected OutputStream _newCompressedOutputStream(final OutputStream outputStream) throws IOException {
+        switch (_format) {
+            case GZIP: {
+                return new GZIPOutputStream(outputStream, COPY_BUFFER_SIZE) {
+                    {
+                        this.def.setLevel(_compressionLevel);
+                    }
+                };
+            }
+
+            default: {
+                return new DeflaterOutputStream(outputStream, new Deflater(_compressionLevel), COPY_BUFFER_SIZE) {
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        }
+                        finally {
+                            this.def.end(); // A provided Deflater is not ended by DeflaterOutputStream::close.
+                        }
+                    }
+                };
+            }
+        }
+    }
+
+    protected void _compress(final File rotatedFile) {
+        final File compressedFile = new File(rotatedFile.getPath() + RotatedFileCompressor.getFileExtension(_format));
+        final File temporaryFile = new File(compressedFile.getPath() + TEMPORARY_FILE_EXTENSION);
+
+        if (! rotatedFile.exists()) { return; } // The file was deleted by a retention pass before its job ran.
+
+        try {
+            final long lastModified = rotatedFile.lastModified();
+            final long uncompressedByteCount = rotatedFile.length();
+
+            try (
+                final InputStream inputStream = new FileInputStream(rotatedFile);
+                final OutputStream outputStream = _newCompressedOutputStream(new FileOutputStream(temporaryFile))
+            ) {
+                final byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                int byteCount;
+                while ((byteCount = inputStream.read(buffer)) >= 0) {
+                    outputStream.write(buffer, 0, byteCount);
+                }
+            }
+
+            try {
+                Files.move(temporaryFile.toPath(), compressedFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (final AtomicMoveNotSupportedException exception) {
+                Files.move(temporaryFile.toPath(), compressedFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            compressedFile.setLastModified(lastModified); // Retains the rotated file's position within the retention order.
+            Files.delete(rotatedFile.toPath());
+
+            _compressedFileCount.incrementAndGet();
+            _uncompressedByteCount.addAndGet(uncompressedByteCount);
+            _compressedByteCount.addAndGet(compressedFile.length());
+        }
+        catch (final IOException exception) {
+            temporaryFile.delete();
+            Logger.printLoggingError(LogLevel.ERROR, RotatedFileCompressor.class, "Unable to compress log file: " + rotatedFile, exception);
+        }
+    }
+
+    /**
+     * Deletes the oldest rotated files of the file until the retention limits are satisfied; files pending compression are not deleted.
+     */
+    protected synchronized void _applyRetention(final File file) {
+        final File directory = file.getAbsoluteFile().getParentFile();
+        final String rotatedFileNamePrefix = (file.getName() + ".");
+        final File[] rotatedFiles = directory.listFiles(rotatedFile -> (
+            rotatedFile.isFile() && rotatedFile.getName().startsWith(rotatedFileNamePrefix) && (! rotatedFile.getName().endsWith(TEMPORARY_FILE_EXTENSION))
+        ));
+        if (rotatedFiles == null) { return; }
+
+        // Oldest first; files with the same modification time (i.e. rotated within the file system's timestamp resolution) are ordered by their suffix,
+        // regardless of whether they have been compressed (i.e. "fileName.date.9.gz" before "fileName.date.10").
+        Arrays.sort(rotatedFiles, Comparator.comparingLong(File::lastModified).thenComparingInt((File rotatedFile) -> RotatedFileCompressor.getRotatedFileName(rotatedFile).length()).thenComparing(RotatedFileCompressor::getRotatedFileName));
+
+        int retainedFileCount = rotatedFiles.length;
+        long retainedByteCount = 0L;
+        for (final File rotatedFile : rotatedFiles) {
+            retainedByteCount += rotatedFile.length();
+        }
+
+        for (final File rotatedFile : rotatedFiles) {
+            final boolean exceedsFileCount = ( (_maxRetainedFileCount > 0) && (retainedFileCount > _maxRetainedFileCount) );
+            final boolean exceedsByteCount = ( (_maxRetainedByteCount > 0L) && (retainedByteCount > _maxRetainedByteCount) );
+            if ( (! exceedsFileCount) && (! exceedsByteCount) ) { break; }
+            if (_pendingFiles.contains(rotatedFile.getAbsoluteFile())) { continue; }
+
+            final long byteCount = rotatedFile.length();
+            if (rotatedFile.delete()) {
+                retainedFileCount -= 1;
+                retainedByteCount -= byteCount;
+                _deletedFileCount.incrementAndGet();
+                _deletedByteCount.addAndGet(byteCount);
+            }
+        }
+
+        _retainedFileCount = retainedFileCount;
+        _retainedByteCount = retainedByteCount;
+    }
+
+    public RotatedFileCompressor() {
+        this(DEFAULT_FORMAT, DEFAULT_COMPRESSION_LEVEL, 0, 0L);
+    }
+
+    /**
+     * @param maxRetainedFileCount The number of rotated files to keep; 0 keeps any number of files.
+     * @param maxRetainedByteCount The total size, in bytes, of rotated files to keep; 0 keeps any number of bytes.
+     */
+    public RotatedFileCompressor(final int maxRetainedFileCount, final long maxRetainedByteCount) {
+        this(DEFAULT_FORMAT, DEFAULT_COMPRESSION_LEVEL, maxRetainedFileCount, maxRetainedByteCount);
+    }
+
+    /**
+     * @param compressionLevel The Deflater compression level (0-9, or Deflater.DEFAULT_COMPRESSION).
+     * @param maxRetainedFileCount The number of rotated files to keep; 0 keeps any number of files.
+     * @param maxRetainedByteCount The total size, in bytes, of rotated files to keep; 0 keeps any number of bytes.
+     */
+    public RotatedFileCompressor(final Format format, final int compressionLevel, final int maxRetainedFileCount, final long maxRetainedByteCount) {
+        this(format, compressionLevel, maxRetainedFileCount, maxRetainedByteCount, DEFAULT_MAX_CONCURRENT_JOB_COUNT);
+    }
+
+    /**
+     * @param compressionLevel The Deflater compression level (0-9, or Deflater.DEFAULT_COMPRESSION).
+     * @param maxRetainedFileCount The number of rotated files to keep; 0 keeps any number of files.
+     * @param maxRetainedByteCount The total size, in bytes, of rotated files to keep; 0 keeps any number of bytes.
+     * @param maxConcurrentJobCount The number of files that may be compressed at once; additional files are queued.
+     */
+    public RotatedFileCompressor(final Format format, final int compressionLevel, final int maxRetainedFileCount, final long maxRetainedByteCount, final int maxConcurrentJobCount) {
+        _format = format;
+        _compressionLevel = compressionLevel;
+        _maxRetainedFileCount = Math.max(0, maxRetainedFileCount);
+        _maxRetainedByteCount = Math.max(0L, maxRetainedByteCount);
+
+        final int threadCount = Math.max(1, maxConcurrentJobCount);
+        _executorService = new ThreadPoolExecutor(threadCount, threadCount, IDLE_THREAD_TIMEOUT_MS, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable);
+                thread.setName("RotatedFileCompressor");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            }
+        });
+        _executorService.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Enqueues the rotatedFile to be compressed; the file's retention limits are applied once it has been compressed.
+     */
+    @Override
+    public void onFileRotated(final File file, final File rotatedFile) {
+        final File pendingFile = rotatedFile.getAbsoluteFile();
+        _pendingFiles.add(pendingFile);
+        try {
+            _executorService.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        _compress(pendingFile);
+                    }
+                    finally {
+                        _pendingFiles.remove(pendingFile);
+                        _applyRetention(file);
+                    }
+                }
+            });
+        }
+        catch (final RejectedExecutionException exception) { // The compressor has been closed; the file is not compressed, but the retention limits still apply.
+            _pendingFiles.remove(pendingFile);
+            _applyRetention(file);
+        }
+    }
+
+    /**
+     * Returns the number of rotated files that have been compressed.
+     */
+    public long getCompressedFileCount() {
+        return _compressedFileCount.get();
+    }
+
+    /**
+     * Returns the total size of the rotated files before they were compressed.
+     */
+    public long getUncompressedByteCount() {
+        return _uncompressedByteCount.get();
+    }
+
+    /**
+     * Returns the total size of the compressed files that were created.
+     */
+    public long getCompressedByteCount() {
+        return _compressedByteCount.get();
+    }
+
+    /**
+     * Returns the number of rotated files deleted to satisfy the retention limits.
+     */
+    public long getDeletedFileCount() {
+        return _deletedFileCount.get();
+    }
+
+    public long getDeletedByteCount() {
+        return _deletedByteCount.get();
+    }
+
+    /**
+     * Returns the number of rotated files kept as of the most recent retention pass.
+     */
+    public int getRetainedFileCount() {
+        return _retainedFileCount;
+    }
+
+    /**
+     * Returns the total size of the rotated files kept as of the most recent retention pass.
+     */
+    public long getRetainedByteCount() {
+        return _retainedByteCount;
+    }
+
+    /**
+     * Returns the number of rotated files waiting to be (or being) compressed.
+     */
+    public int getPendingJobCount() {
+        return _pendingFiles.size();
+    }
+
+    /**
+     * Waits for all pending jobs to complete; files rotated afterwards are not compressed, but are still subject to the retention limits.
+     */
+    @Override
+    public void close() {
+        _executorService.shutdown();
+        try {
+            while (! _executorService.awaitTermination(1L, TimeUnit.SECONDS)) { }
+        }
+        catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.softwareverde.logging.log;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders a Throwable identically to Throwable::printStackTrace, including its suppressed exceptions and causes,
+ *  but appends directly to the line buffer rather than printing through a PrintWriter.
+ *  The rendered text of each StackTraceElement is cached and reused, since the same frames are rendered repeatedly;
+ *  once the cache exceeds its capacity it is cleared.
+ *  Throwables that override Throwable::printStackTrace are rendered as though they had not.
+ *  StackTraceRenderer is thread-safe.
+ */
+public class StackTraceRenderer implements ThrowableRenderer {
+    public static final int DEFAULT_MAX_CACHED_FRAME_COUNT = 8192;
+
+    protected static final String FRAME_PREFIX = "\tat ";
+    protected static final String SUPPRESSED_CAPTION = "Suppressed: ";
+    protected static final String CAUSE_CAPTION = "Caused by: ";
+    protected static final String CIRCULAR_REFERENCE_PREFIX = "[CIRCULAR REFERENCE: ";
+    protected static final String CIRCULAR_REFERENCE_SUFFIX = "]";
+    protected static final String FRAMES_IN_COMMON_PREFIX = "\t... ";
+    protected static final String FRAMES_IN_COMMON_SUFFIX = " more";
+
+    protected final int _maxCachedFrameCount;
+    protected final ConcurrentHashMap<StackTraceElement, String> _frameStrings = new ConcurrentHashMap<StackTraceElement, String>();
+
+    /**
+     * Returns the rendered text of the frame (without its "\tat " prefix), from the cache if possible.
+     */
+    protected String _getFrameString(final StackTraceElement stackTraceElement) {
+        final String cachedFrameString = _frameStrings.get(stackTraceElement);
+        if (cachedFrameString != null) { return cachedFrameString; }
+
+        final String frameString = stackTraceElement.toString();
+        if (_frameStrings.size() >= _maxCachedFrameCount) {
+            _frameStrings.clear();
+        }
+        _frameStrings.put(stackTraceElement, frameString);
+        return frameString;
+    }
+
+    protected void _appendFrame(final StringBuilder stringBuilder, final String prefix, final StackTraceElement stackTraceElement, final String lineSeparator) {
+        stringBuilder.append(prefix);
+        stringBuilder.append(FRAME_PREFIX);
+        stringBuilder.append(_getFrameString(stackTraceElement));
+        stringBuilder.append(lineSeparator);
+    }
+
+    /**
+     * Appends the frames of the stackTrace in the range [0, frameCount).
+     */
+    protected void _appendFrames(final StringBuilder stringBuilder, final String prefix, final StackTraceElement[] stackTrace, final int frameCount, final String lineSeparator) {
+        for (int i = 0; i < frameCount; ++i) {
+            _appendFrame(stringBuilder, prefix, stackTrace[i], lineSeparator);
+        }
+    }
+
+    /**
+     * Appends the suppressed exceptions and the cause of the exception, whose stackTrace has already been rendered.
+     *  The depth is the number of Throwables enclosing the exception (i.e. 0 for the logged Throwable).
+     */
+    protected void _appendEnclosedThrowables(final StringBuilder stringBuilder, final Throwable exception, final StackTraceElement[] stackTrace, final String prefix, final int depth, final Set<Throwable> renderedThrowables, final String lineSeparator) {
+        for (final Throwable suppressedException : exception.getSuppressed()) {
+            _appendEnclosedThrowable(stringBuilder, suppressedException, stackTrace, SUPPRESSED_CAPTION, (prefix + "\t"), (depth + 1), renderedThrowables, lineSeparator);
+        }
+
+        final Throwable cause = exception.getCause();
+        if (cause != null) {
+            _appendEnclosedThrowable(stringBuilder, cause, stackTrace, CAUSE_CAPTION, prefix, (depth + 1), renderedThrowables, lineSeparator);
+        }
+    }
+
+    /**
+     * Appends a suppressed exception or cause; the frames it shares with the stack trace of its enclosing Throwable are elided.
+     */
+    protected void _appendEnclosedThrowable(final StringBuilder stringBuilder, final Throwable exception, final StackTraceElement[] enclosingStackTrace, final String caption, final String prefix, final int depth, final Set<Throwable> renderedThrowables, final String lineSeparator) {
+        if (! renderedThrowables.add(exception)) {
+            stringBuilder.append(prefix);
+            stringBuilder.append(caption);
+            stringBuilder.append(CIRCULAR_REFERENCE_PREFIX);
+            stringBuilder.append(exception);
+            stringBuilder.append(CIRCULAR_REFERENCE_SUFFIX);
+            stringBuilder.append(lineSeparator);
+            return;
+        }
+
+        final StackTraceElement[] stackTrace = exception.getStackTrace();
+        int m = (stackTrace.length - 1);
+        int n = (enclosingStackTrace.length - 1);
+        while ( (m >= 0) && (n >= 0) && stackTrace[m].equals(enclosingStackTrace[n]) ) {
+            m -= 1;
+            n -= 1;
+        }
+        final int framesInCommon = (stackTrace.length - 1 - m);
+
+        stringBuilder.append(prefix);
+        stringBuilder.append(caption);
+        stringBuilder.append(exception);
+        stringBuilder.append(lineSeparator);
+
+        _appendFrames(stringBuilder, prefix, stackTrace, (m + 1), lineSeparator);
+        if (framesInCommon != 0) {
+            stringBuilder.append(prefix);
+            stringBuilder.append(FRAMES_IN_COMMON_PREFIX);
+            stringBuilder.append(framesInCommon);
+            stringBuilder.append(FRAMES_IN_COMMON_SUFFIX);
+            stringBuilder.append(lineSeparator);
+        }
+
+        _appendEnclosedThrowables(stringBuilder, exception, stackTrace, prefix, depth, renderedThrowables, lineSeparator);
+    }
+
+    public StackTraceRenderer() {
+        this(DEFAULT_MAX_CACHED_FRAME_COUNT);
+    }
+
+    /**
+     * @param maxCachedFrameCount The number of rendered frames retained between Throwables.
+     */
+    public StackTraceRenderer(final int maxCachedFrameCount) {
+        _maxCachedFrameCount = maxCachedFrameCount;
+    }
+
+    @Override
+    public void append(final StringBuilder stringBuilder, final Throwable exception, final String lineSeparator) {
+        final Set<Throwable> renderedThrowables = Collections.newSetFromMap(new IdentityHashMap<Throwable, Boolean>());
+        renderedThrowables.add(exception);
+
+        final StackTraceElement[] stackTrace = exception.getStackTrace();
+
+        stringBuilder.append(exception);
+        stringBuilder.append(lineSeparator);
+        _appendFrames(stringBuilder, "", stackTrace, stackTrace.length, lineSeparator);
+        _appendEnclosedThrowables(stringBuilder, exception, stackTrace, "", 0, renderedThrowables, lineSeparator);
+    }
+
+    /**
+     * Returns the number of rendered frames currently cached.
+     */
+    public int getCachedFrameCount() {
+        return _frameStrings.size();
+    }
+}
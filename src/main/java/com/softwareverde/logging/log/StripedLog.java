@@ -0,0 +1,531 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.Log;
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.Logger;
+import com.softwareverde.logging.LoggingMetrics;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Log statements are rendered by a Layout and encoded as UTF-8 into buffers owned by the logging thread (its "stripe"),
+ *  rather than into a single buffer guarded by the Log's monitor (as with AbstractLog).  Each stripe is guarded by its own monitor,
+ *  which is only contended by the writer thread when it collects a partially filled buffer, so logging threads do not wait on each other.
+ *  Full buffers are handed to a single writer thread, which writes many buffers at once via GatheringByteChannel::write.
+ *  Each event (including its rendered Throwable) is encoded into a single buffer, so lines never interleave, and a thread's buffers
+ *  are written in the order they were filled, so events are written in order within each thread (but not across threads).
+ *  Partially filled buffers are collected by the writer every flush interval, and by StripedLog::flush.
+ *  If a thread's buffers are all awaiting the writer, the thread waits for one to be written.
+ *  WARN/ERROR are written to the err channel; other statements are written to the out channel.
+ */
+public class StripedLog implements Log {
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+    public static final int DEFAULT_BUFFER_COUNT = 4;
+    public static final Long DEFAULT_FLUSH_INTERVAL_MS = 100L;
+
+    protected static final int MAX_GATHERED_BUFFER_COUNT = 64; // Well below IOV_MAX (1024 on Linux).
+    protected static final int MAX_RETAINED_BUFFER_CAPACITY = (64 * 1024);
+    protected static final int CHUNK_CHAR_COUNT = 1024;
+    protected static final Object[] NO_MESSAGE_ARGUMENTS = new Object[0];
+
+    /**
+     * Returns a channel to the process's standard out or standard error, bypassing System.out/System.err.
+     */
+    public static GatheringByteChannel openSystemChannel(final BufferedSystemWriter.Type type) {
+        final FileDescriptor fileDescriptor = ((type == BufferedSystemWriter.Type.SYSTEM_OUT) ? FileDescriptor.out : FileDescriptor.err);
+        return new FileOutputStream(fileDescriptor).getChannel();
+    }
+
+    /**
+     * A buffer of encoded lines, and the stripe it is returned to once written.  Oversized lines are written from a Block without a stripe.
+     */
+    protected static class Block {
+        public final Stripe stripe;
+        public final ByteBuffer byteBuffer;
+
+        public Block(final Stripe nullableStripe, final ByteBuffer byteBuffer) {
+            this.stripe = nullableStripe;
+            this.byteBuffer = byteBuffer;
+        }
+    }
+
+    protected static class Sink {
+        public final int index;
+        public final GatheringByteChannel channel; // Writes are guarded by this Sink's monitor.
+        public final ConcurrentLinkedQueue<Block> queue = new ConcurrentLinkedQueue<Block>();
+
+        public Sink(final int index, final GatheringByteChannel channel) {
+            this.index = index;
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * The buffers of a single thread; guarded by the Stripe's monitor.
+     */
+    protected static class Stripe {
+        public final Thread thread;
+        public final Block[] currentBlocks; // The block being filled for each Sink, or null.
+        public final ArrayDeque<Block> freeBlocks = new ArrayDeque<Block>();
+        public StringBuilder stringBuilder = new StringBuilder();
+        public final char[] chars = new char[CHUNK_CHAR_COUNT];
+        public byte[] bytes = new byte[CHUNK_CHAR_COUNT * Utf8Encoder.MAX_BYTES_PER_CHAR];
+
+        public Stripe(final Thread thread, final int sinkCount) {
+            this.thread = thread;
+            this.currentBlocks = new Block[sinkCount];
+        }
+
+        public StringBuilder getStringBuilder() {
+            if (this.stringBuilder.capacity() > MAX_RETAINED_BUFFER_CAPACITY) {
+                this.stringBuilder = new StringBuilder();
+            }
+
+            this.stringBuilder.setLength(0);
+            return this.stringBuilder;
+        }
+
+        /**
+         * Encodes the stringBuilder into this.bytes (growing it if necessary), and returns the number of bytes.
+         *  An oversized this.bytes is retained until Stripe::releaseBytes, once the caller has copied the bytes.
+         */
+        public int encode(final StringBuilder stringBuilder) {
+            final int length = stringBuilder.length();
+            final int maxByteCount = (length * Utf8Encoder.MAX_BYTES_PER_CHAR);
+            if (this.bytes.length < maxByteCount) {
+                this.bytes = new byte[maxByteCount];
+            }
+
+            int byteCount = 0;
+            int index = 0;
+            while (index < length) {
+                final int copyLength = Math.min(CHUNK_CHAR_COUNT, (length - index));
+                stringBuilder.getChars(index, (index + copyLength), this.chars, 0);
+                final int chunkLength = Utf8Encoder.getEncodableLength(this.chars, 0, copyLength);
+                byteCount += Utf8Encoder.encode(this.chars, 0, chunkLength, this.bytes, byteCount);
+                index += chunkLength;
+            }
+            return byteCount;
+        }
+
+        /**
+         * Discards an oversized encoding buffer once its bytes have been copied.
+         */
+        public void releaseBytes() {
+            if (this.bytes.length > MAX_RETAINED_BUFFER_CAPACITY) {
+                this.bytes = new byte[CHUNK_CHAR_COUNT * Utf8Encoder.MAX_BYTES_PER_CHAR];
+            }
+        }
+    }
+
+    protected final Layout _layout;
+    protected final ThrowableRenderer _throwableRenderer;
+    protected final String _lineSeparator = System.lineSeparator();
+    protected final int _bufferSize;
+    protected final int _bufferCount;
+    protected final long _flushIntervalNanos;
+
+    protected final Sink _outSink;
+    protected final Sink _errSink;
+    protected final Sink[] _sinks; // The distinct Sinks; one if the out and err channels are the same.
+
+    protected final ThreadLocal<Stripe> _stripe = new ThreadLocal<Stripe>();
+    protected final CopyOnWriteArrayList<Stripe> _stripes = new CopyOnWriteArrayList<Stripe>();
+
+    protected final AtomicLong _enqueuedBlockCount = new AtomicLong(0L);
+    protected final AtomicLong _writtenBlockCount = new AtomicLong(0L);
+
+    protected final Object _drainMutex = new Object(); // Guards the gathered arrays; acquired before (never while holding) a Stripe's monitor.
+    protected final ByteBuffer[] _gatheredBuffers = new ByteBuffer[MAX_GATHERED_BUFFER_COUNT];
+    protected final Block[] _gatheredBlocks = new Block[MAX_GATHERED_BUFFER_COUNT];
+
+    protected final String _queueName = ("StripedLog@" + Integer.toHexString(System.identityHashCode(this))); // The name of the queue's depth within the LoggingMetrics.
+    protected final Thread _writerThread;
+    protected volatile boolean _isWriterParked = false;
+    protected volatile boolean _isClosed = false;
+
+    protected Sink _getSink(final LogLevel logLevel) {
+        switch (logLevel) {
+            case TRACE:
+            case DEBUG:
+            case INFO: {
+                return _outSink;
+            }
+
+            case WARN:
+            case ERROR: {
+                return _errSink;
+            }
+
+            default: {
+                return null;
+            }
+        }
+    }
+
+    protected Stripe _getStripe() {
+        final Stripe stripe = _stripe.get();
+        if (stripe != null) { return stripe; }
+
+        final Stripe newStripe = new Stripe(Thread.currentThread(), _sinks.length);
+        for (int i = 0; i < _bufferCount; ++i) {
+            newStripe.freeBlocks.add(new Block(newStripe, ByteBuffer.allocateDirect(_bufferSize)));
+        }
+        _stripe.set(newStripe);
+        _stripes.add(newStripe);
+        return newStripe;
+    }
+
+    /**
+     * Writes the buffers (already flipped) to the channel, via as many gathering writes as necessary.
+     */
+    protected void _writeBuffers(final Sink sink, final ByteBuffer[] byteBuffers, final int count) {
+        synchronized (sink) {
+            try {
+                int offset = 0;
+                while (offset < count) {
+                    sink.channel.write(byteBuffers, offset, (count - offset));
+                    while ( (offset < count) && (! byteBuffers[offset].hasRemaining()) ) {
+                        offset += 1;
+                    }
+                }
+            }
+            catch (final IOException exception) {
+                Logger.printLoggingError(LogLevel.ERROR, StripedLog.class, "Unable to write log buffers.", exception);
+            }
+        }
+    }
+
+    /**
+     * Returns the written Block to its stripe, waking the stripe's thread if it is waiting for a free buffer.
+     */
+    protected void _releaseBlock(final Block block) {
+        block.byteBuffer.clear();
+
+        final Stripe stripe = block.stripe;
+        if (stripe == null) { return; }
+
+        synchronized (stripe) {
+            if (stripe.freeBlocks.size() < _bufferCount) {
+                stripe.freeBlocks.add(block);
+            }
+            stripe.notifyAll();
+        }
+    }
+
+    /**
+     * Hands the Block to the writer.  Once the StripedLog is closed, the queued Blocks are drained by the thread that queued them (see StripedLog::_writeEvent),
+     *  so a Block is always queued behind the thread's earlier Blocks, rather than written ahead of them.
+     *  Must be invoked while holding the monitor of the Block's stripe (if any), so that each thread's Blocks are queued in order.
+     */
+    protected void _handOff(final Sink sink, final Block block) {
+        block.byteBuffer.flip();
+        _enqueuedBlockCount.incrementAndGet();
+        sink.queue.offer(block);
+    }
+
+    /**
+     * Returns a free Block of the stripe, waiting for the writer to release one if necessary.  Must be invoked while holding the stripe's monitor.
+     */
+    protected Block _takeFreeBlock(final Stripe stripe) {
+        boolean wasInterrupted = false;
+        while (stripe.freeBlocks.isEmpty()) {
+            if (_isClosed) { break; }
+
+            LockSupport.unpark(_writerThread);
+            try {
+                stripe.wait(TimeUnit.NANOSECONDS.toMillis(_flushIntervalNanos) + 1L);
+            }
+            catch (final InterruptedException exception) {
+                wasInterrupted = true; // The wait is uninterruptible, so that an interrupted thread does not allocate a buffer per line...
+            }
+        }
+
+        if (wasInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        final Block block = stripe.freeBlocks.poll();
+        if (block != null) { return block; }
+
+        return new Block(stripe, ByteBuffer.allocate(_bufferSize)); // i.e. once closed; released to the stripe only if it has room, so the stripe's buffers remain bounded.
+    }
+
+    /**
+     * Encodes the line into the stripe's current Block for the Sink, handing off the Block first if the line does not fit.
+     *  Lines larger than a buffer are handed off within a dedicated Block.  Must be invoked while holding the stripe's monitor.
+     */
+    protected void _writeLine(final Stripe stripe, final Sink sink, final StringBuilder stringBuilder) {
+        final int byteCount = stripe.encode(stringBuilder);
+
+        Block block = stripe.currentBlocks[sink.index];
+        if ( (block != null) && (block.byteBuffer.remaining() < byteCount) ) {
+            stripe.currentBlocks[sink.index] = null;
+            _handOff(sink, block);
+            block = null;
+        }
+
+        if (byteCount > _bufferSize) {
+            final ByteBuffer byteBuffer = ByteBuffer.allocate(byteCount);
+            byteBuffer.put(stripe.bytes, 0, byteCount);
+            stripe.releaseBytes();
+            _handOff(sink, new Block(null, byteBuffer));
+            _signalWriter();
+            return;
+        }
+
+        if (block == null) {
+            block = _takeFreeBlock(stripe);
+            stripe.currentBlocks[sink.index] = block;
+            if ( stripe.freeBlocks.isEmpty() || (this.getQueuedBufferCount() >= MAX_GATHERED_BUFFER_COUNT) ) { // Wakes the writer before the thread would need to wait for it.
+                _signalWriter();
+            }
+        }
+
+        block.byteBuffer.put(stripe.bytes, 0, byteCount);
+        stripe.releaseBytes();
+
+        if (_isClosed) { // The writer is no longer running, so the line is queued immediately, and drained by StripedLog::_writeEvent...
+            stripe.currentBlocks[sink.index] = null;
+            _handOff(sink, block);
+        }
+    }
+
+    protected void _writeEvent(final Class<?> callingClass, final LogLevel logLevel, final String nullableMessage, final Object[] nullableMessageArguments, final Throwable nullableException) {
+        final Sink sink = _getSink(logLevel);
+        if (sink == null) { return; }
+
+        final Stripe stripe = _getStripe();
+        synchronized (stripe) {
+            final StringBuilder stringBuilder = stripe.getStringBuilder();
+            if (nullableMessage != null) {
+                _layout.append(stringBuilder, callingClass, logLevel, nullableMessage, nullableMessageArguments);
+            }
+            if (nullableException != null) {
+                _throwableRenderer.append(stringBuilder, nullableException, _lineSeparator);
+            }
+            if (stringBuilder.length() == 0) { return; }
+
+            _writeLine(stripe, sink, stringBuilder);
+        }
+
+        if (_isClosed) { // The StripedLog was closed concurrently, possibly after its final drain, so the Blocks this thread queued are written synchronously, in order...
+            _drainAll(); // Invoked after releasing the stripe's monitor, since draining acquires the monitors of other stripes.
+        }
+    }
+
+    protected void _signalWriter() {
+        if (_isWriterParked) {
+            LockSupport.unpark(_writerThread);
+        }
+    }
+
+    /**
+     * Hands off every stripe's partially filled Blocks, and forgets the stripes of terminated threads.
+     */
+    protected void _collectPartialBlocks() {
+        for (final Stripe stripe : _stripes) {
+            synchronized (stripe) {
+                for (int i = 0; i < stripe.currentBlocks.length; ++i) {
+                    final Block block = stripe.currentBlocks[i];
+                    if ( (block == null) || (block.byteBuffer.position() == 0) ) { continue; }
+
+                    stripe.currentBlocks[i] = null;
+                    _handOff(_sinks[i], block);
+                }
+            }
+
+            if (! stripe.thread.isAlive()) {
+                _stripes.remove(stripe);
+            }
+        }
+    }
+
+    /**
+     * Writes the queued Blocks of the Sink, MAX_GATHERED_BUFFER_COUNT at a time, and returns false if there were none.
+     */
+    protected boolean _drain(final Sink sink) {
+        boolean didWrite = false;
+        synchronized (_drainMutex) {
+            while (true) {
+                int count = 0;
+                while (count < MAX_GATHERED_BUFFER_COUNT) {
+                    final Block block = sink.queue.poll();
+                    if (block == null) { break; }
+
+                    _gatheredBlocks[count] = block;
+                    _gatheredBuffers[count] = block.byteBuffer;
+                    count += 1;
+                }
+                if (count == 0) { break; }
+
+                _writeBuffers(sink, _gatheredBuffers, count);
+
+                for (int i = 0; i < count; ++i) {
+                    _releaseBlock(_gatheredBlocks[i]);
+                    _gatheredBlocks[i] = null;
+                    _gatheredBuffers[i] = null;
+                }
+                _writtenBlockCount.addAndGet(count);
+                didWrite = true;
+            }
+        }
+        return didWrite;
+    }
+
+    protected boolean _drainAll() {
+        boolean didWrite = false;
+        for (final Sink sink : _sinks) {
+            didWrite |= _drain(sink);
+        }
+        return didWrite;
+    }
+
+    protected boolean _isEmpty() {
+        return (_writtenBlockCount.get() >= _enqueuedBlockCount.get());
+    }
+
+    protected void _runWriter() {
+        long lastCollectionNanos = System.nanoTime();
+        while (true) {
+            final boolean didWrite = _drainAll();
+
+            final long nowNanos = System.nanoTime();
+            final long elapsedNanos = (nowNanos - lastCollectionNanos);
+            if (elapsedNanos >= _flushIntervalNanos) {
+                _collectPartialBlocks();
+                lastCollectionNanos = nowNanos;
+                continue;
+            }
+
+            if (! didWrite) {
+                if (_isClosed) { break; }
+
+                _isWriterParked = true;
+                if (_isEmpty() && (! _isClosed)) { // Re-check after publishing the flag, so that a concurrent producer's signal is not missed.
+                    LockSupport.parkNanos(this, (_flushIntervalNanos - elapsedNanos));
+                }
+                _isWriterParked = false;
+            }
+        }
+    }
+
+    /**
+     * Writes all statements to the channel.
+     */
+    public StripedLog(final Layout layout, final GatheringByteChannel channel) {
+        this(layout, channel, channel);
+    }
+
+    public StripedLog(final Layout layout, final GatheringByteChannel outChannel, final GatheringByteChannel errChannel) {
+        this(layout, outChannel, errChannel, DEFAULT_BUFFER_SIZE, DEFAULT_BUFFER_COUNT, DEFAULT_FLUSH_INTERVAL_MS);
+    }
+
+    /**
+     * @param bufferSize The size, in bytes, of each buffer; lines larger than a buffer are copied into a buffer of their own.
+     * @param bufferCount The number of buffers owned by each thread.
+     * @param flushIntervalMs The maximum duration a partially filled buffer waits before it is written.
+     */
+    public StripedLog(final Layout layout, final GatheringByteChannel outChannel, final GatheringByteChannel errChannel, final int bufferSize, final int bufferCount, final Long flushIntervalMs) {
+        _layout = layout;
+        _throwableRenderer = new StackTraceRenderer();
+        _bufferSize = Math.max(bufferSize, 16);
+        _bufferCount = Math.max(bufferCount, 2);
+        _flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, flushIntervalMs));
+
+        _outSink = new Sink(0, outChannel);
+        if (errChannel == outChannel) {
+            _errSink = _outSink;
+            _sinks = new Sink[]{ _outSink };
+        }
+        else {
+            _errSink = new Sink(1, errChannel);
+            _sinks = new Sink[]{ _outSink, _errSink };
+        }
+
+        _writerThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                _runWriter();
+            }
+        });
+        _writerThread.setName("StripedLog");
+        _writerThread.setDaemon(true);
+        _writerThread.start();
+
+        LoggingMetrics.getInstance().setQueueDepth(_queueName, this, StripedLog::getQueuedBufferCount);
+    }
+
+    @Override
+    public void write(final Class<?> callingClass, final LogLevel logLevel, final String nullableMessage, final Throwable nullableException) {
+        _writeEvent(callingClass, logLevel, nullableMessage, null, nullableException);
+    }
+
+    @Override
+    public void write(final Class<?> callingClass, final LogLevel logLevel, final String messageTemplate, final Object[] messageArguments, final Throwable nullableException) {
+        _writeEvent(callingClass, logLevel, messageTemplate, (messageArguments != null ? messageArguments : NO_MESSAGE_ARGUMENTS), nullableException);
+    }
+
+    /**
+     * Returns the number of buffers waiting to be written.
+     */
+    public long getQueuedBufferCount() {
+        return Math.max(0L, (_enqueuedBlockCount.get() - _writtenBlockCount.get()));
+    }
+
+    /**
+     * Blocks until every statement written (by any thread) before this call has been written to its channel.
+     */
+    @Override
+    public void flush() {
+        _collectPartialBlocks();
+
+        if (Thread.currentThread() == _writerThread) {
+            _drainAll();
+            return;
+        }
+
+        final long targetCount = _enqueuedBlockCount.get();
+        while ( (_writtenBlockCount.get() < targetCount) && _writerThread.isAlive() ) {
+            LockSupport.unpark(_writerThread);
+            LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(100L));
+        }
+
+        if (! _writerThread.isAlive()) {
+            _drainAll();
+        }
+    }
+
+    /**
+     * Writes any buffered statements and stops the writer thread; the channels are not closed.
+     *  Statements written after the StripedLog is closed are written synchronously.
+     */
+    @Override
+    public void close() {
+        _isClosed = true;
+        LockSupport.unpark(_writerThread);
+        LoggingMetrics.getInstance().setQueueDepth(_queueName, null);
+
+        if (Thread.currentThread() != _writerThread) {
+            try {
+                _writerThread.join();
+            }
+            catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        _collectPartialBlocks();
+        _drainAll(); // Writes any Blocks queued concurrently with the close.
+    }
+}
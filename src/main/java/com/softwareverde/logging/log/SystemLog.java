@@ -37,6 +37,26 @@ public class SystemLog extends AbstractLog {
         return BUFFERED_INSTANCE;
     }
 
+    protected static volatile SystemLog CHANNEL_INSTANCE = null;
+
+    /**
+     * Returns an instance that writes directly to the standard out/err file descriptors via a ChannelWriter.
+     */
+    public static SystemLog getChannelInstance() {
+        if (CHANNEL_INSTANCE == null) {
+            synchronized (INSTANCE_MUTEX) {
+                if (CHANNEL_INSTANCE == null) {
+                    CHANNEL_INSTANCE = new SystemLog(
+                        new ChannelWriter(BufferedSystemWriter.Type.SYSTEM_OUT),
+                        new ChannelWriter(BufferedSystemWriter.Type.SYSTEM_ERR)
+                    );
+                }
+            }
+        }
+
+        return CHANNEL_INSTANCE;
+    }
+
     public static Writer wrapSystemStream(final PrintStream printStream) {
         return new Writer() {
             @Override
@@ -0,0 +1,14 @@
+package com.softwareverde.logging.log;
+
+/**
+ * Renders the Throwable of a log statement as text.
+ *  An AbstractLog with a ThrowableRenderer appends the rendering to its reused line buffer and writes it to the Writer,
+ *  rather than having the Writer print the Throwable's stack trace.
+ *  Implementations must be thread-safe if they are shared between Logs.
+ */
+public interface ThrowableRenderer {
+    /**
+     * Appends the rendering of the exception to the stringBuilder; every line, including the last, is terminated with the lineSeparator.
+     */
+    void append(StringBuilder stringBuilder, Throwable exception, String lineSeparator);
+}
@@ -0,0 +1,201 @@
+package com.softwareverde.logging.log;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.function.LongSupplier;
+
+/**
+ * Renders timestamps in the format of a SimpleDateFormat pattern without allocating per timestamp.
+ *  The portions of the pattern before and after the milliseconds field ("SSS") are rendered once per second and cached;
+ *  the milliseconds are then appended as digits.  Patterns without a "SSS" field are cached per second, and patterns with
+ *  any other milliseconds field are cached per millisecond.
+ *  The current time is read from the provided clock, which may be a CoarseClock to avoid reading the system time per line.
+ *  TimestampFormatter is thread-safe.
+ */
+public class TimestampFormatter {
+    protected static final String MILLISECONDS_FIELD = "SSS";
+
+    protected static final LongSupplier SYSTEM_CLOCK = new LongSupplier() {
+        @Override
+        public long getAsLong() {
+            return System.currentTimeMillis();
+        }
+    };
+
+    protected static class CachedTimestamp {
+        public final long timeBucket;
+        public final String prefix;
+        public final String suffix;
+
+        public CachedTimestamp(final long timeBucket, final String prefix, final String suffix) {
+            this.timeBucket = timeBucket;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+    }
+
+    /**
+     * Returns the index of the milliseconds field within the pattern, or -1 if the pattern does not contain exactly one unquoted "SSS" field.
+     *  Sets hasOtherMillisecondsField[0] if the pattern contains a milliseconds field of a different width.
+     */
+    protected static int findMillisecondsField(final String pattern, final boolean[] hasOtherMillisecondsField) {
+        int fieldIndex = -1;
+        boolean isQuoted = false;
+        int i = 0;
+        while (i < pattern.length()) {
+            final char c = pattern.charAt(i);
+            if (c == '\'') {
+                isQuoted = (! isQuoted);
+                i += 1;
+                continue;
+            }
+
+            if ( isQuoted || (c != 'S') ) {
+                i += 1;
+                continue;
+            }
+
+            int runEnd = i;
+            while ( (runEnd < pattern.length()) && (pattern.charAt(runEnd) == 'S') ) {
+                runEnd += 1;
+            }
+
+            if ( ((runEnd - i) == MILLISECONDS_FIELD.length()) && (fieldIndex < 0) ) {
+                fieldIndex = i;
+            }
+            else {
+                hasOtherMillisecondsField[0] = true;
+            }
+
+            i = runEnd;
+        }
+
+        return (hasOtherMillisecondsField[0] ? -1 : fieldIndex);
+    }
+
+    protected static SimpleDateFormat newSimpleDateFormat(final String pattern, final TimeZone timeZone) {
+        if (pattern.isEmpty()) { return null; }
+
+        final SimpleDateFormat simpleDateFormat = new SimpleDateFormat(pattern);
+        simpleDateFormat.setTimeZone(timeZone);
+        return simpleDateFormat;
+    }
+
+    protected final String _pattern;
+    protected final TimeZone _timeZone;
+    protected final LongSupplier _clock;
+
+    protected final boolean _hasMillisecondsField;
+    protected final long _bucketDurationMs;
+
+    protected final SimpleDateFormat _prefixFormat; // Guarded by this instance's monitor.
+    protected final SimpleDateFormat _suffixFormat; // Guarded by this instance's monitor.
+    protected final Date _date = new Date(); // Guarded by this instance's monitor.
+
+    protected volatile CachedTimestamp _cachedTimestamp = null;
+
+    protected String _render(final SimpleDateFormat simpleDateFormat, final long timeMs) {
+        if (simpleDateFormat == null) { return ""; }
+
+        _date.setTime(timeMs);
+        return simpleDateFormat.format(_date);
+    }
+
+    protected CachedTimestamp _getCachedTimestamp(final long timeBucket) {
+        final CachedTimestamp cachedTimestamp = _cachedTimestamp;
+        if ( (cachedTimestamp != null) && (cachedTimestamp.timeBucket == timeBucket) ) {
+            return cachedTimestamp;
+        }
+
+        synchronized (this) {
+            final long bucketStartMs = (timeBucket * _bucketDurationMs);
+            final CachedTimestamp newCachedTimestamp = new CachedTimestamp(timeBucket, _render(_prefixFormat, bucketStartMs), _render(_suffixFormat, bucketStartMs));
+            _cachedTimestamp = newCachedTimestamp;
+            return newCachedTimestamp;
+        }
+    }
+
+    public TimestampFormatter(final String pattern) {
+        this(pattern, TimeZone.getDefault());
+    }
+
+    public TimestampFormatter(final String pattern, final TimeZone timeZone) {
+        this(pattern, timeZone, SYSTEM_CLOCK);
+    }
+
+    /**
+     * @param clock Provides the current time, in milliseconds since the epoch.
+     */
+    public TimestampFormatter(final String pattern, final TimeZone timeZone, final LongSupplier clock) {
+        _pattern = pattern;
+        _timeZone = timeZone;
+        _clock = clock;
+
+        final boolean[] hasOtherMillisecondsField = new boolean[1];
+        final int millisecondsFieldIndex = TimestampFormatter.findMillisecondsField(pattern, hasOtherMillisecondsField);
+
+        _hasMillisecondsField = (millisecondsFieldIndex >= 0);
+        _bucketDurationMs = (hasOtherMillisecondsField[0] ? 1L : 1000L);
+
+        if (_hasMillisecondsField) {
+            _prefixFormat = TimestampFormatter.newSimpleDateFormat(pattern.substring(0, millisecondsFieldIndex), timeZone);
+            _suffixFormat = TimestampFormatter.newSimpleDateFormat(pattern.substring(millisecondsFieldIndex + MILLISECONDS_FIELD.length()), timeZone);
+        }
+        else {
+            _prefixFormat = TimestampFormatter.newSimpleDateFormat(pattern, timeZone);
+            _suffixFormat = null;
+        }
+    }
+
+    public String getPattern() {
+        return _pattern;
+    }
+
+    public TimeZone getTimeZone() {
+        return _timeZone;
+    }
+
+    /**
+     * Returns true if the formatter always renders an empty timestamp.
+     */
+    public boolean isEmpty() {
+        return _pattern.isEmpty();
+    }
+
+    /**
+     * Appends the current time, as read from the clock, to the stringBuilder.
+     */
+    public void appendTimestamp(final StringBuilder stringBuilder) {
+        this.appendTimestamp(stringBuilder, _clock.getAsLong());
+    }
+
+    /**
+     * Appends the provided time (in milliseconds since the epoch) to the stringBuilder.
+     */
+    public void appendTimestamp(final StringBuilder stringBuilder, final long timeMs) {
+        final CachedTimestamp cachedTimestamp = _getCachedTimestamp(Math.floorDiv(timeMs, _bucketDurationMs));
+        stringBuilder.append(cachedTimestamp.prefix);
+
+        if (_hasMillisecondsField) {
+            final int milliseconds = (int) Math.floorMod(timeMs, 1000L);
+            if (milliseconds < 100) { stringBuilder.append('0'); }
+            if (milliseconds < 10) { stringBuilder.append('0'); }
+            stringBuilder.append(milliseconds);
+            stringBuilder.append(cachedTimestamp.suffix);
+        }
+    }
+
+    /**
+     * Returns the current time, as read from the clock, rendered as a String.
+     */
+    public String format() {
+        return this.format(_clock.getAsLong());
+    }
+
+    public String format(final long timeMs) {
+        final StringBuilder stringBuilder = new StringBuilder();
+        this.appendTimestamp(stringBuilder, timeMs);
+        return stringBuilder.toString();
+    }
+}
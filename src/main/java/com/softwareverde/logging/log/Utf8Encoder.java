@@ -0,0 +1,87 @@
+package com.softwareverde.logging.log;
+
+/**
+ * Encodes characters as UTF-8 into a byte array without intermediate objects.
+ *  ASCII characters are copied directly; other characters are encoded by hand.
+ *  Unpaired surrogates are encoded as '?', as with String::getBytes.
+ */
+public class Utf8Encoder {
+    /**
+     * The most bytes a single char may encode to (a surrogate pair encodes to 4 bytes for 2 chars).
+     */
+    public static final int MAX_BYTES_PER_CHAR = 3;
+
+    protected static final byte REPLACEMENT_BYTE = (byte) '?';
+
+    /**
+     * Returns the number of chars of the range that may be encoded independently; a trailing high surrogate is excluded so that it may be encoded with its pair.
+     *  If the range consists of only a high surrogate, it is included.
+     */
+    public static int getEncodableLength(final char[] chars, final int offset, final int length) {
+        if (length <= 1) { return length; }
+
+        final char lastChar = chars[offset + length - 1];
+        return (Character.isHighSurrogate(lastChar) ? (length - 1) : length);
+    }
+
+    /**
+     * Encodes the chars into the bytes, starting at byteOffset, and returns the number of bytes written.
+     *  The bytes must have room for (length * MAX_BYTES_PER_CHAR) bytes.
+     */
+    public static int encode(final char[] chars, final int offset, final int length, final byte[] bytes, final int byteOffset) {
+        final int endIndex = (offset + length);
+        int byteIndex = byteOffset;
+        int charIndex = offset;
+
+        while (charIndex < endIndex) {
+            { // ASCII fast path; kept as a tight loop so that it may be vectorized...
+                final int asciiOffset = (byteIndex - charIndex);
+                while ( (charIndex < endIndex) && (chars[charIndex] < 0x80) ) {
+                    bytes[charIndex + asciiOffset] = (byte) chars[charIndex];
+                    charIndex += 1;
+                }
+                byteIndex = (charIndex + asciiOffset);
+                if (charIndex >= endIndex) { break; }
+            }
+
+            final char c = chars[charIndex];
+
+            if (c < 0x800) {
+                bytes[byteIndex] = (byte) (0xC0 | (c >> 6));
+                bytes[byteIndex + 1] = (byte) (0x80 | (c & 0x3F));
+                byteIndex += 2;
+                charIndex += 1;
+                continue;
+            }
+
+            if (Character.isSurrogate(c)) {
+                final boolean hasLowSurrogate = ( Character.isHighSurrogate(c) && ((charIndex + 1) < endIndex) && Character.isLowSurrogate(chars[charIndex + 1]) );
+                if (! hasLowSurrogate) {
+                    bytes[byteIndex] = REPLACEMENT_BYTE;
+                    byteIndex += 1;
+                    charIndex += 1;
+                    continue;
+                }
+
+                final int codePoint = Character.toCodePoint(c, chars[charIndex + 1]);
+                bytes[byteIndex] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[byteIndex + 1] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[byteIndex + 2] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[byteIndex + 3] = (byte) (0x80 | (codePoint & 0x3F));
+                byteIndex += 4;
+                charIndex += 2;
+                continue;
+            }
+
+            bytes[byteIndex] = (byte) (0xE0 | (c >> 12));
+            bytes[byteIndex + 1] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            bytes[byteIndex + 2] = (byte) (0x80 | (c & 0x3F));
+            byteIndex += 3;
+            charIndex += 1;
+        }
+
+        return (byteIndex - byteOffset);
+    }
+
+    protected Utf8Encoder() { }
+}
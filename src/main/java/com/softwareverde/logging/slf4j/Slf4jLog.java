@@ -37,6 +37,32 @@ public class Slf4jLog implements Log {
         }
     }
 
+    @Override
+    public void write(final Class<?> callingClass, final LogLevel logLevel, final String messageTemplate, final Object[] messageArguments, final Throwable nullableException) {
+        // Slf4j uses the same "{}" placeholders (and trailing-Throwable convention), so the template is formatted by the underlying logger.
+        switch (logLevel) {
+            case TRACE: {
+                _logger.trace(messageTemplate, messageArguments);
+            } break;
+
+            case DEBUG: {
+                _logger.debug(messageTemplate, messageArguments);
+            } break;
+
+            case INFO: {
+                _logger.info(messageTemplate, messageArguments);
+            } break;
+
+            case WARN: {
+                _logger.warn(messageTemplate, messageArguments);
+            } break;
+
+            case ERROR: {
+                _logger.error(messageTemplate, messageArguments);
+            } break;
+        }
+    }
+
     @Override
     public void flush() {
         // do nothing
@@ -66,6 +66,25 @@ public class MutablePackage implements Package {
         return null;
     }
 
+    /**
+     * Returns the direct child whose name equals packageName.substring(nameStartIndex, nameEndIndex), or null if there is no such child.
+     *  Unlike MutablePackage::_getChild, the name is compared in place, so no substrings are created.
+     */
+    protected MutablePackage _getDirectChild(final String packageName, final int nameStartIndex, final int nameEndIndex) {
+        final int nameLength = (nameEndIndex - nameStartIndex);
+        for (int i = 0; i < _children.size(); ++i) {
+            final MutablePackage childPackage = _children.get(i);
+            final String childName = childPackage._name;
+            if (childName == null) { continue; }
+
+            if ( (childName.length() == nameLength) && packageName.regionMatches(nameStartIndex, childName, 0, nameLength) ) {
+                return childPackage;
+            }
+        }
+
+        return null;
+    }
+
     protected void _attachTo(final MutablePackage anchorPackage) {
         if (anchorPackage.hasChild(_name)) {
             final MutablePackage anchorChildPackage = anchorPackage._getChild(_name);
@@ -79,6 +98,26 @@ public class MutablePackage implements Package {
         }
     }
 
+    /**
+     * Returns a new instance of this package's type, with the provided parent and name.
+     *  Subclasses should override this function so that copies retain their type and properties.
+     */
+    protected MutablePackage _newInstance(final MutablePackage parent) {
+        return new MutablePackage(parent, _name);
+    }
+
+    /**
+     * Returns a deep copy of this package and its descendants, attached to the provided parent.
+     *  The parent's list of children is not modified.
+     */
+    protected MutablePackage _copy(final MutablePackage parent) {
+        final MutablePackage copy = _newInstance(parent);
+        for (final MutablePackage childPackage : _children) {
+            copy._children.add(childPackage._copy(copy));
+        }
+        return copy;
+    }
+
     protected MutablePackage() {
         _parent = null;
         _name = null;
@@ -0,0 +1,265 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.Log;
+import com.softwareverde.logging.LogLevel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+public class AsyncLogTests {
+    protected static class RecordingLog implements Log {
+        public final List<String> messages = Collections.synchronizedList(new ArrayList<String>());
+        public final CountDownLatch writeLatch;
+        public volatile int flushCount = 0;
+        public volatile boolean isClosed = false;
+
+        public RecordingLog(final CountDownLatch writeLatch) {
+            this.writeLatch = writeLatch;
+        }
+
+        @Override
+        public void write(final Class<?> callingClass, final LogLevel logLevel, final String nullableMessage, final Throwable nullableException) {
+            try {
+                this.writeLatch.await();
+            }
+            catch (final InterruptedException exception) { }
+            this.messages.add(nullableMessage);
+        }
+
+        @Override
+        public void flush() {
+            this.flushCount += 1;
+        }
+
+        @Override
+        public void close() {
+            this.isClosed = true;
+        }
+    }
+
+    @Test
+    public void should_write_all_events_in_order_when_flushed() throws Exception {
+        for (final AsyncLog.WaitStrategy waitStrategy : AsyncLog.WaitStrategy.values()) {
+            // Setup
+            final RecordingLog recordingLog = new RecordingLog(new CountDownLatch(0));
+            final AsyncLog asyncLog = new AsyncLog(recordingLog, 64, waitStrategy);
+
+            final int threadCount = 4;
+            final int eventCountPerThread = 16; // Total events do not exceed the capacity, so none may be dropped.
+            final Thread[] threads = new Thread[threadCount];
+            for (int i = 0; i < threadCount; ++i) {
+                final int threadIndex = i;
+                threads[i] = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int j = 0; j < eventCountPerThread; ++j) {
+                            asyncLog.write(AsyncLogTests.class, LogLevel.INFO, (threadIndex + ":" + j), null);
+                        }
+                    }
+                });
+            }
+
+            // Action
+            for (final Thread thread : threads) { thread.start(); }
+            for (final Thread thread : threads) { thread.join(); }
+            asyncLog.flush();
+
+            // Assert
+            Assert.assertEquals(0L, asyncLog.getDroppedEventCount());
+            Assert.assertEquals((threadCount * eventCountPerThread), recordingLog.messages.size());
+            Assert.assertEquals(1, recordingLog.flushCount);
+
+            final int[] nextIndexes = new int[threadCount];
+            for (final String message : recordingLog.messages) { // Events from the same thread must retain their order.
+                final String[] parts = message.split(":");
+                final int threadIndex = Integer.parseInt(parts[0]);
+                Assert.assertEquals(nextIndexes[threadIndex], Integer.parseInt(parts[1]));
+                nextIndexes[threadIndex] += 1;
+            }
+
+            asyncLog.close();
+            Assert.assertTrue(recordingLog.isClosed);
+        }
+    }
+
+    @Test
+    public void should_drop_events_instead_of_blocking_when_sink_is_slow() {
+        // Setup
+        final CountDownLatch writeLatch = new CountDownLatch(1);
+        final RecordingLog recordingLog = new RecordingLog(writeLatch);
+        final AsyncLog asyncLog = new AsyncLog(recordingLog, 16, AsyncLog.WaitStrategy.PARK, AsyncLog.BackpressurePolicy.DROP_NEWEST);
+        final int eventCount = 100;
+
+        // Action
+        for (int i = 0; i < eventCount; ++i) {
+            asyncLog.write(AsyncLogTests.class, LogLevel.INFO, String.valueOf(i), null); // The sink is blocked; the write must not wait for it.
+        }
+        writeLatch.countDown();
+        asyncLog.close();
+
+        // Assert
+        final long droppedEventCount = asyncLog.getDroppedEventCount();
+        Assert.assertTrue(droppedEventCount >= (eventCount - asyncLog.getCapacity() - 1)); // The consumer may have removed one event before blocking.
+        Assert.assertEquals(droppedEventCount, asyncLog.getDroppedEventCount(LogLevel.INFO));
+        Assert.assertEquals(0L, asyncLog.getDroppedEventCount(LogLevel.WARN));
+
+        final int writtenEventCount = (recordingLog.messages.size() - 1); // The final message is the dropped-event summary.
+        Assert.assertEquals(eventCount, (writtenEventCount + droppedEventCount));
+        Assert.assertEquals("0", recordingLog.messages.get(0));
+        Assert.assertEquals(droppedEventCount + " events dropped (INFO: " + droppedEventCount + ").", recordingLog.messages.get(writtenEventCount));
+        Assert.assertTrue(recordingLog.isClosed);
+    }
+
+    @Test
+    public void should_drop_oldest_events_when_sink_is_slow() {
+        // Setup
+        final CountDownLatch writeLatch = new CountDownLatch(1);
+        final RecordingLog recordingLog = new RecordingLog(writeLatch);
+        final AsyncLog asyncLog = new AsyncLog(recordingLog, 16, AsyncLog.WaitStrategy.PARK, AsyncLog.BackpressurePolicy.DROP_OLDEST);
+        asyncLog.setDroppedEventSummaryInterval(0L);
+        final int eventCount = 100;
+
+        // Action
+        for (int i = 0; i < eventCount; ++i) {
+            asyncLog.write(AsyncLogTests.class, LogLevel.INFO, String.valueOf(i), null);
+        }
+        writeLatch.countDown();
+        asyncLog.close();
+
+        // Assert
+        final long droppedEventCount = asyncLog.getDroppedEventCount();
+        Assert.assertTrue(droppedEventCount >= (eventCount - asyncLog.getCapacity() - 1));
+        Assert.assertEquals(eventCount, (recordingLog.messages.size() + droppedEventCount));
+
+        final int messageCount = recordingLog.messages.size();
+        for (int i = 0; i < asyncLog.getCapacity(); ++i) { // The most recent events are retained.
+            Assert.assertEquals(String.valueOf(eventCount - 1 - i), recordingLog.messages.get(messageCount - 1 - i));
+        }
+    }
+
+    @Test
+    public void should_never_drop_events_when_blocking() throws Exception {
+        // Setup
+        final CountDownLatch writeLatch = new CountDownLatch(1);
+        final RecordingLog recordingLog = new RecordingLog(writeLatch);
+        final AsyncLog asyncLog = new AsyncLog(recordingLog, 4, AsyncLog.WaitStrategy.PARK, AsyncLog.BackpressurePolicy.BLOCK);
+        final int eventCount = 64;
+
+        final Thread releaseThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try { Thread.sleep(50L); } catch (final InterruptedException exception) { }
+                writeLatch.countDown();
+            }
+        });
+
+        // Action
+        releaseThread.start();
+        for (int i = 0; i < eventCount; ++i) {
+            asyncLog.write(AsyncLogTests.class, LogLevel.INFO, String.valueOf(i), null);
+        }
+        asyncLog.close();
+        releaseThread.join();
+
+        // Assert
+        Assert.assertEquals(0L, asyncLog.getDroppedEventCount());
+        Assert.assertEquals(eventCount, recordingLog.messages.size());
+        for (int i = 0; i < eventCount; ++i) {
+            Assert.assertEquals(String.valueOf(i), recordingLog.messages.get(i));
+        }
+    }
+
+    @Test
+    public void should_only_drop_events_below_threshold() throws Exception {
+        // Setup
+        final CountDownLatch writeLatch = new CountDownLatch(1);
+        final RecordingLog recordingLog = new RecordingLog(writeLatch);
+        final AsyncLog asyncLog = new AsyncLog(recordingLog, 4, AsyncLog.WaitStrategy.PARK, AsyncLog.BackpressurePolicy.DROP_BELOW_THRESHOLD, LogLevel.WARN);
+        asyncLog.setDroppedEventSummaryInterval(0L);
+        final int eventCount = 64;
+
+        final Thread releaseThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try { Thread.sleep(50L); } catch (final InterruptedException exception) { }
+                writeLatch.countDown();
+            }
+        });
+
+        // Action
+        releaseThread.start();
+        for (int i = 0; i < eventCount; ++i) { // The sink is blocked, so the first half (DEBUG) overflows the buffer; the second half (ERROR) waits for it.
+            final LogLevel logLevel = ((i < (eventCount / 2)) ? LogLevel.DEBUG : LogLevel.ERROR);
+            asyncLog.write(AsyncLogTests.class, logLevel, (logLevel + ":" + i), null);
+        }
+        asyncLog.close();
+        releaseThread.join();
+
+        // Assert
+        Assert.assertEquals(0L, asyncLog.getDroppedEventCount(LogLevel.ERROR));
+        Assert.assertTrue(asyncLog.getDroppedEventCount(LogLevel.DEBUG) >= ((eventCount / 2) - asyncLog.getCapacity() - 1));
+
+        int errorCount = 0;
+        for (final String message : recordingLog.messages) {
+            if (message.startsWith("ERROR:")) {
+                errorCount += 1;
+            }
+        }
+        Assert.assertEquals((eventCount / 2), errorCount);
+    }
+
+    @Test
+    public void should_flush_while_producers_continue_writing() throws Exception {
+        // Setup
+        final RecordingLog recordingLog = new RecordingLog(new CountDownLatch(0));
+        final AsyncLog asyncLog = new AsyncLog(recordingLog, 1024, AsyncLog.WaitStrategy.PARK, AsyncLog.BackpressurePolicy.BLOCK);
+        final int eventCount = 16;
+        for (int i = 0; i < eventCount; ++i) {
+            asyncLog.write(AsyncLogTests.class, LogLevel.INFO, String.valueOf(i), null);
+        }
+
+        final Thread producerThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (! Thread.currentThread().isInterrupted()) {
+                    asyncLog.write(AsyncLogTests.class, LogLevel.DEBUG, "Producer", null);
+                }
+            }
+        });
+        producerThread.start();
+
+        // Action
+        asyncLog.flush();
+        final int flushCount = recordingLog.flushCount;
+        final int messageCount = recordingLog.messages.size();
+        producerThread.interrupt();
+        producerThread.join();
+        asyncLog.close();
+
+        // Assert
+        Assert.assertEquals(1, flushCount);
+        Assert.assertTrue(messageCount >= eventCount);
+        for (int i = 0; i < eventCount; ++i) {
+            Assert.assertEquals(String.valueOf(i), recordingLog.messages.get(i));
+        }
+    }
+
+    @Test
+    public void should_write_events_synchronously_after_close() {
+        // Setup
+        final RecordingLog recordingLog = new RecordingLog(new CountDownLatch(0));
+        final AsyncLog asyncLog = new AsyncLog(recordingLog);
+        asyncLog.close();
+
+        // Action
+        asyncLog.write(AsyncLogTests.class, LogLevel.INFO, "Message", null);
+
+        // Assert
+        Assert.assertEquals(1, recordingLog.messages.size());
+        Assert.assertEquals("Message", recordingLog.messages.get(0));
+    }
+}
@@ -0,0 +1,109 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.Log;
+import com.softwareverde.logging.LogLevel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BinaryLogTests {
+    protected static class StringBuilderWriter implements AbstractLog.Writer {
+        public final StringBuilder stringBuilder = new StringBuilder();
+
+        @Override
+        public void write(final String string) {
+            this.stringBuilder.append(string);
+        }
+
+        @Override
+        public void write(final Throwable exception) {
+            final StringWriter stringWriter = new StringWriter();
+            exception.printStackTrace(new PrintWriter(stringWriter));
+            this.stringBuilder.append(stringWriter);
+        }
+    }
+
+    protected static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    protected static void writeStatements(final Log log, final AtomicLong clock, final Exception exception) {
+        clock.set(1600000000123L);
+        log.write(BinaryLogTests.class, LogLevel.TRACE, "Trace message.", null);
+        clock.set(1600000000124L);
+        log.write(BinaryLogTests.class, LogLevel.INFO, "Message {} of {}.", new Object[] { 1, "\uD83D\uDE00" }, null);
+        clock.set(1600000000100L); // The clock moved backwards.
+        log.write(String.class, LogLevel.WARN, "Warn message.", exception);
+        clock.set(1600000005000L);
+        log.write(BinaryLogTests.class, LogLevel.ERROR, null, exception);
+        log.write(String.class, LogLevel.DEBUG, "", null);
+        log.write(BinaryLogTests.class, LogLevel.DEBUG, null, null); // Nothing is written.
+    }
+
+    @Test
+    public void should_decode_records_as_annotated_log_text() throws IOException {
+        // Setup
+        final AtomicLong clock = new AtomicLong(0L);
+        final Exception exception = new Exception("Failure \u00E9");
+
+        final StringBuilderWriter expectedWriter = new StringBuilderWriter();
+        final AnnotatedLog annotatedLog = new AnnotatedLog(expectedWriter, expectedWriter) { };
+        annotatedLog.setTimestampFormatter(new TimestampFormatter(Layout.DEFAULT_TIMESTAMP_PATTERN, UTC, clock::get));
+        BinaryLogTests.writeStatements(annotatedLog, clock, exception);
+
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        final BinaryLog binaryLog = new BinaryLog(Channels.newChannel(byteArrayOutputStream), BinaryLog.DEFAULT_BUFFER_SIZE, clock::get);
+        BinaryLogTests.writeStatements(binaryLog, clock, exception);
+        binaryLog.close();
+
+        final BinaryLogDecoder binaryLogDecoder = new BinaryLogDecoder(new TimestampFormatter(Layout.DEFAULT_TIMESTAMP_PATTERN, UTC), System.lineSeparator());
+        final StringBuilderWriter decodedWriter = new StringBuilderWriter();
+
+        // Action
+        final long eventCount = binaryLogDecoder.decode(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()), decodedWriter);
+
+        // Assert
+        Assert.assertEquals(5L, eventCount);
+        Assert.assertEquals(expectedWriter.stringBuilder.toString(), decodedWriter.stringBuilder.toString());
+    }
+
+    @Test
+    public void should_decode_appended_segments_and_ignore_truncated_record() throws IOException {
+        // Setup
+        final AtomicLong clock = new AtomicLong(1600000000000L);
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+
+        final BinaryLog binaryLog = new BinaryLog(Channels.newChannel(byteArrayOutputStream), BinaryLog.DEFAULT_BUFFER_SIZE, clock::get);
+        binaryLog.write(BinaryLogTests.class, LogLevel.INFO, "Message 1", null);
+        binaryLog.close();
+
+        final BinaryLog appendingBinaryLog = new BinaryLog(Channels.newChannel(byteArrayOutputStream), BinaryLog.DEFAULT_BUFFER_SIZE, clock::get);
+        appendingBinaryLog.write(String.class, LogLevel.INFO, "Message 2", null);
+        appendingBinaryLog.write(BinaryLogTests.class, LogLevel.INFO, "Message 3", null);
+        appendingBinaryLog.close();
+
+        final byte[] bytes = byteArrayOutputStream.toByteArray();
+        final byte[] truncatedBytes = new byte[bytes.length - 3];
+        System.arraycopy(bytes, 0, truncatedBytes, 0, truncatedBytes.length);
+
+        final BinaryLogDecoder binaryLogDecoder = new BinaryLogDecoder(new TimestampFormatter(Layout.DEFAULT_TIMESTAMP_PATTERN, UTC), "\n");
+        final StringBuilderWriter decodedWriter = new StringBuilderWriter();
+
+        // Action
+        final long eventCount = binaryLogDecoder.decode(new ByteArrayInputStream(truncatedBytes), decodedWriter);
+
+        // Assert
+        Assert.assertEquals(2L, eventCount);
+        Assert.assertEquals(
+            "[2020-09-13 12:26:40.000] [" + Layout.getClassName(BinaryLogTests.class) + "] Message 1\n" +
+            "[2020-09-13 12:26:40.000] [" + Layout.getClassName(String.class) + "] Message 2\n",
+            decodedWriter.stringBuilder.toString()
+        );
+    }
+}
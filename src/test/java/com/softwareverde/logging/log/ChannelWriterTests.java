@@ -0,0 +1,99 @@
+package com.softwareverde.logging.log;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+public class ChannelWriterTests {
+    protected static String repeat(final String string, final int count) {
+        final StringBuilder stringBuilder = new StringBuilder();
+        for (int i = 0; i < count; ++i) {
+            stringBuilder.append(string);
+        }
+        return stringBuilder.toString();
+    }
+
+    @Test
+    public void should_encode_strings_identically_to_string_get_bytes() {
+        final String[] strings = new String[] {
+            "",
+            "Plain ASCII message.\n",
+            "Latin-1: caf\u00E9, \u00FCber; Greek: \u03B1\u03B2\u03B3; CJK: \u65E5\u672C\u8A9E",
+            "Emoji: \uD83D\uDE00 and \uD83C\uDF89.",
+            "Unpaired: \uD83D and \uDE00 and trailing \uD83D",
+            ChannelWriterTests.repeat("\u00E9\uD83D\uDE00abc", 1000), // Spans many chunks and buffers, splitting surrogate pairs across chunk boundaries.
+            ChannelWriterTests.repeat("x", 1023) + "\uD83D\uDE00"
+        };
+
+        for (final String string : strings) {
+            // Setup
+            final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            final ChannelWriter channelWriter = new ChannelWriter(Channels.newChannel(byteArrayOutputStream), 64, false);
+
+            // Action
+            channelWriter.write(string);
+            channelWriter.write(new StringBuilder(string));
+            channelWriter.flush();
+
+            // Assert
+            final byte[] expectedBytes = string.getBytes(StandardCharsets.UTF_8);
+            final byte[] bytes = byteArrayOutputStream.toByteArray();
+            Assert.assertEquals((expectedBytes.length * 2), bytes.length);
+            for (int i = 0; i < expectedBytes.length; ++i) {
+                Assert.assertEquals(expectedBytes[i], bytes[i]);
+                Assert.assertEquals(expectedBytes[i], bytes[expectedBytes.length + i]);
+            }
+        }
+    }
+
+    @Test
+    public void should_only_write_buffer_when_flushed_if_auto_flush_is_disabled() {
+        // Setup
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        final ChannelWriter channelWriter = new ChannelWriter(Channels.newChannel(byteArrayOutputStream), 1024, false);
+
+        // Action
+        channelWriter.write("Message\n");
+        final int writtenByteCountBeforeFlush = byteArrayOutputStream.size();
+        channelWriter.flush();
+
+        // Assert
+        Assert.assertEquals(0, writtenByteCountBeforeFlush);
+        Assert.assertEquals("Message\n", new String(byteArrayOutputStream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void should_write_each_line_when_auto_flush_is_enabled() {
+        // Setup
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        final ChannelWriter channelWriter = new ChannelWriter(Channels.newChannel(byteArrayOutputStream));
+
+        // Action
+        channelWriter.write("Message\n");
+
+        // Assert
+        Assert.assertEquals("Message\n", new String(byteArrayOutputStream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void should_write_stack_trace() {
+        // Setup
+        final Exception exception = new Exception("Failure \u00E9");
+        final StringWriter stringWriter = new StringWriter();
+        exception.printStackTrace(new PrintWriter(stringWriter));
+
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        final ChannelWriter channelWriter = new ChannelWriter(Channels.newChannel(byteArrayOutputStream));
+
+        // Action
+        channelWriter.write(exception);
+
+        // Assert
+        Assert.assertEquals(stringWriter.toString(), new String(byteArrayOutputStream.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,156 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.Logger;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+public class FileLogTests {
+    protected static final String NEWLINE = System.lineSeparator();
+
+    protected static TimestampFormatter newFixedTimestampFormatter() {
+        return new TimestampFormatter(Layout.DEFAULT_TIMESTAMP_PATTERN, TimeZone.getTimeZone("UTC"), () -> 0L);
+    }
+
+    protected File _directory;
+
+    /**
+     * Returns the lines of every file within the directory (the rotated files and the current file).
+     */
+    protected List<String> _readAllLines() throws IOException {
+        final List<String> lines = new ArrayList<String>();
+        for (final File file : _directory.listFiles()) {
+            lines.addAll(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+        }
+        return lines;
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        _directory = Files.createTempDirectory("FileLogTests").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        Logger.setLogFactory(Logger.DEFAULT_LOG_FACTORY);
+
+        for (final File file : _directory.listFiles()) {
+            file.delete();
+        }
+        _directory.delete();
+    }
+
+    @Test
+    public void should_write_lines_to_file_when_flushed() throws IOException {
+        // Setup
+        final File file = new File(_directory, "test.log");
+        final FileLog fileLog = new FileLog(file);
+        fileLog.setTimestampFormatter(FileLogTests.newFixedTimestampFormatter());
+
+        // Action
+        fileLog.write(FileLogTests.class, LogLevel.INFO, "Message 1", null);
+        fileLog.write(FileLogTests.class, LogLevel.ERROR, "Message {}", new Object[] { 2 }, null);
+        fileLog.flush();
+        final String contents = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        fileLog.close();
+
+        // Assert
+        final String classAnnotation = Layout.getClassName(FileLogTests.class);
+        Assert.assertEquals(
+            "[1970-01-01 00:00:00.000] [" + classAnnotation + "] Message 1" + NEWLINE +
+            "[1970-01-01 00:00:00.000] [" + classAnnotation + "] Message 2" + NEWLINE,
+            contents
+        );
+    }
+
+    @Test
+    public void should_rotate_file_before_exceeding_max_file_size() throws IOException {
+        // Setup
+        final long maxFileByteCount = 1024L;
+        final File file = new File(_directory, "test.log");
+        final RollingFileWriter rollingFileWriter = new RollingFileWriter(file, maxFileByteCount, 0L, 1024, RollingFileWriter.DEFAULT_FLUSH_INTERVAL_MS);
+        final FileLog fileLog = new FileLog(rollingFileWriter);
+        fileLog.setTimestampFormatter(FileLogTests.newFixedTimestampFormatter());
+
+        // Action
+        for (int i = 0; i < 100; ++i) {
+            fileLog.write(FileLogTests.class, LogLevel.INFO, "Message " + i, null);
+            if ((i % 3) == 0) {
+                fileLog.flush();
+            }
+        }
+        fileLog.close();
+
+        // Assert
+        final File[] files = _directory.listFiles();
+        Assert.assertTrue(files.length > 1);
+        Assert.assertEquals((files.length - 1), rollingFileWriter.getRotationCount());
+        for (final File rotatedFile : files) {
+            Assert.assertTrue(rotatedFile.length() <= maxFileByteCount);
+        }
+
+        final List<String> lines = _readAllLines();
+        Assert.assertEquals(100, lines.size());
+        for (int i = 0; i < 100; ++i) {
+            final String message = ("Message " + i);
+            Assert.assertEquals(1L, lines.stream().filter(line -> line.endsWith("] " + message)).count()); // Each line is written once, and is not split across files.
+        }
+    }
+
+    @Test
+    public void should_rotate_file_when_rotation_interval_elapses() throws Exception {
+        // Setup
+        final File file = new File(_directory, "test.log");
+        final FileLog fileLog = new FileLog(file, 0L, 100L);
+
+        // Action
+        fileLog.write(FileLogTests.class, LogLevel.INFO, "Message 1", null);
+        fileLog.flush();
+        Thread.sleep(500L);
+        fileLog.write(FileLogTests.class, LogLevel.INFO, "Message 2", null);
+        fileLog.close();
+
+        // Assert
+        Assert.assertTrue(fileLog.getRollingFileWriter().getRotationCount() >= 1L);
+
+        int fileCount = 0;
+        for (final File logFile : _directory.listFiles()) {
+            final List<String> lines = Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8);
+            if (lines.isEmpty()) { continue; }
+
+            Assert.assertEquals(1, lines.size()); // The messages were written to separate files.
+            fileCount += 1;
+        }
+        Assert.assertEquals(2, fileCount);
+    }
+
+    @Test
+    public void should_write_statements_logged_via_logger() throws IOException {
+        // Setup
+        final File file = new File(_directory, "test.log");
+        final FileLog fileLog = new FileLog(file);
+        Logger.setLog(fileLog);
+
+        // Action
+        Logger.info("Info message.");
+        Logger.warn("Warn message.", new Exception("Failure"));
+        Logger.close();
+
+        // Assert
+        final List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        Assert.assertTrue(lines.get(0).endsWith("] Info message."));
+        Assert.assertTrue(lines.get(1).endsWith("] Warn message."));
+        Assert.assertEquals("java.lang.Exception: Failure", lines.get(2));
+        Assert.assertTrue(fileLog.getRollingFileWriter().isClosed());
+    }
+}
@@ -0,0 +1,81 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.Log;
+import com.softwareverde.logging.LogLevel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class FlightRecorderLogTests {
+    protected static class RecordingLog implements Log {
+        public final List<String> messages = new ArrayList<String>();
+
+        @Override
+        public void write(final Class<?> callingClass, final LogLevel logLevel, final String nullableMessage, final Throwable nullableException) {
+            this.messages.add(logLevel + " " + nullableMessage);
+        }
+    }
+
+    @Test
+    public void should_dump_most_recent_events_including_recorded_filtered_events() {
+        // Setup
+        final AtomicLong clock = new AtomicLong(1000L);
+        final RecordingLog recordingLog = new RecordingLog();
+        final FlightRecorderLog flightRecorderLog = new FlightRecorderLog(recordingLog, 3, clock::get);
+        final Log recorder = flightRecorderLog.getRecorder();
+        final TimestampFormatter timestampFormatter = new TimestampFormatter(Layout.DEFAULT_TIMESTAMP_PATTERN);
+
+        // Action
+        flightRecorderLog.write(FlightRecorderLogTests.class, LogLevel.INFO, "Info 0", null); // Overwritten.
+        recorder.write(FlightRecorderLogTests.class, LogLevel.DEBUG, "Debug {}", new Object[]{ 1 }, null);
+        clock.set(2000L);
+        flightRecorderLog.write(FlightRecorderLogTests.class, LogLevel.INFO, "Info {}", new Object[]{ 2 }, null);
+        recorder.write(FlightRecorderLogTests.class, LogLevel.TRACE, "Trace 3", null);
+        flightRecorderLog.write(FlightRecorderLogTests.class, LogLevel.WARN, null, new RuntimeException());
+
+        final RecordingLog dumpLog = new RecordingLog();
+        final int dumpedEventCount = flightRecorderLog.dump(dumpLog);
+
+        // Assert
+        Assert.assertEquals(4, flightRecorderLog.getCapacity());
+        Assert.assertEquals(5L, flightRecorderLog.getRecordedEventCount());
+        Assert.assertEquals("[INFO Info 0, INFO Info 2, WARN null]", recordingLog.messages.toString());
+
+        final String firstTimestamp = ("[recorded " + timestampFormatter.format(1000L) + "]");
+        final String secondTimestamp = ("[recorded " + timestampFormatter.format(2000L) + "]");
+        Assert.assertEquals(4, dumpedEventCount);
+        Assert.assertEquals(
+            "[DEBUG " + firstTimestamp + " Debug 1, " +
+            "INFO " + secondTimestamp + " Info 2, " +
+            "TRACE " + secondTimestamp + " Trace 3, " +
+            "WARN " + secondTimestamp + "]",
+            dumpLog.messages.toString()
+        );
+    }
+
+    @Test
+    public void should_dump_events_recorded_since_previous_dump_on_error() {
+        // Setup
+        final RecordingLog recordingLog = new RecordingLog();
+        final FlightRecorderLog flightRecorderLog = new FlightRecorderLog(recordingLog, 16, () -> 0L);
+        final RecordingLog dumpLog = new RecordingLog();
+        flightRecorderLog.setDumpLog(dumpLog);
+
+        // Action
+        flightRecorderLog.getRecorder().write(FlightRecorderLogTests.class, LogLevel.DEBUG, "Debug 0", null);
+        flightRecorderLog.write(FlightRecorderLogTests.class, LogLevel.ERROR, "Error 1", null);
+        flightRecorderLog.write(FlightRecorderLogTests.class, LogLevel.INFO, "Info 2", null);
+        flightRecorderLog.write(FlightRecorderLogTests.class, LogLevel.ERROR, "Error 3", null);
+
+        // Assert
+        Assert.assertEquals(4, dumpLog.messages.size());
+        Assert.assertTrue(dumpLog.messages.get(0).startsWith("DEBUG [recorded "));
+        Assert.assertTrue(dumpLog.messages.get(0).endsWith("] Debug 0"));
+        Assert.assertTrue(dumpLog.messages.get(1).endsWith("] Error 1"));
+        Assert.assertTrue(dumpLog.messages.get(2).endsWith("] Info 2"));
+        Assert.assertTrue(dumpLog.messages.get(3).endsWith("] Error 3"));
+    }
+}
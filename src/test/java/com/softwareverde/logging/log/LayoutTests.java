@@ -0,0 +1,102 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.LogLevel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LayoutTests {
+    protected static class ListWriter implements AbstractLog.Writer {
+        public final List<String> lines = new ArrayList<String>();
+
+        @Override
+        public void write(final String string) {
+            this.lines.add(string);
+        }
+
+        @Override
+        public void write(final Throwable exception) {
+            this.lines.add(exception.getClass().getName());
+        }
+    }
+
+    protected static final String NEW_LINE = System.lineSeparator();
+
+    @Test
+    public void should_render_pattern_conversions() {
+        // Setup
+        final Layout layout = Layout.fromPattern("%level|%class|%thread|%message|100%%|%unknown{x}|%d{'T'}%n");
+        final String threadName = Thread.currentThread().getName();
+
+        // Action
+        final String line = layout.format(LayoutTests.class, LogLevel.WARN, "Value: {}", new Object[]{ 7 });
+
+        // Assert
+        Assert.assertEquals("WARN|com.softwareverde.logging.log.LayoutTests|" + threadName + "|Value: 7|100%|%unknown{x}|T" + NEW_LINE, line);
+    }
+
+    @Test
+    public void should_render_message_verbatim_without_arguments() {
+        // Setup
+        final Layout layout = Layout.fromPattern("%m");
+
+        // Action
+        final String line = layout.format(LayoutTests.class, LogLevel.INFO, "Value: {}", null);
+
+        // Assert
+        Assert.assertEquals("Value: {}", line);
+    }
+
+    @Test
+    public void should_omit_empty_annotations_and_their_separators() {
+        // Setup
+        final Layout.Segment emptySegment = Layout.literal("");
+        final Layout layout = new Layout(
+            Layout.annotation(emptySegment),
+            Layout.annotation(Layout.logLevel()),
+            Layout.annotation(emptySegment),
+            Layout.annotation(Layout.literal("A")),
+            Layout.separated(Layout.message())
+        );
+
+        // Action
+        final String lineWithMessage = layout.format(LayoutTests.class, LogLevel.INFO, "Message", null);
+        final String lineWithoutMessage = layout.format(LayoutTests.class, LogLevel.INFO, "", null);
+
+        // Assert
+        Assert.assertEquals("[INFO] [A] Message", lineWithMessage);
+        Assert.assertEquals("[INFO] [A]", lineWithoutMessage);
+    }
+
+    @Test
+    public void should_render_annotated_layout_identically_to_annotated_log() {
+        // Setup
+        final ListWriter listWriter = new ListWriter();
+        final TimestampFormatter timestampFormatter = new TimestampFormatter(Layout.DEFAULT_TIMESTAMP_PATTERN, java.util.TimeZone.getDefault(), () -> 1600000000123L);
+
+        final AnnotatedLog annotatedLog = new AnnotatedLog(listWriter, listWriter) { };
+        annotatedLog.setTimestampFormatter(timestampFormatter);
+
+        final Layout layout = new Layout(
+            Layout.annotation(Layout.timestamp(timestampFormatter)),
+            Layout.annotation(Layout.className()),
+            Layout.separated(Layout.message()),
+            Layout.newLine()
+        );
+        final LayoutLog layoutLog = new LayoutLog(layout, listWriter, listWriter);
+
+        // Action
+        annotatedLog.write(LayoutTests.class, LogLevel.INFO, "Message", null);
+        layoutLog.write(LayoutTests.class, LogLevel.INFO, "Message", null);
+        annotatedLog.write(LayoutTests.class, LogLevel.INFO, "Message {}", new Object[]{ 1 }, null);
+        layoutLog.write(LayoutTests.class, LogLevel.INFO, "Message {}", new Object[]{ 1 }, null);
+
+        // Assert
+        Assert.assertEquals(4, listWriter.lines.size());
+        Assert.assertEquals("[" + timestampFormatter.format() + "] [com.softwareverde.logging.log.LayoutTests] Message" + NEW_LINE, listWriter.lines.get(0));
+        Assert.assertEquals(listWriter.lines.get(0), listWriter.lines.get(1));
+        Assert.assertEquals(listWriter.lines.get(2), listWriter.lines.get(3));
+    }
+}
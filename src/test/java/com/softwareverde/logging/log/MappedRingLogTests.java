@@ -0,0 +1,92 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.LogLevel;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+public class MappedRingLogTests {
+    protected File _file;
+
+    @Before
+    public void setUp() throws IOException {
+        _file = Files.createTempFile("MappedRingLogTests", ".ring").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        _file.delete();
+    }
+
+    @Test
+    public void should_read_last_records_in_order() throws IOException {
+        // Setup
+        final MappedRingLog mappedRingLog = new MappedRingLog(_file, 64 * 1024);
+        for (int i = 0; i < 10; ++i) {
+            mappedRingLog.write(MappedRingLogTests.class, LogLevel.INFO, "Message " + i, null);
+        }
+
+        // Action
+        final List<String> records = MappedRingReader.readLastRecords(_file, 3); // Read before closing, as after a crash.
+
+        // Assert
+        Assert.assertEquals(3, records.size());
+        Assert.assertTrue(records.get(0).endsWith("] Message 7" + System.lineSeparator()));
+        Assert.assertTrue(records.get(1).endsWith("] Message 8" + System.lineSeparator()));
+        Assert.assertTrue(records.get(2).endsWith("] Message 9" + System.lineSeparator()));
+
+        mappedRingLog.close();
+    }
+
+    @Test
+    public void should_only_read_records_that_have_not_been_overwritten() throws IOException {
+        // Setup
+        final int capacity = 1024;
+        final MappedRingWriter mappedRingWriter = new MappedRingWriter(_file, capacity);
+
+        // Action
+        for (int i = 0; i < 1000; ++i) {
+            mappedRingWriter.write("Message " + i + " \u00E9\uD83D\uDE00");
+        }
+        mappedRingWriter.close();
+        final List<String> records = MappedRingReader.readLastRecords(_file, Integer.MAX_VALUE);
+
+        // Assert
+        Assert.assertTrue(records.size() > 10);
+        Assert.assertTrue((records.size() * 20) <= capacity); // Each record is at least 20 bytes.
+
+        final int firstIndex = (1000 - records.size());
+        for (int i = 0; i < records.size(); ++i) {
+            Assert.assertEquals(("Message " + (firstIndex + i) + " \u00E9\uD83D\uDE00"), records.get(i));
+        }
+    }
+
+    @Test
+    public void should_append_to_existing_ring_when_reopened() throws IOException {
+        // Setup
+        final MappedRingWriter mappedRingWriter = new MappedRingWriter(_file, 4096);
+        mappedRingWriter.write("Message 1");
+        mappedRingWriter.write("Message 2");
+        mappedRingWriter.close();
+
+        // Action
+        final MappedRingWriter reopenedMappedRingWriter = new MappedRingWriter(_file, 4096);
+        reopenedMappedRingWriter.write("Message 3");
+        reopenedMappedRingWriter.write(new Exception("Failure"));
+        reopenedMappedRingWriter.close();
+
+        // Assert
+        final List<String> records = MappedRingReader.readLastRecords(_file, 10);
+        Assert.assertEquals(4, records.size());
+        Assert.assertEquals("Message 1", records.get(0));
+        Assert.assertEquals("Message 2", records.get(1));
+        Assert.assertEquals("Message 3", records.get(2));
+        Assert.assertTrue(records.get(3).startsWith("java.lang.Exception: Failure"));
+    }
+}
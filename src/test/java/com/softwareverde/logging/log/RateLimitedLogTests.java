@@ -0,0 +1,105 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.Log;
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.RateLimit;
+import com.softwareverde.logging.RateLimiter;
+import com.softwareverde.util.Package;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RateLimitedLogTests {
+    protected static class RecordingLog implements Log {
+        public final List<String> messages = new ArrayList<String>();
+
+        @Override
+        public void write(final Class<?> callingClass, final LogLevel logLevel, final String nullableMessage, final Throwable nullableException) {
+            this.messages.add(logLevel + " " + nullableMessage);
+        }
+    }
+
+    @Test
+    public void should_suppress_statements_over_budget_and_summarize_them() {
+        // Setup
+        final AtomicLong clock = new AtomicLong(0L);
+        final RateLimiter rateLimiter = new RateLimiter(clock::get);
+        rateLimiter.setRateLimit(RateLimitedLogTests.class, LogLevel.INFO, new RateLimit(1D, 2));
+
+        final RecordingLog recordingLog = new RecordingLog();
+        final RateLimitedLog rateLimitedLog = new RateLimitedLog(recordingLog, rateLimiter, 10000L);
+
+        // Action
+        for (int i = 0; i < 5; ++i) {
+            rateLimitedLog.write(RateLimitedLogTests.class, LogLevel.INFO, "Info " + i, null);
+            rateLimitedLog.write(RateLimitedLogTests.class, LogLevel.DEBUG, "Debug " + i, null); // DEBUG is not limited.
+            rateLimitedLog.write("retry-loop", RateLimitedLogTests.class, LogLevel.INFO, "Retry " + i, null);
+        }
+
+        clock.set(TimeUnit.SECONDS.toNanos(1L));
+        rateLimitedLog.write(RateLimitedLogTests.class, LogLevel.INFO, "Info {}", new Object[] { 5 }, null);
+        rateLimitedLog.write(RateLimitedLogTests.class, LogLevel.INFO, "Info {}", new Object[] { 6 }, null);
+
+        clock.set(TimeUnit.SECONDS.toNanos(10L));
+        rateLimitedLog.write(RateLimitedLogTests.class, LogLevel.INFO, "Info 7", null);
+
+        // Assert
+        final String className = Layout.getClassName(RateLimitedLogTests.class);
+        Assert.assertEquals(
+            "[INFO Info 0, DEBUG Debug 0, INFO Retry 0, " +
+            "INFO Info 1, DEBUG Debug 1, INFO Retry 1, " +
+            "DEBUG Debug 2, DEBUG Debug 3, DEBUG Debug 4, " +
+            "INFO Info 5, " +
+            "INFO Suppressed 4 messages from " + className + "., " +
+            "INFO Suppressed 3 messages from retry-loop., " +
+            "INFO Info 7]",
+            recordingLog.messages.toString()
+        );
+        Assert.assertEquals(7L, rateLimiter.getSuppressedEventCount(LogLevel.INFO));
+        Assert.assertEquals(0L, rateLimiter.getSuppressedEventCount(LogLevel.DEBUG));
+    }
+
+    @Test
+    public void should_resolve_rate_limits_via_package_hierarchy() {
+        // Setup
+        final RateLimiter rateLimiter = new RateLimiter(() -> 0L);
+        rateLimiter.setRateLimit("com.softwareverde", null, new RateLimit(0D));
+        rateLimiter.setRateLimit("com.softwareverde.logging.log", LogLevel.WARN, RateLimit.UNLIMITED);
+
+        // Action
+        final boolean wasPackageInfoAllowed = rateLimiter.tryAcquire(RateLimitedLogTests.class, LogLevel.INFO);
+        final boolean wasPackageWarnAllowed = rateLimiter.tryAcquire(RateLimitedLogTests.class, LogLevel.WARN);
+        final boolean wasOtherPackageWarnAllowed = rateLimiter.tryAcquire(Package.class, LogLevel.WARN);
+        final boolean wasUnlimitedClassAllowed = rateLimiter.tryAcquire(String.class, LogLevel.WARN);
+
+        // Assert
+        Assert.assertFalse(wasPackageInfoAllowed);
+        Assert.assertTrue(wasPackageWarnAllowed);
+        Assert.assertFalse(wasOtherPackageWarnAllowed);
+        Assert.assertTrue(wasUnlimitedClassAllowed);
+        Assert.assertEquals(2L, rateLimiter.getSuppressedEventCount());
+    }
+
+    @Test
+    public void should_stop_throttling_once_rate_limit_is_removed() {
+        // Setup
+        final RateLimiter rateLimiter = new RateLimiter(() -> 0L);
+        rateLimiter.setRateLimit("com.softwareverde.logging", LogLevel.INFO, new RateLimit(0D));
+        rateLimiter.setRateLimit(RateLimitedLogTests.class, LogLevel.INFO, new RateLimit(0D));
+        final boolean wasAllowedBeforeRemoval = rateLimiter.tryAcquire(RateLimitedLogTests.class, LogLevel.INFO);
+
+        // Action
+        rateLimiter.setRateLimit("com.softwareverde.logging", LogLevel.INFO, null);
+        rateLimiter.setRateLimit(RateLimitedLogTests.class, null, null);
+        final boolean wasAllowedAfterRemoval = rateLimiter.tryAcquire(RateLimitedLogTests.class, LogLevel.INFO);
+
+        // Assert
+        Assert.assertFalse(wasAllowedBeforeRemoval);
+        Assert.assertTrue(wasAllowedAfterRemoval);
+        Assert.assertNull(rateLimiter.getRateLimit(RateLimitedLogTests.class, LogLevel.INFO));
+    }
+}
@@ -0,0 +1,169 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.LogLevel;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+public class RotatedFileCompressorTests {
+    protected static byte[] readAllBytes(final InputStream inputStream) throws IOException {
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        int byteCount;
+        while ((byteCount = inputStream.read(buffer)) >= 0) {
+            byteArrayOutputStream.write(buffer, 0, byteCount);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    protected File _directory;
+
+    @Before
+    public void setUp() throws IOException {
+        _directory = Files.createTempDirectory("RotatedFileCompressorTests").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        for (final File file : _directory.listFiles()) {
+            file.delete();
+        }
+        _directory.delete();
+    }
+
+    @Test
+    public void should_compress_rotated_files_and_delete_files_beyond_retention_count() throws IOException {
+        // Setup
+        final File file = new File(_directory, "test.log");
+        final RollingFileWriter rollingFileWriter = new RollingFileWriter(file, 1024L, 0L, 1024, RollingFileWriter.DEFAULT_FLUSH_INTERVAL_MS);
+        final RotatedFileCompressor rotatedFileCompressor = new RotatedFileCompressor(2, 0L);
+        final FileLog fileLog = new FileLog(rollingFileWriter, rotatedFileCompressor);
+
+        // Action
+        for (int i = 0; i < 100; ++i) {
+            fileLog.write(RotatedFileCompressorTests.class, LogLevel.INFO, "Message " + i, null);
+            fileLog.flush();
+        }
+        fileLog.close();
+
+        // Assert
+        final List<File> compressedFiles = new ArrayList<File>();
+        for (final File directoryFile : _directory.listFiles()) {
+            if (directoryFile.equals(file)) { continue; }
+            Assert.assertTrue(directoryFile.getName().endsWith(".gz"));
+            compressedFiles.add(directoryFile);
+        }
+        Assert.assertEquals(2, compressedFiles.size());
+
+        for (final File compressedFile : compressedFiles) {
+            try (final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new FileInputStream(compressedFile)), StandardCharsets.UTF_8))) {
+                final String line = bufferedReader.readLine();
+                Assert.assertTrue(line.contains("] Message "));
+            }
+        }
+
+        Assert.assertEquals(rollingFileWriter.getRotationCount(), rotatedFileCompressor.getCompressedFileCount());
+        Assert.assertEquals((rollingFileWriter.getRotationCount() - 2L), rotatedFileCompressor.getDeletedFileCount());
+        Assert.assertTrue(fileLog.getRetainedByteCount() < fileLog.getWrittenByteCount());
+        Assert.assertEquals((file.length() + compressedFiles.get(0).length() + compressedFiles.get(1).length()), fileLog.getRetainedByteCount());
+    }
+
+    @Test
+    public void should_delete_uncompressed_files_beyond_retention_count_after_close() throws IOException {
+        // Setup
+        final File file = new File(_directory, "test.log");
+        final RotatedFileCompressor rotatedFileCompressor = new RotatedFileCompressor(1, 0L);
+        rotatedFileCompressor.close();
+
+        final List<File> rotatedFiles = new ArrayList<File>();
+        for (int i = 0; i < 3; ++i) {
+            final File rotatedFile = new File(_directory, "test.log.20200913-122640." + i);
+            Files.write(rotatedFile.toPath(), ("Message " + i).getBytes(StandardCharsets.UTF_8));
+            rotatedFile.setLastModified(1600000000000L + i);
+            rotatedFiles.add(rotatedFile);
+        }
+
+        // Action
+        for (final File rotatedFile : rotatedFiles) {
+            rotatedFileCompressor.onFileRotated(file, rotatedFile);
+        }
+
+        // Assert
+        Assert.assertFalse(rotatedFiles.get(0).exists());
+        Assert.assertFalse(rotatedFiles.get(1).exists());
+        Assert.assertTrue(rotatedFiles.get(2).exists());
+        Assert.assertEquals(0L, rotatedFileCompressor.getCompressedFileCount());
+        Assert.assertEquals(2L, rotatedFileCompressor.getDeletedFileCount());
+        Assert.assertEquals(1, rotatedFileCompressor.getRetainedFileCount());
+    }
+
+    @Test
+    public void should_order_compressed_and_uncompressed_files_of_same_modification_time_by_suffix() throws IOException {
+        // Setup
+        final File file = new File(_directory, "test.log");
+        final RotatedFileCompressor rotatedFileCompressor = new RotatedFileCompressor(1, 0L);
+        rotatedFileCompressor.close();
+
+        final File compressedFile = new File(_directory, "test.log.20200913-122640.8.gz");
+        final File rotatedFile = new File(_directory, "test.log.20200913-122640.9");
+        Files.write(compressedFile.toPath(), "Message 8".getBytes(StandardCharsets.UTF_8));
+        Files.write(rotatedFile.toPath(), "Message 9".getBytes(StandardCharsets.UTF_8));
+        compressedFile.setLastModified(1600000000000L);
+        rotatedFile.setLastModified(1600000000000L);
+
+        // Action
+        rotatedFileCompressor.onFileRotated(file, rotatedFile);
+
+        // Assert
+        Assert.assertFalse(compressedFile.exists());
+        Assert.assertTrue(rotatedFile.exists());
+        Assert.assertEquals(1L, rotatedFileCompressor.getDeletedFileCount());
+    }
+
+    @Test
+    public void should_deflate_rotated_file_at_configured_level() throws IOException {
+        // Setup
+        final File file = new File(_directory, "test.log");
+        final File rotatedFile = new File(_directory, "test.log.20200913-122640");
+        final StringBuilder stringBuilder = new StringBuilder();
+        for (int i = 0; i < 1000; ++i) {
+            stringBuilder.append("[2020-09-13 12:26:40.123] [RotatedFileCompressorTests] Message ").append(i).append('\n');
+        }
+        final byte[] bytes = stringBuilder.toString().getBytes(StandardCharsets.UTF_8);
+        Files.write(rotatedFile.toPath(), bytes);
+
+        final RotatedFileCompressor rotatedFileCompressor = new RotatedFileCompressor(RotatedFileCompressor.Format.DEFLATE, Deflater.BEST_COMPRESSION, 0, 0L);
+
+        // Action
+        rotatedFileCompressor.onFileRotated(file, rotatedFile);
+        rotatedFileCompressor.close();
+
+        // Assert
+        final File compressedFile = new File(_directory, "test.log.20200913-122640.deflate");
+        Assert.assertFalse(rotatedFile.exists());
+        Assert.assertTrue(compressedFile.exists());
+        Assert.assertEquals(bytes.length, rotatedFileCompressor.getUncompressedByteCount());
+        Assert.assertEquals(compressedFile.length(), rotatedFileCompressor.getCompressedByteCount());
+        Assert.assertTrue(compressedFile.length() < bytes.length);
+
+        try (final InputStream inputStream = new InflaterInputStream(new FileInputStream(compressedFile))) {
+            Assert.assertArrayEquals(bytes, RotatedFileCompressorTests.readAllBytes(inputStream));
+        }
+    }
+}
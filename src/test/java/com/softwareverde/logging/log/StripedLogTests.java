@@ -0,0 +1,230 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.LogLevel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class StripedLogTests {
+    /**
+     * Retains the bytes written to it; each write consumes at most maxWriteByteCount bytes, so that partial writes are exercised.
+     */
+    protected static class RecordingChannel implements GatheringByteChannel {
+        protected final ByteArrayOutputStream _byteArrayOutputStream = new ByteArrayOutputStream();
+        protected final int _maxWriteByteCount;
+        protected int _gatheringWriteCount = 0;
+
+        public RecordingChannel(final int maxWriteByteCount) {
+            _maxWriteByteCount = maxWriteByteCount;
+        }
+
+        @Override
+        public synchronized int write(final ByteBuffer byteBuffer) {
+            final int byteCount = Math.min(_maxWriteByteCount, byteBuffer.remaining());
+            for (int i = 0; i < byteCount; ++i) {
+                _byteArrayOutputStream.write(byteBuffer.get());
+            }
+            return byteCount;
+        }
+
+        @Override
+        public synchronized long write(final ByteBuffer[] byteBuffers, final int offset, final int length) {
+            _gatheringWriteCount += 1;
+
+            long byteCount = 0L;
+            for (int i = offset; i < (offset + length); ++i) {
+                final int remainingByteCount = (int) (_maxWriteByteCount - byteCount);
+                if (remainingByteCount <= 0) { break; }
+
+                final ByteBuffer byteBuffer = byteBuffers[i];
+                final int limit = byteBuffer.limit();
+                byteBuffer.limit(byteBuffer.position() + Math.min(remainingByteCount, byteBuffer.remaining()));
+                byteCount += this.write(byteBuffer);
+                byteBuffer.limit(limit);
+            }
+            return byteCount;
+        }
+
+        @Override
+        public long write(final ByteBuffer[] byteBuffers) {
+            return this.write(byteBuffers, 0, byteBuffers.length);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() { }
+
+        public synchronized String getString() {
+            return new String(_byteArrayOutputStream.toByteArray(), StandardCharsets.UTF_8);
+        }
+
+        public synchronized int getGatheringWriteCount() {
+            return _gatheringWriteCount;
+        }
+    }
+
+    @Test
+    public void should_write_lines_of_each_thread_in_order_without_interleaving() throws Exception {
+        // Setup
+        final int threadCount = 8;
+        final int lineCount = 2000;
+        final String oversizedText = new String(new char[600]).replace('\u0000', '\u00E9'); // Larger than a buffer once encoded.
+
+        final RecordingChannel channel = new RecordingChannel(1000);
+        final StripedLog stripedLog = new StripedLog(new Layout(Layout.message(), Layout.newLine()), channel, channel, 256, 2, 1000L);
+
+        final List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < threadCount; ++i) {
+            final int threadIndex = i;
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < lineCount; ++j) {
+                        if ((j % 500) == 0) {
+                            stripedLog.write(StripedLogTests.class, LogLevel.WARN, "{} {} {}", new Object[]{ threadIndex, j, oversizedText }, null);
+                        }
+                        else {
+                            stripedLog.write(StripedLogTests.class, LogLevel.INFO, threadIndex + " " + j, null);
+                        }
+                    }
+                }
+            }));
+        }
+
+        // Action
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        stripedLog.flush();
+
+        // Assert
+        final int[] nextLineIndexes = new int[threadCount];
+        final String[] lines = channel.getString().split(System.lineSeparator());
+        Assert.assertEquals((threadCount * lineCount), lines.length);
+        for (final String line : lines) {
+            final String[] fields = line.split(" ");
+            final int threadIndex = Integer.parseInt(fields[0]);
+            final int lineIndex = Integer.parseInt(fields[1]);
+            Assert.assertEquals(nextLineIndexes[threadIndex], lineIndex);
+            Assert.assertEquals(((lineIndex % 500) == 0 ? 3 : 2), fields.length);
+            nextLineIndexes[threadIndex] += 1;
+        }
+        Assert.assertTrue(channel.getGatheringWriteCount() > 0);
+
+        stripedLog.close();
+    }
+
+    @Test
+    public void should_write_lines_written_concurrently_with_close() throws Exception {
+        // Setup
+        final int threadCount = 4;
+        final int lineCount = 5000;
+
+        final RecordingChannel channel = new RecordingChannel(Integer.MAX_VALUE);
+        final StripedLog stripedLog = new StripedLog(new Layout(Layout.message(), Layout.newLine()), channel, channel, 64, 2, 1000L);
+
+        final List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < threadCount; ++i) {
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < lineCount; ++j) {
+                        stripedLog.write(StripedLogTests.class, LogLevel.INFO, String.valueOf(j), null);
+                    }
+                }
+            }));
+        }
+
+        // Action
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+        stripedLog.close();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        final String[] lines = channel.getString().split(System.lineSeparator());
+        Assert.assertEquals((threadCount * lineCount), lines.length);
+    }
+
+    @Test
+    public void should_write_lines_of_thread_in_order_when_closed_concurrently() throws Exception {
+        // Setup
+        final int lineCount = 20000;
+
+        final RecordingChannel channel = new RecordingChannel(Integer.MAX_VALUE) {
+            @Override
+            public long write(final ByteBuffer[] byteBuffers, final int offset, final int length) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1L)); // Slows the writer, so that Blocks remain queued when the log is closed.
+                return super.write(byteBuffers, offset, length);
+            }
+        };
+        final StripedLog stripedLog = new StripedLog(new Layout(Layout.message(), Layout.newLine()), channel, channel, 64, 16, 1000L);
+
+        final CountDownLatch countDownLatch = new CountDownLatch(1);
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < lineCount; ++i) {
+                    stripedLog.write(StripedLogTests.class, LogLevel.INFO, String.valueOf(i), null);
+                    if (i == (lineCount / 4)) {
+                        countDownLatch.countDown();
+                    }
+                }
+            }
+        });
+
+        // Action
+        thread.start();
+        countDownLatch.await();
+        stripedLog.close();
+        thread.join();
+
+        // Assert
+        final String[] lines = channel.getString().split(System.lineSeparator());
+        Assert.assertEquals(lineCount, lines.length);
+        for (int i = 0; i < lineCount; ++i) {
+            Assert.assertEquals(String.valueOf(i), lines[i]);
+        }
+    }
+
+    @Test
+    public void should_write_errors_with_exceptions_to_err_channel_when_flushed() {
+        // Setup
+        final RecordingChannel outChannel = new RecordingChannel(Integer.MAX_VALUE);
+        final RecordingChannel errChannel = new RecordingChannel(Integer.MAX_VALUE);
+        final StripedLog stripedLog = new StripedLog(new Layout(Layout.logLevel(), Layout.separated(Layout.message()), Layout.newLine()), outChannel, errChannel, 1024, 2, 60000L);
+        final String lineSeparator = System.lineSeparator();
+
+        // Action
+        stripedLog.write(StripedLogTests.class, LogLevel.INFO, "Info {}", new Object[]{ 1 }, null);
+        stripedLog.write(StripedLogTests.class, LogLevel.ERROR, "Error", new IllegalStateException("Failure"));
+        final String unflushedOutput = outChannel.getString();
+        stripedLog.flush();
+        stripedLog.close();
+        stripedLog.write(StripedLogTests.class, LogLevel.DEBUG, "Closed", null);
+
+        // Assert
+        Assert.assertEquals("", unflushedOutput);
+        Assert.assertEquals("INFO Info 1" + lineSeparator + "DEBUG Closed" + lineSeparator, outChannel.getString());
+        Assert.assertTrue(errChannel.getString().startsWith("ERROR Error" + lineSeparator + "java.lang.IllegalStateException: Failure" + lineSeparator + "\tat "));
+    }
+}
@@ -0,0 +1,160 @@
+package com.softwareverde.logging.log;
+
+import com.softwareverde.logging.LogLevel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ThrowableRendererTests {
+    protected static final String NEWLINE = System.lineSeparator();
+
+    protected static class StringBuilderWriter implements AbstractLog.Writer {
+        public final StringBuilder stringBuilder = new StringBuilder();
+
+        @Override
+        public void write(final String string) {
+            this.stringBuilder.append(string);
+        }
+
+        @Override
+        public void write(final Throwable exception) {
+            final StringWriter stringWriter = new StringWriter();
+            exception.printStackTrace(new PrintWriter(stringWriter));
+            this.stringBuilder.append(stringWriter);
+        }
+    }
+
+    protected static String printStackTrace(final Throwable exception) {
+        final StringWriter stringWriter = new StringWriter();
+        final PrintWriter printWriter = new PrintWriter(stringWriter);
+        exception.printStackTrace(printWriter);
+        printWriter.flush();
+        return stringWriter.toString();
+    }
+
+    protected static Exception newException(final String message) {
+        return new IOException(message, new IllegalStateException("Cause"));
+    }
+
+    protected static StackTraceElement newFrame(final String className, final int lineNumber) {
+        return new StackTraceElement(className, "run", "Source.java", lineNumber);
+    }
+
+    @Test
+    public void should_render_stack_trace_identically_to_print_stack_trace() {
+        // Setup
+        final Exception cause = new IllegalStateException("Cause", new RuntimeException("Root cause"));
+        final Exception exception = new Exception("Failure \u00E9", cause);
+        exception.addSuppressed(new IOException("Suppressed"));
+
+        final StackTraceRenderer stackTraceRenderer = new StackTraceRenderer();
+        final StringBuilder stringBuilder = new StringBuilder();
+
+        // Action
+        stackTraceRenderer.append(stringBuilder, exception, NEWLINE);
+        stackTraceRenderer.append(stringBuilder, exception, NEWLINE); // Rendered from the cached frames.
+
+        // Assert
+        final String expectedStackTrace = ThrowableRendererTests.printStackTrace(exception);
+        Assert.assertEquals((expectedStackTrace + expectedStackTrace), stringBuilder.toString());
+        Assert.assertTrue(stackTraceRenderer.getCachedFrameCount() > 0);
+    }
+
+    @Test
+    public void should_reference_repeated_stack_traces_within_window() {
+        // Setup
+        final AtomicLong clock = new AtomicLong(0L);
+        final DeduplicatingThrowableRenderer throwableRenderer = new DeduplicatingThrowableRenderer(new StackTraceRenderer(), 1000L, DeduplicatingThrowableRenderer.DEFAULT_MAX_FINGERPRINT_COUNT, clock::get);
+
+        final StringBuilderWriter writer = new StringBuilderWriter();
+        final AnnotatedLog annotatedLog = new AnnotatedLog(writer, writer) {
+            @Override
+            protected String _getTimestampAnnotation() {
+                return EMPTY_STRING;
+            }
+        };
+        annotatedLog.setThrowableRenderer(throwableRenderer);
+
+        final List<Exception> exceptions = new ArrayList<Exception>();
+        for (int i = 0; i < 3; ++i) {
+            exceptions.add(ThrowableRendererTests.newException("Timeout " + i));
+        }
+        final Exception otherException = new IOException("Other");
+
+        // Action
+        annotatedLog.write(ThrowableRendererTests.class, LogLevel.WARN, "Failure 0", exceptions.get(0));
+        annotatedLog.write(ThrowableRendererTests.class, LogLevel.WARN, "Failure 1", exceptions.get(1));
+        annotatedLog.write(ThrowableRendererTests.class, LogLevel.WARN, "Other", otherException);
+        clock.set(999L);
+        annotatedLog.write(ThrowableRendererTests.class, LogLevel.WARN, "Failure 2", exceptions.get(2));
+        clock.set(1000L);
+        annotatedLog.write(ThrowableRendererTests.class, LogLevel.WARN, "Failure 0", exceptions.get(0));
+
+        // Assert
+        final String classAnnotation = ("[" + Layout.getClassName(ThrowableRendererTests.class) + "] ");
+        Assert.assertEquals(
+            classAnnotation + "Failure 0" + NEWLINE +
+            "#1 " + ThrowableRendererTests.printStackTrace(exceptions.get(0)) +
+            classAnnotation + "Failure 1" + NEWLINE +
+            "java.io.IOException: Timeout 1 (same as #1, x2)" + NEWLINE +
+            classAnnotation + "Other" + NEWLINE +
+            "#2 " + ThrowableRendererTests.printStackTrace(otherException) +
+            classAnnotation + "Failure 2" + NEWLINE +
+            "java.io.IOException: Timeout 2 (same as #1, x3)" + NEWLINE +
+            classAnnotation + "Failure 0" + NEWLINE +
+            "#3 " + ThrowableRendererTests.printStackTrace(exceptions.get(0)),
+            writer.stringBuilder.toString()
+        );
+        Assert.assertEquals(3L, throwableRenderer.getRenderedCount());
+        Assert.assertEquals(2L, throwableRenderer.getReferencedCount());
+    }
+
+    @Test
+    public void should_fold_and_truncate_frames_and_omit_deep_causes() {
+        // Setup
+        final Exception rootCause = new IllegalStateException("Root cause");
+        rootCause.setStackTrace(new StackTraceElement[] { ThrowableRendererTests.newFrame("com.example.Db", 1) });
+        final Exception cause = new IllegalStateException("Cause", rootCause);
+        cause.setStackTrace(new StackTraceElement[] { ThrowableRendererTests.newFrame("com.example.Db", 2) });
+
+        final Exception exception = new Exception("Failure", cause);
+        exception.setStackTrace(new StackTraceElement[] {
+            ThrowableRendererTests.newFrame("com.example.Service", 1),
+            ThrowableRendererTests.newFrame("com.example.rpc.Dispatcher", 1),
+            ThrowableRendererTests.newFrame("com.example.rpc.Dispatcher", 2),
+            ThrowableRendererTests.newFrame("com.example.rpc.Dispatcher", 3),
+            ThrowableRendererTests.newFrame("com.example.Handler", 1),
+            ThrowableRendererTests.newFrame("com.example.rpc.Server", 1),
+            ThrowableRendererTests.newFrame("com.example.Main", 1),
+            ThrowableRendererTests.newFrame("com.example.Main", 2),
+            ThrowableRendererTests.newFrame("com.example.Main", 3)
+        });
+
+        final FilteredStackTraceRenderer throwableRenderer = new FilteredStackTraceRenderer(4, 1, "com.example.rpc.");
+        final StringBuilder stringBuilder = new StringBuilder();
+
+        // Action
+        throwableRenderer.append(stringBuilder, exception, "\n");
+
+        // Assert
+        Assert.assertEquals(
+            "java.lang.Exception: Failure\n" +
+            "\tat com.example.Service.run(Source.java:1)\n" +
+            "\t... 3 frames omitted\n" +
+            "\tat com.example.Handler.run(Source.java:1)\n" +
+            "\tat com.example.rpc.Server.run(Source.java:1)\n" + // A single frame is not folded.
+            "\tat com.example.Main.run(Source.java:1)\n" +
+            "\t... 2 frames truncated\n" +
+            "Caused by: java.lang.IllegalStateException: Cause\n" +
+            "\tat com.example.Db.run(Source.java:2)\n" +
+            "Caused by: ... 1 causes omitted\n",
+            stringBuilder.toString()
+        );
+    }
+}
@@ -0,0 +1,71 @@
+package com.softwareverde.logging.log;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+public class TimestampFormatterTests {
+    protected static void assertMatchesSimpleDateFormat(final String pattern, final TimeZone timeZone, final long[] times) {
+        final SimpleDateFormat simpleDateFormat = new SimpleDateFormat(pattern);
+        simpleDateFormat.setTimeZone(timeZone);
+        final TimestampFormatter timestampFormatter = new TimestampFormatter(pattern, timeZone);
+
+        final StringBuilder stringBuilder = new StringBuilder();
+        for (final long timeMs : times) {
+            stringBuilder.setLength(0);
+            timestampFormatter.appendTimestamp(stringBuilder, timeMs);
+            Assert.assertEquals(simpleDateFormat.format(new Date(timeMs)), stringBuilder.toString());
+        }
+    }
+
+    protected static long[] getTimes() {
+        final long baseTimeMs = 1600000000000L;
+        return new long[] {
+            0L, 1L, 999L, 1000L, 1001L, -1L, -999L, -1000L,
+            baseTimeMs, (baseTimeMs + 7L), (baseTimeMs + 42L), (baseTimeMs + 999L), (baseTimeMs + 1000L),
+            (baseTimeMs + 1005L), (baseTimeMs + 2999L), (baseTimeMs + 86400123L), (baseTimeMs + 3L) // Returning to a previous second must re-render the cached portion.
+        };
+    }
+
+    @Test
+    public void should_render_default_pattern_identically_to_simple_date_format() {
+        TimestampFormatterTests.assertMatchesSimpleDateFormat(AnnotatedLog.DATE_FORMAT, TimeZone.getDefault(), TimestampFormatterTests.getTimes());
+        TimestampFormatterTests.assertMatchesSimpleDateFormat(AnnotatedLog.DATE_FORMAT, TimeZone.getTimeZone("UTC"), TimestampFormatterTests.getTimes());
+        TimestampFormatterTests.assertMatchesSimpleDateFormat(AnnotatedLog.DATE_FORMAT, TimeZone.getTimeZone("Asia/Kolkata"), TimestampFormatterTests.getTimes());
+    }
+
+    @Test
+    public void should_render_custom_patterns_identically_to_simple_date_format() {
+        final TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+        final String[] patterns = new String[] {
+            "HH:mm:ss.SSS Z",
+            "yyyy-MM-dd'T'HH:mm:ss.SSSXXX",
+            "'SSS' HH:mm:ss",
+            "yyyyMMdd HHmmss",
+            "HH:mm:ss.S",
+            "ss.SSSSSS",
+            "SSS",
+            ""
+        };
+
+        for (final String pattern : patterns) {
+            TimestampFormatterTests.assertMatchesSimpleDateFormat(pattern, timeZone, TimestampFormatterTests.getTimes());
+        }
+    }
+
+    @Test
+    public void should_read_time_from_clock() {
+        // Setup
+        final long timeMs = 1600000000123L;
+        final TimestampFormatter timestampFormatter = new TimestampFormatter("ss.SSS", TimeZone.getTimeZone("UTC"), () -> timeMs);
+
+        // Action
+        final String timestamp = timestampFormatter.format();
+
+        // Assert
+        Assert.assertEquals("40.123", timestamp);
+    }
+}
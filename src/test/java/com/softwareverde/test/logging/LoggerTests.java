@@ -1,21 +1,31 @@
 package com.softwareverde.test.logging; // Needs to be outside of the com.softwareverde.logging package to trigger the proper stack stace...
 
+import com.softwareverde.logging.HeavyHitterTracker;
 import com.softwareverde.logging.Log;
 import com.softwareverde.logging.LogFactory;
 import com.softwareverde.logging.LogLevel;
 import com.softwareverde.logging.Logger;
 import com.softwareverde.logging.LoggerInstance;
+import com.softwareverde.logging.LoggingMetrics;
 import com.softwareverde.logging.log.AnnotatedLog;
+import com.softwareverde.logging.log.FlightRecorderLog;
 import com.softwareverde.logging.log.SystemLog;
 import org.junit.After;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 
+import javax.management.ObjectName;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 public class LoggerTests {
     public static class DebugLog implements Log {
@@ -95,6 +105,8 @@ public class LoggerTests {
         Logger.setLogLevel(ORIGINAL_LOG_LEVEL);
         Logger.setLogFactory(ORIGINAL_LOG_FACTORY);
         Logger.clearLogLevels();
+        Logger.disableConditionalBuffering();
+        Logger.setFilteredEventLog(null);
     }
 
     @After
@@ -102,6 +114,10 @@ public class LoggerTests {
         Logger.setLogLevel(ORIGINAL_LOG_LEVEL);
         Logger.setLogFactory(ORIGINAL_LOG_FACTORY);
         Logger.clearLogLevels();
+        Logger.disableConditionalBuffering();
+        Logger.setFilteredEventLog(null);
+        Logger.setHeavyHitterTracker(null);
+        LoggingMetrics.getInstance().setEnabled(false);
     }
 
     @Test
@@ -333,6 +349,615 @@ public class LoggerTests {
         Assert.assertEquals(LogLevel.ERROR, messages.get(1).logLevel);
     }
 
+    @Test
+    public void should_apply_log_level_changes_after_log_level_was_resolved() {
+        // Setup
+        final DebugLog debugLog = new DebugLog();
+        Logger.setLog(debugLog);
+        Logger.setLogLevel(LogLevel.INFO);
+
+        Logger.debug("DEBUG 0"); // Resolves (and caches) the LogLevel for this class...
+
+        // Action
+        Logger.setLogLevel(LoggerTests.class, LogLevel.DEBUG);
+        Logger.debug("DEBUG 1");
+
+        Logger.clearLogLevels();
+        Logger.debug("DEBUG 2");
+
+        Logger.setLogLevel(LogLevel.TRACE);
+        Logger.trace("TRACE 3");
+
+        Logger.setLogLevel("com.softwareverde.test", LogLevel.ERROR);
+        Logger.warn("WARN 4");
+        Logger.error("ERROR 5");
+
+        // Assert
+        final List<DebugLog.Message> messages = debugLog.getMessages();
+
+        Assert.assertEquals(3, messages.size());
+        Assert.assertEquals("DEBUG 1", messages.get(0).message);
+        Assert.assertEquals("TRACE 3", messages.get(1).message);
+        Assert.assertEquals("ERROR 5", messages.get(2).message);
+    }
+
+    @Test
+    public void should_apply_log_level_changes_to_existing_logger_instance() {
+        // Setup
+        final DebugLog debugLog = new DebugLog();
+        Logger.setLogLevel(LogLevel.INFO);
+        final LoggerInstance logger = new LoggerInstance(debugLog, LoggerTests.class);
+
+        Assert.assertFalse(logger.isDebugEnabled());
+        logger.debug("DEBUG 0");
+
+        // Action
+        Logger.setLogLevel(LoggerTests.class, LogLevel.DEBUG);
+        final boolean wasDebugEnabled = logger.isDebugEnabled();
+        logger.debug("DEBUG 1");
+
+        Logger.setLogLevel("com.softwareverde", LogLevel.OFF);
+        Logger.clearLogLevels();
+        Logger.setLogLevel(LogLevel.OFF);
+        final boolean wasErrorEnabled = logger.isErrorEnabled();
+        logger.error("ERROR 2");
+
+        // Assert
+        Assert.assertTrue(wasDebugEnabled);
+        Assert.assertFalse(wasErrorEnabled);
+
+        final List<DebugLog.Message> messages = debugLog.getMessages();
+        Assert.assertEquals(1, messages.size());
+        Assert.assertEquals("DEBUG 1", messages.get(0).message);
+    }
+
+    @Test
+    public void should_log_parameterized_messages() {
+        // Setup
+        final DebugLog debugLog = new DebugLog();
+        Logger.setLog(debugLog);
+        Logger.setLogLevel(LogLevel.INFO);
+
+        final Exception exception = new Exception();
+        final LoggerInstance logger = Logger.getInstance(LoggerTests.class);
+
+        // Action
+        Logger.debug("DEBUG {}", 0);
+        Logger.info("INFO {}", 1);
+        Logger.info("INFO {} {}", 2, null);
+        Logger.warn("WARN {} {} {}", 3, "three", new int[]{ 3 });
+        Logger.error("ERROR {}", 4, exception);
+        logger.info("INFO {} {} {}", 5, 5);
+        logger.warn("WARN {}", exception);
+
+        // Assert
+        final List<DebugLog.Message> messages = debugLog.getMessages();
+        Assert.assertEquals(6, messages.size());
+
+        Assert.assertEquals("INFO 1", messages.get(0).message);
+        Assert.assertNull(messages.get(0).exception);
+
+        Assert.assertEquals("INFO 2 null", messages.get(1).message);
+        Assert.assertEquals("WARN 3 three [3]", messages.get(2).message);
+
+        Assert.assertEquals("ERROR 4", messages.get(3).message);
+        Assert.assertSame(exception, messages.get(3).exception);
+
+        Assert.assertEquals("INFO 5 5 {}", messages.get(4).message);
+
+        Assert.assertEquals("WARN {}", messages.get(5).message);
+        Assert.assertSame(exception, messages.get(5).exception);
+    }
+
+    @Test
+    public void should_format_parameterized_messages_within_annotated_log() {
+        // Setup
+        final AnnotatedDebugLog debugLog = new AnnotatedDebugLog();
+        Logger.setLog(debugLog);
+        Logger.setLogLevel(LogLevel.ON);
+
+        // Action
+        Logger.info("Message {}.", 1);
+        Logger.info("{}", "");
+
+        // Assert
+        final List<String> messages = debugLog.getMessages();
+        Assert.assertEquals(2, messages.size());
+        Assert.assertTrue(messages.get(0).endsWith(" [com.softwareverde.test.logging.LoggerTests] Message 1." + NEWLINE));
+        Assert.assertTrue(messages.get(1).endsWith(" [com.softwareverde.test.logging.LoggerTests]" + NEWLINE));
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread, or null if the JVM does not support allocation measurement.
+     */
+    protected static Long getAllocatedBytes() {
+        final java.lang.management.ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+        if (! (threadMxBean instanceof com.sun.management.ThreadMXBean)) { return null; }
+
+        final com.sun.management.ThreadMXBean sunThreadMxBean = (com.sun.management.ThreadMXBean) threadMxBean;
+        if (! sunThreadMxBean.isThreadAllocatedMemoryEnabled()) { return null; }
+
+        return sunThreadMxBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    protected static final Supplier<String> MESSAGE_SUPPLIER = (() -> "Message.");
+    protected static final Object MESSAGE_OBJECT = new Object() {
+        @Override
+        public String toString() {
+            return ("Message " + System.nanoTime() + ".");
+        }
+    };
+
+    @Test
+    public void should_only_invoke_supplier_when_log_level_is_enabled() {
+        // Setup
+        final DebugLog debugLog = new DebugLog();
+        Logger.setLog(debugLog);
+        Logger.setLogLevel(LogLevel.DEBUG);
+
+        final AtomicInteger invocationCount = new AtomicInteger(0);
+        final Supplier<String> messageSupplier = (() -> ("Message " + invocationCount.incrementAndGet() + "."));
+        final LoggerInstance logger = Logger.getInstance(LoggerTests.class);
+        final Exception exception = new Exception();
+
+        // Action
+        Logger.traceLazy(messageSupplier);
+        Logger.debugLazy(messageSupplier);
+        logger.traceLazy(messageSupplier);
+        logger.debugLazy(messageSupplier);
+        logger.logLazy(LogLevel.TRACE, messageSupplier, exception);
+        logger.logLazy(LogLevel.WARN, messageSupplier, exception);
+        Logger.logLazy(LogLevel.ERROR, messageSupplier, null);
+
+        // Assert
+        Assert.assertEquals(4, invocationCount.get());
+
+        final List<DebugLog.Message> messages = debugLog.getMessages();
+        Assert.assertEquals(4, messages.size());
+        Assert.assertEquals("Message 1.", messages.get(0).message);
+        Assert.assertEquals(LogLevel.DEBUG, messages.get(0).logLevel);
+        Assert.assertEquals("Message 2.", messages.get(1).message);
+        Assert.assertEquals("Message 3.", messages.get(2).message);
+        Assert.assertSame(exception, messages.get(2).exception);
+        Assert.assertEquals(LogLevel.WARN, messages.get(2).logLevel);
+        Assert.assertEquals("Message 4.", messages.get(3).message);
+        Assert.assertEquals(LogLevel.ERROR, messages.get(3).logLevel);
+    }
+
+    @Test
+    public void should_bind_null_message_to_throwable_overloads() {
+        // Setup
+        final DebugLog debugLog = new DebugLog();
+        Logger.setLog(debugLog);
+        Logger.setLogLevel(LogLevel.TRACE);
+
+        final LoggerInstance logger = Logger.getInstance(LoggerTests.class);
+
+        // Action
+        Logger.trace(null); // Must compile (as in prior versions), binding to trace(Throwable) rather than the Supplier overload...
+        Logger.debug(null);
+        Logger.log(LogLevel.INFO, null, null);
+        logger.trace(null);
+        logger.debug(null);
+        logger.log(LogLevel.INFO, null, null);
+
+        // Assert
+        final List<DebugLog.Message> messages = debugLog.getMessages();
+        Assert.assertEquals(6, messages.size());
+        for (final DebugLog.Message message : messages) {
+            Assert.assertNull(message.exception);
+        }
+    }
+
+    @Test
+    public void should_not_allocate_when_log_level_is_disabled() {
+        // Setup
+        Assume.assumeNotNull(LoggerTests.getAllocatedBytes());
+
+        final DebugLog debugLog = new DebugLog();
+        Logger.setLog(debugLog);
+        Logger.setLogLevel(LogLevel.INFO);
+
+        final LoggerInstance logger = Logger.getInstance(LoggerTests.class);
+        final int iterationCount = 100000;
+
+        final Runnable disabledStatements = new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < iterationCount; ++i) {
+                    logger.debug(MESSAGE_OBJECT);
+                    logger.debugLazy(MESSAGE_SUPPLIER);
+                    logger.trace("Message {}.", MESSAGE_OBJECT);
+                    logger.logLazy(LogLevel.DEBUG, MESSAGE_SUPPLIER, null);
+                    Logger.debug(LoggerTests.class, MESSAGE_OBJECT);
+                }
+            }
+        };
+        disabledStatements.run(); // Warm up...
+
+        // Action
+        final long allocatedBytesBefore = LoggerTests.getAllocatedBytes();
+        disabledStatements.run();
+        final long allocatedBytes = (LoggerTests.getAllocatedBytes() - allocatedBytesBefore);
+
+        // Assert
+        Assert.assertEquals(0, debugLog.getMessages().size());
+        Assert.assertTrue("Allocated " + allocatedBytes + " bytes.", allocatedBytes < iterationCount); // i.e. less than one byte per statement.
+    }
+
+    @Test
+    public void should_write_buffered_debug_events_before_warning() {
+        // Setup
+        final DebugLog debugLog = new DebugLog();
+        Logger.setLog(debugLog);
+        Logger.setLogLevel(LogLevel.INFO);
+        Logger.enableConditionalBuffering(3);
+
+        final LoggerInstance logger = Logger.getInstance(LoggerTests.class);
+        final AtomicInteger supplierInvocationCount = new AtomicInteger(0);
+        final Supplier<String> messageSupplier = new Supplier<String>() {
+            @Override
+            public String get() {
+                supplierInvocationCount.incrementAndGet();
+                return "Debug 4";
+            }
+        };
+
+        // Action
+        Logger.debug("Debug 0"); // Overwritten.
+        Logger.trace("Debug {}", 1);
+        Logger.info("Info");
+        logger.debug("Debug {} {}", 2, "(instance)");
+        logger.debugLazy(messageSupplier);
+        final int bufferedSupplierInvocationCount = supplierInvocationCount.get();
+        Logger.warn("Warn");
+        Logger.warn("Warn again");
+
+        logger.debug("Debug 5"); // Discarded.
+        Logger.discardBufferedEvents();
+        Logger.debug("Debug 6");
+        Logger.flushBufferedEvents();
+
+        // Assert
+        final List<DebugLog.Message> messages = debugLog.getMessages();
+        final ArrayList<String> loggedMessages = new ArrayList<String>();
+        for (final DebugLog.Message message : messages) {
+            loggedMessages.add(message.logLevel + " " + message.message);
+        }
+
+        Assert.assertEquals(0, bufferedSupplierInvocationCount);
+        Assert.assertEquals(1, supplierInvocationCount.get());
+        Assert.assertEquals("[INFO Info, TRACE Debug 1, DEBUG Debug 2 (instance), DEBUG Debug 4, WARN Warn, WARN Warn again, DEBUG Debug 6]", loggedMessages.toString());
+    }
+
+    @Test
+    public void should_not_write_buffered_events_before_unsampled_warning() {
+        // Setup
+        final DebugLog debugLog = new DebugLog();
+        Logger.setLog(debugLog);
+        Logger.setLogLevel(LogLevel.INFO);
+        Logger.setSamplingRate("com.softwareverde.test.logging", LogLevel.WARN, 0D);
+        Logger.enableConditionalBuffering(3);
+
+        // Action
+        Logger.debug("Debug 0");
+        Logger.warn("Warn"); // Unsampled.
+        Logger.discardBufferedEvents();
+        Logger.error("Error");
+
+        // Assert
+        final ArrayList<String> loggedMessages = new ArrayList<String>();
+        for (final DebugLog.Message message : debugLog.getMessages()) {
+            loggedMessages.add(message.logLevel + " " + message.message);
+        }
+
+        Assert.assertEquals("[ERROR Error]", loggedMessages.toString());
+    }
+
+    @Test
+    public void should_write_disabled_events_to_filtered_event_log() {
+        // Setup
+        final DebugLog debugLog = new DebugLog();
+        final DebugLog filteredEventLog = new DebugLog();
+        Logger.setLog(debugLog);
+        Logger.setFilteredEventLog(filteredEventLog);
+        Logger.setLogLevel(LogLevel.INFO);
+        Logger.setLogLevel("com.softwareverde.test.logging.LoggerTests.StaticInnerClass", LogLevel.WARN);
+
+        final LoggerInstance logger = Logger.getInstance(LoggerTests.class);
+
+        // Action
+        Logger.debug("Debug {}", 0);
+        logger.trace("Trace 1");
+        logger.info("Info 2");
+        new StaticInnerClass().log("Info 3");
+        Logger.debugLazy(new Supplier<String>() { // Not written, since the Supplier is only invoked for enabled events.
+            @Override
+            public String get() {
+                return "Debug 4";
+            }
+        });
+
+        // Assert
+        Assert.assertEquals(1, debugLog.getMessages().size());
+        Assert.assertEquals("Info 2", debugLog.getMessages().get(0).message);
+
+        final List<DebugLog.Message> filteredMessages = filteredEventLog.getMessages();
+        Assert.assertEquals(3, filteredMessages.size());
+        Assert.assertEquals(LogLevel.DEBUG, filteredMessages.get(0).logLevel);
+        Assert.assertEquals("Debug 0", filteredMessages.get(0).message);
+        Assert.assertEquals(LogLevel.TRACE, filteredMessages.get(1).logLevel);
+        Assert.assertEquals("Trace 1", filteredMessages.get(1).message);
+        Assert.assertEquals(LogLevel.INFO, filteredMessages.get(2).logLevel);
+        Assert.assertEquals("Info 3", filteredMessages.get(2).message);
+    }
+
+    @Test
+    public void should_write_disabled_events_to_filtered_event_log_set_after_log_level_is_resolved() {
+        // Setup
+        final DebugLog debugLog = new DebugLog();
+        final DebugLog filteredEventLog = new DebugLog();
+        Logger.setLog(debugLog);
+        Logger.setLogLevel(LogLevel.INFO);
+
+        final LoggerInstance logger = Logger.getInstance(LoggerTests.class);
+        Logger.debug("Debug 0"); // Resolved without any filtered-event hooks.
+        logger.debug("Debug 1");
+
+        // Action
+        Logger.setFilteredEventLog(filteredEventLog);
+        Logger.debug("Debug 2");
+        logger.debug("Debug 3");
+        Logger.setFilteredEventLog(null);
+        Logger.debug("Debug 4");
+
+        // Assert
+        Assert.assertEquals(0, debugLog.getMessages().size());
+
+        final List<DebugLog.Message> filteredMessages = filteredEventLog.getMessages();
+        Assert.assertEquals(2, filteredMessages.size());
+        Assert.assertEquals("Debug 2", filteredMessages.get(0).message);
+        Assert.assertEquals("Debug 3", filteredMessages.get(1).message);
+    }
+
+    @Test
+    public void should_record_disabled_events_unformatted_within_flight_recorder() {
+        // Setup
+        final DebugLog debugLog = new DebugLog();
+        final FlightRecorderLog flightRecorderLog = new FlightRecorderLog(debugLog, 16);
+        Logger.setLog(debugLog);
+        Logger.setFilteredEventLog(flightRecorderLog.getRecorder());
+        Logger.setLogLevel(LogLevel.INFO);
+
+        final LoggerInstance logger = Logger.getInstance(LoggerTests.class);
+        final AtomicInteger formatCount = new AtomicInteger(0);
+        final Object message = new Object() {
+            @Override
+            public String toString() {
+                formatCount.incrementAndGet();
+                return "Debug 0";
+            }
+        };
+        final Supplier<String> messageSupplier = new Supplier<String>() {
+            @Override
+            public String get() {
+                formatCount.incrementAndGet();
+                return "Debug 3";
+            }
+        };
+
+        // Action
+        Logger.debug(message);
+        logger.debug("Debug {}", 1);
+        Logger.trace("Trace {} {}", 2, "(static)");
+        logger.debugLazy(messageSupplier);
+        final int recordedFormatCount = formatCount.get();
+
+        final DebugLog dumpLog = new DebugLog();
+        flightRecorderLog.dump(dumpLog);
+
+        // Assert
+        Assert.assertEquals(0, recordedFormatCount);
+        Assert.assertEquals(2, formatCount.get());
+        Assert.assertEquals(0, debugLog.getMessages().size());
+
+        final List<DebugLog.Message> dumpedMessages = dumpLog.getMessages();
+        Assert.assertEquals(4, dumpedMessages.size());
+        Assert.assertTrue(dumpedMessages.get(0).message.endsWith("] Debug 0"));
+        Assert.assertTrue(dumpedMessages.get(1).message.endsWith("] Debug 1"));
+        Assert.assertEquals(LogLevel.TRACE, dumpedMessages.get(2).logLevel);
+        Assert.assertTrue(dumpedMessages.get(2).message.endsWith("] Trace 2 (static)"));
+        Assert.assertTrue(dumpedMessages.get(3).message.endsWith("] Debug 3"));
+    }
+
+    @Test
+    public void should_record_logging_metrics_when_enabled() throws Exception {
+        // Setup
+        final AnnotatedDebugLog debugLog = new AnnotatedDebugLog();
+        Logger.setLog(debugLog);
+        Logger.setLogLevel(LogLevel.INFO);
+
+        final LoggingMetrics loggingMetrics = LoggingMetrics.getInstance();
+        loggingMetrics.reset();
+        loggingMetrics.registerMBean();
+
+        final LoggerInstance logger = Logger.getInstance(LoggerTests.class);
+        logger.info("Not counted.");
+
+        // Action
+        loggingMetrics.setEnabled(true);
+        logger.info("Info");
+        Logger.warn("Warn {}", 1);
+        logger.debug("Debug");
+        Logger.trace("Trace {}", 2);
+        debugLog.flush();
+        loggingMetrics.setEnabled(false);
+
+        logger.info("Not counted.");
+
+        // Assert
+        final String sinkName = AnnotatedDebugLog.class.getName();
+        final int expectedCharacterCount = (debugLog.getMessages().get(1).length() + debugLog.getMessages().get(2).length());
+
+        Assert.assertEquals("{INFO=1, WARN=1}", loggingMetrics.getEventCountsByLogLevel().toString());
+        Assert.assertEquals(Long.valueOf(2L), loggingMetrics.getEventCountsByPackage().get("com.softwareverde"));
+        Assert.assertEquals("{DEBUG=1, TRACE=1}", loggingMetrics.getFilteredEventCountsByLogLevel().toString());
+        Assert.assertEquals(Long.valueOf(expectedCharacterCount), loggingMetrics.getCharactersWrittenBySink().get(sinkName));
+        Assert.assertEquals(Long.valueOf(1L), loggingMetrics.getFlushCountsBySink().get(sinkName));
+        Assert.assertNotNull(loggingMetrics.getMonitorWaitNanosBySink().get(sinkName));
+        Assert.assertEquals(2L, loggingMetrics.getWriteCount());
+        Assert.assertTrue(loggingMetrics.getWriteLatencyP99Nanos() >= loggingMetrics.getWriteLatencyP50Nanos());
+
+        final ObjectName objectName = new ObjectName(LoggingMetrics.OBJECT_NAME);
+        Assert.assertEquals(2L, ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, "WriteCount"));
+
+        loggingMetrics.unregisterMBean();
+    }
+
+    @Test
+    public void should_not_retain_queue_owner_within_logging_metrics() {
+        // Setup
+        final LoggingMetrics loggingMetrics = LoggingMetrics.getInstance();
+        final String queueName = "LoggerTests.queue";
+
+        AtomicLong queue = new AtomicLong(3L);
+        final WeakReference<AtomicLong> queueReference = new WeakReference<AtomicLong>(queue);
+        loggingMetrics.setQueueDepth(queueName, queue, AtomicLong::get);
+        final Long queueDepth = loggingMetrics.getQueueDepths().get(queueName);
+
+        // Action
+        queue = null;
+        for (int i = 0; (i < 10) && (queueReference.get() != null); ++i) {
+            System.gc();
+        }
+
+        // Assert
+        Assert.assertEquals(Long.valueOf(3L), queueDepth);
+        Assert.assertNull(queueReference.get());
+        Assert.assertFalse(loggingMetrics.getQueueDepths().containsKey(queueName));
+    }
+
+    @Test
+    public void should_track_most_frequent_log_sources_and_log_summary() {
+        // Setup
+        final DebugLog debugLog = new DebugLog();
+        Logger.setLog(debugLog);
+        Logger.setLogLevel(LogLevel.INFO);
+
+        final AtomicLong nanoClock = new AtomicLong(0L);
+        final HeavyHitterTracker heavyHitterTracker = new HeavyHitterTracker(2, 1000L, nanoClock::get);
+        Logger.setHeavyHitterTracker(heavyHitterTracker);
+
+        final LoggerInstance logger = Logger.getInstance(LoggerTests.class);
+        final LoggerInstance helperLogger = Logger.getInstance(LoggerTestsHelper.class);
+        final LoggerInstance integerLogger = Logger.getInstance(Integer.class);
+
+        // Action
+        for (int i = 0; i < 300; ++i) {
+            logger.info("Info");
+            logger.debug("Debug"); // Filtered, so not counted.
+        }
+        for (int i = 0; i < 200; ++i) {
+            helperLogger.warn("Warn {}", i);
+        }
+        for (int i = 0; i < 100; ++i) {
+            integerLogger.info("Info");
+        }
+
+        final List<HeavyHitterTracker.HeavyHitter> topSources = heavyHitterTracker.getTopSources();
+        final String summary = heavyHitterTracker.getSummary();
+        final long integerEventCount = heavyHitterTracker.getEstimatedEventCount(Integer.class, LogLevel.INFO);
+
+        nanoClock.set(2000000000L);
+        for (int i = 0; i < 10000; ++i) {
+            integerLogger.info("Info");
+        }
+
+        // Assert
+        Assert.assertEquals("[com.softwareverde.test.logging.LoggerTests INFO=300, com.softwareverde.test.logging.LoggerTestsHelper WARN=200]", topSources.toString());
+        Assert.assertEquals(100L, integerEventCount);
+        Assert.assertEquals("Top log sources: 83% of 600 events; com.softwareverde.test.logging.LoggerTests INFO=300 (50%), com.softwareverde.test.logging.LoggerTestsHelper WARN=200 (33%).", summary);
+
+        int summaryCount = 0;
+        for (final DebugLog.Message message : debugLog.getMessages()) {
+            if (message.message.startsWith("Top log sources: ")) {
+                Assert.assertEquals(LogLevel.INFO, message.logLevel);
+                summaryCount += 1;
+            }
+        }
+        Assert.assertEquals(1, summaryCount);
+        Assert.assertTrue(heavyHitterTracker.getEventCount() < 10000L); // Reset after the summary.
+    }
+
+    @Test
+    public void should_write_every_event_after_sampling_rate_is_removed() {
+        // Setup
+        final DebugLog debugLog = new DebugLog();
+        Logger.setLog(debugLog);
+        Logger.setLogLevel(LogLevel.INFO);
+        Logger.setSamplingRate("com.softwareverde.test.logging", LogLevel.WARN, 0D);
+        Logger.warn("Warn"); // Unsampled.
+
+        // Action
+        Logger.setSamplingRate("com.softwareverde.test.logging", LogLevel.WARN, null);
+        for (int i = 0; i < 100; ++i) {
+            Logger.warn("Warn {}", i);
+        }
+
+        // Assert
+        final List<DebugLog.Message> messages = debugLog.getMessages();
+        Assert.assertEquals(100, messages.size());
+        for (final DebugLog.Message message : messages) {
+            Assert.assertEquals(LogLevel.WARN, message.logLevel);
+            Assert.assertTrue(message.message.startsWith("Warn "));
+        }
+    }
+
+    @Test
+    public void should_only_write_sampled_events_with_sampling_marker() {
+        // Setup
+        final DebugLog debugLog = new DebugLog();
+        Logger.setLog(debugLog);
+        Logger.setLogLevel(LogLevel.INFO);
+        Logger.setLogLevel("com.softwareverde.test", LogLevel.DEBUG, 0.25D);
+        Logger.setSamplingRate("com.softwareverde.test.logging", LogLevel.WARN, 0D);
+
+        final LoggerInstance logger = Logger.getInstance(LoggerTests.class);
+        final long sampledEventCount = Logger.getSampledEventCount();
+        final long unsampledEventCount = Logger.getUnsampledEventCount();
+
+        // Action
+        for (int i = 0; i < 5000; ++i) {
+            Logger.debug("DEBUG {}", i);
+            logger.debug("DEBUG");
+        }
+        for (int i = 0; i < 100; ++i) {
+            Logger.info("INFO");
+            logger.warn("WARN");
+        }
+
+        // Assert
+        int debugCount = 0;
+        int infoCount = 0;
+        for (final DebugLog.Message message : debugLog.getMessages()) {
+            if (message.logLevel == LogLevel.DEBUG) {
+                Assert.assertTrue(message.message.startsWith("[sampled 25%] DEBUG"));
+                debugCount += 1;
+            }
+            else {
+                Assert.assertEquals(LogLevel.INFO, message.logLevel);
+                Assert.assertEquals("INFO", message.message);
+                infoCount += 1;
+            }
+        }
+
+        Assert.assertEquals(100, infoCount);
+        Assert.assertTrue(debugCount > 2000);
+        Assert.assertTrue(debugCount < 3000);
+        Assert.assertEquals(debugCount, (Logger.getSampledEventCount() - sampledEventCount));
+        Assert.assertEquals((10100 - debugCount), (Logger.getUnsampledEventCount() - unsampledEventCount));
+    }
+
     @Test
     public void should_log_messages_from_static_inner_class() {
         // Setup
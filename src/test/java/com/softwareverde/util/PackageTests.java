@@ -1,5 +1,7 @@
 package com.softwareverde.util;
 
+import com.softwareverde.logging.LogLevel;
+import com.softwareverde.logging.PackageLevel;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -93,4 +95,25 @@ public class PackageTests {
         Assert.assertTrue(rootPackage.hasChild("com.softwareverde.logging"));
         Assert.assertFalse(rootPackage.hasChild("com.softwareverde.util"));
     }
+
+    @Test
+    public void should_copy_package_levels_without_modifying_original() {
+        // Setup
+        final PackageLevel rootPackage = PackageLevel.newRootPackage();
+        rootPackage.mergeInPackage(PackageLevel.fromString("com.softwareverde", LogLevel.WARN));
+        rootPackage.mergeInPackage(PackageLevel.fromString("com.softwareverde.logging", LogLevel.DEBUG));
+
+        // Action
+        final PackageLevel copiedRootPackage = rootPackage.copy();
+        copiedRootPackage.mergeInPackage(PackageLevel.fromString("com.softwareverde.util", LogLevel.ERROR));
+
+        // Assert
+        Assert.assertEquals(LogLevel.WARN, copiedRootPackage.getLogLevel("com.softwareverde.Class"));
+        Assert.assertEquals(LogLevel.DEBUG, copiedRootPackage.getLogLevel("com.softwareverde.logging.Class"));
+        Assert.assertEquals(LogLevel.ERROR, copiedRootPackage.getLogLevel("com.softwareverde.util.Class"));
+
+        Assert.assertFalse(rootPackage.hasChild("com.softwareverde.util"));
+        Assert.assertEquals(LogLevel.WARN, rootPackage.getLogLevel("com.softwareverde.util.Class"));
+        Assert.assertEquals(LogLevel.DEBUG, rootPackage.getLogLevel("com.softwareverde.logging.Class"));
+    }
 }